@@ -13,4 +13,6 @@ jextract --target-package org.bitcoinj.secp.ffm.jextract \
         --header-class-name secp256k1_h \
         $SECP256K1_INCLUDE_DIR/secp256k1_schnorrsig.h \
         $SECP256K1_INCLUDE_DIR/secp256k1_ecdh.h \
-        $SECP256K1_INCLUDE_DIR/secp256k1_ellswift.h
+        $SECP256K1_INCLUDE_DIR/secp256k1_ellswift.h \
+        $SECP256K1_INCLUDE_DIR/secp256k1_recovery.h \
+        $SECP256K1_INCLUDE_DIR/secp256k1_musig.h
@@ -26,7 +26,8 @@ import org.bitcoinj.secp.Secp256k1;
  */
 @org.jspecify.annotations.NullMarked
 module org.bitcoinj.secp {
-    requires org.jspecify;
+    requires transitive org.jspecify;
+    requires static java.management;
 
     exports org.bitcoinj.secp;
     exports org.bitcoinj.secp.internal to org.bitcoinj.secp.bouncy, org.bitcoinj.secp.ffm, org.bitcoinj.secp.bitcoinj;
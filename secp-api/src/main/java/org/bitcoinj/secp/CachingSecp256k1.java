@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.bitcoinj.secp.internal.CachingSecp256k1Impl;
+
+/**
+ * A {@link Secp256k1} that remembers successful signature verifications, like the signature cache of Bitcoin Core.
+ * A node sees the signatures of most transactions twice: when the transaction is accepted to the mempool and again
+ * when it is included in a block. With a cache, the second verification is a lookup.
+ * <p>
+ * Successful results of {@code ecdsaVerify} and {@code schnorrSigVerify} (including the DER, buffer and batch
+ * variants) are cached. Invalid signatures and errors are never cached. Entries are keyed by a SHA-256 hash of the
+ * signature, message and public key, salted with random bytes chosen when the cache is created, so that the slots
+ * used by an entry cannot be predicted by someone submitting signatures.
+ * <p>
+ * The cache has a fixed number of entries and is lock-free: a full cache evicts a random entry, and concurrent
+ * insertions may occasionally drop an entry. All other methods are forwarded to the wrapped implementation.
+ * Instances are thread-safe.
+ */
+public interface CachingSecp256k1 extends Secp256k1 {
+    /**
+     * Default maximum number of cached verifications
+     */
+    int DEFAULT_MAX_ENTRIES = 1 << 17;
+
+    /**
+     * Create a verification cache with the default size.
+     * @param secp implementation to verify (and forward all other calls) with
+     * @return a caching implementation
+     */
+    static CachingSecp256k1 of(Secp256k1 secp) {
+        return of(secp, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Create a verification cache. Each entry takes about 56 bytes of heap.
+     * @param secp implementation to verify (and forward all other calls) with
+     * @param maxEntries maximum number of cached verifications
+     * @return a caching implementation
+     */
+    static CachingSecp256k1 of(Secp256k1 secp, int maxEntries) {
+        return new CachingSecp256k1Impl(secp, maxEntries);
+    }
+
+    /**
+     * Get a view of this cache for verifying signatures that are not expected to be verified again, such as when
+     * connecting a block. Verifications through the view remove the entries they hit and do not add new entries.
+     * The view shares the cache and its counters with this instance, closing it does not close the wrapped
+     * implementation.
+     * @return a view that erases entries on hits
+     */
+    CachingSecp256k1 eraseOnHit();
+
+    /**
+     * Get the number of verifications that were answered from the cache.
+     * @return number of cache hits
+     */
+    long hits();
+
+    /**
+     * Get the number of verifications that were not in the cache and were passed to the wrapped implementation.
+     * @return number of cache misses
+     */
+    long misses();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+/**
+ * An secp256k1 ECDSA signature with a recovery id, from which the public key of the signer can be recovered
+ * with {@link Secp256k1Verifier#ecdsaRecover(EcdsaRecoverableSignature, byte[])}.
+ */
+public interface EcdsaRecoverableSignature {
+    /**
+     * Get the (non-recoverable) signature, e.g. for use with
+     * {@link Secp256k1Verifier#ecdsaVerify(EcdsaSignature, byte[], SecpPubKey)}.
+     * @return the signature
+     */
+    EcdsaSignature signature();
+
+    /**
+     * Get the recovery id. Bit 0 is the parity of the y-coordinate of the point {@code R}, bit 1 is set if the
+     * x-coordinate of {@code R} is greater than or equal to the curve order.
+     * @return recovery id, {@code 0} to {@code 3}
+     */
+    int recId();
+
+    /**
+     * Serialize the signature (without recovery id) as a Bitcoin <i>compact signature</i>.
+     * @return 64-byte compact signature
+     */
+    default byte[] serializeCompact() {
+        return signature().serializeCompact();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.bitcoinj.secp.internal.InstrumentedSecp256k1Impl;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@link Secp256k1} that records, for each operation, the number of calls, the number of errors (calls that
+ * returned a {@link SecpResult.Err} or threw) and a histogram of the latencies, so that the time spent in
+ * secp256k1 can be broken down by operation. It can wrap any implementation, e.g. {@code Secp256k1.get()}.
+ * <p>
+ * The statistics are available from {@link #stats()} and, after {@link #registerMBean()}, through JMX.
+ * A {@link Listener} can be notified of every call, e.g. to emit JDK Flight Recorder events (the FFM
+ * module provides one). {@link #musig()} is not instrumented. Instances are thread-safe.
+ */
+public interface InstrumentedSecp256k1 extends Secp256k1 {
+    /**
+     * Instrument an implementation, using its simple class name as the provider name. Wrappers, like the shared
+     * instances returned by {@link Secp256k1#get()}, are named after the implementation they wrap.
+     * @param secp implementation to instrument
+     * @return an instrumented implementation
+     */
+    static InstrumentedSecp256k1 of(Secp256k1 secp) {
+        return of(secp, InstrumentedSecp256k1Impl.providerName(secp), null);
+    }
+
+    /**
+     * Instrument an implementation.
+     * @param secp implementation to instrument
+     * @param provider provider name, used in the JMX object name and passed to the listener
+     * @param listener listener to notify of every call, or {@code null}
+     * @return an instrumented implementation
+     */
+    static InstrumentedSecp256k1 of(Secp256k1 secp, String provider, @Nullable Listener listener) {
+        return new InstrumentedSecp256k1Impl(secp, provider, listener);
+    }
+
+    /**
+     * Get the provider name.
+     * @return provider name
+     */
+    String provider();
+
+    /**
+     * Get a snapshot of the statistics of each operation that has been called.
+     * @return statistics, sorted by operation name
+     */
+    List<OperationStats> stats();
+
+    /**
+     * Reset all statistics.
+     */
+    void resetStats();
+
+    /**
+     * Register an {@link InstrumentedSecp256k1MXBean} with the platform MBean server, with the object name
+     * {@code org.bitcoinj.secp:type=Secp256k1,provider=<provider>}. It is unregistered by {@link #close()}.
+     * @throws IllegalStateException if the MBean could not be registered, e.g. because the name is taken
+     */
+    void registerMBean();
+
+    /**
+     * Statistics of an operation. Latencies are measured with {@link System#nanoTime()} and kept in a histogram
+     * with power-of-two buckets, so percentiles are accurate to within a factor of two.
+     */
+    interface OperationStats {
+        /**
+         * @return the operation, i.e. the {@link Secp256k1} method name
+         */
+        String getOperation();
+
+        /**
+         * @return number of calls
+         */
+        long getCount();
+
+        /**
+         * @return number of calls that returned an error result or threw
+         */
+        long getErrors();
+
+        /**
+         * @return total time spent in the operation, in nanoseconds
+         */
+        long getTotalNanos();
+
+        /**
+         * @return mean latency in nanoseconds
+         */
+        long getMeanNanos();
+
+        /**
+         * @return maximum latency in nanoseconds
+         */
+        long getMaxNanos();
+
+        /**
+         * @return median latency in nanoseconds (upper bound of its histogram bucket)
+         */
+        long getP50Nanos();
+
+        /**
+         * @return 99th percentile latency in nanoseconds (upper bound of its histogram bucket)
+         */
+        long getP99Nanos();
+
+        /**
+         * @return latency histogram: element {@code i} is the number of calls that took less than {@code 2^i}
+         * and at least {@code 2^(i-1)} nanoseconds
+         */
+        long[] getLatencyHistogram();
+    }
+
+    /**
+     * Listener that is notified when each operation starts and completes.
+     */
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * Called before an operation is forwarded to the wrapped implementation.
+         * @param provider provider name
+         * @param operation the {@link Secp256k1} method name
+         * @param batchSize number of items for operations on lists, otherwise {@code 1}
+         * @return the call, which is completed when the operation returns or throws
+         */
+        Call started(String provider, String operation, int batchSize);
+    }
+
+    /**
+     * A call in progress, see {@link Listener#started(String, String, int)}.
+     */
+    @FunctionalInterface
+    interface Call {
+        /**
+         * Called when the operation has returned or thrown.
+         * @param failed true if the operation returned an error result or threw
+         */
+        void completed(boolean failed);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import java.util.List;
+
+/**
+ * JMX interface of an {@link InstrumentedSecp256k1}, see {@link InstrumentedSecp256k1#registerMBean()}.
+ */
+public interface InstrumentedSecp256k1MXBean {
+    /**
+     * @return provider name
+     */
+    String getProvider();
+
+    /**
+     * @return statistics of each operation that has been called, sorted by operation name
+     */
+    List<InstrumentedSecp256k1.OperationStats> getOperations();
+
+    /**
+     * Reset all statistics.
+     */
+    void resetStats();
+}
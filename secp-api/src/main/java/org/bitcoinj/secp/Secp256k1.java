@@ -15,22 +15,25 @@
  */
 package org.bitcoinj.secp;
 
+import org.bitcoinj.secp.internal.ByteUtils;
+import org.bitcoinj.secp.internal.ProviderRegistry;
 import org.bitcoinj.secp.internal.SecpPointUncompressed;
 
-import java.io.Closeable;
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECFieldFp;
 import java.security.spec.ECParameterSpec;
 import java.security.spec.EllipticCurve;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Main interface providing <i>Elliptic Curve Cryptography</i> functions using the <a href="https://www.secg.org">SECG</a> curve.
@@ -52,8 +55,10 @@ import java.util.stream.StreamSupport;
  *      Java library.
  *     </li>
  * </ul>
+ * <p>
+ * The verification operations are declared in {@link Secp256k1Verifier}.
  */
-public interface Secp256k1 extends Closeable {
+public interface Secp256k1 extends Secp256k1Verifier {
     /** The algorithm name returned by {@link ECPublicKey#getAlgorithm()} and {@link ECPrivateKey#getAlgorithm()} */
     String ALGORITHM_NAME = "Secp256k1";
 
@@ -110,13 +115,13 @@ public interface Secp256k1 extends Closeable {
     }
 
     /**
-     * Get a stream of all providers that match a filter
+     * Get a stream of all providers that match a filter. Providers are found with {@link java.util.ServiceLoader}
+     * the first time they are needed and cached after that.
      * @param filter filter function to select providers
      * @return stream of matching providers
      */
     static Stream<Provider> findAll(Predicate<Provider> filter) {
-        ServiceLoader<Provider> loader = ServiceLoader.load(Provider.class);
-        return StreamSupport.stream(loader.spliterator(), false)
+        return ProviderRegistry.providers().stream()
                 .filter(filter);
     }
 
@@ -207,109 +212,150 @@ public interface Secp256k1 extends Closeable {
     SecpPubKey ecPubKeyCombine(SecpPoint.Uncompressed key1, SecpPoint.Uncompressed key2);
 
     /**
-     * Serialize a public key
-     * @param pubKey public key to serialize
-     * @param flags serialization flags
-     * @return pubKey serialized as a byte array
+     * Add together any number of public keys.
+     * @param pubKeys public keys to add, at least one
+     * @return the sum of the public keys, or an error if the sum is the point at infinity
      */
-    byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags);
+    SecpResult<SecpPubKey> ecPubKeyCombine(List<? extends SecpPubKey> pubKeys);
 
     /**
-     * Calculate an uncompressed point from a compressed point.
-     * @param compressedPoint a compressed point
-     * @return The same point, in uncompressed format
+     * Sort public keys by their compressed serialization, in lexicographic order. This is the ordering of
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0067.mediawiki">BIP-67</a> multisig scripts and of
+     * the <a href="https://github.com/bitcoin/bips/blob/master/bip-0327.mediawiki">BIP-327</a> (MuSig2)
+     * {@code KeySort} algorithm.
+     * @param pubKeys public keys to sort
+     * @param <T> type of public key
+     * @return a new list with the same public key instances, sorted
      */
-    default SecpPoint.Uncompressed ecPointUncompress(SecpPoint.Compressed compressedPoint) {
-        byte[] serializedCompressed = compressedPoint.serialize();
-        SecpPubKey pub = ecPubKeyParse(serializedCompressed).get();
-        return pub.point();
+    default <T extends SecpPubKey> List<T> ecPubKeySort(List<T> pubKeys) {
+        List<T> sorted = new ArrayList<>(pubKeys);
+        sorted.sort((k1, k2) -> {
+            byte[] s1 = k1.serialize(true);
+            byte[] s2 = k2.serialize(true);
+            return Arrays.compareUnsigned(s1, s2);
+        });
+        return sorted;
     }
 
     /**
-     * Parse a byte array as a public key
-     * @param inputData raw data to parse as public key
-     * @return public key result or error
+     * Tweak a public key by adding a multiple of the generator: {@code pubKey + tweak * G}.
+     * @param pubKey public key to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked public key, or an error if {@code tweak} is not less than the curve order or the result
+     * is the point at infinity
      */
-    SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData);
+    SecpResult<SecpPubKey> ecPubKeyTweakAdd(SecpPubKey pubKey, byte[] tweak);
 
     /**
-     * Convert an x-only public key to a (uncompressed point) public key
-     * @param xOnlyPubKey x-only public key
-     * @return public key
+     * Tweak a public key with each of a list of tweaks, e.g. to derive a range of
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki">BIP-32</a> children of the same
+     * parent. Implementations may parse {@code pubKey} and set up native memory once for the whole list.
+     * @param pubKey public key to tweak
+     * @param tweaks 32-byte, big-endian tweaks
+     * @return the results of {@link #ecPubKeyTweakAdd(SecpPubKey, byte[])} for each tweak, in order
      */
-    default SecpPubKey ecPubKeyFromXOnly(SecpXOnlyPubKey xOnlyPubKey){
-        return ecPubKeyParse(xOnlyPubKey.serializeCompressed()).get();
+    default List<SecpResult<SecpPubKey>> ecPubKeyTweakAdd(SecpPubKey pubKey, List<byte[]> tweaks) {
+        List<SecpResult<SecpPubKey>> results = new ArrayList<>(tweaks.size());
+        for (byte[] tweak : tweaks) {
+            results.add(ecPubKeyTweakAdd(pubKey, tweak));
+        }
+        return results;
     }
 
     /**
-     * Parse a byte array as an x-only public key
-     * @param inputData raw data to parse as an x-only public key
-     * @return an x-only public key result or error
+     * Tweak an x-only public key by adding a multiple of the generator: {@code Q = P + tweak * G}, where
+     * {@code P} is the point with even y-coordinate for {@code internalKey}. This is how a
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0341.mediawiki">BIP-341</a> (Taproot) output key
+     * is derived from its internal key.
+     * @param internalKey x-only public key to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked public key {@code Q} (the output key is its x-only form), or an error if {@code internalKey}
+     * is not on the curve, {@code tweak} is not less than the curve order or the result is the point at infinity
      */
-    SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData);
+    SecpResult<SecpPubKey> xOnlyPubKeyTweakAdd(SecpXOnlyPubKey internalKey, byte[] tweak);
 
     /**
-     * Sign a message hash using the ECDSA algorithm
-     * @param msg_hash_data 32-byte hash of message to sign
-     * @param privKey private key
-     * @return the signature
+     * Tweak a key pair for use with Schnorr signatures: the private key {@code d} (negated if its public key has an
+     * odd y-coordinate) becomes {@code d + tweak}. The x-only public key of the result is the x-only form of
+     * {@link #xOnlyPubKeyTweakAdd(SecpXOnlyPubKey, byte[])} applied to the x-only public key of {@code keyPair}.
+     * This is how the key for a <a href="https://github.com/bitcoin/bips/blob/master/bip-0341.mediawiki">BIP-341</a>
+     * (Taproot) key-path spend is derived from the internal key pair.
+     * @param keyPair key pair to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked key pair, or an error if {@code tweak} is not less than the curve order or the resulting
+     * private key is zero
      */
-    SecpResult<EcdsaSignature> ecdsaSign(byte[] msg_hash_data, SecpPrivKey privKey);
+    SecpResult<SecpKeyPair> keyPairXOnlyTweakAdd(SecpKeyPair keyPair, byte[] tweak);
 
     /**
-     * Sign a message hash using the ECDSA algorithm and Low-R signature griding
-     * <p>
-     * This uses the same nonce-incrementing algorithm as Bitcoin Core to ensure a low-R signature.
-     * @param messageHashData 32-byte hash of message to sign
-     * @param privKey private key
-     * @return the signature
+     * Tweak a private key by adding to it: {@code privKey + tweak (mod n)}.
+     * @param privKey private key to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked private key, or an error if {@code tweak} is not less than the curve order or the result
+     * is zero
      */
-    SecpResult<EcdsaSignature> ecdsaSignLowR(byte[] messageHashData, SecpPrivKey privKey);
+    SecpResult<SecpPrivKey> ecSecKeyTweakAdd(SecpPrivKey privKey, byte[] tweak);
 
     /**
-     * Serialize a {@link EcdsaSignature} as a Bitcoin <i>compact signature</i>. A compact signature is
-     * the two signature component field integers (known as {@code r} and {@code s}) serialized in-order as
-     * binary data in big-endian format.
-     * @param sig signature object
-     * @return compact signature bytes
+     * Tweak a private key by multiplying it: {@code privKey * tweak (mod n)}.
+     * @param privKey private key to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked private key, or an error if {@code tweak} is zero or not less than the curve order
      */
-    byte[] ecdsaSignatureSerializeCompact(EcdsaSignature sig);
+    SecpResult<SecpPrivKey> ecSecKeyTweakMul(SecpPrivKey privKey, byte[] tweak);
 
     /**
-     * Parse a Bitcoin <i>compact signature</i>. A compact signature is
-     * the two signature component field integers (known as {@code r} and {@code s}) serialized in-order as
-     * binary data in big-endian format.
-     * @param serialized_signature compact signature bytes
-     * @return signature object
+     * Negate a private key: {@code n - privKey}.
+     * @param privKey private key to negate
+     * @return the negated private key
      */
-    SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature);
+    SecpPrivKey ecSecKeyNegate(SecpPrivKey privKey);
 
     /**
-     * Verify an ECDSA signature is valid and low-s.
-     * @param sig The signature to verify.
-     * @param msg_hash_data A 32-byte hash of the message to verify.
-     * @param pubKey The pubkey that must have signed the message
-     * @return true, false, or error
+     * Sign a message hash using the ECDSA algorithm
+     * @param msg_hash_data 32-byte hash of message to sign
+     * @param privKey private key
+     * @return the signature
      */
-    SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey);
+    SecpResult<EcdsaSignature> ecdsaSign(byte[] msg_hash_data, SecpPrivKey privKey);
 
     /**
-     * Generate a tagged SHA-256 hash.
-     * @param tag a tag specifying the context of usage
-     * @param message the message itself
-     * @return the SHA-256 HASH
-     */
-    default byte[] taggedSha256(String tag, String message) {
-        return  taggedSha256(tag.getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8));
+     * Sign a message hash using the ECDSA algorithm, writing the 64-byte compact signature into a buffer. The bytes
+     * from the position to the limit of {@code msgHash} are read and its position is not changed. Implementations
+     * may override this to sign without creating intermediate {@code byte[]} or signature objects.
+     * @param msgHash buffer containing the 32-byte hash of the message to sign
+     * @param privKey private key
+     * @param sigOut buffer to write the signature to, at its position, which is then advanced by 64
+     * @return a result containing {@code sigOut}, or an error (in which case nothing was written)
+     * @throws BufferOverflowException if {@code sigOut} has fewer than 64 bytes remaining
+     * @throws java.nio.ReadOnlyBufferException if {@code sigOut} is read-only
+     */
+    default SecpResult<ByteBuffer> ecdsaSign(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        if (sigOut.remaining() < 64) throw new BufferOverflowException();
+        SecpResult<EcdsaSignature> result = ecdsaSign(ByteUtils.remainingBytes(msgHash), privKey);
+        if (!result.isOk()) return SecpResult.err(result.errorCode());
+        sigOut.put(result.get().serializeCompact());
+        return SecpResult.ok(sigOut);
     }
 
     /**
-     * Generate a tagged SHA-256 hash.
-     * @param tag a tag specifying the context of usage
-     * @param message the message itself
-     * @return the SHA-256 HASH
+     * Sign a message hash using the ECDSA algorithm and Low-R signature griding
+     * <p>
+     * This uses the same nonce-incrementing algorithm as Bitcoin Core to ensure a low-R signature.
+     * @param messageHashData 32-byte hash of message to sign
+     * @param privKey private key
+     * @return the signature
+     */
+    SecpResult<EcdsaSignature> ecdsaSignLowR(byte[] messageHashData, SecpPrivKey privKey);
+
+    /**
+     * Create a recoverable ECDSA signature. The signature is the same as the one created by
+     * {@link #ecdsaSign(byte[], SecpPrivKey)}, with a recovery id.
+     * @param msgHash 32-byte hash of the message to sign
+     * @param privKey private key to sign with
+     * @return the recoverable signature
      */
-    byte[] taggedSha256(byte[] tag, byte[] message);
+    SecpResult<EcdsaRecoverableSignature> ecdsaSignRecoverable(byte[] msgHash, SecpPrivKey privKey);
 
     /**
      * Create a Schnorr signature for a message.
@@ -319,6 +365,21 @@ public interface Secp256k1 extends Closeable {
      */
     SchnorrSignature schnorrSigSign32(byte[] msg_hash, SecpPrivKey privKey);
 
+    /**
+     * Create a Schnorr signature for a message, writing the 64-byte signature into a buffer. The bytes
+     * from the position to the limit of {@code msgHash} are read and its position is not changed. Implementations
+     * may override this to sign without creating intermediate {@code byte[]} or signature objects.
+     * @param msgHash buffer containing the 32-byte hash of the message to sign
+     * @param privKey private key for signing
+     * @param sigOut buffer to write the signature to, at its position, which is then advanced by 64
+     * @throws BufferOverflowException if {@code sigOut} has fewer than 64 bytes remaining
+     * @throws java.nio.ReadOnlyBufferException if {@code sigOut} is read-only
+     */
+    default void schnorrSigSign32(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        if (sigOut.remaining() < 64) throw new BufferOverflowException();
+        sigOut.put(schnorrSigSign32(ByteUtils.remainingBytes(msgHash), privKey).bytes());
+    }
+
     /**
      * Create a Schnorr signature for a message.
      * @param messageHash a hash of a message to sign
@@ -329,24 +390,26 @@ public interface Secp256k1 extends Closeable {
     SchnorrSignature schnorrSigSign32(byte[] messageHash, SecpPrivKey privKey, byte[] auxiliaryRandom);
 
     /**
-     * Verify a Schnorr signature.
-     * @param signature the signature to verify
-     * @param msg_hash hash of the message
-     * @param pubKey x-only pubkey that must have signed the message
-     * @return true, false, or error
+     * Create a Schnorr signature for a message of any length (including empty), as allowed by BIP-340. Unlike
+     * {@link #schnorrSigSign32(byte[], SecpPrivKey)} the message does not have to be a 32-byte hash, so short
+     * messages can be signed without hashing them first. Signatures of such messages should be verified with the
+     * same message, {@link Secp256k1Verifier#schnorrSigVerify(SchnorrSignature, byte[], SecpXOnlyPubKey)} accepts
+     * messages of any length.
+     * @param msg message to sign
+     * @param privKey private key for signing
+     * @return the signature
      */
-    SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey);
+    SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey);
 
     /**
-     * Verify a Schnorr signature.
-     * @param signature the signature to verify
-     * @param msg_hash hash of the message
-     * @param pubKey pubkey that must have signed the message
-     * @return true, false, or error
+     * Create a Schnorr signature for a message of any length, using the given auxiliary randomness instead of
+     * generating it (e.g. randomness that was generated in advance, or from a test vector).
+     * @param msg message to sign
+     * @param privKey private key for signing
+     * @param auxiliaryRandom 32 bytes of auxiliary randomness
+     * @return the signature
      */
-    default SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpPubKey pubKey) {
-        return schnorrSigVerify(signature, msg_hash, pubKey.xOnly());
-    }
+    SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom);
 
     /**
      * ECDH key agreement
@@ -387,42 +450,86 @@ public interface Secp256k1 extends Closeable {
      */
     byte[] ellswiftXDH(byte[] encodedPubKeyA, byte[] encodedPubKeyB, SecpPrivKey privKey, boolean isPartyA);
 
+    /**
+     * Get the MuSig2 (BIP-327) multi-signature functions of this implementation.
+     * @return MuSig2 functions, valid until this instance is closed
+     */
+    SecpMuSig musig();
+
     /**
      * Override close and declare that no checked exceptions are thrown
      */
     void close();
 
     /**
-     * Get the default implementation
+     * Get the default implementation. The returned instance shares one lazily created implementation with all other
+     * callers of the {@code get} methods. Closing it releases this caller's reference, after which it throws
+     * {@link IllegalStateException}. The implementation itself is kept for later callers until
+     * {@link #closeShared()} is called or the JVM shuts down. Use {@link #newInstance()} if you need an instance of
+     * your own.
      * @return A Secp256k1 instance using the <i>default</i> implementation
      */
     static Secp256k1 get() {
-        return findAll(p -> p.id().isPresent() && p.id().get() == ProviderId.LIBSECP256K1_FFM)
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Default Provider not found."))
-                .get();
+        return ProviderRegistry.shared(defaultProvider());
     }
 
     /**
-     * Get implementation by name
+     * Get implementation by name. The returned instance is shared, see {@link #get()}.
      * @param name implementation name
-     * @return A Secp256k1 instance using the <i>default</i> implementation
+     * @return A Secp256k1 instance using the named implementation
      */
     static Secp256k1 getByName(String name) {
-        return findAll(p -> p.name().equals(name)).findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Provider name " + name + " not found."))
-                .get();
+        return ProviderRegistry.shared(findAll(p -> p.name().equals(name)).findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Provider name " + name + " not found.")));
     }
 
     /**
-     * Get implementation by ID
+     * Get implementation by ID. The returned instance is shared, see {@link #get()}.
      * @param id implementation ID
-     * @return A Secp256k1 instance using the <i>default</i> implementation
+     * @return A Secp256k1 instance using the identified implementation
      */
     static Secp256k1 getById(ProviderId id) {
+        return ProviderRegistry.shared(providerById(id));
+    }
+
+    /**
+     * Release the shared implementations used by {@link #get()}, {@link #getByName(String)} and
+     * {@link #getById(ProviderId)}. Each one is closed once all instances returned for it have been closed, so
+     * instances in use stay valid. Later calls to the {@code get} methods create new implementations. This is
+     * also done by a shutdown hook.
+     */
+    static void closeShared() {
+        ProviderRegistry.closeShared();
+    }
+
+    /**
+     * Create a new, unshared instance of the default implementation. Prefer {@link #get()} unless you need
+     * isolation, e.g. a context that no other code uses.
+     * @return A new Secp256k1 instance using the <i>default</i> implementation, to be closed by the caller
+     */
+    static Secp256k1 newInstance() {
+        return defaultProvider().get();
+    }
+
+    /**
+     * Create a new, unshared instance of an implementation. Prefer {@link #getById(ProviderId)} unless you need
+     * isolation.
+     * @param id implementation ID
+     * @return A new Secp256k1 instance using the identified implementation, to be closed by the caller
+     */
+    static Secp256k1 newInstance(ProviderId id) {
+        return providerById(id).get();
+    }
+
+    private static Provider defaultProvider() {
+        return findAll(p -> p.id().isPresent() && p.id().get() == ProviderId.LIBSECP256K1_FFM)
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Default Provider not found."));
+    }
+
+    private static Provider providerById(ProviderId id) {
         return findAll(p -> p.id().isPresent() && p.id().get() == id).findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Provider ID " + id + " not found."))
-                .get();
+                .orElseThrow(() -> new NoSuchElementException("Provider ID " + id + " not found."));
     }
 
     /**
@@ -443,9 +550,19 @@ public interface Secp256k1 extends Closeable {
         String name();
 
         /**
-         * Get the instance this provider object describes
-         * @return A {@code Secp256k1} instance
+         * Create a new instance of the implementation this provider object describes. Each call must return a
+         * new instance, which is owned (and must be closed) by the caller.
+         * @return A new {@code Secp256k1} instance
          */
         Secp256k1 get();
+
+        /**
+         * Get a verify-only instance. Providers should override this if they can create a verifier more
+         * cheaply than a full instance. The default implementation returns {@link #get()}.
+         * @return A {@code Secp256k1Verifier} instance
+         */
+        default Secp256k1Verifier verifier() {
+            return get();
+        }
     }
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.bitcoinj.secp.internal.EcdsaDer;
+import org.bitcoinj.secp.internal.EcdsaSignatureImpl;
+import org.bitcoinj.secp.internal.SchnorrSignatureImpl;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.bitcoinj.secp.internal.ByteUtils.remainingBytes;
+
+/**
+ * The verification subset of {@link Secp256k1}: parsing and serializing keys and signatures, hashing and
+ * signature verification. None of these operations need a private key or randomness.
+ * <p>
+ * Every {@link Secp256k1} is a {@code Secp256k1Verifier}, but a provider may also supply a lighter-weight,
+ * verify-only instance (see {@link Secp256k1.Provider#verifier()}) that is cheaper to create, for example
+ * because it needs no random number generator or randomized context.
+ */
+public interface Secp256k1Verifier extends Closeable {
+    /**
+     * Serialize a public key
+     * @param pubKey public key to serialize
+     * @param flags serialization flags
+     * @return pubKey serialized as a byte array
+     */
+    byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags);
+
+    /**
+     * Calculate an uncompressed point from a compressed point.
+     * @param compressedPoint a compressed point
+     * @return The same point, in uncompressed format
+     */
+    default SecpPoint.Uncompressed ecPointUncompress(SecpPoint.Compressed compressedPoint) {
+        byte[] serializedCompressed = compressedPoint.serialize();
+        SecpPubKey pub = ecPubKeyParse(serializedCompressed).get();
+        return pub.point();
+    }
+
+    /**
+     * Parse a byte array as a public key
+     * @param inputData raw data to parse as public key
+     * @return public key result or error
+     */
+    SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData);
+
+    /**
+     * Convert an x-only public key to a (uncompressed point) public key
+     * @param xOnlyPubKey x-only public key
+     * @return public key
+     */
+    default SecpPubKey ecPubKeyFromXOnly(SecpXOnlyPubKey xOnlyPubKey){
+        return ecPubKeyParse(xOnlyPubKey.serializeCompressed()).get();
+    }
+
+    /**
+     * Parse a byte array as an x-only public key
+     * @param inputData raw data to parse as an x-only public key
+     * @return an x-only public key result or error
+     */
+    SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData);
+
+    /**
+     * Serialize a {@link EcdsaSignature} as a Bitcoin <i>compact signature</i>. A compact signature is
+     * the two signature component field integers (known as {@code r} and {@code s}) serialized in-order as
+     * binary data in big-endian format.
+     * @param sig signature object
+     * @return compact signature bytes
+     */
+    byte[] ecdsaSignatureSerializeCompact(EcdsaSignature sig);
+
+    /**
+     * Parse a Bitcoin <i>compact signature</i>. A compact signature is
+     * the two signature component field integers (known as {@code r} and {@code s}) serialized in-order as
+     * binary data in big-endian format.
+     * @param serialized_signature compact signature bytes
+     * @return signature object
+     */
+    SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature);
+
+    /**
+     * Serialize a {@link EcdsaSignature} in DER format, as used in Bitcoin transactions (before the sighash byte).
+     * @param sig signature object
+     * @return DER-encoded signature (at most 72 bytes)
+     */
+    default byte[] ecdsaSignatureSerializeDer(EcdsaSignature sig) {
+        return EcdsaDer.serialize(sig.serializeCompact());
+    }
+
+    /**
+     * Parse a strict DER-encoded signature, as required by BIP-66 for all signatures since block 363,725.
+     * @param der DER-encoded signature (without a sighash byte)
+     * @return signature object, or an error if {@code der} is not valid DER or {@code r} or {@code s} is out of range
+     */
+    default SecpResult<EcdsaSignature> ecdsaSignatureParseDer(byte[] der) {
+        return toSignature(EcdsaDer.parse(der));
+    }
+
+    /**
+     * Parse a DER-encoded signature that may violate the DER rules in the ways accepted by OpenSSL, and therefore
+     * by Bitcoin before BIP-66. Use this for signatures from historical blocks. Such signatures may have a high
+     * {@code s} value (see {@link EcdsaSignature#normalize()}).
+     * @param der (lax) DER-encoded signature (without a sighash byte)
+     * @return signature object, or an error if {@code der} can't be parsed or {@code r} or {@code s} is out of range
+     */
+    default SecpResult<EcdsaSignature> ecdsaSignatureParseDerLax(byte[] der) {
+        return toSignature(EcdsaDer.parseLax(der));
+    }
+
+    /**
+     * Verify an ECDSA signature is valid and low-s.
+     * @param sig The signature to verify.
+     * @param msg_hash_data A 32-byte hash of the message to verify.
+     * @param pubKey The pubkey that must have signed the message
+     * @return true, false, or error
+     */
+    SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey);
+
+    /**
+     * Verify an ECDSA signature whose inputs are in (e.g. direct or memory-mapped) buffers. For each buffer the
+     * bytes from its position to its limit are read and its position is not changed. Implementations may
+     * override this to verify without creating intermediate {@code byte[]}, signature or key objects.
+     * @param sig 64-byte compact signature
+     * @param msgHash 32-byte hash of the message to verify
+     * @param pubKey serialized (33-byte compressed or 65-byte uncompressed) pubkey that must have signed the message
+     * @return true, false, or error (if the signature or pubkey could not be parsed)
+     */
+    default SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        SecpResult<EcdsaSignature> parsedSig = ecdsaSignatureParseCompact(remainingBytes(sig));
+        if (!parsedSig.isOk()) return SecpResult.err(parsedSig.errorCode());
+        SecpResult<SecpPubKey> parsedPubKey = ecPubKeyParse(remainingBytes(pubKey));
+        if (!parsedPubKey.isOk()) return SecpResult.err(parsedPubKey.errorCode());
+        return ecdsaVerify(parsedSig.get(), remainingBytes(msgHash), parsedPubKey.get());
+    }
+
+    /**
+     * Verify a strict DER-encoded ECDSA signature is valid and low-s. This is equivalent to
+     * {@link #ecdsaSignatureParseDer(byte[])} followed by {@link #ecdsaVerify(EcdsaSignature, byte[], SecpPubKey)},
+     * but implementations may override it to verify without creating a signature object.
+     * @param der DER-encoded signature (without a sighash byte)
+     * @param msgHash 32-byte hash of the message to verify
+     * @param pubKey the pubkey that must have signed the message
+     * @return true, false, or error (if {@code der} is not valid DER or the pubkey could not be parsed)
+     */
+    default SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return EcdsaDer.verify(this, der, msgHash, pubKey);
+    }
+
+    /**
+     * Verify a lax DER-encoded ECDSA signature, as Bitcoin Core does for historical signatures: the signature
+     * is parsed with {@link #ecdsaSignatureParseDerLax(byte[])} and normalized to low-s before verifying.
+     * @param der (lax) DER-encoded signature (without a sighash byte)
+     * @param msgHash 32-byte hash of the message to verify
+     * @param pubKey the pubkey that must have signed the message
+     * @return true, false, or error (if {@code der} can't be parsed or the pubkey could not be parsed)
+     */
+    default SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return EcdsaDer.verifyLax(this, der, msgHash, pubKey);
+    }
+
+    /**
+     * Serialize a recoverable signature as a Bitcoin <i>compact signature</i>. The recovery id is not included, get it
+     * with {@link EcdsaRecoverableSignature#recId()}.
+     * @param sig recoverable signature
+     * @return 64-byte compact signature
+     */
+    byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig);
+
+    /**
+     * Parse a recoverable signature from a Bitcoin <i>compact signature</i> and a recovery id.
+     * @param serializedSignature 64-byte compact signature
+     * @param recId recovery id, {@code 0} to {@code 3}
+     * @return the signature, or an error if {@code r} or {@code s} is not less than the curve order
+     */
+    SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId);
+
+    /**
+     * Recover the public key of the signer of a message hash. If the recovered key is the expected key, the
+     * signature is valid for that key, so a <a href="https://github.com/bitcoin/bips/blob/master/bip-0137.mediawiki">BIP-137</a>
+     * signed message can be checked with a single recovery, without a separate verification.
+     * @param sig recoverable signature
+     * @param msgHash 32-byte hash of the message
+     * @return the public key, or an error if no public key can be recovered
+     */
+    SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash);
+
+    /**
+     * Verify a batch of ECDSA signatures. Signature {@code i} is verified against message hash {@code i} and
+     * public key {@code i}, with the same rules as {@link #ecdsaVerify(EcdsaSignature, byte[], SecpPubKey)}.
+     * An item that would produce an error result is reported as invalid.
+     * <p>
+     * The default implementation simply calls {@code ecdsaVerify} for each item. Implementations may override
+     * this to share per-call setup costs across the whole batch.
+     * @param sigs the signatures to verify
+     * @param msgHashes 32-byte hashes of the messages, one per signature
+     * @param pubKeys the pubkeys that must have signed the messages, one per signature
+     * @return a bit set in which bit {@code i} is set if and only if signature {@code i} is valid
+     * @throws IllegalArgumentException if the lists differ in size or a message hash is not 32 bytes
+     */
+    default BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        checkBatchSizes(sigs.size(), msgHashes.size(), pubKeys.size());
+        BitSet valid = new BitSet(sigs.size());
+        for (int i = 0; i < sigs.size(); i++) {
+            SecpResult<Boolean> result = ecdsaVerify(sigs.get(i), msgHashes.get(i), pubKeys.get(i));
+            if (result.isOk() && result.get()) {
+                valid.set(i);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Generate a tagged SHA-256 hash.
+     * @param tag a tag specifying the context of usage
+     * @param message the message itself
+     * @return the SHA-256 HASH
+     */
+    default byte[] taggedSha256(String tag, String message) {
+        return  taggedSha256(tag.getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Generate a tagged SHA-256 hash.
+     * @param tag a tag specifying the context of usage
+     * @param message the message itself
+     * @return the SHA-256 HASH
+     */
+    byte[] taggedSha256(byte[] tag, byte[] message);
+
+    /**
+     * Verify a Schnorr signature. The message is usually a 32-byte hash, but messages of any length are accepted
+     * (see {@link Secp256k1#schnorrSigSign(byte[], SecpPrivKey)}).
+     * @param signature the signature to verify
+     * @param msg_hash hash of the message, or a message of any length
+     * @param pubKey x-only pubkey that must have signed the message
+     * @return true, false, or error
+     */
+    SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey);
+
+    /**
+     * Verify a Schnorr signature.
+     * @param signature the signature to verify
+     * @param msg_hash hash of the message
+     * @param pubKey pubkey that must have signed the message
+     * @return true, false, or error
+     */
+    default SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpPubKey pubKey) {
+        return schnorrSigVerify(signature, msg_hash, pubKey.xOnly());
+    }
+
+    /**
+     * Verify a Schnorr signature whose inputs are in (e.g. direct or memory-mapped) buffers. For each buffer the
+     * bytes from its position to its limit are read and its position is not changed. Implementations may
+     * override this to verify without creating intermediate {@code byte[]}, signature or key objects.
+     * @param signature 64-byte signature
+     * @param msgHash hash of the message, or a message of any length
+     * @param xOnlyPubKey 32-byte serialized x-only pubkey that must have signed the message
+     * @return true, false, or error (if the pubkey could not be parsed)
+     */
+    default SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        SecpResult<SecpXOnlyPubKey> parsedPubKey = xOnlyPubKeyParse(remainingBytes(xOnlyPubKey));
+        if (!parsedPubKey.isOk()) return SecpResult.err(parsedPubKey.errorCode());
+        return schnorrSigVerify(SchnorrSignatureImpl.of(remainingBytes(signature)), remainingBytes(msgHash), parsedPubKey.get());
+    }
+
+    /**
+     * Check that an x-only public key and its y-parity are the result of tweaking {@code internalKey}, as
+     * computed by {@link Secp256k1#xOnlyPubKeyTweakAdd(SecpXOnlyPubKey, byte[])}. This is how a
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0341.mediawiki">BIP-341</a> script-path spend is
+     * checked against its output key, with the parity taken from the control block.
+     * @param tweakedKey the tweaked (output) x-only public key
+     * @param tweakedKeyParity parity of the y-coordinate of the tweaked key ({@code 0} for even, {@code 1} for odd)
+     * @param internalKey the internal x-only public key
+     * @param tweak 32-byte, big-endian tweak
+     * @return true if the tweaked key and parity match, otherwise false
+     */
+    SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak);
+
+    /**
+     * Verify a batch of Schnorr signatures. Signature {@code i} is verified against message {@code i} and
+     * x-only pubkey {@code i}, with the same rules as {@link #schnorrSigVerify(SchnorrSignature, byte[], SecpXOnlyPubKey)}.
+     * An item that would produce an error result is reported as invalid.
+     * <p>
+     * The default implementation simply calls {@code schnorrSigVerify} for each item. Implementations may override
+     * this to share per-call setup costs across the batch, or to use
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0340.mediawiki#batch-verification">BIP-340 batch verification</a>.
+     * @param signatures the signatures to verify
+     * @param msgHashes hashes of the messages, one per signature
+     * @param pubKeys x-only pubkeys that must have signed the messages, one per signature
+     * @return a bit set in which bit {@code i} is set if and only if signature {@code i} is valid
+     * @throws IllegalArgumentException if the lists differ in size
+     */
+    default BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        checkBatchSizes(signatures.size(), msgHashes.size(), pubKeys.size());
+        BitSet valid = new BitSet(signatures.size());
+        for (int i = 0; i < signatures.size(); i++) {
+            SecpResult<Boolean> result = schnorrSigVerify(signatures.get(i), msgHashes.get(i), pubKeys.get(i));
+            if (result.isOk() && result.get()) {
+                valid.set(i);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Override close and declare that no checked exceptions are thrown
+     */
+    void close();
+
+    /**
+     * Get a verifier from the <i>default</i> implementation
+     * @return A Secp256k1Verifier instance using the <i>default</i> implementation
+     */
+    static Secp256k1Verifier get() {
+        return Secp256k1.findAll(p -> p.id().isPresent() && p.id().get() == Secp256k1.ProviderId.LIBSECP256K1_FFM)
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Default Provider not found."))
+                .verifier();
+    }
+
+    private static SecpResult<EcdsaSignature> toSignature(byte @Nullable [] compact) {
+        return compact != null && !EcdsaDer.hasZeroScalar(compact)
+                ? SecpResult.ok(new EcdsaSignatureImpl(compact))
+                : SecpResult.err(0);
+    }
+
+    private static void checkBatchSizes(int sigCount, int msgCount, int pubKeyCount) {
+        if (sigCount != msgCount || sigCount != pubKeyCount) {
+            throw new IllegalArgumentException("Batch lists must be the same size");
+        }
+    }
+}
+
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+/**
+ * A <a href="https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki">BIP-32</a> extended public key: a
+ * public key with a chain code, from which non-hardened child public keys can be derived.
+ * @see SecpHdKeyDeriver
+ */
+public interface SecpExtendedPubKey {
+    /**
+     * @return the public key
+     */
+    SecpPubKey pubKey();
+
+    /**
+     * @return a copy of the 32-byte chain code
+     */
+    byte[] chainCode();
+
+    /**
+     * @return depth in the key tree, {@code 0} for a master key
+     */
+    int depth();
+
+    /**
+     * @return the child number this key was derived with (hardened if the high bit is set), {@code 0} for a master key
+     */
+    int childNumber();
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.bitcoinj.secp.internal.HdKeyDeriverImpl;
+
+import java.util.List;
+
+/**
+ * Hierarchical deterministic key derivation as specified by
+ * <a href="https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki">BIP-32</a>.
+ * <p>
+ * Derivation is built on {@link Secp256k1#ecSecKeyTweakAdd(SecpPrivKey, byte[])} (CKDpriv) and
+ * {@link Secp256k1#ecPubKeyTweakAdd(SecpPubKey, byte[])} (CKDpub), so it uses the native functions of the
+ * implementation it is created with. Intermediate public nodes derived by {@link #derive(SecpExtendedPubKey, int...)},
+ * such as account and chain nodes, are kept in a bounded, least-recently-used cache, so that deriving many addresses
+ * below the same node derives the path to that node only once. The derived leaf itself is not cached, and private
+ * keys are never cached.
+ * <p>
+ * Child numbers are Java {@code int}s, which are treated as unsigned: hardened child numbers have the high bit
+ * ({@link #HARDENED_BIT}) set and are negative. Instances are thread-safe.
+ */
+public interface SecpHdKeyDeriver {
+    /**
+     * Bit that is set in hardened child numbers
+     */
+    int HARDENED_BIT = 0x80000000;
+
+    /**
+     * Default maximum number of public nodes kept in the cache
+     */
+    int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * Create a key deriver with the default cache size.
+     * @param secp implementation to derive keys with
+     * @return a key deriver
+     */
+    static SecpHdKeyDeriver of(Secp256k1 secp) {
+        return of(secp, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a key deriver.
+     * @param secp implementation to derive keys with
+     * @param cacheSize maximum number of public nodes to cache, {@code 0} to disable caching
+     * @return a key deriver
+     */
+    static SecpHdKeyDeriver of(Secp256k1 secp, int cacheSize) {
+        return new HdKeyDeriverImpl(secp, cacheSize);
+    }
+
+    /**
+     * Convert a child index to a hardened child number.
+     * @param index index, {@code 0} to {@code 2^31 - 1}
+     * @return hardened child number
+     */
+    static int hardened(int index) {
+        if (index < 0) throw new IllegalArgumentException("Index must not be negative");
+        return index | HARDENED_BIT;
+    }
+
+    /**
+     * Check whether a child number is hardened.
+     * @param childNumber child number
+     * @return true if hardened
+     */
+    static boolean isHardened(int childNumber) {
+        return (childNumber & HARDENED_BIT) != 0;
+    }
+
+    /**
+     * Generate a master key from a seed.
+     * @param seed seed, 16 to 64 bytes
+     * @return the master key, or an error if the seed results in an invalid key
+     */
+    SecpResult<SecpExtendedPrivKey> masterKey(byte[] seed);
+
+    /**
+     * Get the extended public key for an extended private key (the "neutered" key).
+     * @param privKey extended private key
+     * @return extended public key with the same chain code, depth and child number
+     */
+    SecpExtendedPubKey publicKey(SecpExtendedPrivKey privKey);
+
+    /**
+     * Derive a child private key (CKDpriv).
+     * @param parent parent extended private key
+     * @param childNumber child number, hardened or not
+     * @return the child key, or an error if it is invalid (in which case the next child number should be used)
+     */
+    SecpResult<SecpExtendedPrivKey> deriveChild(SecpExtendedPrivKey parent, int childNumber);
+
+    /**
+     * Derive a child public key (CKDpub).
+     * @param parent parent extended public key
+     * @param childNumber non-hardened child number
+     * @return the child key, or an error if it is invalid (in which case the next child number should be used)
+     * @throws IllegalArgumentException if {@code childNumber} is hardened
+     */
+    SecpResult<SecpExtendedPubKey> deriveChild(SecpExtendedPubKey parent, int childNumber);
+
+    /**
+     * Derive a private key along a path, e.g. {@code m/84'/0'/0'}.
+     * @param parent extended private key to start from
+     * @param path child numbers, hardened or not
+     * @return the derived key, or an error if a key along the path is invalid
+     */
+    SecpResult<SecpExtendedPrivKey> derive(SecpExtendedPrivKey parent, int... path);
+
+    /**
+     * Derive a public key along a path, using and filling the cache of intermediate public nodes.
+     * @param parent extended public key to start from
+     * @param path non-hardened child numbers
+     * @return the derived key, or an error if a key along the path is invalid
+     * @throws IllegalArgumentException if a child number is hardened
+     */
+    SecpResult<SecpExtendedPubKey> derive(SecpExtendedPubKey parent, int... path);
+
+    /**
+     * Derive the public keys of a range of children of the node at {@code path} below {@code parent}, e.g. the
+     * receive addresses {@code 0} to {@code 999} of an account with {@code path = {0}}. The node at {@code path}
+     * is derived (or taken from the cache) once, the HMAC is keyed once, and all children are derived by one call to
+     * {@link Secp256k1#ecPubKeyTweakAdd(SecpPubKey, List)}.
+     * @param parent extended public key, e.g. of an account
+     * @param path non-hardened path from {@code parent} to the parent of the range, may be empty
+     * @param from first child number (inclusive)
+     * @param to last child number (exclusive)
+     * @return the public keys of children {@code from} to {@code to - 1}, in order. An element is an error if that
+     * child is invalid (or the node at {@code path} is invalid).
+     * @throws IllegalArgumentException if the path contains a hardened child number or not
+     * {@code 0 <= from <= to}
+     */
+    List<SecpResult<SecpPubKey>> deriveRange(SecpExtendedPubKey parent, int[] path, int from, int to);
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * MuSig2 multi-signatures as specified by
+ * <a href="https://github.com/bitcoin/bips/blob/master/bip-0327.mediawiki">BIP-327</a>. The aggregate signature is
+ * an ordinary BIP-340 Schnorr signature for the aggregate public key, e.g. for a Taproot key-path spend.
+ * <p>
+ * A signing session for {@code n} signers works as follows:
+ * <ol>
+ *     <li>Every signer aggregates the same list of public keys with {@link #pubKeyAgg(List)} (the list should be
+ *     sorted with {@link Secp256k1#ecPubKeySort(List)}) and, for Taproot, applies the tweak with
+ *     {@link #pubKeyXOnlyTweakAdd(KeyAggCache, byte[])}.</li>
+ *     <li>Every signer creates a secret nonce with {@link #nonceGen(SecpPubKey, SecpPrivKey, byte[], KeyAggCache, byte[])}
+ *     and sends its public nonce ({@link SecNonce#pubNonce()}) to the others.</li>
+ *     <li>The public nonces are aggregated with {@link #nonceAgg(List)} and the session is started with
+ *     {@link #nonceProcess(AggNonce, byte[], KeyAggCache)}.</li>
+ *     <li>Every signer creates a partial signature with {@link #partialSign(SecNonce, SecpKeyPair, KeyAggCache, Session)}
+ *     and sends it to the others, who may check it with {@link #partialSigVerify(PartialSig, PubNonce, SecpPubKey, KeyAggCache, Session)}.</li>
+ *     <li>The partial signatures are aggregated with {@link #partialSigAgg(Session, List)}.</li>
+ * </ol>
+ * The {@link KeyAggCache}, {@link SecNonce} and {@link Session} handles hold the state between these rounds in the
+ * representation of the implementation that created them (for the native implementation, in native memory), so
+ * they can only be used with the {@code SecpMuSig} instance that created them. A {@link KeyAggCache} can be used
+ * for any number of sessions. They should be closed when no longer needed. {@link PubNonce}, {@link AggNonce} and
+ * {@link PartialSig} are values that are exchanged between signers and can be used with any implementation.
+ * <p>
+ * A {@link SecNonce} must never be used for more than one signature: doing so reveals the private key. It is erased
+ * by {@link #partialSign(SecNonce, SecpKeyPair, KeyAggCache, Session)} and a second use throws an exception.
+ */
+public interface SecpMuSig {
+    /**
+     * The aggregate public key of a list of public keys, including any tweaks that have been applied. Modified by
+     * {@link #pubKeyEcTweakAdd(KeyAggCache, byte[])} and {@link #pubKeyXOnlyTweakAdd(KeyAggCache, byte[])}.
+     * Must not be modified while it is being used by another thread.
+     */
+    interface KeyAggCache extends AutoCloseable {
+        /**
+         * Release the resources held by this cache. Idempotent.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * The secret nonce of one signer for one signing session, together with its public nonce.
+     */
+    interface SecNonce extends AutoCloseable {
+        /**
+         * @return the public nonce to send to the other signers
+         */
+        PubNonce pubNonce();
+
+        /**
+         * Erase the secret nonce and release the resources held by it. Idempotent.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * The state of a signing session, computed from the aggregate nonce, the message and the {@link KeyAggCache}.
+     */
+    interface Session extends AutoCloseable {
+        /**
+         * Release the resources held by this session. Idempotent.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * The public nonce of one signer: two points.
+     */
+    interface PubNonce {
+        /**
+         * @return 66-byte serialization (two compressed points)
+         */
+        byte[] serialize();
+    }
+
+    /**
+     * The aggregate of the public nonces of all signers.
+     */
+    interface AggNonce {
+        /**
+         * @return 66-byte serialization (two compressed points, a point at infinity is encoded as 33 zero bytes)
+         */
+        byte[] serialize();
+    }
+
+    /**
+     * The partial signature of one signer.
+     */
+    interface PartialSig {
+        /**
+         * @return 32-byte serialization (a scalar)
+         */
+        byte[] serialize();
+    }
+
+    /**
+     * Aggregate public keys (KeyAgg). The order of the keys matters.
+     * @param pubKeys public keys of the signers, not empty
+     * @return the key aggregation cache, or an error if the aggregate key is the point at infinity
+     */
+    SecpResult<KeyAggCache> pubKeyAgg(List<? extends SecpPubKey> pubKeys);
+
+    /**
+     * Get the aggregate public key. Its x-only key (see {@link SecpPubKey#xOnly()}) is the key that the aggregate
+     * signature is valid for.
+     * @param keyAggCache key aggregation cache
+     * @return the aggregate public key, including any tweaks
+     */
+    SecpPubKey pubKeyGet(KeyAggCache keyAggCache);
+
+    /**
+     * Add a tweak to the aggregate public key, e.g. for BIP-32 derivation, modifying {@code keyAggCache}.
+     * @param keyAggCache key aggregation cache to modify
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked aggregate public key, or an error if the tweak is not less than the curve order or the
+     * result is the point at infinity (in which case {@code keyAggCache} must not be used)
+     */
+    SecpResult<SecpPubKey> pubKeyEcTweakAdd(KeyAggCache keyAggCache, byte[] tweak);
+
+    /**
+     * Add an x-only tweak to the aggregate public key, e.g. the Taproot tweak, modifying {@code keyAggCache}.
+     * @param keyAggCache key aggregation cache to modify
+     * @param tweak 32-byte, big-endian tweak
+     * @return the tweaked aggregate public key, or an error if the tweak is not less than the curve order or the
+     * result is the point at infinity (in which case {@code keyAggCache} must not be used)
+     */
+    SecpResult<SecpPubKey> pubKeyXOnlyTweakAdd(KeyAggCache keyAggCache, byte[] tweak);
+
+    /**
+     * Generate a secret nonce (NonceGen) from fresh randomness. The optional arguments are additional inputs that
+     * protect against a weak random number generator and should be given if they are known.
+     * @param pubKey public key of the signer
+     * @param privKey private key of the signer, or {@code null}
+     * @param msg 32-byte message that will be signed, or {@code null}
+     * @param keyAggCache key aggregation cache, or {@code null}
+     * @param extraInput 32 bytes of extra input, or {@code null}
+     * @return the secret nonce, or an error if {@code privKey} is invalid
+     */
+    SecpResult<SecNonce> nonceGen(SecpPubKey pubKey, @Nullable SecpPrivKey privKey, byte @Nullable [] msg,
+                                  @Nullable KeyAggCache keyAggCache, byte @Nullable [] extraInput);
+
+    /**
+     * Parse a public nonce received from another signer.
+     * @param serialized 66-byte serialization
+     * @return the public nonce, or an error if it is invalid
+     */
+    SecpResult<PubNonce> pubNonceParse(byte[] serialized);
+
+    /**
+     * Aggregate public nonces (NonceAgg).
+     * @param pubNonces public nonces of all signers, not empty
+     * @return the aggregate nonce
+     */
+    AggNonce nonceAgg(List<? extends PubNonce> pubNonces);
+
+    /**
+     * Parse an aggregate nonce, e.g. one received from a coordinator.
+     * @param serialized 66-byte serialization
+     * @return the aggregate nonce, or an error if it is invalid
+     */
+    SecpResult<AggNonce> aggNonceParse(byte[] serialized);
+
+    /**
+     * Start a signing session for a message.
+     * @param aggNonce aggregate nonce
+     * @param msg 32-byte message to sign
+     * @param keyAggCache key aggregation cache, after any tweaks have been applied
+     * @return the session
+     */
+    Session nonceProcess(AggNonce aggNonce, byte[] msg, KeyAggCache keyAggCache);
+
+    /**
+     * Create a partial signature (Sign). {@code secNonce} is erased, even if an error is returned.
+     * @param secNonce secret nonce of the signer, created for {@code keyPair}
+     * @param keyPair key pair of the signer
+     * @param keyAggCache key aggregation cache
+     * @param session session
+     * @return the partial signature
+     * @throws IllegalStateException if {@code secNonce} has already been used
+     * @throws IllegalArgumentException if {@code secNonce} was created for a different public key
+     */
+    SecpResult<PartialSig> partialSign(SecNonce secNonce, SecpKeyPair keyPair, KeyAggCache keyAggCache, Session session);
+
+    /**
+     * Parse a partial signature received from another signer.
+     * @param serialized 32-byte serialization
+     * @return the partial signature, or an error if it is not less than the curve order
+     */
+    SecpResult<PartialSig> partialSigParse(byte[] serialized);
+
+    /**
+     * Verify the partial signature of one signer (PartialSigVerify). This is not required to create a valid
+     * signature, but identifies a signer that did not follow the protocol.
+     * @param partialSig partial signature
+     * @param pubNonce public nonce of the signer
+     * @param pubKey public key of the signer
+     * @param keyAggCache key aggregation cache
+     * @param session session
+     * @return true if the partial signature is valid
+     */
+    SecpResult<Boolean> partialSigVerify(PartialSig partialSig, PubNonce pubNonce, SecpPubKey pubKey,
+                                         KeyAggCache keyAggCache, Session session);
+
+    /**
+     * Aggregate partial signatures (PartialSigAgg).
+     * @param session session
+     * @param partialSigs partial signatures of all signers, not empty
+     * @return the Schnorr signature
+     */
+    SchnorrSignature partialSigAgg(Session session, List<? extends PartialSig> partialSigs);
+}
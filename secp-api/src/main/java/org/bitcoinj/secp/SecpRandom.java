@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp;
+
+import org.bitcoinj.secp.internal.StripedDrbgRandom;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Source of the random bytes used by a {@link Secp256k1} implementation for key generation, context randomization
+ * and auxiliary signing data. Implementations must be thread-safe and should return cryptographically strong
+ * random bytes.
+ * <p>
+ * Implementations that accept a {@code SecpRandom} at construction use {@link #getDefault()} if none is given.
+ */
+@FunctionalInterface
+public interface SecpRandom {
+    /**
+     * Fill an array with random bytes.
+     * @param bytes array to fill
+     */
+    void nextBytes(byte[] bytes);
+
+    /**
+     * Get the shared default source. It uses a small number of {@code DRBG} {@link SecureRandom} instances, selected
+     * by thread, so concurrent callers rarely contend on a lock. Each instance is seeded once, when it is first
+     * used, from the platform's default entropy source, so neither creating a {@link Secp256k1} nor
+     * generating random bytes waits for {@link SecureRandom#getInstanceStrong()}.
+     * @return the default source
+     */
+    static SecpRandom getDefault() {
+        return StripedDrbgRandom.INSTANCE;
+    }
+
+    /**
+     * Adapt a {@link SecureRandom}. All callers will share (and may contend on) that instance.
+     * @param secureRandom random number generator to use
+     * @return a source that delegates to {@code secureRandom}
+     */
+    static SecpRandom of(SecureRandom secureRandom) {
+        return secureRandom::nextBytes;
+    }
+
+    /**
+     * Create a source using {@link SecureRandom#getInstanceStrong()}. This was the behavior before
+     * {@code SecpRandom} was introduced. Depending on the platform, obtaining (and using) the strong instance may
+     * block waiting for entropy.
+     * @return a source using a new strong {@link SecureRandom}
+     */
+    static SecpRandom strong() {
+        try {
+            return of(SecureRandom.getInstanceStrong());
+        } catch (NoSuchAlgorithmException e) {
+            // This should never happen. The Javadoc for getInstanceStrong() says
+            // "Every implementation of the Java platform is required to support
+            // at least one strong SecureRandom implementation."
+            throw new RuntimeException("No strong SecureRandom available", e);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.bitcoinj.secp.SecpFieldElement;
 import org.bitcoinj.secp.SecpScalar;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -58,4 +59,15 @@ public class ByteUtils {
                     minBytes.length == 33 ? 32 : minBytes.length);  // num bytes to copy
         }
     }
+
+    /**
+     * Copy the remaining bytes of a buffer, without changing its position
+     * @param buffer buffer to read
+     * @return a new array containing the bytes from the buffer's position to its limit
+     */
+    public static byte[] remainingBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.CachingSecp256k1;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpRandom;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of {@link CachingSecp256k1}, forwarding to another {@link Secp256k1}.
+ */
+public final class CachingSecp256k1Impl extends ForwardingSecp256k1 implements CachingSecp256k1 {
+    private static final byte ECDSA = 0;
+    private static final byte SCHNORR = 1;
+
+    private final SignatureCache cache;
+    private final boolean eraseOnHit;
+
+    /**
+     * @param secp implementation to verify (and forward all other calls) with
+     * @param maxEntries maximum number of cached verifications
+     */
+    public CachingSecp256k1Impl(Secp256k1 secp, int maxEntries) {
+        this(secp, new SignatureCache(maxEntries), false);
+    }
+
+    private CachingSecp256k1Impl(Secp256k1 secp, SignatureCache cache, boolean eraseOnHit) {
+        super(secp);
+        this.cache = cache;
+        this.eraseOnHit = eraseOnHit;
+    }
+
+    @Override
+    public CachingSecp256k1 eraseOnHit() {
+        return eraseOnHit ? this : new CachingSecp256k1Impl(delegate, cache, true);
+    }
+
+    @Override
+    public long hits() {
+        return cache.hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return cache.misses.sum();
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
+        if (msg_hash_data.length != 32) return delegate.ecdsaVerify(sig, msg_hash_data, pubKey);
+        byte[] key = ecdsaKey(sig, msg_hash_data, pubKey);
+        return lookup(key) ? SecpResult.ok(true) : store(key, delegate.ecdsaVerify(sig, msg_hash_data, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        if (sig.remaining() != 64 || msgHash.remaining() != 32 || (pubKey.remaining() != 33 && pubKey.remaining() != 65)) {
+            return delegate.ecdsaVerify(sig, msgHash, pubKey);
+        }
+        MessageDigest digest = cache.newDigest(ECDSA);
+        digest.update(sig.duplicate());
+        digest.update(pubKey.duplicate());
+        digest.update(msgHash.duplicate());
+        byte[] key = digest.digest();
+        return lookup(key) ? SecpResult.ok(true) : store(key, delegate.ecdsaVerify(sig, msgHash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return EcdsaDer.verify(this, der, msgHash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return EcdsaDer.verifyLax(this, der, msgHash, pubKey);
+    }
+
+    @Override
+    public BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        return verifyBatch(sigs, msgHashes, pubKeys,
+                (sig, msgHash, pubKey) -> msgHash.length == 32 ? ecdsaKey(sig, msgHash, pubKey) : null,
+                delegate::ecdsaVerifyBatch);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
+        byte[] key = schnorrKey(signature, msg_hash, pubKey);
+        return lookup(key) ? SecpResult.ok(true) : store(key, delegate.schnorrSigVerify(signature, msg_hash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpPubKey pubKey) {
+        return schnorrSigVerify(signature, msg_hash, pubKey.xOnly());
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        if (signature.remaining() != 64 || xOnlyPubKey.remaining() != 32) {
+            return delegate.schnorrSigVerify(signature, msgHash, xOnlyPubKey);
+        }
+        MessageDigest digest = cache.newDigest(SCHNORR);
+        digest.update(signature.duplicate());
+        digest.update(xOnlyPubKey.duplicate());
+        digest.update(msgHash.duplicate());
+        byte[] key = digest.digest();
+        return lookup(key) ? SecpResult.ok(true) : store(key, delegate.schnorrSigVerify(signature, msgHash, xOnlyPubKey));
+    }
+
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        return verifyBatch(signatures, msgHashes, pubKeys, this::schnorrKey, delegate::schnorrSigVerifyBatch);
+    }
+
+    @Override
+    public void close() {
+        // A view does not own the wrapped implementation
+        if (!eraseOnHit) {
+            super.close();
+        }
+    }
+
+    // The fixed-size fields come first, so the message (of any length for Schnorr) can't be confused with them
+    private byte[] ecdsaKey(EcdsaSignature sig, byte[] msgHash, SecpPubKey pubKey) {
+        MessageDigest digest = cache.newDigest(ECDSA);
+        digest.update(sig.serializeCompact());
+        digest.update(pubKey.serialize(true));
+        digest.update(msgHash);
+        return digest.digest();
+    }
+
+    private byte[] schnorrKey(SchnorrSignature signature, byte[] msg, SecpXOnlyPubKey pubKey) {
+        MessageDigest digest = cache.newDigest(SCHNORR);
+        digest.update(signature.bytes());
+        digest.update(pubKey.serialize());
+        digest.update(msg);
+        return digest.digest();
+    }
+
+    private boolean lookup(byte[] key) {
+        boolean hit = cache.contains(key, eraseOnHit);
+        (hit ? cache.hits : cache.misses).increment();
+        return hit;
+    }
+
+    private SecpResult<Boolean> store(byte[] key, SecpResult<Boolean> result) {
+        if (!eraseOnHit && result.isOk() && result.get()) {
+            cache.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * Verify the items of a batch that are not in the cache with a single batch call to the delegate.
+     */
+    private <S, P> BitSet verifyBatch(List<S> sigs, List<byte[]> msgs, List<P> pubKeys,
+                                      KeyFunction<S, P> keyFunction, BatchVerifier<S, P> verifier) {
+        if (sigs.size() != msgs.size() || sigs.size() != pubKeys.size()) {
+            throw new IllegalArgumentException("Batch lists must be the same size");
+        }
+        BitSet valid = new BitSet(sigs.size());
+        List<Integer> missed = new ArrayList<>();
+        List<byte @Nullable []> missedKeys = new ArrayList<>();
+        for (int i = 0; i < sigs.size(); i++) {
+            byte[] key = keyFunction.key(sigs.get(i), msgs.get(i), pubKeys.get(i));
+            if (key != null && lookup(key)) {
+                valid.set(i);
+            } else {
+                missed.add(i);
+                missedKeys.add(key);
+            }
+        }
+        if (missed.isEmpty()) return valid;
+        List<S> missedSigs = new ArrayList<>(missed.size());
+        List<byte[]> missedMsgs = new ArrayList<>(missed.size());
+        List<P> missedPubKeys = new ArrayList<>(missed.size());
+        for (int i : missed) {
+            missedSigs.add(sigs.get(i));
+            missedMsgs.add(msgs.get(i));
+            missedPubKeys.add(pubKeys.get(i));
+        }
+        BitSet missedValid = verifier.verify(missedSigs, missedMsgs, missedPubKeys);
+        for (int j = missedValid.nextSetBit(0); j >= 0; j = missedValid.nextSetBit(j + 1)) {
+            valid.set(missed.get(j));
+            byte[] key = missedKeys.get(j);
+            if (key != null && !eraseOnHit) {
+                cache.add(key);
+            }
+        }
+        return valid;
+    }
+
+    @FunctionalInterface
+    private interface KeyFunction<S, P> {
+        byte @Nullable [] key(S sig, byte[] msg, P pubKey);
+    }
+
+    @FunctionalInterface
+    private interface BatchVerifier<S, P> {
+        BitSet verify(List<S> sigs, List<byte[]> msgs, List<P> pubKeys);
+    }
+
+    /**
+     * Fixed-size, lock-free cuckoo hash set of 32-byte keys. Each key has {@link #WAYS} candidate slots, taken from
+     * its bytes, which are uniformly random because keys are salted hashes. When all candidate slots are taken,
+     * a random one is displaced, and the displaced key is moved to one of its other slots, up to
+     * {@link #MAX_DISPLACEMENTS} times before a key is dropped. Races between writers can drop a key, which
+     * only costs a future verification, or store a key twice, so erasing removes every copy.
+     */
+    private static final class SignatureCache {
+        private static final int WAYS = 4;
+        private static final int MAX_DISPLACEMENTS = 8;
+
+        private final AtomicReferenceArray<byte @Nullable []> table;
+        private final int size;
+        private final MessageDigest saltedDigest;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        SignatureCache(int maxEntries) {
+            if (maxEntries < 1) throw new IllegalArgumentException("Cache size must be positive");
+            this.table = new AtomicReferenceArray<>(maxEntries);
+            this.size = maxEntries;
+            byte[] salt = new byte[32];
+            SecpRandom.getDefault().nextBytes(salt);
+            this.saltedDigest = sha256();
+            saltedDigest.update(salt);
+        }
+
+        /**
+         * @param type type of signature, so that keys of different types never collide
+         * @return a digest that has been updated with the salt and {@code type}
+         */
+        MessageDigest newDigest(byte type) {
+            MessageDigest digest;
+            try {
+                digest = (MessageDigest) saltedDigest.clone();
+            } catch (CloneNotSupportedException e) {
+                // The SHA-256 implementation of the JDK supports cloning, this is only needed for other providers
+                throw new IllegalStateException(e);
+            }
+            digest.update(type);
+            return digest;
+        }
+
+        boolean contains(byte[] key, boolean erase) {
+            boolean found = false;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = slot(key, way);
+                byte[] entry = table.get(slot);
+                if (entry != null && Arrays.equals(entry, key)) {
+                    if (!erase) {
+                        return true;
+                    }
+                    // Keep going, racing writers may have stored more than one copy
+                    table.compareAndSet(slot, entry, null);
+                    found = true;
+                }
+            }
+            return found;
+        }
+
+        void add(byte[] key) {
+            byte[] entry = key;
+            for (int i = 0; i < MAX_DISPLACEMENTS; i++) {
+                // Check every candidate slot for a copy before claiming an empty one
+                for (int way = 0; way < WAYS; way++) {
+                    byte[] current = table.get(slot(entry, way));
+                    if (current != null && Arrays.equals(current, entry)) {
+                        return;
+                    }
+                }
+                for (int way = 0; way < WAYS; way++) {
+                    int slot = slot(entry, way);
+                    if (table.get(slot) == null && table.compareAndSet(slot, null, entry)) {
+                        return;
+                    }
+                }
+                entry = table.getAndSet(slot(entry, ThreadLocalRandom.current().nextInt(WAYS)), entry);
+                if (entry == null) return;
+            }
+            // The last displaced entry is dropped
+        }
+
+        // Map 4 bytes of the key to a slot index, without the bias of a modulus
+        private int slot(byte[] key, int way) {
+            int offset = way * 4;
+            long bits = ((key[offset] & 0xFFL) << 24) | ((key[offset + 1] & 0xFFL) << 16)
+                    | ((key[offset + 2] & 0xFFL) << 8) | (key[offset + 3] & 0xFFL);
+            return (int) ((bits * size) >>> 32);
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 is required to be supported by every implementation of the Java platform
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
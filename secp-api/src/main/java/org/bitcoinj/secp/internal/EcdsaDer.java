@@ -0,0 +1,288 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.Secp256k1Verifier;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Conversion between DER-encoded ECDSA signatures and the 64-byte compact format. The parsers accept exactly the
+ * same input as {@code secp256k1_ecdsa_signature_parse_der} and {@code ecdsa_signature_parse_der_lax} (from
+ * {@code contrib/lax_der_parsing.c}) in libsecp256k1, and like them return a zero {@code r} (or {@code s}) if the
+ * encoded value is not less than the curve order. A zero value is never valid, see {@link #hasZeroScalar(byte[])}.
+ */
+public final class EcdsaDer {
+    private EcdsaDer() {
+    }
+
+    /**
+     * Parse a strict DER-encoded signature, with the same rules as {@code secp256k1_ecdsa_signature_parse_der}.
+     * @param der DER-encoded signature
+     * @return 64-byte compact signature, or {@code null} if not valid DER
+     */
+    public static byte @Nullable [] parse(byte[] der) {
+        Reader reader = new Reader(der);
+        byte[] compact = new byte[64];
+        if (!reader.tag(0x30)) return null;
+        int seqLen = reader.length();
+        if (seqLen < 0 || seqLen != der.length - reader.pos) return null;
+        if (!reader.integer(compact, 0) || !reader.integer(compact, 32)) return null;
+        return reader.pos == der.length ? compact : null;
+    }
+
+    /**
+     * Parse a DER-encoded signature that may violate the DER rules in the ways historically accepted by
+     * OpenSSL (and therefore present in the Bitcoin blockchain), with the same rules as
+     * {@code ecdsa_signature_parse_der_lax}. Lax signatures may have a high {@code s} value.
+     * @param der (lax) DER-encoded signature
+     * @return 64-byte compact signature, or {@code null} if not parseable
+     */
+    public static byte @Nullable [] parseLax(byte[] der) {
+        int pos = 0;
+        // Sequence tag and length (the length is ignored)
+        if (pos == der.length || der[pos] != 0x30) return null;
+        pos++;
+        if (pos == der.length) return null;
+        int lenByte = der[pos++] & 0xFF;
+        if ((lenByte & 0x80) != 0) {
+            lenByte -= 0x80;
+            if (lenByte > der.length - pos) return null;
+            pos += lenByte;
+        }
+        // Integer R
+        int rLen = laxIntegerLength(der, pos);
+        if (rLen < 0) return null;
+        pos = laxSkipHeader(der, pos);
+        int rPos = pos;
+        pos += rLen;
+        // Integer S
+        int sLen = laxIntegerLength(der, pos);
+        if (sLen < 0) return null;
+        pos = laxSkipHeader(der, pos);
+        int sPos = pos;
+
+        byte[] compact = new byte[64];
+        boolean overflow = !laxCopy(der, rPos, rLen, compact, 0) | !laxCopy(der, sPos, sLen, compact, 32);
+        if (overflow || !lessThanOrder(compact, 0) || !lessThanOrder(compact, 32)) {
+            Arrays.fill(compact, (byte) 0);
+        }
+        return compact;
+    }
+
+    /**
+     * Serialize a compact signature in DER format, with the same output as
+     * {@code secp256k1_ecdsa_signature_serialize_der}.
+     * @param compact 64-byte compact signature
+     * @return DER-encoded signature (at most 72 bytes)
+     */
+    public static byte[] serialize(byte[] compact) {
+        if (compact.length != 64) throw new IllegalArgumentException("Sig Not 64 bytes");
+        int rStart = integerStart(compact, 0);
+        int sStart = integerStart(compact, 32);
+        int rLen = integerLength(compact, rStart, 32);
+        int sLen = integerLength(compact, sStart, 64);
+        byte[] der = new byte[6 + rLen + sLen];
+        der[0] = 0x30;
+        der[1] = (byte) (4 + rLen + sLen);
+        der[2] = 0x02;
+        der[3] = (byte) rLen;
+        System.arraycopy(compact, rStart, der, 4 + rLen - (32 - rStart), 32 - rStart);
+        der[4 + rLen] = 0x02;
+        der[5 + rLen] = (byte) sLen;
+        System.arraycopy(compact, sStart, der, 6 + rLen + sLen - (64 - sStart), 64 - sStart);
+        return der;
+    }
+
+    /**
+     * Parsers return a zero value for an {@code r} or {@code s} that is out of range. Such signatures can be
+     * parsed, but can never be valid.
+     * @param compact 64-byte compact signature
+     * @return true if {@code r} or {@code s} is zero
+     */
+    public static boolean hasZeroScalar(byte[] compact) {
+        return isZero(compact, 0) || isZero(compact, 32);
+    }
+
+    /**
+     * Verify a strict DER-encoded signature with {@code verifier}. This is the implementation of
+     * {@link Secp256k1Verifier#ecdsaVerifyDer(byte[], byte[], SecpPubKey)}.
+     * @param verifier verifier of the parsed signature
+     * @param der DER-encoded signature (without a sighash byte)
+     * @param msgHash 32-byte hash of the message to verify
+     * @param pubKey the pubkey that must have signed the message
+     * @return true if valid, false if not valid, error if {@code der} can't be parsed
+     */
+    public static SecpResult<Boolean> verify(Secp256k1Verifier verifier, byte[] der, byte[] msgHash,
+                                             SecpPubKey pubKey) {
+        byte[] compact = parse(der);
+        if (compact == null) return SecpResult.err(0);
+        if (hasZeroScalar(compact)) return SecpResult.ok(false);
+        return verifier.ecdsaVerify(new EcdsaSignatureImpl(compact), msgHash, pubKey);
+    }
+
+    /**
+     * Verify a lax DER-encoded signature, normalized to low-s, with {@code verifier}. This is the implementation of
+     * {@link Secp256k1Verifier#ecdsaVerifyDerLax(byte[], byte[], SecpPubKey)}.
+     * @param verifier verifier of the parsed signature
+     * @param der (lax) DER-encoded signature (without a sighash byte)
+     * @param msgHash 32-byte hash of the message to verify
+     * @param pubKey the pubkey that must have signed the message
+     * @return true if valid, false if not valid, error if {@code der} can't be parsed
+     */
+    public static SecpResult<Boolean> verifyLax(Secp256k1Verifier verifier, byte[] der, byte[] msgHash,
+                                                SecpPubKey pubKey) {
+        byte[] compact = parseLax(der);
+        if (compact == null) return SecpResult.err(0);
+        if (hasZeroScalar(compact)) return SecpResult.ok(false);
+        return verifier.ecdsaVerify(new EcdsaSignatureImpl(compact).normalize(), msgHash, pubKey);
+    }
+
+    // Index of the first non-zero byte of the 32-byte integer at offset (or of its last byte, if zero)
+    private static int integerStart(byte[] compact, int offset) {
+        int start = offset;
+        while (start < offset + 31 && compact[start] == 0) start++;
+        return start;
+    }
+
+    // DER content length of the integer compact[start..end), including any 0x00 sign byte
+    private static int integerLength(byte[] compact, int start, int end) {
+        return end - start + ((compact[start] & 0x80) != 0 ? 1 : 0);
+    }
+
+    private static boolean isZero(byte[] compact, int offset) {
+        int bits = 0;
+        for (int i = offset; i < offset + 32; i++) bits |= compact[i];
+        return bits == 0;
+    }
+
+    private static boolean lessThanOrder(byte[] compact, int offset) {
+        return Arrays.compareUnsigned(compact, offset, offset + 32,
+                SecpScalarImpl.MAX_VALUE_BYTES, 0, 32) <= 0;
+    }
+
+    // Lax integer length, or -1 if not parseable. pos is the position of the tag.
+    private static int laxIntegerLength(byte[] der, int pos) {
+        if (pos >= der.length || der[pos] != 0x02) return -1;
+        pos++;
+        if (pos == der.length) return -1;
+        int lenByte = der[pos++] & 0xFF;
+        int len;
+        if ((lenByte & 0x80) != 0) {
+            lenByte -= 0x80;
+            if (lenByte > der.length - pos) return -1;
+            while (lenByte > 0 && der[pos] == 0) {
+                pos++;
+                lenByte--;
+            }
+            if (lenByte >= 4) return -1;
+            len = 0;
+            while (lenByte > 0) {
+                len = (len << 8) + (der[pos] & 0xFF);
+                pos++;
+                lenByte--;
+            }
+        } else {
+            len = lenByte;
+        }
+        return len > der.length - pos ? -1 : len;
+    }
+
+    // Position of the content of a lax integer. pos is the position of the (already validated) tag.
+    private static int laxSkipHeader(byte[] der, int pos) {
+        pos++;
+        int lenByte = der[pos++] & 0xFF;
+        return (lenByte & 0x80) != 0 ? pos + (lenByte - 0x80) : pos;
+    }
+
+    // Copy an integer, ignoring leading zeros. Returns false if it is too long.
+    private static boolean laxCopy(byte[] der, int pos, int len, byte[] compact, int offset) {
+        while (len > 0 && der[pos] == 0) {
+            len--;
+            pos++;
+        }
+        if (len > 32) return false;
+        System.arraycopy(der, pos, compact, offset + 32 - len, len);
+        return true;
+    }
+
+    /**
+     * Strict DER reader, mirroring {@code secp256k1_der_read_len} and {@code secp256k1_der_parse_integer}
+     */
+    private static final class Reader {
+        private final byte[] der;
+        private int pos = 0;
+
+        Reader(byte[] der) {
+            this.der = der;
+        }
+
+        boolean tag(int tag) {
+            if (pos >= der.length || (der[pos] & 0xFF) != tag) return false;
+            pos++;
+            return true;
+        }
+
+        // Returns the length, or -1 if invalid
+        int length() {
+            if (pos >= der.length) return -1;
+            int b1 = der[pos++] & 0xFF;
+            if (b1 == 0xFF) return -1;              // X.690-0207 8.1.3.5.c the value 0xFF shall not be used
+            if ((b1 & 0x80) == 0) return b1;        // X.690-0207 8.1.3.4 short form length octets
+            if (b1 == 0x80) return -1;              // Indefinite length is not allowed in DER
+            int lenLeft = b1 & 0x7F;
+            if (lenLeft > der.length - pos) return -1;
+            if (der[pos] == 0) return -1;           // Not the shortest possible length encoding
+            if (lenLeft > 8) return -1;             // Doesn't fit in a (64-bit) size_t
+            long len = 0;
+            while (lenLeft > 0) {
+                len = (len << 8) | (der[pos++] & 0xFF);
+                lenLeft--;
+            }
+            if (len < 0 || len > der.length - pos) return -1;
+            if (len < 128) return -1;               // Not the shortest possible length encoding
+            return (int) len;
+        }
+
+        // Parse an integer into compact[offset..offset+32], which is left zero if the value is out of range
+        boolean integer(byte[] compact, int offset) {
+            if (!tag(0x02)) return false;
+            int len = length();
+            if (len <= 0 || len > der.length - pos) return false;
+            if (der[pos] == 0x00 && len > 1 && (der[pos + 1] & 0x80) == 0x00) return false; // Excessive 0x00 padding
+            if (der[pos] == (byte) 0xFF && len > 1 && (der[pos + 1] & 0x80) == 0x80) return false; // Excessive 0xFF padding
+            boolean overflow = (der[pos] & 0x80) == 0x80;   // Negative
+            int start = pos;
+            int valueLen = len;
+            if (der[start] == 0) {                          // Skip the (at most one) leading zero
+                start++;
+                valueLen--;
+            }
+            if (valueLen > 32) overflow = true;
+            if (!overflow) {
+                System.arraycopy(der, start, compact, offset + 32 - valueLen, valueLen);
+                if (!lessThanOrder(compact, offset)) {
+                    Arrays.fill(compact, offset, offset + 32, (byte) 0);
+                }
+            }
+            pos += len;
+            return true;
+        }
+    }
+}
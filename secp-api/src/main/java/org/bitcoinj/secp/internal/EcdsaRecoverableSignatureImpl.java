@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+
+/**
+ * Default/Internal implementation of {@link EcdsaRecoverableSignature}
+ */
+public final class EcdsaRecoverableSignatureImpl implements EcdsaRecoverableSignature {
+    private final EcdsaSignature signature;
+    private final int recId;
+
+    public EcdsaRecoverableSignatureImpl(EcdsaSignature signature, int recId) {
+        if (recId < 0 || recId > 3) {
+            throw new IllegalArgumentException("Recovery id must be 0 to 3");
+        }
+        this.signature = signature;
+        this.recId = recId;
+    }
+
+    /**
+     * Construct from a 64-byte, big-endian compact serialized signature and a recovery id
+     * @param signature Signature in compact serialized format.
+     * @param recId recovery id
+     */
+    public EcdsaRecoverableSignatureImpl(byte[] signature, int recId) {
+        this(new EcdsaSignatureImpl(signature), recId);
+    }
+
+    @Override
+    public EcdsaSignature signature() {
+        return signature;
+    }
+
+    @Override
+    public int recId() {
+        return recId;
+    }
+
+    @Override
+    public String toString() {
+        return "EcdsaRecoverableSignatureImpl [signature=" + signature + ", recId=" + recId + "]";
+    }
+}
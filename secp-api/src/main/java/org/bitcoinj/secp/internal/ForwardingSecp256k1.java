@@ -0,0 +1,348 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
+import org.bitcoinj.secp.SecpPoint;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A {@link Secp256k1} that forwards every call to another implementation. Subclasses override the methods they
+ * decorate. Default methods are forwarded too, so that the optimized versions of the delegate are used.
+ */
+public abstract class ForwardingSecp256k1 implements Secp256k1 {
+    /** The implementation calls are forwarded to */
+    protected final Secp256k1 delegate;
+
+    /**
+     * @param delegate implementation to forward calls to
+     */
+    protected ForwardingSecp256k1(Secp256k1 delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Get the implementation to forward a call to. Subclasses can override this, e.g. to check their own state first.
+     * @return the implementation calls are forwarded to
+     */
+    protected Secp256k1 delegate() {
+        return delegate;
+    }
+
+    @Override
+    public SecpPrivKey ecPrivKeyCreate() {
+        return delegate().ecPrivKeyCreate();
+    }
+
+    @Override
+    public SecpPrivKey ecPrivKeyImport(BigInteger privKeyInt) {
+        return delegate().ecPrivKeyImport(privKeyInt);
+    }
+
+    @Override
+    public SecpPrivKey ecPrivKeyImport(byte[] privKeyBytes) {
+        return delegate().ecPrivKeyImport(privKeyBytes);
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyCreate(SecpPrivKey privKey) {
+        return delegate().ecPubKeyCreate(privKey);
+    }
+
+    @Override
+    public SecpKeyPair ecKeyPairCreate() {
+        return delegate().ecKeyPairCreate();
+    }
+
+    @Override
+    public SecpKeyPair ecKeyPairCreate(SecpPrivKey privKey) {
+        return delegate().ecKeyPairCreate(privKey);
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyTweakMul(SecpPoint.Uncompressed pubKey, BigInteger scalarMultiplier) {
+        return delegate().ecPubKeyTweakMul(pubKey, scalarMultiplier);
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyCombine(SecpPoint.Uncompressed key1, SecpPoint.Uncompressed key2) {
+        return delegate().ecPubKeyCombine(key1, key2);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyCombine(List<? extends SecpPubKey> pubKeys) {
+        return delegate().ecPubKeyCombine(pubKeys);
+    }
+
+    @Override
+    public <T extends SecpPubKey> List<T> ecPubKeySort(List<T> pubKeys) {
+        return delegate().ecPubKeySort(pubKeys);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyTweakAdd(SecpPubKey pubKey, byte[] tweak) {
+        return delegate().ecPubKeyTweakAdd(pubKey, tweak);
+    }
+
+    @Override
+    public List<SecpResult<SecpPubKey>> ecPubKeyTweakAdd(SecpPubKey pubKey, List<byte[]> tweaks) {
+        return delegate().ecPubKeyTweakAdd(pubKey, tweaks);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> xOnlyPubKeyTweakAdd(SecpXOnlyPubKey internalKey, byte[] tweak) {
+        return delegate().xOnlyPubKeyTweakAdd(internalKey, tweak);
+    }
+
+    @Override
+    public SecpResult<SecpKeyPair> keyPairXOnlyTweakAdd(SecpKeyPair keyPair, byte[] tweak) {
+        return delegate().keyPairXOnlyTweakAdd(keyPair, tweak);
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakAdd(SecpPrivKey privKey, byte[] tweak) {
+        return delegate().ecSecKeyTweakAdd(privKey, tweak);
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakMul(SecpPrivKey privKey, byte[] tweak) {
+        return delegate().ecSecKeyTweakMul(privKey, tweak);
+    }
+
+    @Override
+    public SecpPrivKey ecSecKeyNegate(SecpPrivKey privKey) {
+        return delegate().ecSecKeyNegate(privKey);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSign(byte[] msg_hash_data, SecpPrivKey privKey) {
+        return delegate().ecdsaSign(msg_hash_data, privKey);
+    }
+
+    @Override
+    public SecpResult<ByteBuffer> ecdsaSign(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        return delegate().ecdsaSign(msgHash, privKey, sigOut);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignLowR(byte[] messageHashData, SecpPrivKey privKey) {
+        return delegate().ecdsaSignLowR(messageHashData, privKey);
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaSignRecoverable(byte[] msgHash, SecpPrivKey privKey) {
+        return delegate().ecdsaSignRecoverable(msgHash, privKey);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign32(byte[] msg_hash, SecpPrivKey privKey) {
+        return delegate().schnorrSigSign32(msg_hash, privKey);
+    }
+
+    @Override
+    public void schnorrSigSign32(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        delegate().schnorrSigSign32(msgHash, privKey, sigOut);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign32(byte[] messageHash, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        return delegate().schnorrSigSign32(messageHash, privKey, auxiliaryRandom);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey) {
+        return delegate().schnorrSigSign(msg, privKey);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        return delegate().schnorrSigSign(msg, privKey, auxiliaryRandom);
+    }
+
+    @Override
+    public SecpResult<EcdhSharedSecret> ecdh(SecpPubKey pubKey, SecpPrivKey privKey) {
+        return delegate().ecdh(pubKey, privKey);
+    }
+
+    @Override
+    public byte[] ellswiftEncode(SecpPubKey pubKey) {
+        return delegate().ellswiftEncode(pubKey);
+    }
+
+    @Override
+    public SecpPubKey ellswiftDecode(byte[] encodedPubKey) {
+        return delegate().ellswiftDecode(encodedPubKey);
+    }
+
+    @Override
+    public byte[] ellswiftCreate(SecpPrivKey privKey) {
+        return delegate().ellswiftCreate(privKey);
+    }
+
+    @Override
+    public byte[] ellswiftXDH(byte[] encodedPubKeyA, byte[] encodedPubKeyB, SecpPrivKey privKey, boolean isPartyA) {
+        return delegate().ellswiftXDH(encodedPubKeyA, encodedPubKeyB, privKey, isPartyA);
+    }
+
+    @Override
+    public SecpMuSig musig() {
+        return delegate().musig();
+    }
+
+    @Override
+    public byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags) {
+        return delegate().ecPubKeySerialize(pubKey, flags);
+    }
+
+    @Override
+    public SecpPoint.Uncompressed ecPointUncompress(SecpPoint.Compressed compressedPoint) {
+        return delegate().ecPointUncompress(compressedPoint);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData) {
+        return delegate().ecPubKeyParse(inputData);
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyFromXOnly(SecpXOnlyPubKey xOnlyPubKey) {
+        return delegate().ecPubKeyFromXOnly(xOnlyPubKey);
+    }
+
+    @Override
+    public SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData) {
+        return delegate().xOnlyPubKeyParse(inputData);
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeCompact(EcdsaSignature sig) {
+        return delegate().ecdsaSignatureSerializeCompact(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature) {
+        return delegate().ecdsaSignatureParseCompact(serialized_signature);
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeDer(EcdsaSignature sig) {
+        return delegate().ecdsaSignatureSerializeDer(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDer(byte[] der) {
+        return delegate().ecdsaSignatureParseDer(der);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDerLax(byte[] der) {
+        return delegate().ecdsaSignatureParseDerLax(der);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
+        return delegate().ecdsaVerify(sig, msg_hash_data, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        return delegate().ecdsaVerify(sig, msgHash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return delegate().ecdsaVerifyDer(der, msgHash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return delegate().ecdsaVerifyDerLax(der, msgHash, pubKey);
+    }
+
+    @Override
+    public byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig) {
+        return delegate().ecdsaRecoverableSignatureSerializeCompact(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId) {
+        return delegate().ecdsaRecoverableSignatureParseCompact(serializedSignature, recId);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash) {
+        return delegate().ecdsaRecover(sig, msgHash);
+    }
+
+    @Override
+    public BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        return delegate().ecdsaVerifyBatch(sigs, msgHashes, pubKeys);
+    }
+
+    @Override
+    public byte[] taggedSha256(String tag, String message) {
+        return delegate().taggedSha256(tag, message);
+    }
+
+    @Override
+    public byte[] taggedSha256(byte[] tag, byte[] message) {
+        return delegate().taggedSha256(tag, message);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
+        return delegate().schnorrSigVerify(signature, msg_hash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpPubKey pubKey) {
+        return delegate().schnorrSigVerify(signature, msg_hash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        return delegate().schnorrSigVerify(signature, msgHash, xOnlyPubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak) {
+        return delegate().xOnlyTweakAddCheck(tweakedKey, tweakedKeyParity, internalKey, tweak);
+    }
+
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        return delegate().schnorrSigVerifyBatch(signatures, msgHashes, pubKeys);
+    }
+
+    @Override
+    public void close() {
+        delegate().close();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpExtendedPrivKey;
+import org.bitcoinj.secp.SecpExtendedPubKey;
+import org.bitcoinj.secp.SecpHdKeyDeriver;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.jspecify.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link SecpHdKeyDeriver} on top of the tweak functions of a {@link Secp256k1}.
+ */
+public final class HdKeyDeriverImpl implements SecpHdKeyDeriver {
+    private static final byte[] BITCOIN_SEED = "Bitcoin seed".getBytes(StandardCharsets.US_ASCII);
+    private static final String HMAC_SHA512 = "HmacSHA512";
+
+    private final Secp256k1 secp;
+    private final @Nullable NodeCache cache;
+
+    /**
+     * @param secp implementation to derive keys with
+     * @param cacheSize maximum number of public nodes to cache, {@code 0} to disable caching
+     */
+    public HdKeyDeriverImpl(Secp256k1 secp, int cacheSize) {
+        if (cacheSize < 0) throw new IllegalArgumentException("Cache size must not be negative");
+        this.secp = secp;
+        this.cache = cacheSize > 0 ? new NodeCache(cacheSize) : null;
+    }
+
+    @Override
+    public SecpResult<SecpExtendedPrivKey> masterKey(byte[] seed) {
+        if (seed.length < 16 || seed.length > 64) throw new IllegalArgumentException("Seed must be 16 to 64 bytes");
+        byte[] i = hmacSha512(BITCOIN_SEED).doFinal(seed);
+        try {
+            byte[] il = Arrays.copyOfRange(i, 0, 32);
+            if (!isValidPrivKey(il)) {
+                return SecpResult.err(0);
+            }
+            // Ownership of il passes to the key (SecpPrivKeyImpl doesn't copy it), so it must not be cleared here
+            SecpPrivKey privKey = secp.ecPrivKeyImport(il);
+            // The extended key keeps its own copy of the chain code
+            byte[] chainCode = Arrays.copyOfRange(i, 32, 64);
+            SecpExtendedPrivKey master = new SecpExtendedPrivKeyImpl(privKey, chainCode, 0, 0);
+            Arrays.fill(chainCode, (byte) 0x00);
+            return SecpResult.ok(master);
+        } finally {
+            Arrays.fill(i, (byte) 0x00);
+        }
+    }
+
+    @Override
+    public SecpExtendedPubKey publicKey(SecpExtendedPrivKey privKey) {
+        return new SecpExtendedPubKeyImpl(secp.ecPubKeyCreate(privKey.privKey()), privKey.chainCode(),
+                privKey.depth(), privKey.childNumber());
+    }
+
+    @Override
+    public SecpResult<SecpExtendedPrivKey> deriveChild(SecpExtendedPrivKey parent, int childNumber) {
+        int depth = childDepth(parent.depth());
+        byte[] data = new byte[37];
+        if (SecpHdKeyDeriver.isHardened(childNumber)) {
+            // 0x00 || ser256(kpar) || ser32(i)
+            byte[] privKeyBytes = parent.privKey().getEncoded();
+            System.arraycopy(privKeyBytes, 0, data, 1, 32);
+            Arrays.fill(privKeyBytes, (byte) 0x00);
+        } else {
+            // serP(point(kpar)) || ser32(i)
+            System.arraycopy(secp.ecPubKeyCreate(parent.privKey()).serialize(true), 0, data, 0, 33);
+        }
+        putUInt32(data, 33, childNumber);
+        byte[] i = hmacSha512(parent.chainCode()).doFinal(data);
+        Arrays.fill(data, (byte) 0x00);
+        byte[] il = Arrays.copyOfRange(i, 0, 32);
+        byte[] chainCode = Arrays.copyOfRange(i, 32, 64);
+        try {
+            SecpResult<SecpPrivKey> child = secp.ecSecKeyTweakAdd(parent.privKey(), il);
+            if (!child.isOk()) return SecpResult.err(child.errorCode());
+            return SecpResult.ok(new SecpExtendedPrivKeyImpl(child.get(), chainCode, depth, childNumber));
+        } finally {
+            Arrays.fill(il, (byte) 0x00);
+            Arrays.fill(chainCode, (byte) 0x00);
+            Arrays.fill(i, (byte) 0x00);
+        }
+    }
+
+    @Override
+    public SecpResult<SecpExtendedPubKey> deriveChild(SecpExtendedPubKey parent, int childNumber) {
+        checkNotHardened(childNumber);
+        int depth = childDepth(parent.depth());
+        // serP(Kpar) || ser32(i)
+        byte[] data = new byte[37];
+        System.arraycopy(parent.pubKey().serialize(true), 0, data, 0, 33);
+        putUInt32(data, 33, childNumber);
+        byte[] i = hmacSha512(parent.chainCode()).doFinal(data);
+        byte[] chainCode = Arrays.copyOfRange(i, 32, 64);
+        try {
+            SecpResult<SecpPubKey> child = secp.ecPubKeyTweakAdd(parent.pubKey(), Arrays.copyOfRange(i, 0, 32));
+            if (!child.isOk()) return SecpResult.err(child.errorCode());
+            return SecpResult.ok(new SecpExtendedPubKeyImpl(child.get(), chainCode, depth, childNumber));
+        } finally {
+            Arrays.fill(chainCode, (byte) 0x00);
+            Arrays.fill(i, (byte) 0x00);
+        }
+    }
+
+    @Override
+    public SecpResult<SecpExtendedPrivKey> derive(SecpExtendedPrivKey parent, int... path) {
+        SecpExtendedPrivKey node = parent;
+        for (int childNumber : path) {
+            SecpResult<SecpExtendedPrivKey> child = deriveChild(node, childNumber);
+            if (node != parent) {
+                node.destroy();     // Intermediate private keys are not returned
+            }
+            if (!child.isOk()) return child;
+            node = child.get();
+        }
+        return SecpResult.ok(node);
+    }
+
+    @Override
+    public SecpResult<SecpExtendedPubKey> derive(SecpExtendedPubKey parent, int... path) {
+        for (int childNumber : path) {
+            checkNotHardened(childNumber);
+        }
+        SecpExtendedPubKey node = parent;
+        int start = 0;
+        @Nullable NodeCache cache = path.length > 0 ? this.cache : null;
+        byte[] root = cache != null ? rootId(parent) : new byte[0];
+        if (cache != null) {
+            // Start from the deepest cached node along the path. Only intermediate nodes are cached: the leaf is
+            // what the caller asked for, and is usually different for every call.
+            for (int length = path.length - 1; length > 0; length--) {
+                SecpExtendedPubKey cached = cache.get(new NodeKey(root, path, length));
+                if (cached != null) {
+                    node = cached;
+                    start = length;
+                    break;
+                }
+            }
+        }
+        for (int i = start; i < path.length; i++) {
+            SecpResult<SecpExtendedPubKey> child = deriveChild(node, path[i]);
+            if (!child.isOk()) return child;
+            node = child.get();
+            if (cache != null && i + 1 < path.length) {
+                cache.put(new NodeKey(root, path, i + 1), node);
+            }
+        }
+        return SecpResult.ok(node);
+    }
+
+    @Override
+    public List<SecpResult<SecpPubKey>> deriveRange(SecpExtendedPubKey parent, int[] path, int from, int to) {
+        if (from < 0 || from > to) throw new IllegalArgumentException("Range must satisfy 0 <= from <= to");
+        SecpResult<SecpExtendedPubKey> node = derive(parent, path);
+        int count = to - from;
+        if (!node.isOk()) {
+            List<SecpResult<SecpPubKey>> errors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                errors.add(SecpResult.err(node.errorCode()));
+            }
+            return errors;
+        }
+        SecpPubKey pubKey = node.get().pubKey();
+        // Key the HMAC and serialize the parent key once for the whole range
+        Mac mac = hmacSha512(node.get().chainCode());
+        byte[] data = new byte[37];
+        System.arraycopy(pubKey.serialize(true), 0, data, 0, 33);
+        List<byte[]> tweaks = new ArrayList<>(count);
+        for (int childNumber = from; childNumber < to; childNumber++) {
+            putUInt32(data, 33, childNumber);
+            tweaks.add(Arrays.copyOf(mac.doFinal(data), 32));
+        }
+        return secp.ecPubKeyTweakAdd(pubKey, tweaks);
+    }
+
+    /**
+     * Create an HMAC-SHA512 instance.
+     * @param key HMAC key
+     * @return an initialized {@link Mac}
+     */
+    private static Mac hmacSha512(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA512);
+            mac.init(new SecretKeySpec(key, HMAC_SHA512));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            // HmacSHA512 is required to be supported by every implementation of the Java platform
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isValidPrivKey(byte[] bytes) {
+        BigInteger i = ByteArray.toInteger(bytes);
+        return i.signum() != 0 && i.compareTo(Secp256k1.N) < 0;
+    }
+
+    private static int childDepth(int parentDepth) {
+        if (parentDepth >= 255) throw new IllegalArgumentException("Maximum depth exceeded");
+        return parentDepth + 1;
+    }
+
+    private static void checkNotHardened(int childNumber) {
+        if (SecpHdKeyDeriver.isHardened(childNumber)) {
+            throw new IllegalArgumentException("Can't derive a hardened child from a public key");
+        }
+    }
+
+    private static void putUInt32(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Identify a root node by its serialized public key, chain code and depth. The depth is needed because cached
+     * nodes carry the depth they were derived at.
+     * @param node root node
+     * @return id
+     */
+    private static byte[] rootId(SecpExtendedPubKey node) {
+        byte[] id = new byte[66];
+        System.arraycopy(node.pubKey().serialize(true), 0, id, 0, 33);
+        System.arraycopy(node.chainCode(), 0, id, 33, 32);
+        id[65] = (byte) node.depth();
+        return id;
+    }
+
+    /**
+     * Cache key: a root node and a path from it.
+     */
+    private static final class NodeKey {
+        private final byte[] root;
+        private final int[] path;
+        private final int hashCode;
+
+        NodeKey(byte[] root, int[] path, int length) {
+            this.root = root;
+            this.path = Arrays.copyOf(path, length);
+            this.hashCode = 31 * Arrays.hashCode(root) + Arrays.hashCode(this.path);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NodeKey)) return false;
+            NodeKey other = (NodeKey) o;
+            return hashCode == other.hashCode && Arrays.equals(path, other.path) && Arrays.equals(root, other.root);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Bounded cache of public nodes, evicting the least-recently-used node.
+     */
+    private static final class NodeCache {
+        private final Map<NodeKey, SecpExtendedPubKey> map;
+
+        NodeCache(int maxSize) {
+            this.map = new LinkedHashMap<NodeKey, SecpExtendedPubKey>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<NodeKey, SecpExtendedPubKey> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized @Nullable SecpExtendedPubKey get(NodeKey key) {
+            return map.get(key);
+        }
+
+        synchronized void put(NodeKey key, SecpExtendedPubKey node) {
+            map.put(key, node);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.InstrumentedSecp256k1;
+import org.bitcoinj.secp.InstrumentedSecp256k1MXBean;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * JMX registration of {@link InstrumentedSecp256k1} instances. This is a separate class, so that
+ * {@code java.management} (which is optional) is only loaded when an MBean is registered.
+ */
+final class InstrumentedMBeans {
+    private InstrumentedMBeans() {
+    }
+
+    /**
+     * @param secp instance to register
+     * @return the object name it was registered with
+     */
+    static Object register(InstrumentedSecp256k1 secp) {
+        try {
+            ObjectName name = new ObjectName("org.bitcoinj.secp:type=Secp256k1,provider=" + ObjectName.quote(secp.provider()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(secp), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't register MBean", e);
+        }
+    }
+
+    /**
+     * @param name object name returned by {@link #register(InstrumentedSecp256k1)}
+     */
+    static void unregister(Object name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean((ObjectName) name);
+        } catch (JMException e) {
+            // Already unregistered by someone else
+        }
+    }
+
+    private static final class MXBean implements InstrumentedSecp256k1MXBean {
+        private final InstrumentedSecp256k1 secp;
+
+        MXBean(InstrumentedSecp256k1 secp) {
+            this.secp = secp;
+        }
+
+        @Override
+        public String getProvider() {
+            return secp.provider();
+        }
+
+        @Override
+        public List<InstrumentedSecp256k1.OperationStats> getOperations() {
+            return secp.stats();
+        }
+
+        @Override
+        public void resetStats() {
+            secp.resetStats();
+        }
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.InstrumentedSecp256k1;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPoint;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link InstrumentedSecp256k1}, forwarding to another {@link Secp256k1}.
+ */
+public final class InstrumentedSecp256k1Impl extends ForwardingSecp256k1 implements InstrumentedSecp256k1 {
+    private final String provider;
+    private final @Nullable Listener listener;
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile @Nullable Object registeredName;
+
+    /**
+     * @param secp implementation to instrument
+     * @param provider provider name
+     * @param listener listener to notify of every call, or {@code null}
+     */
+    public InstrumentedSecp256k1Impl(Secp256k1 secp, String provider, @Nullable Listener listener) {
+        super(secp);
+        this.provider = provider;
+        this.listener = listener;
+    }
+
+    /**
+     * Get the default provider name of an implementation: its simple class name, looking through forwarding
+     * wrappers such as the shared instances returned by {@link Secp256k1#get()}.
+     * @param secp implementation
+     * @return provider name
+     */
+    public static String providerName(Secp256k1 secp) {
+        while (secp instanceof ForwardingSecp256k1) {
+            secp = ((ForwardingSecp256k1) secp).delegate;
+        }
+        return secp.getClass().getSimpleName();
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public List<OperationStats> stats() {
+        Map<String, OperationStats> sorted = new TreeMap<>();
+        stats.forEach((operation, s) -> sorted.put(operation, s.snapshot(operation)));
+        return new ArrayList<>(sorted.values());
+    }
+
+    @Override
+    public void resetStats() {
+        stats.clear();
+    }
+
+    @Override
+    public synchronized void registerMBean() {
+        if (registeredName != null) throw new IllegalStateException("MBean is already registered");
+        registeredName = InstrumentedMBeans.register(this);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (registeredName != null) {
+                InstrumentedMBeans.unregister(registeredName);
+                registeredName = null;
+            }
+        }
+        super.close();
+    }
+
+    // Instrumented operations
+
+    @Override
+    public SecpPrivKey ecPrivKeyCreate() {
+        return call("ecPrivKeyCreate", 1, () -> delegate.ecPrivKeyCreate());
+    }
+
+    @Override
+    public SecpPrivKey ecPrivKeyImport(BigInteger privKeyInt) {
+        return call("ecPrivKeyImport", 1, () -> delegate.ecPrivKeyImport(privKeyInt));
+    }
+
+    @Override
+    public SecpPrivKey ecPrivKeyImport(byte[] privKeyBytes) {
+        return call("ecPrivKeyImport", 1, () -> delegate.ecPrivKeyImport(privKeyBytes));
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyCreate(SecpPrivKey privKey) {
+        return call("ecPubKeyCreate", 1, () -> delegate.ecPubKeyCreate(privKey));
+    }
+
+    @Override
+    public SecpKeyPair ecKeyPairCreate() {
+        return call("ecKeyPairCreate", 1, () -> delegate.ecKeyPairCreate());
+    }
+
+    @Override
+    public SecpKeyPair ecKeyPairCreate(SecpPrivKey privKey) {
+        return call("ecKeyPairCreate", 1, () -> delegate.ecKeyPairCreate(privKey));
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyTweakMul(SecpPoint.Uncompressed pubKey, BigInteger scalarMultiplier) {
+        return call("ecPubKeyTweakMul", 1, () -> delegate.ecPubKeyTweakMul(pubKey, scalarMultiplier));
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyCombine(SecpPoint.Uncompressed key1, SecpPoint.Uncompressed key2) {
+        return call("ecPubKeyCombine", 1, () -> delegate.ecPubKeyCombine(key1, key2));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyCombine(List<? extends SecpPubKey> pubKeys) {
+        return result("ecPubKeyCombine", pubKeys.size(), () -> delegate.ecPubKeyCombine(pubKeys));
+    }
+
+    @Override
+    public <T extends SecpPubKey> List<T> ecPubKeySort(List<T> pubKeys) {
+        return call("ecPubKeySort", pubKeys.size(), () -> delegate.ecPubKeySort(pubKeys));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyTweakAdd(SecpPubKey pubKey, byte[] tweak) {
+        return result("ecPubKeyTweakAdd", 1, () -> delegate.ecPubKeyTweakAdd(pubKey, tweak));
+    }
+
+    @Override
+    public List<SecpResult<SecpPubKey>> ecPubKeyTweakAdd(SecpPubKey pubKey, List<byte[]> tweaks) {
+        return call("ecPubKeyTweakAdd", tweaks.size(), () -> delegate.ecPubKeyTweakAdd(pubKey, tweaks));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> xOnlyPubKeyTweakAdd(SecpXOnlyPubKey internalKey, byte[] tweak) {
+        return result("xOnlyPubKeyTweakAdd", 1, () -> delegate.xOnlyPubKeyTweakAdd(internalKey, tweak));
+    }
+
+    @Override
+    public SecpResult<SecpKeyPair> keyPairXOnlyTweakAdd(SecpKeyPair keyPair, byte[] tweak) {
+        return result("keyPairXOnlyTweakAdd", 1, () -> delegate.keyPairXOnlyTweakAdd(keyPair, tweak));
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakAdd(SecpPrivKey privKey, byte[] tweak) {
+        return result("ecSecKeyTweakAdd", 1, () -> delegate.ecSecKeyTweakAdd(privKey, tweak));
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakMul(SecpPrivKey privKey, byte[] tweak) {
+        return result("ecSecKeyTweakMul", 1, () -> delegate.ecSecKeyTweakMul(privKey, tweak));
+    }
+
+    @Override
+    public SecpPrivKey ecSecKeyNegate(SecpPrivKey privKey) {
+        return call("ecSecKeyNegate", 1, () -> delegate.ecSecKeyNegate(privKey));
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSign(byte[] msg_hash_data, SecpPrivKey privKey) {
+        return result("ecdsaSign", 1, () -> delegate.ecdsaSign(msg_hash_data, privKey));
+    }
+
+    @Override
+    public SecpResult<ByteBuffer> ecdsaSign(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        return result("ecdsaSign", 1, () -> delegate.ecdsaSign(msgHash, privKey, sigOut));
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignLowR(byte[] messageHashData, SecpPrivKey privKey) {
+        return result("ecdsaSignLowR", 1, () -> delegate.ecdsaSignLowR(messageHashData, privKey));
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaSignRecoverable(byte[] msgHash, SecpPrivKey privKey) {
+        return result("ecdsaSignRecoverable", 1, () -> delegate.ecdsaSignRecoverable(msgHash, privKey));
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign32(byte[] msg_hash, SecpPrivKey privKey) {
+        return call("schnorrSigSign32", 1, () -> delegate.schnorrSigSign32(msg_hash, privKey));
+    }
+
+    @Override
+    public void schnorrSigSign32(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        run("schnorrSigSign32", () -> delegate.schnorrSigSign32(msgHash, privKey, sigOut));
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign32(byte[] messageHash, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        return call("schnorrSigSign32", 1, () -> delegate.schnorrSigSign32(messageHash, privKey, auxiliaryRandom));
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey) {
+        return call("schnorrSigSign", 1, () -> delegate.schnorrSigSign(msg, privKey));
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        return call("schnorrSigSign", 1, () -> delegate.schnorrSigSign(msg, privKey, auxiliaryRandom));
+    }
+
+    @Override
+    public SecpResult<EcdhSharedSecret> ecdh(SecpPubKey pubKey, SecpPrivKey privKey) {
+        return result("ecdh", 1, () -> delegate.ecdh(pubKey, privKey));
+    }
+
+    @Override
+    public byte[] ellswiftEncode(SecpPubKey pubKey) {
+        return call("ellswiftEncode", 1, () -> delegate.ellswiftEncode(pubKey));
+    }
+
+    @Override
+    public SecpPubKey ellswiftDecode(byte[] encodedPubKey) {
+        return call("ellswiftDecode", 1, () -> delegate.ellswiftDecode(encodedPubKey));
+    }
+
+    @Override
+    public byte[] ellswiftCreate(SecpPrivKey privKey) {
+        return call("ellswiftCreate", 1, () -> delegate.ellswiftCreate(privKey));
+    }
+
+    @Override
+    public byte[] ellswiftXDH(byte[] encodedPubKeyA, byte[] encodedPubKeyB, SecpPrivKey privKey, boolean isPartyA) {
+        return call("ellswiftXDH", 1, () -> delegate.ellswiftXDH(encodedPubKeyA, encodedPubKeyB, privKey, isPartyA));
+    }
+
+    @Override
+    public byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags) {
+        return call("ecPubKeySerialize", 1, () -> delegate.ecPubKeySerialize(pubKey, flags));
+    }
+
+    @Override
+    public SecpPoint.Uncompressed ecPointUncompress(SecpPoint.Compressed compressedPoint) {
+        return call("ecPointUncompress", 1, () -> delegate.ecPointUncompress(compressedPoint));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData) {
+        return result("ecPubKeyParse", 1, () -> delegate.ecPubKeyParse(inputData));
+    }
+
+    @Override
+    public SecpPubKey ecPubKeyFromXOnly(SecpXOnlyPubKey xOnlyPubKey) {
+        return call("ecPubKeyFromXOnly", 1, () -> delegate.ecPubKeyFromXOnly(xOnlyPubKey));
+    }
+
+    @Override
+    public SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData) {
+        return result("xOnlyPubKeyParse", 1, () -> delegate.xOnlyPubKeyParse(inputData));
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeCompact(EcdsaSignature sig) {
+        return call("ecdsaSignatureSerializeCompact", 1, () -> delegate.ecdsaSignatureSerializeCompact(sig));
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature) {
+        return result("ecdsaSignatureParseCompact", 1, () -> delegate.ecdsaSignatureParseCompact(serialized_signature));
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeDer(EcdsaSignature sig) {
+        return call("ecdsaSignatureSerializeDer", 1, () -> delegate.ecdsaSignatureSerializeDer(sig));
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDer(byte[] der) {
+        return result("ecdsaSignatureParseDer", 1, () -> delegate.ecdsaSignatureParseDer(der));
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDerLax(byte[] der) {
+        return result("ecdsaSignatureParseDerLax", 1, () -> delegate.ecdsaSignatureParseDerLax(der));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
+        return result("ecdsaVerify", 1, () -> delegate.ecdsaVerify(sig, msg_hash_data, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        return result("ecdsaVerify", 1, () -> delegate.ecdsaVerify(sig, msgHash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return result("ecdsaVerifyDer", 1, () -> delegate.ecdsaVerifyDer(der, msgHash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return result("ecdsaVerifyDerLax", 1, () -> delegate.ecdsaVerifyDerLax(der, msgHash, pubKey));
+    }
+
+    @Override
+    public byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig) {
+        return call("ecdsaRecoverableSignatureSerializeCompact", 1, () -> delegate.ecdsaRecoverableSignatureSerializeCompact(sig));
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId) {
+        return result("ecdsaRecoverableSignatureParseCompact", 1, () -> delegate.ecdsaRecoverableSignatureParseCompact(serializedSignature, recId));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash) {
+        return result("ecdsaRecover", 1, () -> delegate.ecdsaRecover(sig, msgHash));
+    }
+
+    @Override
+    public BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        return call("ecdsaVerifyBatch", sigs.size(), () -> delegate.ecdsaVerifyBatch(sigs, msgHashes, pubKeys));
+    }
+
+    @Override
+    public byte[] taggedSha256(String tag, String message) {
+        return call("taggedSha256", 1, () -> delegate.taggedSha256(tag, message));
+    }
+
+    @Override
+    public byte[] taggedSha256(byte[] tag, byte[] message) {
+        return call("taggedSha256", 1, () -> delegate.taggedSha256(tag, message));
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
+        return result("schnorrSigVerify", 1, () -> delegate.schnorrSigVerify(signature, msg_hash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpPubKey pubKey) {
+        return result("schnorrSigVerify", 1, () -> delegate.schnorrSigVerify(signature, msg_hash, pubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        return result("schnorrSigVerify", 1, () -> delegate.schnorrSigVerify(signature, msgHash, xOnlyPubKey));
+    }
+
+    @Override
+    public SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak) {
+        return result("xOnlyTweakAddCheck", 1, () -> delegate.xOnlyTweakAddCheck(tweakedKey, tweakedKeyParity, internalKey, tweak));
+    }
+
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        return call("schnorrSigVerifyBatch", signatures.size(), () -> delegate.schnorrSigVerifyBatch(signatures, msgHashes, pubKeys));
+    }
+
+    private <T> SecpResult<T> result(String operation, int batchSize, Supplier<SecpResult<T>> call) {
+        Call listenerCall = listener != null ? listener.started(provider, operation, batchSize) : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            SecpResult<T> result = call.get();
+            failed = !result.isOk();
+            return result;
+        } finally {
+            completed(operation, start, failed, listenerCall);
+        }
+    }
+
+    private <T> T call(String operation, int batchSize, Supplier<T> call) {
+        Call listenerCall = listener != null ? listener.started(provider, operation, batchSize) : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            completed(operation, start, failed, listenerCall);
+        }
+    }
+
+    private void run(String operation, Runnable call) {
+        call(operation, 1, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private void completed(String operation, long start, boolean failed, @Nullable Call listenerCall) {
+        long nanos = System.nanoTime() - start;
+        stats.computeIfAbsent(operation, k -> new Stats()).record(nanos, failed);
+        if (listenerCall != null) {
+            listenerCall.completed(failed);
+        }
+    }
+
+    /**
+     * Statistics of an operation, updated concurrently without locks.
+     */
+    private static final class Stats {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        // Bucket i counts latencies in [2^(i-1), 2^i) nanoseconds
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+            histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+        }
+
+        OperationStats snapshot(String operation) {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new Snapshot(operation, count.sum(), errors.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+        }
+    }
+
+    /**
+     * Immutable {@link OperationStats}
+     */
+    private static final class Snapshot implements OperationStats {
+        private final String operation;
+        private final long count;
+        private final long errors;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] histogram;
+
+        Snapshot(String operation, long count, long errors, long totalNanos, long maxNanos, long[] histogram) {
+            this.operation = operation;
+            this.count = count;
+            this.errors = errors;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public String getOperation() {
+            return operation;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getErrors() {
+            return errors;
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public long getMeanNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return percentile(0.50);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return percentile(0.99);
+        }
+
+        @Override
+        public long[] getLatencyHistogram() {
+            return histogram.clone();
+        }
+
+        // The histogram is read bucket by bucket while it is updated, so use its own total rather than count
+        private long percentile(double p) {
+            long total = 0;
+            for (long n : histogram) {
+                total += n;
+            }
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return i == 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return operation + ": count=" + count + ", errors=" + errors + ", mean=" + getMeanNanos()
+                    + "ns, p50=" + getP50Nanos() + "ns, p99=" + getP99Nanos() + "ns, max=" + maxNanos + "ns";
+        }
+    }
+}
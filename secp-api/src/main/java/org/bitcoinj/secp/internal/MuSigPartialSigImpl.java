@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.SecpMuSig;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Default/Internal implementation of {@link SecpMuSig.PartialSig}, stored in its 32-byte serialization. Implementations
+ * must only create instances from a valid partial signature.
+ */
+public final class MuSigPartialSigImpl implements SecpMuSig.PartialSig {
+    private final byte[] bytes;
+
+    /**
+     * @param bytes 32-byte serialization
+     */
+    public MuSigPartialSigImpl(byte[] bytes) {
+        if (bytes.length != 32) {
+            throw new IllegalArgumentException("Partial signature must be 32 bytes");
+        }
+        this.bytes = bytes.clone();
+    }
+
+    @Override
+    public byte[] serialize() {
+        return bytes.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return o instanceof MuSigPartialSigImpl && Arrays.equals(bytes, ((MuSigPartialSigImpl) o).bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "MuSigPartialSigImpl [" + ByteUtils.HEX_FORMAT.formatHex(bytes) + "]";
+    }
+}
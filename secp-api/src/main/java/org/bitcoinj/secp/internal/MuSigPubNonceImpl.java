@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.SecpMuSig;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Default/Internal implementation of {@link SecpMuSig.PubNonce}, stored in its 66-byte serialization. Implementations
+ * must only create instances from a valid public nonce.
+ */
+public final class MuSigPubNonceImpl implements SecpMuSig.PubNonce {
+    private final byte[] bytes;
+
+    /**
+     * @param bytes 66-byte serialization
+     */
+    public MuSigPubNonceImpl(byte[] bytes) {
+        if (bytes.length != 66) {
+            throw new IllegalArgumentException("Public nonce must be 66 bytes");
+        }
+        this.bytes = bytes.clone();
+    }
+
+    @Override
+    public byte[] serialize() {
+        return bytes.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return o instanceof MuSigPubNonceImpl && Arrays.equals(bytes, ((MuSigPubNonceImpl) o).bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "MuSigPubNonceImpl [" + ByteUtils.HEX_FORMAT.formatHex(bytes) + "]";
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.Secp256k1;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry of {@link Secp256k1.Provider}s. The {@link ServiceLoader} is only consulted once, and
+ * {@link #shared(Secp256k1.Provider)} hands out reference-counted handles to one lazily created instance
+ * per provider, so that casual callers of {@link Secp256k1#get()} don't each pay for creating (and randomizing)
+ * a new context.
+ * <p>
+ * The registry holds a reference to each shared instance itself, so an instance stays alive between scoped
+ * uses like {@code try (Secp256k1 secp = Secp256k1.get()) {...}}. {@link #closeShared()}, which also runs as a
+ * shutdown hook, drops those references.
+ */
+public final class ProviderRegistry {
+    private static final Object lock = new Object();
+    private static volatile @Nullable List<Secp256k1.Provider> providers;
+    // Guarded by lock
+    private static final Map<String, Shared> shared = new HashMap<>();
+    // Guarded by lock
+    private static boolean shutdownHookAdded = false;
+
+    private ProviderRegistry() {}
+
+    /**
+     * Get all providers, loading them with {@link ServiceLoader} on first use.
+     * @return unmodifiable list of providers, in the order the service loader found them
+     */
+    public static List<Secp256k1.Provider> providers() {
+        List<Secp256k1.Provider> result = providers;
+        if (result == null) {
+            synchronized (lock) {
+                result = providers;
+                if (result == null) {
+                    List<Secp256k1.Provider> loaded = new ArrayList<>();
+                    for (Secp256k1.Provider provider : ServiceLoader.load(Secp256k1.Provider.class)) {
+                        loaded.add(provider);
+                    }
+                    result = Collections.unmodifiableList(loaded);
+                    providers = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a handle to the shared instance of a provider, creating the instance if there is none. Closing the
+     * handle releases its reference, after which the handle can't be used. The instance is closed when all
+     * references, including the registry's own, have been released.
+     * @param provider provider of the instance
+     * @return a new handle to the shared instance
+     */
+    public static Secp256k1 shared(Secp256k1.Provider provider) {
+        synchronized (lock) {
+            Shared instance = shared.get(provider.name());
+            if (instance == null) {
+                if (!shutdownHookAdded) {
+                    addShutdownHook();
+                    shutdownHookAdded = true;
+                }
+                instance = new Shared(provider.name(), provider.get());
+                shared.put(provider.name(), instance);
+            }
+            instance.references++;
+            return new Handle(instance);
+        }
+    }
+
+    /**
+     * Release the registry's reference to every shared instance. Each instance is closed as soon as all handles
+     * to it have been closed too, so handles that are in use stay valid. Later calls to
+     * {@link #shared(Secp256k1.Provider)} create new instances.
+     */
+    public static void closeShared() {
+        List<Shared> released = new ArrayList<>();
+        synchronized (lock) {
+            for (Shared instance : shared.values()) {
+                if (--instance.references == 0) {
+                    released.add(instance);
+                }
+            }
+            shared.clear();
+        }
+        for (Shared instance : released) {
+            instance.secp.close();
+        }
+    }
+
+    private static void addShutdownHook() {
+        try {
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(ProviderRegistry::closeShared, "secp256k1-registry-shutdown"));
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down, the instance just isn't closed
+        }
+    }
+
+    private static void release(Shared instance) {
+        synchronized (lock) {
+            if (--instance.references > 0) {
+                return;
+            }
+        }
+        instance.secp.close();
+    }
+
+    private static final class Shared {
+        final String name;
+        final Secp256k1 secp;
+        // Guarded by lock. Starts with the reference held by the registry.
+        int references = 1;
+
+        Shared(String name, Secp256k1 secp) {
+            this.name = name;
+            this.secp = secp;
+        }
+    }
+
+    /**
+     * A reference to a shared instance. Closing is idempotent, so a handle can only release its own reference.
+     */
+    private static final class Handle extends ForwardingSecp256k1 {
+        private final Shared instance;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        Handle(Shared instance) {
+            super(instance.secp);
+            this.instance = instance;
+        }
+
+        @Override
+        protected Secp256k1 delegate() {
+            if (closed.get()) throw new IllegalStateException("Secp256k1 instance has been closed");
+            return delegate;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(instance);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Secp256k1 shared instance of " + instance.name;
+        }
+    }
+}
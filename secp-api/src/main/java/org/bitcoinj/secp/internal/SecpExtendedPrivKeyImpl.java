@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.SecpExtendedPrivKey;
+import org.bitcoinj.secp.SecpPrivKey;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of {@link SecpExtendedPrivKey}.
+ */
+public final class SecpExtendedPrivKeyImpl implements SecpExtendedPrivKey {
+    private final SecpPrivKey privKey;
+    private final byte[] chainCode;
+    private final int depth;
+    private final int childNumber;
+
+    public SecpExtendedPrivKeyImpl(SecpPrivKey privKey, byte[] chainCode, int depth, int childNumber) {
+        if (chainCode.length != 32) throw new IllegalArgumentException("Chain code must be 32-byte");
+        if (depth < 0 || depth > 255) throw new IllegalArgumentException("Depth must be 0 to 255");
+        this.privKey = privKey;
+        this.chainCode = chainCode.clone();
+        this.depth = depth;
+        this.childNumber = childNumber;
+    }
+
+    @Override
+    public SecpPrivKey privKey() {
+        return privKey;
+    }
+
+    @Override
+    public byte[] chainCode() {
+        return chainCode.clone();
+    }
+
+    @Override
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public int childNumber() {
+        return childNumber;
+    }
+
+    @Override
+    public void destroy() {
+        privKey.destroy();
+        Arrays.fill(chainCode, (byte) 0x00);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{ depth = " + depth + ", childNumber = " + Integer.toUnsignedString(childNumber) + " }";
+    }
+}
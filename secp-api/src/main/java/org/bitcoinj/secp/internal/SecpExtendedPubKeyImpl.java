@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.SecpExtendedPubKey;
+import org.bitcoinj.secp.SecpPubKey;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of {@link SecpExtendedPubKey}.
+ */
+public final class SecpExtendedPubKeyImpl implements SecpExtendedPubKey {
+    private final SecpPubKey pubKey;
+    private final byte[] chainCode;
+    private final int depth;
+    private final int childNumber;
+
+    public SecpExtendedPubKeyImpl(SecpPubKey pubKey, byte[] chainCode, int depth, int childNumber) {
+        if (chainCode.length != 32) throw new IllegalArgumentException("Chain code must be 32-byte");
+        if (depth < 0 || depth > 255) throw new IllegalArgumentException("Depth must be 0 to 255");
+        this.pubKey = pubKey;
+        this.chainCode = chainCode.clone();
+        this.depth = depth;
+        this.childNumber = childNumber;
+    }
+
+    @Override
+    public SecpPubKey pubKey() {
+        return pubKey;
+    }
+
+    @Override
+    public byte[] chainCode() {
+        return chainCode.clone();
+    }
+
+    @Override
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public int childNumber() {
+        return childNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SecpExtendedPubKeyImpl)) return false;
+        SecpExtendedPubKeyImpl other = (SecpExtendedPubKeyImpl) o;
+        return depth == other.depth && childNumber == other.childNumber
+                && Arrays.equals(chainCode, other.chainCode)
+                && Arrays.equals(pubKey.serialize(true), other.pubKey.serialize(true));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(chainCode);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{ depth = " + depth + ", childNumber = " + Integer.toUnsignedString(childNumber)
+                + ", pubKey = " + pubKey + " }";
+    }
+}
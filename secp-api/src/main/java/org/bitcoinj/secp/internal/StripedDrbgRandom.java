@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.bitcoinj.secp.SecpRandom;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Default {@link SecpRandom}: a power-of-two number of lazily-created {@code DRBG} {@link SecureRandom} "stripes",
+ * selected by thread id. {@code SecureRandom} implementations synchronize {@code nextBytes}, so spreading threads
+ * over several instances avoids a single point of contention. Each stripe is instantiated (and seeded by the
+ * DRBG from the JDK's default entropy source) on first use, never during class or instance initialization.
+ */
+public final class StripedDrbgRandom implements SecpRandom {
+    /** The shared instance returned by {@link SecpRandom#getDefault()} */
+    public static final StripedDrbgRandom INSTANCE = new StripedDrbgRandom(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicReferenceArray<SecureRandom> stripes;
+    private final int mask;
+
+    /**
+     * @param minStripes minimum number of stripes, rounded up to a power of two
+     */
+    StripedDrbgRandom(int minStripes) {
+        int size = minStripes <= 1 ? 1 : Integer.highestOneBit(minStripes - 1) << 1;
+        stripes = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        stripe().nextBytes(bytes);
+    }
+
+    @SuppressWarnings("deprecation")    // Thread.threadId() requires Java 19
+    private SecureRandom stripe() {
+        int i = (int) Thread.currentThread().getId() & mask;
+        SecureRandom random = stripes.get(i);
+        if (random == null) {
+            SecureRandom created = newDrbg();
+            random = stripes.compareAndSet(i, null, created) ? created : stripes.get(i);
+        }
+        return random;
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            // 256-bit security strength, prediction resistance off so nextBytes never blocks for reseeding
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+        } catch (NoSuchAlgorithmException e) {
+            // The SUN provider has included DRBG since Java 9
+            throw new RuntimeException("No DRBG SecureRandom available", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for EcdsaDer
+ */
+public class EcdsaDerTest {
+    static final HexFormat HEX = new HexFormat();
+
+    /** Not valid (strict) DER, but accepted by the lax parser */
+    static List<String> laxOnly = List.of(
+            "300702020001020101",                   // Excessive 0x00 padding of r
+            "3006020101020101ff",                   // Trailing garbage
+            "3005020101020101",                     // Wrong sequence length
+            "3081060201010201" + "01");             // Non-minimal sequence length
+
+    /** Not even accepted by the lax parser */
+    static List<String> invalid = List.of(
+            "",
+            "3106020101020101",                     // Wrong sequence tag
+            "3006030101020101",                     // Wrong integer tag
+            "30060201010202");                      // Truncated
+
+    @Test
+    void roundTrip() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            byte[] compact = new byte[64];
+            random.nextBytes(compact);
+            compact[0] &= 0x7F;                     // Make sure r and s are less than the curve order
+            compact[32] &= 0x7F;
+            for (int j = 0; j < i % 32; j++) {      // Exercise shorter encodings
+                compact[j] = 0;
+                compact[32 + j] = 0;
+            }
+            byte[] der = EcdsaDer.serialize(compact);
+            assertArrayEquals(compact, EcdsaDer.parse(der));
+            assertArrayEquals(compact, EcdsaDer.parseLax(der));
+        }
+    }
+
+    @Test
+    void minimalEncoding() {
+        byte[] compact = new byte[64];
+        compact[31] = 1;
+        compact[32] = (byte) 0x80;
+        assertArrayEquals(HEX.parseHex("30260201010221" + "0080" + "00".repeat(31)), EcdsaDer.serialize(compact));
+    }
+
+    @Test
+    void outOfRange() {
+        // r is the curve order, so it parses as zero
+        byte[] der = HEX.parseHex("3026" + "022100FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141" + "020101");
+        assertTrue(EcdsaDer.hasZeroScalar(EcdsaDer.parse(der)));
+        assertTrue(EcdsaDer.hasZeroScalar(EcdsaDer.parseLax(der)));
+    }
+
+    @FieldSource("laxOnly")
+    @ParameterizedTest(name = "der: {0}")
+    void laxOnly(String der) {
+        assertNull(EcdsaDer.parse(HEX.parseHex(der)));
+        assertNotNull(EcdsaDer.parseLax(HEX.parseHex(der)));
+    }
+
+    @FieldSource("invalid")
+    @ParameterizedTest(name = "der: {0}")
+    void invalid(String der) {
+        assertNull(EcdsaDer.parse(HEX.parseHex(der)));
+        assertNull(EcdsaDer.parseLax(HEX.parseHex(der)));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests for StripedDrbgRandom
+ */
+public class StripedDrbgRandomTest {
+    @Test
+    void nextBytesFromManyThreads() throws InterruptedException {
+        StripedDrbgRandom random = new StripedDrbgRandom(3);
+        byte[][] results = new byte[8][32];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            byte[] result = results[i];
+            threads[i] = new Thread(() -> random.nextBytes(result));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < results.length; i++) {
+            assertFalse(Arrays.equals(new byte[32], results[i]));
+            for (int j = i + 1; j < results.length; j++) {
+                assertFalse(Arrays.equals(results[i], results[j]));
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/// Check the memory allocated per operation and the retained size of the value types against checked-in
+/// thresholds, failing (with exit status 1) if any of them grew.
+///
+/// - Bytes allocated per operation are the `gc.alloc.rate.norm` results of running [Secp256k1Benchmark] and
+///   [EllSwiftBenchmark] with the JMH [GCProfiler] (`-prof gc`), for every operation and provider that implements it.
+/// - Retained sizes (the object, the objects it references and so on) of the values returned by each provider are
+///   measured with JOL [GraphLayout].
+///
+/// A value fails if it is more than `secp.allocation.tolerance` percent (default 10) and 128 bytes above its
+/// threshold, or if it has no threshold. With `-Dsecp.allocation.rebaseline` the measured values are written to
+/// the thresholds file instead (keeping the thresholds of providers that were not measured), after an intended
+/// change in allocation. `-Dsecp.allocation.providers` restricts the check to a comma-separated list of
+/// [Secp256k1.ProviderId]s, default all of them, so the native library must be on `java.library.path`.
+/// Allocation depends on the JDK (escape analysis, FFM implementation), so the thresholds file records the Java
+/// version it was measured with and should be regenerated when the build JDK changes.
+///
+/// Run with `mvn -pl secp-benchmarks -am test -Dcheck-allocations [-Dsecp.allocation.rebaseline]`.
+public final class AllocationCheck {
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    // Cheap operations vary by an object or two between runs, depending on what the JIT manages to scalar-replace
+    private static final long SLACK_BYTES = 128;
+
+    private AllocationCheck() {
+    }
+
+    /// @param args optional path of the thresholds file, default `allocation-thresholds.properties`
+    /// @throws RunnerException if a benchmark fails
+    /// @throws IOException if the thresholds file can't be read or written
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path thresholdsFile = Paths.get(args.length > 0 ? args[0] : "allocation-thresholds.properties");
+        boolean rebaseline = Boolean.getBoolean("secp.allocation.rebaseline");
+        double tolerance = Double.parseDouble(System.getProperty("secp.allocation.tolerance", "10")) / 100;
+
+        List<Secp256k1.ProviderId> providers = providers(System.getProperty("secp.allocation.providers", ""));
+
+        Map<String, Long> measured = new TreeMap<>(measureAllocations(providers));
+        measured.putAll(measureFootprints(providers));
+
+        Map<String, Long> thresholds = readThresholds(thresholdsFile);
+        if (rebaseline) {
+            Map<String, Long> updated = new TreeMap<>(thresholds);
+            for (Secp256k1.ProviderId id : providers) {
+                updated.keySet().removeIf(key -> key.contains("." + id.name() + "."));
+            }
+            updated.putAll(measured);
+            writeThresholds(thresholdsFile, updated);
+            System.out.println("Wrote " + updated.size() + " thresholds to " + thresholdsFile);
+            return;
+        }
+        int failures = 0;
+        for (Map.Entry<String, Long> entry : measured.entrySet()) {
+            Long threshold = thresholds.get(entry.getKey());
+            long value = entry.getValue();
+            String status;
+            if (threshold == null) {
+                status = "FAIL (no threshold)";
+                failures++;
+            } else if (value > threshold * (1 + tolerance) && value > threshold + SLACK_BYTES) {
+                status = "FAIL (threshold " + threshold + ")";
+                failures++;
+            } else {
+                status = "ok (threshold " + threshold + ")";
+            }
+            System.out.printf("%-60s %8d  %s%n", entry.getKey(), value, status);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " allocation regression(s) or missing threshold(s), rebaseline with "
+                    + "-Dsecp.allocation.rebaseline if intended");
+            System.exit(1);
+        }
+    }
+
+    /// @param list comma-separated provider IDs, or empty for all
+    /// @return providers to check
+    private static List<Secp256k1.ProviderId> providers(String list) {
+        if (list.trim().isEmpty()) {
+            return Arrays.asList(Secp256k1.ProviderId.values());
+        }
+        List<Secp256k1.ProviderId> providers = new ArrayList<>();
+        for (String name : list.split(",")) {
+            providers.add(Secp256k1.ProviderId.valueOf(name.trim()));
+        }
+        return providers;
+    }
+
+    /// @param providers providers to measure
+    /// @return bytes allocated per operation, keyed by `alloc.<provider>.<operation>`
+    private static Map<String, Long> measureAllocations(List<Secp256k1.ProviderId> providers) throws RunnerException {
+        String[] names = providers.stream().map(Enum::name).toArray(String[]::new);
+        Map<String, Long> allocations = new TreeMap<>();
+        measureAllocations(Secp256k1Benchmark.class, names, allocations);
+        String[] ellswiftNames = Arrays.stream(names)
+                .filter(name -> Arrays.asList(EllSwiftBenchmark.PROVIDERS).contains(name))
+                .toArray(String[]::new);
+        if (ellswiftNames.length > 0) {
+            measureAllocations(EllSwiftBenchmark.class, ellswiftNames, allocations);
+        }
+        return allocations;
+    }
+
+    private static void measureAllocations(Class<?> benchmarks, String[] providers, Map<String, Long> allocations)
+            throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(benchmarks.getName())
+                .param("provider", providers)
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .build();
+        for (RunResult result : new Runner(options).run()) {
+            BenchmarkParams params = result.getParams();
+            String benchmark = params.getBenchmark();
+            String operation = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            Result<?> norm = result.getSecondaryResults().get(ALLOC_NORM);
+            if (norm != null) {
+                allocations.put("alloc." + params.getParam("provider") + "." + operation, Math.round(norm.getScore()));
+            }
+        }
+    }
+
+    /// @param providers providers to measure
+    /// @return retained size in bytes of each value type, keyed by `footprint.<provider>.<type>`
+    private static Map<String, Long> measureFootprints(List<Secp256k1.ProviderId> providers) {
+        Map<String, Long> footprints = new TreeMap<>();
+        for (Secp256k1.ProviderId id : providers) {
+            try (Secp256k1 secp = Secp256k1.newInstance(id)) {
+                SecpKeyPair keyPair = secp.ecKeyPairCreate();
+                byte[] message = secp.taggedSha256("footprint", "footprint");
+                Map<String, Object> values = new TreeMap<>();
+                values.put("SecpPrivKey", keyPair.privateKey());
+                values.put("SecpPubKey", keyPair.publicKey());
+                values.put("SecpXOnlyPubKey", keyPair.publicKey().xOnly());
+                values.put("SecpKeyPair", keyPair);
+                values.put("EcdsaSignature", secp.ecdsaSign(message, keyPair.privateKey()).get());
+                values.put("EcdsaRecoverableSignature", secp.ecdsaSignRecoverable(message, keyPair.privateKey()).get());
+                values.put("SchnorrSignature", secp.schnorrSigSign32(message, keyPair.privateKey()));
+                values.put("EcdhSharedSecret", secp.ecdh(secp.ecKeyPairCreate().publicKey(), keyPair.privateKey()).get());
+                values.forEach((type, value) ->
+                        footprints.put("footprint." + id.name() + "." + type, GraphLayout.parseInstance(value).totalSize()));
+            }
+        }
+        return footprints;
+    }
+
+    private static Map<String, Long> readThresholds(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Long> thresholds = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            thresholds.put(key, Long.parseLong(properties.getProperty(key).trim()));
+        }
+        return thresholds;
+    }
+
+    // Written sorted and without the timestamp of Properties.store(), so that changes are easy to review
+    private static void writeThresholds(Path file, Map<String, Long> values) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Allocation thresholds checked by org.bitcoinj.secp.benchmarks.AllocationCheck\n");
+            writer.write("# alloc.<provider>.<operation>: bytes allocated per operation (JMH gc.alloc.rate.norm)\n");
+            writer.write("# footprint.<provider>.<type>: retained size in bytes of a value (JOL GraphLayout)\n");
+            writer.write("# Regenerate with: mvn -pl secp-benchmarks -am test -Dcheck-allocations -Dsecp.allocation.rebaseline\n");
+            writer.write("# Recorded on Java " + System.getProperty("java.version") + " with "
+                    + System.getProperty("java.vm.name") + "\n");
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+}
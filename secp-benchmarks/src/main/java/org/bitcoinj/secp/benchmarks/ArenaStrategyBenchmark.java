@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.bitcoinj.secp.ffm.Secp256k1Foreign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/// Compare [Secp256k1Foreign.ArenaStrategy#CONFINED] (a new arena per call) with
+/// [Secp256k1Foreign.ArenaStrategy#THREAD_LOCAL] (a reused per-thread slab) for cheap and expensive operations.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaStrategyBenchmark {
+    private static final byte[] TAG = "BIP0340/challenge".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"CONFINED", "THREAD_LOCAL"})
+    public Secp256k1Foreign.ArenaStrategy strategy;
+
+    private Secp256k1Foreign secp;
+    private byte[] message;
+    private byte[] serializedSig;
+    private byte[] serializedXOnly;
+    private EcdsaSignature sig;
+    private SecpKeyPair keyPair;
+
+    @Setup
+    public void setup() {
+        secp = new Secp256k1Foreign(strategy);
+        keyPair = secp.ecKeyPairCreate();
+        message = secp.taggedSha256(TAG, "benchmark".getBytes(StandardCharsets.UTF_8));
+        sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+        serializedSig = sig.serializeCompact();
+        serializedXOnly = keyPair.publicKey().xOnly().serialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        secp.close();
+    }
+
+    @Benchmark
+    public EcdsaSignature ecdsaSignatureParseCompact() {
+        return secp.ecdsaSignatureParseCompact(serializedSig).get();
+    }
+
+    @Benchmark
+    public byte[] taggedSha256() {
+        return secp.taggedSha256(TAG, message);
+    }
+
+    @Benchmark
+    public SecpXOnlyPubKey xOnlyPubKeyParse() {
+        return secp.xOnlyPubKeyParse(serializedXOnly).get();
+    }
+
+    @Benchmark
+    public boolean ecdsaVerify() {
+        return secp.ecdsaVerify(sig, message, keyPair.publicKey()).get();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/// Run benchmarks with the JMH command line options, but write the results as JSON by default, so that runs (e.g.
+/// of two releases) can be compared with a JSON diff or a JMH visualizer.
+///
+/// The results are written to `jmh-result-<version>.json`, where `<version>` is the `secp.version` system property
+/// (set by the `run-benchmarks` profile), or to the file given with `-rff`.
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    /// @param args JMH command line options, e.g. a benchmark regex
+    /// @throws CommandLineOptionException if the options are not valid
+    /// @throws RunnerException if a benchmark fails
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        String version = System.getProperty("secp.version", "dev");
+        Options options = new OptionsBuilder()
+                .parent(cmdOptions)
+                .resultFormat(cmdOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cmdOptions.getResult().orElse("jmh-result-" + version + ".json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.ffm.Secp256k1Foreign;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_h;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+/// Baselines for the cost of calling native code, to separate the FFM transition from the work done by
+/// `libsecp256k1` in the [Secp256k1Benchmark] results:
+///
+/// - `javaCall`: the same work in Java, i.e. no transition at all
+/// - `emptyDowncall` / `emptyCriticalDowncall`: C library `abs(int)`, which does (almost) nothing, through a
+///   normal and a critical (`Linker.Option.critical(false)`) downcall handle
+/// - `secKeyVerifyDowncall`: `secp256k1_ec_seckey_verify`, the cheapest `libsecp256k1` function that takes a context
+/// - `secKeyVerifyArena`: the same, plus the confined arena that most [Secp256k1Foreign] methods create per call
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DowncallBaselineBenchmark {
+    private static final FunctionDescriptor ABS_DESCRIPTOR = FunctionDescriptor.of(JAVA_INT, JAVA_INT);
+    private static final MethodHandle ABS = Linker.nativeLinker().downcallHandle(
+            Linker.nativeLinker().defaultLookup().findOrThrow("abs"), ABS_DESCRIPTOR);
+    private static final MethodHandle ABS_CRITICAL = Linker.nativeLinker().downcallHandle(
+            Linker.nativeLinker().defaultLookup().findOrThrow("abs"), ABS_DESCRIPTOR, Linker.Option.critical(false));
+
+    private final byte[] secKey = new byte[32];
+    private Secp256k1Foreign secp;  // Loads the library
+    private Arena arena;
+    private MemorySegment secKeySeg;
+    private int value = -42;
+
+    @Setup
+    public void setup() {
+        secp = new Secp256k1Foreign();
+        secKey[31] = 1;
+        arena = Arena.ofConfined();
+        secKeySeg = arena.allocateFrom(JAVA_BYTE, secKey);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+        secp.close();
+    }
+
+    @Benchmark
+    public int javaCall() {
+        return Math.abs(value);
+    }
+
+    @Benchmark
+    public int emptyDowncall() throws Throwable {
+        return (int) ABS.invokeExact(value);
+    }
+
+    @Benchmark
+    public int emptyCriticalDowncall() throws Throwable {
+        return (int) ABS_CRITICAL.invokeExact(value);
+    }
+
+    @Benchmark
+    public int secKeyVerifyDowncall() {
+        return secp256k1_h.secp256k1_ec_seckey_verify(secp256k1_h.secp256k1_context_static(), secKeySeg);
+    }
+
+    @Benchmark
+    public int secKeyVerifyArena() {
+        try (Arena ta = Arena.ofConfined()) {
+            MemorySegment seg = ta.allocateFrom(JAVA_BYTE, secKey);
+            return secp256k1_h.secp256k1_ec_seckey_verify(secp256k1_h.secp256k1_context_static(), seg);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/// The ElligatorSwift (BIP-324) operations of [Secp256k1Benchmark], which only run against the providers in
+/// [#PROVIDERS]: Bouncy Castle doesn't implement ElligatorSwift.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EllSwiftBenchmark {
+    /// Providers that implement ElligatorSwift
+    public static final String[] PROVIDERS = {"LIBSECP256K1_FFM"};
+    private static final byte[] TAG = "BIP0340/challenge".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"LIBSECP256K1_FFM"})
+    public Secp256k1.ProviderId provider;
+
+    private Secp256k1 secp;
+    private SecpPrivKey privKey;
+    private SecpPubKey pubKey;
+    private byte[] ellswiftOurs;
+    private byte[] ellswiftTheirs;
+
+    @Setup
+    public void setup() {
+        secp = Secp256k1.newInstance(provider);
+        // The same fixed keys as Secp256k1Benchmark
+        privKey = secp.ecPrivKeyImport(secp.taggedSha256(TAG, "benchmark key".getBytes(StandardCharsets.UTF_8)));
+        pubKey = secp.ecPubKeyCreate(privKey);
+        SecpPrivKey otherKey = secp.ecPrivKeyImport(secp.taggedSha256(TAG, "other key".getBytes(StandardCharsets.UTF_8)));
+        ellswiftOurs = secp.ellswiftCreate(privKey);
+        ellswiftTheirs = secp.ellswiftEncode(secp.ecPubKeyCreate(otherKey));
+    }
+
+    @TearDown
+    public void tearDown() {
+        secp.close();
+    }
+
+    @Benchmark
+    public byte[] ellswiftCreate() {
+        return secp.ellswiftCreate(privKey);
+    }
+
+    @Benchmark
+    public byte[] ellswiftEncode() {
+        return secp.ellswiftEncode(pubKey);
+    }
+
+    @Benchmark
+    public SecpPubKey ellswiftDecode() {
+        return secp.ellswiftDecode(ellswiftTheirs);
+    }
+
+    @Benchmark
+    public byte[] ellswiftXDH() {
+        return secp.ellswiftXDH(ellswiftOurs, ellswiftTheirs, privKey, true);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// One benchmark per [Secp256k1] operation, run against every [Secp256k1.ProviderId], so that providers can be
+/// compared and regressions of either provider show up. Inputs are created once per trial, so each benchmark
+/// measures a single operation. The ElligatorSwift operations, which not every provider implements, are in
+/// [EllSwiftBenchmark].
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Secp256k1Benchmark {
+    private static final int EC_COMPRESSED = 258;    // SECP256K1_EC_COMPRESSED
+    private static final byte[] TAG = "BIP0340/challenge".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TWEAK = new byte[32];
+    static {
+        TWEAK[31] = 1;
+    }
+
+    @Param
+    public Secp256k1.ProviderId provider;
+
+    private Secp256k1 secp;
+    private byte[] message;
+    private SecpPrivKey privKey;
+    private SecpKeyPair keyPair;
+    private SecpPubKey pubKey;
+    private SecpXOnlyPubKey xOnly;
+    private List<SecpPubKey> pubKeys;
+    private byte[] serializedPubKey;
+    private byte[] serializedXOnly;
+    private EcdsaSignature sig;
+    private byte[] serializedSig;
+    private byte[] derSig;
+    private EcdsaRecoverableSignature recoverableSig;
+    private SchnorrSignature schnorrSig;
+
+    @Setup
+    public void setup() {
+        secp = Secp256k1.newInstance(provider);
+        // Fixed keys, so that work that depends on the inputs (e.g. grinding for a low R) is the same in every run
+        keyPair = secp.ecKeyPairCreate(secp.ecPrivKeyImport(secp.taggedSha256(TAG, bytes("benchmark key"))));
+        privKey = keyPair.privateKey();
+        pubKey = keyPair.publicKey();
+        xOnly = pubKey.xOnly();
+        SecpPrivKey otherKey = secp.ecPrivKeyImport(secp.taggedSha256(TAG, bytes("other key")));
+        pubKeys = List.of(pubKey, secp.ecPubKeyCreate(otherKey));
+        serializedPubKey = pubKey.serialize(true);
+        serializedXOnly = xOnly.serialize();
+        message = secp.taggedSha256(TAG, bytes("benchmark"));
+        sig = secp.ecdsaSign(message, privKey).get();
+        serializedSig = sig.serializeCompact();
+        derSig = secp.ecdsaSignatureSerializeDer(sig);
+        recoverableSig = secp.ecdsaSignRecoverable(message, privKey).get();
+        schnorrSig = secp.schnorrSigSign32(message, privKey);
+    }
+
+    @TearDown
+    public void tearDown() {
+        secp.close();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public SecpPrivKey ecPrivKeyCreate() {
+        return secp.ecPrivKeyCreate();
+    }
+
+    @Benchmark
+    public SecpPubKey ecPubKeyCreate() {
+        return secp.ecPubKeyCreate(privKey);
+    }
+
+    @Benchmark
+    public SecpKeyPair ecKeyPairCreate() {
+        return secp.ecKeyPairCreate(privKey);
+    }
+
+    @Benchmark
+    public SecpPubKey ecPubKeyParse() {
+        return secp.ecPubKeyParse(serializedPubKey).get();
+    }
+
+    @Benchmark
+    public byte[] ecPubKeySerialize() {
+        return secp.ecPubKeySerialize(pubKey, EC_COMPRESSED);
+    }
+
+    @Benchmark
+    public SecpXOnlyPubKey xOnlyPubKeyParse() {
+        return secp.xOnlyPubKeyParse(serializedXOnly).get();
+    }
+
+    @Benchmark
+    public SecpPubKey ecPubKeyTweakAdd() {
+        return secp.ecPubKeyTweakAdd(pubKey, TWEAK).get();
+    }
+
+    @Benchmark
+    public SecpPrivKey ecSecKeyTweakAdd() {
+        return secp.ecSecKeyTweakAdd(privKey, TWEAK).get();
+    }
+
+    @Benchmark
+    public SecpPubKey ecPubKeyCombine() {
+        return secp.ecPubKeyCombine(pubKeys).get();
+    }
+
+    @Benchmark
+    public EcdsaSignature ecdsaSign() {
+        return secp.ecdsaSign(message, privKey).get();
+    }
+
+    @Benchmark
+    public EcdsaSignature ecdsaSignLowR() {
+        return secp.ecdsaSignLowR(message, privKey).get();
+    }
+
+    @Benchmark
+    public EcdsaRecoverableSignature ecdsaSignRecoverable() {
+        return secp.ecdsaSignRecoverable(message, privKey).get();
+    }
+
+    @Benchmark
+    public boolean ecdsaVerify() {
+        return secp.ecdsaVerify(sig, message, pubKey).get();
+    }
+
+    @Benchmark
+    public boolean ecdsaVerifyDer() {
+        return secp.ecdsaVerifyDer(derSig, message, pubKey).get();
+    }
+
+    @Benchmark
+    public SecpPubKey ecdsaRecover() {
+        return secp.ecdsaRecover(recoverableSig, message).get();
+    }
+
+    @Benchmark
+    public EcdsaSignature ecdsaSignatureParseCompact() {
+        return secp.ecdsaSignatureParseCompact(serializedSig).get();
+    }
+
+    @Benchmark
+    public byte[] ecdsaSignatureSerializeCompact() {
+        return secp.ecdsaSignatureSerializeCompact(sig);
+    }
+
+    @Benchmark
+    public EcdsaSignature ecdsaSignatureParseDer() {
+        return secp.ecdsaSignatureParseDer(derSig).get();
+    }
+
+    @Benchmark
+    public byte[] ecdsaSignatureSerializeDer() {
+        return secp.ecdsaSignatureSerializeDer(sig);
+    }
+
+    @Benchmark
+    public SchnorrSignature schnorrSigSign32() {
+        return secp.schnorrSigSign32(message, privKey);
+    }
+
+    @Benchmark
+    public boolean schnorrSigVerify() {
+        return secp.schnorrSigVerify(schnorrSig, message, xOnly).get();
+    }
+
+    @Benchmark
+    public EcdhSharedSecret ecdh() {
+        return secp.ecdh(pubKeys.get(1), privKey).get();
+    }
+
+    @Benchmark
+    public byte[] taggedSha256() {
+        return secp.taggedSha256(TAG, message);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.Secp256k1Verifier;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.ffm.Secp256k1Foreign;
+import org.bitcoinj.secp.ffm.Secp256k1ForeignVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/// Throughput of signing, verifying and key generation by many threads, in three configurations:
+///
+/// - `shared*`: one [Secp256k1Foreign] used by all threads (shared context and random number generator)
+/// - `perThread*`: one [Secp256k1Foreign] per thread
+/// - `staticContextVerify`: one [Secp256k1ForeignVerifier], which uses `secp256k1_context_static`
+///
+/// Run it with [ThreadScalingRunner] to get the throughput for a range of thread counts, on platform and virtual
+/// threads. If the throughput per thread of a `shared*` benchmark drops with the thread count while the
+/// `perThread*` one does not, the shared instance is a point of contention.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadScalingBenchmark {
+    private static final byte[] TAG = "BIP0340/challenge".getBytes(StandardCharsets.UTF_8);
+
+    /// Signing and verification inputs, created once per trial
+    abstract static class Inputs {
+        Secp256k1Foreign secp;
+        SecpKeyPair keyPair;
+        byte[] message;
+        EcdsaSignature sig;
+
+        void create() {
+            secp = new Secp256k1Foreign();
+            keyPair = secp.ecKeyPairCreate();
+            message = secp.taggedSha256(TAG, "scaling".getBytes(StandardCharsets.UTF_8));
+            sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+        }
+
+        @TearDown
+        public void tearDown() {
+            secp.close();
+        }
+    }
+
+    /// One instance shared by all threads
+    @State(Scope.Benchmark)
+    public static class Shared extends Inputs {
+        @Setup
+        public void setup() {
+            create();
+        }
+    }
+
+    /// One instance per thread
+    @State(Scope.Thread)
+    public static class PerThread extends Inputs {
+        @Setup
+        public void setup() {
+            create();
+        }
+    }
+
+    /// One verifier shared by all threads
+    @State(Scope.Benchmark)
+    public static class Verifier extends Inputs {
+        Secp256k1Verifier verifier;
+
+        @Setup
+        public void setup() {
+            create();
+            verifier = new Secp256k1ForeignVerifier();
+        }
+    }
+
+    @Benchmark
+    public EcdsaSignature sharedSign(Shared state) {
+        return state.secp.ecdsaSign(state.message, state.keyPair.privateKey()).get();
+    }
+
+    @Benchmark
+    public boolean sharedVerify(Shared state) {
+        return state.secp.ecdsaVerify(state.sig, state.message, state.keyPair.publicKey()).get();
+    }
+
+    @Benchmark
+    public SecpKeyPair sharedKeyGen(Shared state) {
+        return state.secp.ecKeyPairCreate();
+    }
+
+    @Benchmark
+    public EcdsaSignature perThreadSign(PerThread state) {
+        return state.secp.ecdsaSign(state.message, state.keyPair.privateKey()).get();
+    }
+
+    @Benchmark
+    public boolean perThreadVerify(PerThread state) {
+        return state.secp.ecdsaVerify(state.sig, state.message, state.keyPair.publicKey()).get();
+    }
+
+    @Benchmark
+    public SecpKeyPair perThreadKeyGen(PerThread state) {
+        return state.secp.ecKeyPairCreate();
+    }
+
+    @Benchmark
+    public boolean staticContextVerify(Verifier state) {
+        return state.verifier.ecdsaVerify(state.sig, state.message, state.keyPair.publicKey()).get();
+    }
+}
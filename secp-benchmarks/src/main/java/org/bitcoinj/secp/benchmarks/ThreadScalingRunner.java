@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/// Run [ThreadScalingBenchmark] with 1, 2, 4, ... threads up to the number of processors (or the first argument),
+/// on platform threads and on virtual threads (using the `VIRTUAL` executor of JMH), and print the throughput
+/// and the throughput per thread for each thread count. The results of each run are also written as JSON to
+/// `jmh-scaling-<executor>-<threads>.json`.
+///
+/// An optional second argument is a regex selecting benchmarks, e.g. `Verify`.
+public final class ThreadScalingRunner {
+    private ThreadScalingRunner() {
+    }
+
+    /// @param args optional maximum thread count and benchmark regex
+    /// @throws RunnerException if a benchmark fails
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        String include = ThreadScalingBenchmark.class.getName() + (args.length > 1 ? ".*" + args[1] : "");
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        for (String executor : new String[] {"PLATFORM", "VIRTUAL"}) {
+            // benchmark -> thread count -> ops/s
+            Map<String, Map<Integer, Double>> scores = new TreeMap<>();
+            for (int threads : threadCounts) {
+                OptionsBuilder builder = new OptionsBuilder();
+                builder.include(include)
+                        .threads(threads)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result("jmh-scaling-" + executor.toLowerCase() + "-" + threads + ".json");
+                if (executor.equals("VIRTUAL")) {
+                    builder.jvmArgsAppend("-Djmh.executor=VIRTUAL");
+                }
+                Options options = builder.build();
+                for (RunResult result : new Runner(options).run()) {
+                    String benchmark = result.getParams().getBenchmark();
+                    scores.computeIfAbsent(benchmark.substring(benchmark.lastIndexOf('.') + 1), k -> new TreeMap<>())
+                            .put(threads, result.getPrimaryResult().getScore());
+                }
+            }
+            print(executor, threadCounts, scores);
+        }
+    }
+
+    private static void print(String executor, List<Integer> threadCounts, Map<String, Map<Integer, Double>> scores) {
+        System.out.printf("%n%s threads: ops/s (ops/s per thread)%n", executor);
+        System.out.printf("%-20s", "benchmark");
+        for (int threads : threadCounts) {
+            System.out.printf(" %24s", threads + " thread(s)");
+        }
+        System.out.println();
+        scores.forEach((benchmark, byThreads) -> {
+            System.out.printf("%-20s", benchmark);
+            for (int threads : threadCounts) {
+                double score = byThreads.getOrDefault(threads, Double.NaN);
+                System.out.printf(" %12.0f (%9.0f)", score, score / threads);
+            }
+            System.out.println();
+        });
+    }
+}
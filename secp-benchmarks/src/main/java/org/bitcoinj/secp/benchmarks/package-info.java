@@ -0,0 +1,23 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/// JMH benchmarks for the [org.bitcoinj.secp] implementations.
+///
+/// Run with `mvn -pl secp-benchmarks -am package -Drun-benchmarks -Djmh.args=<regex>` (requires `LIBSECP_DIR`).
+/// Results are written as JSON to `target/jmh-result-<version>.json` by [org.bitcoinj.secp.benchmarks.BenchmarkRunner].
+/// Add `-prof gc` to `jmh.args` to also report bytes allocated per operation (`gc.alloc.rate.norm`), and see
+/// [org.bitcoinj.secp.benchmarks.AllocationCheck] for the allocation regression check.
+/// Multi-thread scaling is measured with `-Drun-scaling`, see [org.bitcoinj.secp.benchmarks.ThreadScalingRunner].
+package org.bitcoinj.secp.benchmarks;
@@ -16,7 +16,8 @@
 package org.bitcoinj.secp.bitcoinj;
 
 import org.bitcoinj.secp.SecpFieldElement;
-import org.bitcoinj.secp.SecpPoint;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPubKey;
 import org.bitcoinj.secp.SecpScalar;
 import org.bitcoinj.secp.SecpXOnlyPubKey;
 import org.bitcoinj.secp.Secp256k1;
@@ -36,7 +37,7 @@ public class WitnessMaker {
         this.secp = secp;
     }
 
-    /// P = secp.ecPubKeyFromXOnly(xOnlyPubKey)
+    /// P = lift_x(xOnlyPubKey)
     /// The formula from BIP-341:
     /// Q = P + int(hashTapTweak(bytes(P))) * G
     /// returns Q.x()
@@ -49,13 +50,21 @@ public class WitnessMaker {
 
     /// Return Q.x(), where Q = P + tweak * G
     SecpFieldElement tweakedPubKey(SecpXOnlyPubKey xOnlyPubKey, SecpScalar tweak) {
-        SecpPoint.Uncompressed P = secp.ecPubKeyFromXOnly(xOnlyPubKey);
-        SecpPoint.Uncompressed tempPoint = secp.ecPubKeyTweakMul(Secp256k1.G, tweak.toBigInteger()).point();
         // tweakedPubKey (aka Q)
-        SecpPoint.Uncompressed Q = secp.ecPubKeyCombine(P, tempPoint);
+        SecpPubKey Q = secp.xOnlyPubKeyTweakAdd(xOnlyPubKey, tweak.serialize()).get();
         return Q.x();
     }
 
+    /// Tweak a key pair for signing a key-path spend of the output key from [#tweakedPubKey(SecpXOnlyPubKey)].
+    /// The formula from BIP-341:
+    /// d' = d + int(hashTapTweak(bytes(P))), where d is negated if P has an odd y-coordinate
+    /// @param keyPair The internal key pair
+    /// @return tweaked key pair, whose x-only pubKey is the output key
+    public SecpKeyPair tweakedKeyPair(SecpKeyPair keyPair) {
+        SecpScalar tweak = hashTapTweak(keyPair.publicKey().xOnly());
+        return secp.keyPairXOnlyTweakAdd(keyPair, tweak.serialize()).get();
+    }
+
     /// int(hashTapTweak(bytes(P)))
     SecpScalar hashTapTweak(SecpXOnlyPubKey xOnlyPubKey) {
         byte[] tweak = secp.taggedSha256(TAG_TAP_TWEAK, xOnlyPubKey.serialize());
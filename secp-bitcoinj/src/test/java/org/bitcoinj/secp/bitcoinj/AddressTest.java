@@ -22,6 +22,7 @@ import org.bitcoinj.base.SegwitAddress;
 import org.bitcoinj.secp.SecpFieldElement;
 import org.bitcoinj.secp.SecpKeyPair;
 import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SchnorrSignature;
 import org.bitcoinj.secp.SecpScalar;
 import org.bitcoinj.secp.SecpXOnlyPubKey;
 import org.bitcoinj.secp.Secp256k1;
@@ -71,6 +72,20 @@ public class AddressTest {
         Assertions.assertEquals(address, tapRootAddress.toString());
     }
 
+    @FieldSource("keyAddressArgs")
+    @ParameterizedTest(name = "key {0} -> tweaked key pair")
+    void tweakedKeyPairTest(BigInteger key, String address) {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate(secp.ecPrivKeyImport(key));
+        WitnessMaker maker = new WitnessMaker(secp);
+        SecpFieldElement tweakedPubKey = maker.tweakedPubKey(keyPair.publicKey().xOnly());
+        SecpKeyPair tweakedKeyPair = maker.tweakedKeyPair(keyPair);
+        Assertions.assertArrayEquals(tweakedPubKey.serialize(), tweakedKeyPair.publicKey().xOnly().serialize());
+
+        byte[] msgHash = secp.taggedSha256("TapSighash", "");
+        SchnorrSignature sig = secp.schnorrSigSign32(msgHash, tweakedKeyPair);
+        Assertions.assertTrue(secp.schnorrSigVerify(sig, msgHash, tweakedKeyPair.publicKey().xOnly()).get());
+    }
+
     /// Run the 0th BIP-341 test vector, without checking intermediate values
     @Test
     void bipVector0() {
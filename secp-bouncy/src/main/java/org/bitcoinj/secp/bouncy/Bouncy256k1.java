@@ -16,10 +16,13 @@
 package org.bitcoinj.secp.bouncy;
 
 import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
 import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
 import org.bitcoinj.secp.SecpPoint;
 import org.bitcoinj.secp.SecpPubKey;
 import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpRandom;
 import org.bitcoinj.secp.SecpResult;
 import org.bitcoinj.secp.SecpXOnlyPubKey;
 import org.bitcoinj.secp.SchnorrSignature;
@@ -27,6 +30,7 @@ import org.bitcoinj.secp.Secp256k1;
 import org.bitcoinj.secp.EcdsaSignature;
 import org.bitcoinj.secp.internal.ByteArray;
 import org.bitcoinj.secp.internal.EcdhSharedSecretImpl;
+import org.bitcoinj.secp.internal.EcdsaRecoverableSignatureImpl;
 import org.bitcoinj.secp.internal.EcdsaSignatureImpl;
 import org.bitcoinj.secp.internal.SchnorrSignatureImpl;
 import org.bitcoinj.secp.internal.SecpKeyPairImpl;
@@ -46,17 +50,24 @@ import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.bouncycastle.crypto.signers.BIP340Signer;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECAlgorithms;
 import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.math.ec.FixedPointCombMultiplier;
 import org.bouncycastle.math.ec.FixedPointUtil;
 import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
+import org.jspecify.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Implementation of {@link Secp256k1} using the Bouncy Castle library.
@@ -76,7 +87,10 @@ public class Bouncy256k1 implements Secp256k1 {
      */
     static final BigInteger HALF_CURVE_ORDER;
 
+    private static final byte[] TAG_BIP340_CHALLENGE = "BIP0340/challenge".getBytes(StandardCharsets.UTF_8);
+
     private final SecureRandom secureRandom;
+    private final MuSigBouncy musig = new MuSigBouncy(this);
 
     static {
         // Tell Bouncy Castle to precompute data that's needed during secp256k1 calculations.
@@ -89,28 +103,19 @@ public class Bouncy256k1 implements Secp256k1 {
     }
 
     /**
-     * Default constructor.
+     * Default constructor, using {@link SecpRandom#getDefault()}.
      */
     public Bouncy256k1() {
-        // TODO: Verify using cryptographic random number generator properly
-        // We initialize a new `SecureRandom` per instance for the following reasons:
-        // 1. Per-instance allocation avoids the static being contained in GraalVM
-        //    native-image instances (GraalVM may special-case this) or being cloned when the
-        //    containing process is cloned (may occur with containers, etc.)
-        // 2. On certain JDK/OS configurations it's possible `SecureRandom.getInstanceStrong()`
-        //    can cause a delay. It's better to not incur this during static initialization.
-        // 3. Some implementations of `SecureRandom` may have locking contention
-        //    that could show up in a multi-threaded environment.
-        // 4. Per-instance allocation allows for override for testing or custom
-        //    configurations, though this will require adding new constructors.
-        try {
-            secureRandom = SecureRandom.getInstanceStrong();
-        } catch (NoSuchAlgorithmException e) {
-            // This should never happen. The Javadoc for getInstanceStrong() says
-            // "Every implementation of the Java platform is required to support
-            // at least one strong SecureRandom implementation."
-            throw new RuntimeException("No strong SecureRandom available", e);
-        }
+        this(SecpRandom.getDefault());
+    }
+
+    /**
+     * Construct with a specific source of randomness.
+     * @param random source of random bytes for key generation and batch verification
+     */
+    public Bouncy256k1(SecpRandom random) {
+        // Bouncy Castle APIs take a `SecureRandom`, so adapt the `SecpRandom`
+        secureRandom = new SecpRandomAdapter(random);
     }
 
     @Override
@@ -176,6 +181,112 @@ public class Bouncy256k1 implements Secp256k1 {
         return BC.toSecpPubKey(result);
     }
 
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyCombine(List<? extends SecpPubKey> pubKeys) {
+        checkArg(!pubKeys.isEmpty(), "At least one public key is required");
+        ECPoint sum = BC_CURVE.getInfinity();
+        for (SecpPubKey pubKey : pubKeys) {
+            sum = sum.add(BC.fromSecpPoint(pubKey.point()));
+        }
+        sum = sum.normalize();
+        return sum.isInfinity() ? SecpResult.err(0) : SecpResult.ok(BC.toSecpPubKey(sum));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyTweakAdd(SecpPubKey pubKey, byte[] tweak) {
+        return tweakAdd(BC.fromSecpPoint(pubKey.point()), tweak);
+    }
+
+    @Override
+    public List<SecpResult<SecpPubKey>> ecPubKeyTweakAdd(SecpPubKey pubKey, List<byte[]> tweaks) {
+        ECPoint point = BC.fromSecpPoint(pubKey.point());
+        List<SecpResult<SecpPubKey>> results = new ArrayList<>(tweaks.size());
+        for (byte[] tweak : tweaks) {
+            results.add(tweakAdd(point, tweak));
+        }
+        return results;
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> xOnlyPubKeyTweakAdd(SecpXOnlyPubKey internalKey, byte[] tweak) {
+        ECPoint p;
+        try {
+            p = liftX(internalKey.serialize());
+        } catch (IllegalArgumentException e) {
+            return SecpResult.err(0);   // x is not on the curve
+        }
+        return tweakAdd(p, tweak);
+    }
+
+    @Override
+    public SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak) {
+        checkArg(tweakedKeyParity == 0 || tweakedKeyParity == 1, "Parity must be 0 or 1");
+        SecpResult<SecpPubKey> result = xOnlyPubKeyTweakAdd(internalKey, tweak);
+        if (!result.isOk()) return SecpResult.ok(false);
+        SecpPoint.Uncompressed q = result.get().point();
+        return SecpResult.ok(Arrays.areEqual(q.x().serialize(), tweakedKey.serialize())
+                && q.y().toBigInteger().testBit(0) == (tweakedKeyParity == 1));
+    }
+
+    @Override
+    public SecpResult<SecpKeyPair> keyPairXOnlyTweakAdd(SecpKeyPair keyPair, byte[] tweak) {
+        BigInteger d = keyPair.getS();
+        if (keyPair.publicKey().y().toBigInteger().testBit(0)) {
+            d = Secp256k1.N.subtract(d);
+        }
+        SecpResult<BigInteger> tweaked = scalarTweakAdd(d, tweak);
+        if (!tweaked.isOk()) return SecpResult.err(tweaked.errorCode());
+        return SecpResult.ok(ecKeyPairCreate(new SecpPrivKeyImpl(tweaked.get())));
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakAdd(SecpPrivKey privKey, byte[] tweak) {
+        SecpResult<BigInteger> tweaked = scalarTweakAdd(privKey.getS(), tweak);
+        if (!tweaked.isOk()) return SecpResult.err(tweaked.errorCode());
+        return SecpResult.ok(SecpPrivKeyBc.of(tweaked.get()));
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakMul(SecpPrivKey privKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        BigInteger t = ByteArray.toInteger(tweak);
+        if (t.signum() == 0 || t.compareTo(Secp256k1.N) >= 0) return SecpResult.err(0);
+        return SecpResult.ok(SecpPrivKeyBc.of(privKey.getS().multiply(t).mod(Secp256k1.N)));
+    }
+
+    @Override
+    public SecpPrivKey ecSecKeyNegate(SecpPrivKey privKey) {
+        return SecpPrivKeyBc.of(Secp256k1.N.subtract(privKey.getS()));
+    }
+
+    /**
+     * Compute {@code d + tweak (mod n)}.
+     * @param d private key scalar
+     * @param tweak 32-byte, big-endian tweak
+     * @return tweaked scalar, or an error if {@code tweak} is out of range or the result is zero
+     */
+    private static SecpResult<BigInteger> scalarTweakAdd(BigInteger d, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        BigInteger t = ByteArray.toInteger(tweak);
+        if (t.compareTo(Secp256k1.N) >= 0) return SecpResult.err(0);
+        BigInteger result = d.add(t).mod(Secp256k1.N);
+        return result.signum() == 0 ? SecpResult.err(0) : SecpResult.ok(result);
+    }
+
+    /**
+     * Compute {@code point + tweak * G}, using the precomputed comb table for the fixed base {@code G}.
+     * @param point point to tweak
+     * @param tweak 32-byte, big-endian tweak
+     * @return tweaked point, or an error if {@code tweak} is out of range or the result is infinity
+     */
+    private static SecpResult<SecpPubKey> tweakAdd(ECPoint point, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        BigInteger t = ByteArray.toInteger(tweak);
+        if (t.compareTo(Secp256k1.N) >= 0) return SecpResult.err(0);
+        ECPoint q = new FixedPointCombMultiplier().multiply(BC_CURVE_PARAMS.getG(), t).add(point).normalize();
+        return q.isInfinity() ? SecpResult.err(0) : SecpResult.ok(BC.toSecpPubKey(q));
+    }
+
     @Override
     public byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags) {
         boolean compressed;
@@ -249,6 +360,73 @@ public class Bouncy256k1 implements Secp256k1 {
         return !r.testBit(255);
     }
 
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaSignRecoverable(byte[] msgHash, SecpPrivKey privKey) {
+        EcdsaSignature sig = ecdsaSign(msgHash, privKey).get();
+        ECPoint pubKey = BC.fromSecpPoint(ecPubKeyCreate(privKey).point());
+        // ECDSASigner does not return the point R, so find the recovery id that recovers the signer's key
+        for (int recId = 0; recId < 4; recId++) {
+            ECPoint recovered = recoverPoint(sig.rBigInteger(), sig.sBigInteger(), recId, msgHash);
+            if (recovered != null && recovered.equals(pubKey)) {
+                return SecpResult.ok(new EcdsaRecoverableSignatureImpl(sig, recId));
+            }
+        }
+        // Exactly one of the four candidate points is R, so one recovery id always recovers the signing key
+        throw new AssertionError("Internal invariant violated: no recovery id recovers the signing key");
+    }
+
+    @Override
+    public byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig) {
+        return sig.serializeCompact();
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId) {
+        checkArg(recId >= 0 && recId <= 3, "Recovery id must be 0 to 3");
+        SecpResult<EcdsaSignature> sig = ecdsaSignatureParseCompact(serializedSignature);
+        if (!sig.isOk()) return SecpResult.err(sig.errorCode());
+        return SecpResult.ok(new EcdsaRecoverableSignatureImpl(sig.get(), recId));
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash) {
+        checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+        EcdsaSignature signature = sig.signature();
+        ECPoint recovered = recoverPoint(signature.rBigInteger(), signature.sBigInteger(), sig.recId(), msgHash);
+        return recovered != null ? SecpResult.ok(BC.toSecpPubKey(recovered)) : SecpResult.err(0);
+    }
+
+    /**
+     * Recover a public key from a signature, as specified in SEC 1 v2, section 4.1.6.
+     * @param r signature r
+     * @param s signature s
+     * @param recId recovery id
+     * @param msgHash 32-byte message hash
+     * @return the public key, or {@code null} if it can't be recovered
+     */
+    private static @Nullable ECPoint recoverPoint(BigInteger r, BigInteger s, int recId, byte[] msgHash) {
+        if (r.signum() == 0 || s.signum() == 0) return null;
+        // x-coordinate of R is r, or r + n if bit 1 of the recovery id is set
+        BigInteger x = (recId & 2) != 0 ? r.add(Secp256k1.N) : r;
+        if (x.compareTo(Secp256k1.P) >= 0) return null;
+        byte[] encodedR = new byte[33];
+        encodedR[0] = (byte) ((recId & 1) != 0 ? 0x03 : 0x02);
+        System.arraycopy(BigIntegers.asUnsignedByteArray(32, x), 0, encodedR, 1, 32);
+        ECPoint R;
+        try {
+            R = BC_CURVE.decodePoint(encodedR);
+        } catch (IllegalArgumentException e) {
+            return null;    // x is not on the curve
+        }
+        // Q = r^-1 (sR - eG)
+        BigInteger e = ByteArray.toInteger(msgHash).mod(Secp256k1.N);
+        BigInteger rInv = r.modInverse(Secp256k1.N);
+        BigInteger u1 = Secp256k1.N.subtract(e).multiply(rInv).mod(Secp256k1.N);
+        BigInteger u2 = s.multiply(rInv).mod(Secp256k1.N);
+        ECPoint q = ECAlgorithms.sumOfTwoMultiplies(BC_CURVE_PARAMS.getG(), u1, R, u2).normalize();
+        return q.isInfinity() ? null : q;
+    }
+
     // Convert and canonicalize signature
     private EcdsaSignature ecdsaSignature(BigInteger[] components) {
         return new EcdsaSignatureBc(components[0], canonicalize(components[1]));
@@ -333,12 +511,34 @@ public class Bouncy256k1 implements Secp256k1 {
 
     @Override
     public SchnorrSignature schnorrSigSign32(byte[] msg_hash, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        return bip340Sign(msg_hash, privKey, auxiliaryRandom);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey) {
+        byte[] auxiliaryRandom = new byte[32];
+        try {
+            fillRandom(auxiliaryRandom);
+            return bip340Sign(msg, privKey, auxiliaryRandom);
+        } finally {
+            Arrays.fill(auxiliaryRandom, (byte) 0);
+        }
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        checkArg(auxiliaryRandom.length == 32, "auxiliaryRandom must be 32-byte");
+        return bip340Sign(msg, privKey, auxiliaryRandom);
+    }
+
+    // BIP340Signer signs the message as-is, so it can be of any length
+    private SchnorrSignature bip340Sign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom) {
         ECPrivateKeyParameters priv = new ECPrivateKeyParameters(privKey.getS(), BC_ECDOMAIN_PARAMS);
 
         BIP340Signer signer = new BIP340Signer();
 
         signer.init(true, new ParametersWithRandom(priv, new FixedBytesRandom(auxiliaryRandom)));
-        signer.update(msg_hash, 0, msg_hash.length);
+        signer.update(msg, 0, msg.length);
 
         return SchnorrSignatureImpl.of(signer.generateSignature());
     }
@@ -354,6 +554,78 @@ public class Bouncy256k1 implements Secp256k1 {
         return SecpResult.ok(verifier.verifySignature(signature.bytes()));
     }
 
+    /**
+     * Verify a batch of Schnorr signatures using
+     * <a href="https://github.com/bitcoin/bips/blob/master/bip-0340.mediawiki#batch-verification">BIP-340 batch verification</a>.
+     * Well-formed items are checked together with a single randomized linear combination:
+     * {@code (s₁ + a₂s₂ + ... + aᵤsᵤ)G = R₁ + a₂R₂ + ... + aᵤRᵤ + e₁P₁ + (a₂e₂)P₂ + ... + (aᵤeᵤ)Pᵤ}, where the
+     * {@code aᵢ} are random. If that check fails, each item is verified individually to find the invalid ones.
+     */
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        checkArg(signatures.size() == msgHashes.size() && signatures.size() == pubKeys.size(), "Batch lists must be the same size");
+        int size = signatures.size();
+        BitSet valid = new BitSet(size);
+        if (size == 0) return valid;
+        if (size == 1) return Secp256k1.super.schnorrSigVerifyBatch(signatures, msgHashes, pubKeys);
+
+        // Points R₁..Rᵤ interleaved with P₁..Pᵤ, and their multipliers a₁..aᵤ and a₁e₁..aᵤeᵤ
+        ECPoint[] points = new ECPoint[2 * size];
+        BigInteger[] multipliers = new BigInteger[2 * size];
+        BigInteger sSum = BigInteger.ZERO;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            byte[] sig = signatures.get(i).bytes();
+            byte[] pubKey = pubKeys.get(i).serialize();
+            ECPoint P, R;
+            try {
+                P = liftX(pubKey);
+                R = liftX(Arrays.copyOfRange(sig, 0, 32));  // Fails if r >= p
+            } catch (IllegalArgumentException e) {
+                continue;   // Malformed items are invalid and are left out of the batch
+            }
+            BigInteger s = new BigInteger(1, Arrays.copyOfRange(sig, 32, 64));
+            if (s.compareTo(Secp256k1.N) >= 0) continue;
+            BigInteger e = new BigInteger(1, taggedSha256(TAG_BIP340_CHALLENGE,
+                    Arrays.concatenate(Arrays.copyOfRange(sig, 0, 32), pubKey, msgHashes.get(i)))).mod(Secp256k1.N);
+            BigInteger a = (count == 0)
+                    ? BigInteger.ONE
+                    : BigIntegers.createRandomInRange(BigInteger.ONE, Secp256k1.N.subtract(BigInteger.ONE), secureRandom);
+            sSum = sSum.add(a.multiply(s)).mod(Secp256k1.N);
+            points[2 * count] = R;
+            multipliers[2 * count] = a;
+            points[2 * count + 1] = P;
+            multipliers[2 * count + 1] = a.multiply(e).mod(Secp256k1.N);
+            valid.set(i);
+            count++;
+        }
+        if (count == 0) return valid;
+
+        ECPoint lhs = new FixedPointCombMultiplier().multiply(BC_ECDOMAIN_PARAMS.getG(), sSum);
+        ECPoint rhs = ECAlgorithms.sumOfMultiplies(
+                java.util.Arrays.copyOf(points, 2 * count), java.util.Arrays.copyOf(multipliers, 2 * count));
+        if (!lhs.equals(rhs)) {
+            // At least one well-formed item is invalid, fall back to verifying them individually
+            for (int i = valid.nextSetBit(0); i >= 0; i = valid.nextSetBit(i + 1)) {
+                SecpResult<Boolean> result = schnorrSigVerify(signatures.get(i), msgHashes.get(i), pubKeys.get(i));
+                if (!(result.isOk() && result.get())) {
+                    valid.clear(i);
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The BIP-340 {@code lift_x} function: the point with the given x-coordinate and an even y-coordinate.
+     * @param x 32-byte, big-endian x-coordinate
+     * @return the point
+     * @throws IllegalArgumentException if {@code x} is not the x-coordinate of a point on the curve
+     */
+    private static ECPoint liftX(byte[] x) {
+        return BC_CURVE.decodePoint(SecpXOnlyPubKeyImpl.xOnlyToSerializedCompressed(x));
+    }
+
     /**
      * Emits a fixed byte buffer once for the next {@code nextBytes} call — used to replay {@code aux_rand} from the
      * BIP-340 vectors. Vectors only sign once per row, so the single-shot behaviour is sufficient.
@@ -380,6 +652,34 @@ public class Bouncy256k1 implements Secp256k1 {
         }
     }
 
+    /**
+     * Presents a {@link SecpRandom} as a {@link SecureRandom} for the Bouncy Castle APIs. {@code SecureRandom} derives
+     * all of its other random values from {@code nextBytes}.
+     */
+    private static final class SecpRandomAdapter
+            extends SecureRandom
+    {
+        private static final long serialVersionUID = 1L;
+        private final transient SecpRandom random;
+
+        SecpRandomAdapter(SecpRandom random)
+        {
+            this.random = random;
+        }
+
+        public void nextBytes(byte[] out)
+        {
+            random.nextBytes(out);
+        }
+
+        public byte[] generateSeed(int numBytes)
+        {
+            byte[] seed = new byte[numBytes];
+            random.nextBytes(seed);
+            return seed;
+        }
+    }
+
     @Override
     public SecpResult<EcdhSharedSecret> ecdh(SecpPubKey pubKey, SecpPrivKey privKey) {
         ECPoint point = BC.fromSecpPoint(pubKey.point());
@@ -419,6 +719,11 @@ public class Bouncy256k1 implements Secp256k1 {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public SecpMuSig musig() {
+        return musig;
+    }
+
     @Override
     public void close() {
 
@@ -438,7 +743,7 @@ public class Bouncy256k1 implements Secp256k1 {
     /**
      * @param data an array to fill with random data
      */
-    private void fillRandom(byte[] data) {
+    void fillRandom(byte[] data) {
         secureRandom.nextBytes(data);
     }
 }
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.bouncy;
+
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.internal.ByteArray;
+import org.bitcoinj.secp.internal.MuSigAggNonceImpl;
+import org.bitcoinj.secp.internal.MuSigPartialSigImpl;
+import org.bitcoinj.secp.internal.MuSigPubNonceImpl;
+import org.bitcoinj.secp.internal.SchnorrSignatureImpl;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.bitcoinj.secp.Secp256k1.N;
+import static org.bitcoinj.secp.bouncy.Bouncy256k1.BC_CURVE;
+import static org.bitcoinj.secp.bouncy.Bouncy256k1.BC_ECDOMAIN_PARAMS;
+
+/**
+ * Pure-Java implementation of {@link SecpMuSig}, following the algorithms of
+ * <a href="https://github.com/bitcoin/bips/blob/master/bip-0327.mediawiki">BIP-327</a>. The state held by the
+ * handles is kept in Java objects: the key aggregation cache holds {@code Q}, {@code gacc}, {@code tacc} and what is
+ * needed to compute the key aggregation coefficient of any signer, and the session holds the final nonce, the nonce
+ * coefficient {@code b}, the challenge {@code e} and the contribution of the tweaks to the signature.
+ */
+final class MuSigBouncy implements SecpMuSig {
+    private static final byte[] TAG_KEYAGG_LIST = tag("KeyAgg list");
+    private static final byte[] TAG_KEYAGG_COEF = tag("KeyAgg coefficient");
+    private static final byte[] TAG_AUX = tag("MuSig/aux");
+    private static final byte[] TAG_NONCE = tag("MuSig/nonce");
+    private static final byte[] TAG_NONCECOEF = tag("MuSig/noncecoef");
+    private static final byte[] TAG_CHALLENGE = tag("BIP0340/challenge");
+
+    private final Bouncy256k1 secp;
+
+    MuSigBouncy(Bouncy256k1 secp) {
+        this.secp = secp;
+    }
+
+    /**
+     * Key aggregation cache: the (tweaked) aggregate key {@code Q}, the accumulated sign {@code gacc} and tweak
+     * {@code tacc}, the hash of the key list and the second distinct key.
+     */
+    static final class KeyAggCacheBc implements KeyAggCache {
+        private ECPoint q;
+        private BigInteger gacc = BigInteger.ONE;
+        private BigInteger tacc = BigInteger.ZERO;
+        private final byte[] pkHash;
+        private final byte[] secondPk;
+
+        private KeyAggCacheBc(ECPoint q, byte[] pkHash, byte[] secondPk) {
+            this.q = q;
+            this.pkHash = pkHash;
+            this.secondPk = secondPk;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Secret nonce {@code k1, k2} and the compressed public key of the signer. The nonces are cleared on first use.
+     */
+    static final class SecNonceBc implements SecNonce {
+        private @Nullable BigInteger k1;
+        private @Nullable BigInteger k2;
+        private final byte[] pk;
+        private final PubNonce pubNonce;
+
+        private SecNonceBc(BigInteger k1, BigInteger k2, byte[] pk, PubNonce pubNonce) {
+            this.k1 = k1;
+            this.k2 = k2;
+            this.pk = pk;
+            this.pubNonce = pubNonce;
+        }
+
+        @Override
+        public PubNonce pubNonce() {
+            return pubNonce;
+        }
+
+        /**
+         * Take the nonces, clearing them so that they cannot be used again.
+         * @return {@code k1} and {@code k2}
+         * @throws IllegalStateException if the nonces have already been taken (or this was closed)
+         */
+        private synchronized BigInteger[] take() {
+            if (k1 == null || k2 == null) {
+                throw new IllegalStateException("Secret nonce has already been used");
+            }
+            BigInteger[] k = { k1, k2 };
+            k1 = null;
+            k2 = null;
+            return k;
+        }
+
+        @Override
+        public synchronized void close() {
+            k1 = null;
+            k2 = null;
+        }
+    }
+
+    /**
+     * Session values: the final nonce {@code R}, nonce coefficient {@code b}, challenge {@code e} and
+     * {@code e * g * tacc}, which is added to the sum of the partial signatures.
+     */
+    static final class SessionBc implements Session {
+        private final ECPoint r;
+        private final BigInteger b;
+        private final BigInteger e;
+        private final BigInteger sPart;
+
+        private SessionBc(ECPoint r, BigInteger b, BigInteger e, BigInteger sPart) {
+            this.r = r;
+            this.b = b;
+            this.e = e;
+            this.sPart = sPart;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Override
+    public SecpResult<KeyAggCache> pubKeyAgg(List<? extends SecpPubKey> pubKeys) {
+        checkArg(!pubKeys.isEmpty(), "At least one public key is required");
+        int size = pubKeys.size();
+        byte[][] pks = new byte[size][];
+        ECPoint[] points = new ECPoint[size];
+        ByteArrayOutputStream keyList = new ByteArrayOutputStream(33 * size);
+        for (int i = 0; i < size; i++) {
+            pks[i] = pubKeys.get(i).serialize(true);
+            points[i] = BC.fromSecpPoint(pubKeys.get(i).point());
+            keyList.write(pks[i], 0, 33);
+        }
+        byte[] pkHash = secp.taggedSha256(TAG_KEYAGG_LIST, keyList.toByteArray());
+        byte[] secondPk = new byte[33];
+        for (byte[] pk : pks) {
+            if (!Arrays.areEqual(pk, pks[0])) {
+                secondPk = pk;
+                break;
+            }
+        }
+        KeyAggCacheBc cache = new KeyAggCacheBc(BC_CURVE.getInfinity(), pkHash, secondPk);
+        BigInteger[] coefficients = new BigInteger[size];
+        for (int i = 0; i < size; i++) {
+            coefficients[i] = keyAggCoefficient(cache, pks[i]);
+        }
+        cache.q = ECAlgorithms.sumOfMultiplies(points, coefficients).normalize();
+        return cache.q.isInfinity() ? SecpResult.err(0) : SecpResult.ok(cache);
+    }
+
+    @Override
+    public SecpPubKey pubKeyGet(KeyAggCache keyAggCache) {
+        return BC.toSecpPubKey(keyAggCache(keyAggCache).q);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> pubKeyEcTweakAdd(KeyAggCache keyAggCache, byte[] tweak) {
+        return tweakAdd(keyAggCache(keyAggCache), tweak, false);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> pubKeyXOnlyTweakAdd(KeyAggCache keyAggCache, byte[] tweak) {
+        return tweakAdd(keyAggCache(keyAggCache), tweak, true);
+    }
+
+    /**
+     * ApplyTweak: {@code Q' = g * Q + t * G}, where {@code g} is {@code -1} for an x-only tweak of a {@code Q} with
+     * odd y and {@code 1} otherwise.
+     */
+    private static SecpResult<SecpPubKey> tweakAdd(KeyAggCacheBc cache, byte[] tweak, boolean xOnly) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        BigInteger t = ByteArray.toInteger(tweak);
+        if (t.compareTo(N) >= 0) return SecpResult.err(0);
+        boolean negate = xOnly && !hasEvenY(cache.q);
+        ECPoint q = new FixedPointCombMultiplier().multiply(BC_ECDOMAIN_PARAMS.getG(), t)
+                .add(negate ? cache.q.negate() : cache.q)
+                .normalize();
+        if (q.isInfinity()) return SecpResult.err(0);
+        cache.q = q;
+        if (negate) {
+            cache.gacc = N.subtract(cache.gacc).mod(N);
+            cache.tacc = N.subtract(cache.tacc).mod(N);
+        }
+        cache.tacc = cache.tacc.add(t).mod(N);
+        return SecpResult.ok(BC.toSecpPubKey(q));
+    }
+
+    @Override
+    public SecpResult<SecNonce> nonceGen(SecpPubKey pubKey, @Nullable SecpPrivKey privKey, byte @Nullable [] msg,
+                                         @Nullable KeyAggCache keyAggCache, byte @Nullable [] extraInput) {
+        checkArg(msg == null || msg.length == 32, "Message must be 32-byte");
+        checkArg(extraInput == null || extraInput.length == 32, "Extra input must be 32-byte");
+        byte[] rand = new byte[32];
+        secp.fillRandom(rand);
+        if (privKey != null) {
+            BigInteger d = privKey.getS();
+            if (d.signum() <= 0 || d.compareTo(N) >= 0) return SecpResult.err(0);
+            byte[] sk = privKey.getEncoded();
+            byte[] aux = secp.taggedSha256(TAG_AUX, rand);
+            for (int i = 0; i < 32; i++) {
+                rand[i] = (byte) (sk[i] ^ aux[i]);
+            }
+            Arrays.fill(sk, (byte) 0);
+        }
+        byte[] pk = pubKey.serialize(true);
+        byte[] aggPk = keyAggCache != null ? xBytes(keyAggCache(keyAggCache).q) : new byte[0];
+        byte[] extra = extraInput != null ? extraInput : new byte[0];
+        ByteBuffer input = ByteBuffer.allocate(32 + 1 + 33 + 1 + 32 + 1 + 8 + 32 + 4 + 32 + 1);
+        input.put(rand).put((byte) pk.length).put(pk).put((byte) aggPk.length).put(aggPk);
+        if (msg != null) {
+            input.put((byte) 1).putLong(msg.length).put(msg);
+        } else {
+            input.put((byte) 0);
+        }
+        input.putInt(extra.length).put(extra);
+        byte[] prefix = Arrays.copyOf(input.array(), input.position());
+        Arrays.fill(input.array(), (byte) 0);
+        Arrays.fill(rand, (byte) 0);
+        BigInteger[] k = new BigInteger[2];
+        ECPoint[] r = new ECPoint[2];
+        for (int i = 0; i < 2; i++) {
+            byte[] hashInput = Arrays.append(prefix, (byte) i);
+            k[i] = ByteArray.toInteger(secp.taggedSha256(TAG_NONCE, hashInput)).mod(N);
+            Arrays.fill(hashInput, (byte) 0);
+            if (k[i].signum() == 0) return SecpResult.err(0);
+            r[i] = new FixedPointCombMultiplier().multiply(BC_ECDOMAIN_PARAMS.getG(), k[i]);
+        }
+        Arrays.fill(prefix, (byte) 0);
+        PubNonce pubNonce = new MuSigPubNonceImpl(Arrays.concatenate(r[0].getEncoded(true), r[1].getEncoded(true)));
+        return SecpResult.ok(new SecNonceBc(k[0], k[1], pk, pubNonce));
+    }
+
+    @Override
+    public SecpResult<PubNonce> pubNonceParse(byte[] serialized) {
+        checkArg(serialized.length == 66, "Public nonce must be 66-byte");
+        return decodePoint(serialized, 0, false) != null && decodePoint(serialized, 33, false) != null
+                ? SecpResult.ok(new MuSigPubNonceImpl(serialized))
+                : SecpResult.err(0);
+    }
+
+    @Override
+    public AggNonce nonceAgg(List<? extends PubNonce> pubNonces) {
+        checkArg(!pubNonces.isEmpty(), "At least one public nonce is required");
+        ECPoint r1 = BC_CURVE.getInfinity();
+        ECPoint r2 = BC_CURVE.getInfinity();
+        for (PubNonce pubNonce : pubNonces) {
+            byte[] bytes = pubNonce.serialize();
+            r1 = r1.add(requirePoint(decodePoint(bytes, 0, false)));
+            r2 = r2.add(requirePoint(decodePoint(bytes, 33, false)));
+        }
+        return new MuSigAggNonceImpl(Arrays.concatenate(encodePoint(r1), encodePoint(r2)));
+    }
+
+    @Override
+    public SecpResult<AggNonce> aggNonceParse(byte[] serialized) {
+        checkArg(serialized.length == 66, "Aggregate nonce must be 66-byte");
+        return decodePoint(serialized, 0, true) != null && decodePoint(serialized, 33, true) != null
+                ? SecpResult.ok(new MuSigAggNonceImpl(serialized))
+                : SecpResult.err(0);
+    }
+
+    @Override
+    public Session nonceProcess(AggNonce aggNonce, byte[] msg, KeyAggCache keyAggCache) {
+        checkArg(msg.length == 32, "Message must be 32-byte");
+        KeyAggCacheBc cache = keyAggCache(keyAggCache);
+        byte[] aggNonceBytes = aggNonce.serialize();
+        byte[] qx = xBytes(cache.q);
+        BigInteger b = ByteArray.toInteger(secp.taggedSha256(TAG_NONCECOEF, Arrays.concatenate(aggNonceBytes, qx, msg))).mod(N);
+        ECPoint r1 = requirePoint(decodePoint(aggNonceBytes, 0, true));
+        ECPoint r2 = requirePoint(decodePoint(aggNonceBytes, 33, true));
+        ECPoint r = r1.add(r2.multiply(b)).normalize();
+        if (r.isInfinity()) {
+            r = BC_ECDOMAIN_PARAMS.getG();
+        }
+        BigInteger e = ByteArray.toInteger(secp.taggedSha256(TAG_CHALLENGE, Arrays.concatenate(xBytes(r), qx, msg))).mod(N);
+        BigInteger sPart = e.multiply(g(cache.q)).multiply(cache.tacc).mod(N);
+        return new SessionBc(r, b, e, sPart);
+    }
+
+    @Override
+    public SecpResult<PartialSig> partialSign(SecNonce secNonce, SecpKeyPair keyPair, KeyAggCache keyAggCache, Session session) {
+        SecNonceBc nonce = secNonce(secNonce);
+        KeyAggCacheBc cache = keyAggCache(keyAggCache);
+        SessionBc sessionBc = session(session);
+        BigInteger[] k = nonce.take();
+        checkArg(Arrays.areEqual(nonce.pk, keyPair.publicKey().serialize(true)),
+                "Secret nonce was created for a different public key");
+        BigInteger d0 = keyPair.getS();
+        if (d0.signum() <= 0 || d0.compareTo(N) >= 0) return SecpResult.err(0);
+        BigInteger k1 = hasEvenY(sessionBc.r) ? k[0] : N.subtract(k[0]);
+        BigInteger k2 = hasEvenY(sessionBc.r) ? k[1] : N.subtract(k[1]);
+        BigInteger d = g(cache.q).multiply(cache.gacc).multiply(d0).mod(N);
+        BigInteger a = keyAggCoefficient(cache, nonce.pk);
+        BigInteger s = k1.add(sessionBc.b.multiply(k2)).add(sessionBc.e.multiply(a).multiply(d)).mod(N);
+        return SecpResult.ok(new MuSigPartialSigImpl(BigIntegers.asUnsignedByteArray(32, s)));
+    }
+
+    @Override
+    public SecpResult<PartialSig> partialSigParse(byte[] serialized) {
+        checkArg(serialized.length == 32, "Partial signature must be 32-byte");
+        return ByteArray.toInteger(serialized).compareTo(N) < 0
+                ? SecpResult.ok(new MuSigPartialSigImpl(serialized))
+                : SecpResult.err(0);
+    }
+
+    @Override
+    public SecpResult<Boolean> partialSigVerify(PartialSig partialSig, PubNonce pubNonce, SecpPubKey pubKey,
+                                                KeyAggCache keyAggCache, Session session) {
+        KeyAggCacheBc cache = keyAggCache(keyAggCache);
+        SessionBc sessionBc = session(session);
+        BigInteger s = ByteArray.toInteger(partialSig.serialize());
+        byte[] pubNonceBytes = pubNonce.serialize();
+        ECPoint r1 = decodePoint(pubNonceBytes, 0, false);
+        ECPoint r2 = decodePoint(pubNonceBytes, 33, false);
+        if (s.compareTo(N) >= 0 || r1 == null || r2 == null) return SecpResult.ok(false);
+        // s * G == Re + (e * a * g * gacc) * P, where Re = R1 + b * R2, negated if R has odd y
+        BigInteger sign = hasEvenY(sessionBc.r) ? BigInteger.ONE : N.subtract(BigInteger.ONE);
+        BigInteger a = keyAggCoefficient(cache, pubKey.serialize(true));
+        BigInteger ep = sessionBc.e.multiply(a).multiply(g(cache.q)).multiply(cache.gacc).mod(N);
+        ECPoint rhs = ECAlgorithms.sumOfMultiplies(
+                new ECPoint[] { r1, r2, BC.fromSecpPoint(pubKey.point()) },
+                new BigInteger[] { sign, sign.multiply(sessionBc.b).mod(N), ep });
+        ECPoint lhs = new FixedPointCombMultiplier().multiply(BC_ECDOMAIN_PARAMS.getG(), s);
+        return SecpResult.ok(lhs.equals(rhs));
+    }
+
+    @Override
+    public SchnorrSignature partialSigAgg(Session session, List<? extends PartialSig> partialSigs) {
+        checkArg(!partialSigs.isEmpty(), "At least one partial signature is required");
+        SessionBc sessionBc = session(session);
+        BigInteger s = sessionBc.sPart;
+        for (PartialSig partialSig : partialSigs) {
+            s = s.add(ByteArray.toInteger(partialSig.serialize()));
+        }
+        return SchnorrSignatureImpl.of(Arrays.concatenate(xBytes(sessionBc.r), BigIntegers.asUnsignedByteArray(32, s.mod(N))));
+    }
+
+    /**
+     * KeyAggCoeff: {@code 1} for the second distinct key, otherwise {@code hash(L || pk)}.
+     */
+    private BigInteger keyAggCoefficient(KeyAggCacheBc cache, byte[] pk) {
+        if (Arrays.areEqual(pk, cache.secondPk)) return BigInteger.ONE;
+        return ByteArray.toInteger(secp.taggedSha256(TAG_KEYAGG_COEF, Arrays.concatenate(cache.pkHash, pk))).mod(N);
+    }
+
+    /**
+     * @return {@code 1} if {@code q} has an even y-coordinate, {@code n - 1} otherwise
+     */
+    private static BigInteger g(ECPoint q) {
+        return hasEvenY(q) ? BigInteger.ONE : N.subtract(BigInteger.ONE);
+    }
+
+    private static boolean hasEvenY(ECPoint point) {
+        return !point.normalize().getAffineYCoord().testBitZero();
+    }
+
+    private static byte[] xBytes(ECPoint point) {
+        return point.normalize().getAffineXCoord().getEncoded();
+    }
+
+    /**
+     * Decode a compressed point from 33 bytes of {@code bytes}.
+     * @param bytes bytes to decode from
+     * @param offset offset of the point
+     * @param allowInfinity whether 33 zero bytes decode to the point at infinity
+     * @return the point or {@code null} if it is invalid
+     */
+    private static @Nullable ECPoint decodePoint(byte[] bytes, int offset, boolean allowInfinity) {
+        byte[] encoded = Arrays.copyOfRange(bytes, offset, offset + 33);
+        if (allowInfinity && Arrays.areAllZeroes(encoded, 0, 33)) return BC_CURVE.getInfinity();
+        if (encoded[0] != 0x02 && encoded[0] != 0x03) return null;
+        try {
+            return BC_CURVE.decodePoint(encoded);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the compressed encoding of {@code point}, or 33 zero bytes for the point at infinity
+     */
+    private static byte[] encodePoint(ECPoint point) {
+        return point.isInfinity() ? new byte[33] : point.getEncoded(true);
+    }
+
+    private static ECPoint requirePoint(@Nullable ECPoint point) {
+        checkArg(point != null, "Invalid nonce");
+        return point;
+    }
+
+    private static KeyAggCacheBc keyAggCache(KeyAggCache keyAggCache) {
+        checkArg(keyAggCache instanceof KeyAggCacheBc, "Key aggregation cache was not created by this implementation");
+        return (KeyAggCacheBc) keyAggCache;
+    }
+
+    private static SecNonceBc secNonce(SecNonce secNonce) {
+        checkArg(secNonce instanceof SecNonceBc, "Secret nonce was not created by this implementation");
+        return (SecNonceBc) secNonce;
+    }
+
+    private static SessionBc session(Session session) {
+        checkArg(session instanceof SessionBc, "Session was not created by this implementation");
+        return (SessionBc) session;
+    }
+
+    private static byte[] tag(String tag) {
+        return tag.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void checkArg(boolean condition, String string) {
+        if (!condition) {
+            throw new IllegalArgumentException(string);
+        }
+    }
+}
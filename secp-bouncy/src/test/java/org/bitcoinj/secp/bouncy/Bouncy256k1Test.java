@@ -15,13 +15,16 @@
  */
 package org.bitcoinj.secp.bouncy;
 
+import org.bitcoinj.secp.SecpPrivKey;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.FieldSource;
 
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static java.math.BigInteger.ONE;
 import static org.bitcoinj.secp.Secp256k1.N;
@@ -44,4 +47,12 @@ public class Bouncy256k1Test {
         BigInteger canonicalized = secp.canonicalize(pair.getKey());
         Assertions.assertEquals(pair.getValue(), canonicalized);
     }
+
+    @Test
+    void customRandom() {
+        // Two instances with identically-seeded (insecure!) sources must generate the same key
+        SecpPrivKey key1 = new Bouncy256k1(new Random(42)::nextBytes).ecPrivKeyCreate();
+        SecpPrivKey key2 = new Bouncy256k1(new Random(42)::nextBytes).ecPrivKeyCreate();
+        Assertions.assertEquals(key1.getS(), key2.getS());
+    }
 }
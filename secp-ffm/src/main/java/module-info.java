@@ -22,6 +22,7 @@ import org.bitcoinj.secp.Secp256k1;
 module org.bitcoinj.secp.ffm {
     requires org.bitcoinj.secp;
     requires org.jspecify;
+    requires jdk.jfr;
 
     exports org.bitcoinj.secp.ffm;
 
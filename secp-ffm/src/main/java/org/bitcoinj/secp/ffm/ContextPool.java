@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.SecpRandom;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_h;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/// A pool of per-thread `secp256k1_context` clones with periodic re-randomization (blinding).
+///
+/// `secp256k1_context_randomize` must not be called while other threads are using the context, so a single
+/// shared context can only be randomized once, before it is shared. Instead, each platform thread that uses
+/// the pool gets its own randomized clone (via `secp256k1_context_clone`) of a base context. A background
+/// (daemon) thread periodically prepares a freshly randomized clone for each of those threads and publishes it
+/// in that thread's `pending` slot. The owning thread swaps it in at the start of its next call and destroys its
+/// old context, so signers never wait for randomization and no context is ever shared or modified while in use.
+///
+/// The background thread also destroys the contexts of threads that have terminated.
+///
+/// Virtual threads use the base context, as a per-virtual-thread clone would rarely be reused.
+final class ContextPool implements AutoCloseable {
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "secp256k1-context-rerandomizer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final MemorySegment baseContext;
+    private final SecpRandom random;
+    private final Set<ThreadContext> threadContexts = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<ThreadContext> current = ThreadLocal.withInitial(this::register);
+    private final ScheduledFuture<?> task;
+    private volatile boolean closed = false;
+
+    /// @param baseContext context to clone. It is owned by the caller and must outlive this pool.
+    /// @param random source of randomization seeds
+    /// @param rerandomizeInterval how often each thread's context is replaced by a freshly randomized clone
+    ContextPool(MemorySegment baseContext, SecpRandom random, Duration rerandomizeInterval) {
+        if (rerandomizeInterval.isNegative() || rerandomizeInterval.isZero()) {
+            throw new IllegalArgumentException("rerandomizeInterval must be positive");
+        }
+        this.baseContext = baseContext;
+        this.random = random;
+        long periodNanos = rerandomizeInterval.toNanos();
+        this.task = SCHEDULER.scheduleWithFixedDelay(this::rerandomize, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /// Get the context for the current thread, swapping in a freshly randomized clone if one is pending.
+    /// @return a context that may only be used by the current thread
+    MemorySegment get() {
+        if (closed) throw new IllegalStateException("closed");
+        if (Thread.currentThread().isVirtual()) {
+            return baseContext;
+        }
+        ThreadContext tc = current.get();
+        if (tc.pending.get() != null) {
+            MemorySegment fresh = tc.pending.getAndSet(null);
+            if (fresh != null) {
+                secp256k1_h.secp256k1_context_destroy(tc.context);
+                tc.context = fresh;
+            }
+        }
+        return tc.context;
+    }
+
+    /// Create the current thread's context. Synchronized with [#close()] so that a clone can't be added after
+    /// the pool has destroyed its contexts.
+    private synchronized ThreadContext register() {
+        if (closed) throw new IllegalStateException("closed");
+        ThreadContext tc = new ThreadContext(Thread.currentThread(), newRandomizedClone());
+        threadContexts.add(tc);
+        return tc;
+    }
+
+    /// Background task: destroy the contexts of terminated threads and publish a new clone for every other thread.
+    private synchronized void rerandomize() {
+        if (closed) return;
+        for (ThreadContext tc : threadContexts) {
+            if (!tc.owner.isAlive()) {
+                threadContexts.remove(tc);
+                tc.destroy();
+            } else {
+                MemorySegment stale = tc.pending.getAndSet(newRandomizedClone());
+                if (stale != null) {
+                    secp256k1_h.secp256k1_context_destroy(stale);  // Never taken by the owner
+                }
+            }
+        }
+    }
+
+    private MemorySegment newRandomizedClone() {
+        MemorySegment clone = secp256k1_h.secp256k1_context_clone(baseContext);
+        byte[] seed = new byte[32];
+        random.nextBytes(seed);
+        try (Arena ta = Arena.ofConfined()) {
+            MemorySegment seedSeg = ta.allocateFrom(JAVA_BYTE, seed);
+            int return_val = secp256k1_h.secp256k1_context_randomize(clone, seedSeg);
+            seedSeg.fill((byte) 0x00);
+            Arrays.fill(seed, (byte) 0x00);
+            if (return_val != 1) throw new RuntimeException("context_randomize failed");
+        }
+        return clone;
+    }
+
+    /// Stop re-randomization and destroy every cloned context. The pool must no longer be in use by any thread.
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        task.cancel(false);
+        for (ThreadContext tc : threadContexts) {
+            tc.destroy();
+        }
+        threadContexts.clear();
+    }
+
+    private static final class ThreadContext {
+        final Thread owner;
+        /// Only read and written by `owner`, or by the pool once `owner` has terminated or the pool is closed
+        MemorySegment context;
+        final AtomicReference<MemorySegment> pending = new AtomicReference<>();
+
+        ThreadContext(Thread owner, MemorySegment context) {
+            this.owner = owner;
+            this.context = context;
+        }
+
+        void destroy() {
+            secp256k1_h.secp256k1_context_destroy(context);
+            MemorySegment p = pending.getAndSet(null);
+            if (p != null) {
+                secp256k1_h.secp256k1_context_destroy(p);
+            }
+        }
+    }
+}
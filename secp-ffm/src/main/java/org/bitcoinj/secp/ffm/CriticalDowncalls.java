@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.ffm.jextract.secp256k1_h;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+
+/// Alternative downcall handles for short, non-blocking `secp256k1` functions, linked with
+/// `Linker.Option.critical(true)`.
+///
+/// Critical downcalls skip the thread-state transition of a normal downcall and, because heap access is allowed,
+/// accept heap segments (e.g. [MemorySegment#ofArray(byte[])]) for every pointer argument, so inputs and outputs
+/// can be passed as `byte[]` without being copied to and from native memory. The trade-off is that the garbage
+/// collector may be blocked for the duration of the call, so only functions that are short, never block and
+/// never call back into Java are bound here.
+///
+/// The function addresses and descriptors are the ones generated by jextract in [secp256k1_h]; the methods have
+/// the same names and signatures as the [secp256k1_h] methods.
+final class CriticalDowncalls {
+    private static final Linker.Option CRITICAL = Linker.Option.critical(true);
+
+    private static final MethodHandle EC_PUBKEY_PARSE = link(secp256k1_h.secp256k1_ec_pubkey_parse$address(),
+            secp256k1_h.secp256k1_ec_pubkey_parse$descriptor());
+    private static final MethodHandle EC_PUBKEY_SERIALIZE = link(secp256k1_h.secp256k1_ec_pubkey_serialize$address(),
+            secp256k1_h.secp256k1_ec_pubkey_serialize$descriptor());
+    private static final MethodHandle ECDSA_SIGNATURE_PARSE_COMPACT = link(secp256k1_h.secp256k1_ecdsa_signature_parse_compact$address(),
+            secp256k1_h.secp256k1_ecdsa_signature_parse_compact$descriptor());
+    private static final MethodHandle ECDSA_VERIFY = link(secp256k1_h.secp256k1_ecdsa_verify$address(),
+            secp256k1_h.secp256k1_ecdsa_verify$descriptor());
+    private static final MethodHandle XONLY_PUBKEY_PARSE = link(secp256k1_h.secp256k1_xonly_pubkey_parse$address(),
+            secp256k1_h.secp256k1_xonly_pubkey_parse$descriptor());
+    private static final MethodHandle XONLY_PUBKEY_SERIALIZE = link(secp256k1_h.secp256k1_xonly_pubkey_serialize$address(),
+            secp256k1_h.secp256k1_xonly_pubkey_serialize$descriptor());
+    private static final MethodHandle SCHNORRSIG_VERIFY = link(secp256k1_h.secp256k1_schnorrsig_verify$address(),
+            secp256k1_h.secp256k1_schnorrsig_verify$descriptor());
+    private static final MethodHandle TAGGED_SHA256 = link(secp256k1_h.secp256k1_tagged_sha256$address(),
+            secp256k1_h.secp256k1_tagged_sha256$descriptor());
+
+    private CriticalDowncalls() {
+    }
+
+    private static MethodHandle link(MemorySegment address, FunctionDescriptor descriptor) {
+        return Linker.nativeLinker().downcallHandle(address, descriptor, CRITICAL);
+    }
+
+    static int secp256k1_ec_pubkey_parse(MemorySegment ctx, MemorySegment pubkey, MemorySegment input, long inputlen) {
+        try {
+            return (int) EC_PUBKEY_PARSE.invokeExact(ctx, pubkey, input, inputlen);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_ec_pubkey_serialize(MemorySegment ctx, MemorySegment output, MemorySegment outputlen, MemorySegment pubkey, int flags) {
+        try {
+            return (int) EC_PUBKEY_SERIALIZE.invokeExact(ctx, output, outputlen, pubkey, flags);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_ecdsa_signature_parse_compact(MemorySegment ctx, MemorySegment sig, MemorySegment input64) {
+        try {
+            return (int) ECDSA_SIGNATURE_PARSE_COMPACT.invokeExact(ctx, sig, input64);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_ecdsa_verify(MemorySegment ctx, MemorySegment sig, MemorySegment msghash32, MemorySegment pubkey) {
+        try {
+            return (int) ECDSA_VERIFY.invokeExact(ctx, sig, msghash32, pubkey);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_xonly_pubkey_parse(MemorySegment ctx, MemorySegment pubkey, MemorySegment input32) {
+        try {
+            return (int) XONLY_PUBKEY_PARSE.invokeExact(ctx, pubkey, input32);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_xonly_pubkey_serialize(MemorySegment ctx, MemorySegment output32, MemorySegment pubkey) {
+        try {
+            return (int) XONLY_PUBKEY_SERIALIZE.invokeExact(ctx, output32, pubkey);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_schnorrsig_verify(MemorySegment ctx, MemorySegment sig64, MemorySegment msg, long msglen, MemorySegment pubkey) {
+        try {
+            return (int) SCHNORRSIG_VERIFY.invokeExact(ctx, sig64, msg, msglen, pubkey);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+
+    static int secp256k1_tagged_sha256(MemorySegment ctx, MemorySegment hash32, MemorySegment tag, long taglen, MemorySegment msg, long msglen) {
+        try {
+            return (int) TAGGED_SHA256.invokeExact(ctx, hash32, tag, taglen, msg, msglen);
+        } catch (Error | RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new AssertionError("should not reach here", ex);
+        }
+    }
+}
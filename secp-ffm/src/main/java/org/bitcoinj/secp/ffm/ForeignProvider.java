@@ -16,6 +16,7 @@
 package org.bitcoinj.secp.ffm;
 
 import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.Secp256k1Verifier;
 
 import java.util.Optional;
 
@@ -36,4 +37,9 @@ public class ForeignProvider implements Secp256k1.Provider {
     public Secp256k1 get() {
         return new Secp256k1Foreign();
     }
+
+    @Override
+    public Secp256k1Verifier verifier() {
+        return new Secp256k1ForeignVerifier();
+    }
 }
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_h;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_aggnonce;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_keyagg_cache;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_partial_sig;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_pubnonce;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_secnonce;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_musig_session;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_pubkey;
+import org.bitcoinj.secp.internal.MuSigAggNonceImpl;
+import org.bitcoinj.secp.internal.MuSigPartialSigImpl;
+import org.bitcoinj.secp.internal.MuSigPubNonceImpl;
+import org.bitcoinj.secp.internal.SchnorrSignatureImpl;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static org.bitcoinj.secp.ffm.jextract.secp256k1_h.C_POINTER;
+
+/// Implementation of [SecpMuSig] using the `musig` module of the `secp256k1` library.
+///
+/// The [KeyAggCache], [SecNonce] and [Session] handles each own a [NativeHandle] containing the native
+/// `secp256k1_musig_keyagg_cache`, `secp256k1_musig_secnonce` or `secp256k1_musig_session`, which is passed to the
+/// library as-is in each round. Only public nonces, aggregate nonces and partial signatures, which are exchanged
+/// between signers, are converted to and from their serialized form. Like the `Prepared*` handles, the native memory
+/// is released by `close()` or by a [java.lang.ref.Cleaner].
+final class MuSigForeign implements SecpMuSig {
+    private static final MemorySegment NULL = MemorySegment.ofAddress(0L);
+
+    private final Secp256k1Foreign secp;
+
+    MuSigForeign(Secp256k1Foreign secp) {
+        this.secp = secp;
+    }
+
+    /// A native `secp256k1_musig_keyagg_cache`
+    static final class ForeignKeyAggCache implements KeyAggCache {
+        private final NativeHandle handle = new NativeHandle(this, secp256k1_musig_keyagg_cache.layout(), false);
+
+        MemorySegment segment() {
+            return handle.segment();
+        }
+
+        @Override
+        public void close() {
+            handle.close();
+        }
+    }
+
+    /// A native `secp256k1_musig_secnonce`, which is zeroed by the library when it is used. The public key it was
+    /// created for is kept to check it before signing, as the library treats a mismatch as an illegal argument.
+    static final class ForeignSecNonce implements SecNonce {
+        private final NativeHandle handle = new NativeHandle(this, secp256k1_musig_secnonce.layout(), true);
+        private final AtomicBoolean used = new AtomicBoolean(false);
+        private final byte[] pubKey;
+        private final PubNonce pubNonce;
+
+        ForeignSecNonce(byte[] pubKey, PubNonce pubNonce) {
+            this.pubKey = pubKey;
+            this.pubNonce = pubNonce;
+        }
+
+        @Override
+        public PubNonce pubNonce() {
+            return pubNonce;
+        }
+
+        /// Mark the nonce as used. Only one caller gets the segment, the library must never see a used nonce.
+        /// @return the `secp256k1_musig_secnonce` segment
+        /// @throws IllegalStateException if the nonce has already been used (or closed)
+        MemorySegment take() {
+            if (!used.compareAndSet(false, true)) {
+                throw new IllegalStateException("Secret nonce has already been used");
+            }
+            return handle.segment();
+        }
+
+        @Override
+        public void close() {
+            used.set(true);
+            handle.close();
+        }
+    }
+
+    /// A native `secp256k1_musig_session`
+    static final class ForeignSession implements Session {
+        private final NativeHandle handle = new NativeHandle(this, secp256k1_musig_session.layout(), false);
+
+        MemorySegment segment() {
+            return handle.segment();
+        }
+
+        @Override
+        public void close() {
+            handle.close();
+        }
+    }
+
+    @Override
+    public SecpResult<KeyAggCache> pubKeyAgg(List<? extends SecpPubKey> pubKeys) {
+        checkArg(!pubKeys.isEmpty(), "At least one public key is required");
+        ForeignKeyAggCache cache = new ForeignKeyAggCache();
+        try (Arena ta = secp.newArena()) {
+            MemorySegment pubKeyPtrs = secp.pubKeyPointers(ta, pubKeys);
+            int return_val = secp256k1_h.secp256k1_musig_pubkey_agg(secp.ctx(), NULL, cache.segment(), pubKeyPtrs, pubKeys.size());
+            Reference.reachabilityFence(pubKeys);
+            if (return_val != 1) {
+                cache.close();
+                return SecpResult.err(return_val);
+            }
+            return SecpResult.ok(cache);
+        }
+    }
+
+    @Override
+    public SecpPubKey pubKeyGet(KeyAggCache keyAggCache) {
+        MemorySegment cacheSeg = keyAggCache(keyAggCache).segment();
+        try (Arena ta = secp.newArena()) {
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_pubkey_get(secp.ctx(), pubKeySeg, cacheSeg);
+            Reference.reachabilityFence(keyAggCache);
+            assert(return_val == 1);
+            return secp.toSecpPubKey(ta, pubKeySeg);
+        }
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> pubKeyEcTweakAdd(KeyAggCache keyAggCache, byte[] tweak) {
+        return tweakAdd(keyAggCache, tweak, false);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> pubKeyXOnlyTweakAdd(KeyAggCache keyAggCache, byte[] tweak) {
+        return tweakAdd(keyAggCache, tweak, true);
+    }
+
+    private SecpResult<SecpPubKey> tweakAdd(KeyAggCache keyAggCache, byte[] tweak, boolean xOnly) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        MemorySegment cacheSeg = keyAggCache(keyAggCache).segment();
+        try (Arena ta = secp.newArena()) {
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);
+            MemorySegment tweakSeg = ta.allocateFrom(JAVA_BYTE, tweak);
+            int return_val = xOnly
+                    ? secp256k1_h.secp256k1_musig_pubkey_xonly_tweak_add(secp.ctx(), pubKeySeg, cacheSeg, tweakSeg)
+                    : secp256k1_h.secp256k1_musig_pubkey_ec_tweak_add(secp.ctx(), pubKeySeg, cacheSeg, tweakSeg);
+            Reference.reachabilityFence(keyAggCache);
+            return SecpResult.checked(return_val, () -> secp.toSecpPubKey(ta, pubKeySeg));
+        }
+    }
+
+    /// Generate a secret nonce with `secp256k1_musig_nonce_gen`, using 32 bytes from the
+    /// [org.bitcoinj.secp.SecpRandom] of the [Secp256k1Foreign] instance as `session_secrand32`.
+    @Override
+    public SecpResult<SecNonce> nonceGen(SecpPubKey pubKey, @Nullable SecpPrivKey privKey, byte @Nullable [] msg,
+                                         @Nullable KeyAggCache keyAggCache, byte @Nullable [] extraInput) {
+        checkArg(msg == null || msg.length == 32, "Message must be 32-byte");
+        checkArg(extraInput == null || extraInput.length == 32, "Extra input must be 32-byte");
+        MemorySegment cacheSeg = keyAggCache != null ? keyAggCache(keyAggCache).segment() : NULL;
+        try (Arena ta = secp.newArena()) {
+            SecpResult<MemorySegment> parsedPubKey = secp.pubKeyParse(ta, pubKey);
+            if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+            MemorySegment secNonceSeg = secp256k1_musig_secnonce.allocate(ta);
+            MemorySegment pubNonceSeg = secp256k1_musig_pubnonce.allocate(ta);
+            MemorySegment secRand = secp.fill_random(ta, 32);
+            MemorySegment privKeySeg = privKey != null ? ta.allocateFrom(JAVA_BYTE, privKey.getEncoded()) : NULL;
+            int return_val = secp256k1_h.secp256k1_musig_nonce_gen(secp.ctx(), secNonceSeg, pubNonceSeg, secRand, privKeySeg,
+                    parsedPubKey.get(),
+                    msg != null ? ta.allocateFrom(JAVA_BYTE, msg) : NULL,
+                    cacheSeg,
+                    extraInput != null ? ta.allocateFrom(JAVA_BYTE, extraInput) : NULL);
+            Reference.reachabilityFence(pubKey);
+            Reference.reachabilityFence(keyAggCache);
+            secRand.fill((byte) 0x00);
+            if (privKey != null) {
+                privKeySeg.fill((byte) 0x00);
+            }
+            if (return_val != 1) {
+                secNonceSeg.fill((byte) 0x00);
+                return SecpResult.err(return_val);
+            }
+            MemorySegment serialized = ta.allocate(66);
+            int return_val2 = secp256k1_h.secp256k1_musig_pubnonce_serialize(secp.ctx(), serialized, pubNonceSeg);
+            assert(return_val2 == 1);
+            ForeignSecNonce secNonce = new ForeignSecNonce(pubKey.serialize(true), new MuSigPubNonceImpl(serialized.toArray(JAVA_BYTE)));
+            secNonce.handle.segment().copyFrom(secNonceSeg);
+            secNonceSeg.fill((byte) 0x00);
+            return SecpResult.ok(secNonce);
+        }
+    }
+
+    @Override
+    public SecpResult<PubNonce> pubNonceParse(byte[] serialized) {
+        checkArg(serialized.length == 66, "Public nonce must be 66-byte");
+        try (Arena ta = secp.newArena()) {
+            MemorySegment pubNonceSeg = secp256k1_musig_pubnonce.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_pubnonce_parse(secp.ctx(), pubNonceSeg, ta.allocateFrom(JAVA_BYTE, serialized));
+            return SecpResult.checked(return_val, () -> new MuSigPubNonceImpl(serialized));
+        }
+    }
+
+    @Override
+    public AggNonce nonceAgg(List<? extends PubNonce> pubNonces) {
+        checkArg(!pubNonces.isEmpty(), "At least one public nonce is required");
+        try (Arena ta = secp.newArena()) {
+            MemorySegment pubNoncePtrs = ta.allocate(C_POINTER, pubNonces.size());
+            for (int i = 0; i < pubNonces.size(); i++) {
+                pubNoncePtrs.setAtIndex(C_POINTER, i, pubNonceSegment(ta, pubNonces.get(i)));
+            }
+            MemorySegment aggNonceSeg = secp256k1_musig_aggnonce.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_nonce_agg(secp.ctx(), aggNonceSeg, pubNoncePtrs, pubNonces.size());
+            assert(return_val == 1);
+            MemorySegment serialized = ta.allocate(66);
+            int return_val2 = secp256k1_h.secp256k1_musig_aggnonce_serialize(secp.ctx(), serialized, aggNonceSeg);
+            assert(return_val2 == 1);
+            return new MuSigAggNonceImpl(serialized.toArray(JAVA_BYTE));
+        }
+    }
+
+    @Override
+    public SecpResult<AggNonce> aggNonceParse(byte[] serialized) {
+        checkArg(serialized.length == 66, "Aggregate nonce must be 66-byte");
+        try (Arena ta = secp.newArena()) {
+            MemorySegment aggNonceSeg = secp256k1_musig_aggnonce.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_aggnonce_parse(secp.ctx(), aggNonceSeg, ta.allocateFrom(JAVA_BYTE, serialized));
+            return SecpResult.checked(return_val, () -> new MuSigAggNonceImpl(serialized));
+        }
+    }
+
+    @Override
+    public Session nonceProcess(AggNonce aggNonce, byte[] msg, KeyAggCache keyAggCache) {
+        checkArg(msg.length == 32, "Message must be 32-byte");
+        MemorySegment cacheSeg = keyAggCache(keyAggCache).segment();
+        ForeignSession session = new ForeignSession();
+        try (Arena ta = secp.newArena()) {
+            int return_val = secp256k1_h.secp256k1_musig_nonce_process(secp.ctx(), session.segment(),
+                    aggNonceSegment(ta, aggNonce), ta.allocateFrom(JAVA_BYTE, msg), cacheSeg);
+            Reference.reachabilityFence(keyAggCache);
+            if (return_val != 1) {
+                session.close();
+                throw new IllegalArgumentException("secp256k1_musig_nonce_process failed");
+            }
+            return session;
+        }
+    }
+
+    /// Create a partial signature with `secp256k1_musig_partial_sign`. The native key pair of an open
+    /// [PreparedKeyPair] is used as-is. `secNonce` is closed when this method returns.
+    @Override
+    public SecpResult<PartialSig> partialSign(SecNonce secNonce, SecpKeyPair keyPair, KeyAggCache keyAggCache, Session session) {
+        ForeignSecNonce nonce = secNonce(secNonce);
+        MemorySegment cacheSeg = keyAggCache(keyAggCache).segment();
+        MemorySegment sessionSeg = session(session).segment();
+        MemorySegment secNonceSeg = nonce.take();
+        try (Arena ta = secp.newArena()) {
+            checkArg(Arrays.equals(nonce.pubKey, keyPair.publicKey().serialize(true)),
+                    "Secret nonce was created for a different public key");
+            // Use the key pair of a PreparedKeyPair as-is, otherwise create (and afterwards zero) a temporary one
+            PreparedKeyPair prepared = keyPair instanceof PreparedKeyPair p && p.isAlive() ? p : null;
+            MemorySegment keyPairSeg = prepared != null ? prepared.segment() : secp.privKeyToSegment(ta, keyPair);
+            MemorySegment partialSigSeg = secp256k1_musig_partial_sig.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_partial_sign(secp.ctx(), partialSigSeg, secNonceSeg, keyPairSeg, cacheSeg, sessionSeg);
+            Reference.reachabilityFence(keyPair);
+            Reference.reachabilityFence(keyAggCache);
+            Reference.reachabilityFence(session);
+            if (prepared == null) {
+                keyPairSeg.fill((byte) 0x00);   // Contains the private key
+            }
+            return SecpResult.checked(return_val, () -> toPartialSig(ta, partialSigSeg));
+        } finally {
+            nonce.close();
+        }
+    }
+
+    @Override
+    public SecpResult<PartialSig> partialSigParse(byte[] serialized) {
+        checkArg(serialized.length == 32, "Partial signature must be 32-byte");
+        try (Arena ta = secp.newArena()) {
+            MemorySegment partialSigSeg = secp256k1_musig_partial_sig.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_musig_partial_sig_parse(secp.ctx(), partialSigSeg, ta.allocateFrom(JAVA_BYTE, serialized));
+            return SecpResult.checked(return_val, () -> new MuSigPartialSigImpl(serialized));
+        }
+    }
+
+    @Override
+    public SecpResult<Boolean> partialSigVerify(PartialSig partialSig, PubNonce pubNonce, SecpPubKey pubKey,
+                                                KeyAggCache keyAggCache, Session session) {
+        MemorySegment cacheSeg = keyAggCache(keyAggCache).segment();
+        MemorySegment sessionSeg = session(session).segment();
+        try (Arena ta = secp.newArena()) {
+            SecpResult<MemorySegment> parsedPubKey = secp.pubKeyParse(ta, pubKey);
+            if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+            int return_val = secp256k1_h.secp256k1_musig_partial_sig_verify(secp.ctx(), partialSigSegment(ta, partialSig),
+                    pubNonceSegment(ta, pubNonce), parsedPubKey.get(), cacheSeg, sessionSeg);
+            Reference.reachabilityFence(pubKey);
+            Reference.reachabilityFence(keyAggCache);
+            Reference.reachabilityFence(session);
+            return SecpResult.ok(return_val == 1);
+        }
+    }
+
+    @Override
+    public SchnorrSignature partialSigAgg(Session session, List<? extends PartialSig> partialSigs) {
+        checkArg(!partialSigs.isEmpty(), "At least one partial signature is required");
+        MemorySegment sessionSeg = session(session).segment();
+        try (Arena ta = secp.newArena()) {
+            MemorySegment partialSigPtrs = ta.allocate(C_POINTER, partialSigs.size());
+            for (int i = 0; i < partialSigs.size(); i++) {
+                partialSigPtrs.setAtIndex(C_POINTER, i, partialSigSegment(ta, partialSigs.get(i)));
+            }
+            MemorySegment sig = ta.allocate(64);
+            int return_val = secp256k1_h.secp256k1_musig_partial_sig_agg(secp.ctx(), sig, sessionSeg, partialSigPtrs, partialSigs.size());
+            Reference.reachabilityFence(session);
+            assert(return_val == 1);
+            return SchnorrSignatureImpl.of(sig.toArray(JAVA_BYTE));
+        }
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param pubNonce public nonce
+    /// @return a `secp256k1_musig_pubnonce` segment
+    private MemorySegment pubNonceSegment(SegmentAllocator alloc, PubNonce pubNonce) {
+        MemorySegment pubNonceSeg = secp256k1_musig_pubnonce.allocate(alloc);
+        int return_val = secp256k1_h.secp256k1_musig_pubnonce_parse(secp.ctx(), pubNonceSeg, alloc.allocateFrom(JAVA_BYTE, pubNonce.serialize()));
+        checkArg(return_val == 1, "Invalid public nonce");
+        return pubNonceSeg;
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param aggNonce aggregate nonce
+    /// @return a `secp256k1_musig_aggnonce` segment
+    private MemorySegment aggNonceSegment(SegmentAllocator alloc, AggNonce aggNonce) {
+        MemorySegment aggNonceSeg = secp256k1_musig_aggnonce.allocate(alloc);
+        int return_val = secp256k1_h.secp256k1_musig_aggnonce_parse(secp.ctx(), aggNonceSeg, alloc.allocateFrom(JAVA_BYTE, aggNonce.serialize()));
+        checkArg(return_val == 1, "Invalid aggregate nonce");
+        return aggNonceSeg;
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param partialSig partial signature
+    /// @return a `secp256k1_musig_partial_sig` segment
+    private MemorySegment partialSigSegment(SegmentAllocator alloc, PartialSig partialSig) {
+        MemorySegment partialSigSeg = secp256k1_musig_partial_sig.allocate(alloc);
+        int return_val = secp256k1_h.secp256k1_musig_partial_sig_parse(secp.ctx(), partialSigSeg, alloc.allocateFrom(JAVA_BYTE, partialSig.serialize()));
+        checkArg(return_val == 1, "Invalid partial signature");
+        return partialSigSeg;
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param partialSigSeg a `secp256k1_musig_partial_sig` segment
+    /// @return the partial signature
+    private PartialSig toPartialSig(SegmentAllocator alloc, MemorySegment partialSigSeg) {
+        MemorySegment serialized = alloc.allocate(32);
+        int return_val = secp256k1_h.secp256k1_musig_partial_sig_serialize(secp.ctx(), serialized, partialSigSeg);
+        assert(return_val == 1);
+        return new MuSigPartialSigImpl(serialized.toArray(JAVA_BYTE));
+    }
+
+    private static ForeignKeyAggCache keyAggCache(KeyAggCache keyAggCache) {
+        checkArg(keyAggCache instanceof ForeignKeyAggCache, "Key aggregation cache was not created by this implementation");
+        return (ForeignKeyAggCache) keyAggCache;
+    }
+
+    private static ForeignSecNonce secNonce(SecNonce secNonce) {
+        checkArg(secNonce instanceof ForeignSecNonce, "Secret nonce was not created by this implementation");
+        return (ForeignSecNonce) secNonce;
+    }
+
+    private static ForeignSession session(Session session) {
+        checkArg(session instanceof ForeignSession, "Session was not created by this implementation");
+        return (ForeignSession) session;
+    }
+
+    private static void checkArg(boolean condition, String string) {
+        if (!condition) {
+            throw new IllegalArgumentException(string);
+        }
+    }
+}
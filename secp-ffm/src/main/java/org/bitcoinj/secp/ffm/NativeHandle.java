@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
+
+/// A long-lived native segment used by the `Prepared*` handle classes.
+///
+/// The segment is allocated in its own shared [Arena], so it can be used from any thread. The arena is closed
+/// by [#close()] or, if the owning handle becomes unreachable without being closed, by a [Cleaner].
+/// If the segment holds secret data it is zeroed before the arena is closed.
+///
+/// The owner can become unreachable while its segment is still in use, as soon as the owner itself is no longer
+/// referenced. Code that passes [#segment()] to a downcall (directly, or as an element of a pointer array) must
+/// therefore call [java.lang.ref.Reference#reachabilityFence(Object)] on the owner after the downcall returns.
+final class NativeHandle implements AutoCloseable {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final MemorySegment segment;
+    private final Cleaner.Cleanable cleanable;
+
+    /// @param owner the handle object that owns this segment
+    /// @param layout layout of the native struct to allocate
+    /// @param secret whether to zero the segment before it is freed
+    NativeHandle(Object owner, MemoryLayout layout, boolean secret) {
+        Arena arena = Arena.ofShared();
+        this.segment = arena.allocate(layout);
+        // The cleaning action must not reference `owner`, or `owner` would never become unreachable
+        this.cleanable = CLEANER.register(owner, new Release(arena, segment, secret));
+    }
+
+    /// @return the native segment, only valid until [#close()] is called
+    MemorySegment segment() {
+        return segment;
+    }
+
+    /// @return true until [#close()] is called
+    boolean isAlive() {
+        return segment.scope().isAlive();
+    }
+
+    /// Free the native segment (zeroing it first, if it holds secret data). Idempotent.
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    private record Release(Arena arena, MemorySegment segment, boolean secret) implements Runnable {
+        @Override
+        public void run() {
+            if (secret) {
+                segment.fill((byte) 0x00);
+            }
+            arena.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_keypair;
+
+import java.lang.foreign.MemorySegment;
+import java.math.BigInteger;
+
+/// A [SecpKeyPair] that also holds a native `secp256k1_keypair` (private key and precomputed public key).
+///
+/// Creating a `secp256k1_keypair` requires a generator multiplication to compute the public key. Create a
+/// `PreparedKeyPair` with [Secp256k1Foreign#ecKeyPairPrepare(SecpKeyPair)] for keys that sign many messages and
+/// pass it to `schnorrSigSign32` so that cost is paid once per key instead of once per signature.
+///
+/// The native memory contains the private key. It is zeroed and released by [#close()], by [#destroy()], or by a
+/// [java.lang.ref.Cleaner] if the key pair becomes unreachable. A closed (but not destroyed) `PreparedKeyPair`
+/// is still a valid [SecpKeyPair] and a `secp256k1_keypair` is simply created again on each use.
+/// It must not be closed while another thread is using it.
+public final class PreparedKeyPair implements SecpKeyPair, AutoCloseable {
+    private final SecpKeyPair keyPair;
+    private final NativeHandle handle;
+
+    /// Allocate the native segment. [Secp256k1Foreign] is responsible for filling it.
+    PreparedKeyPair(SecpKeyPair keyPair) {
+        this.keyPair = keyPair;
+        this.handle = new NativeHandle(this, secp256k1_keypair.layout(), true);
+    }
+
+    /// @return the `secp256k1_keypair` segment. Callers must not modify it.
+    MemorySegment segment() {
+        return handle.segment();
+    }
+
+    /// @return true if the native representation is available, i.e. [#close()] has not been called
+    boolean isAlive() {
+        return handle.isAlive();
+    }
+
+    /// Zero and release the native memory. The Java key pair is not destroyed. Idempotent.
+    @Override
+    public void close() {
+        handle.close();
+    }
+
+    @Override
+    public SecpPubKey publicKey() {
+        return keyPair.publicKey();
+    }
+
+    @Override
+    public SecpPrivKey privateKey() {
+        return keyPair.privateKey();
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        return keyPair.getEncoded();
+    }
+
+    @Override
+    public BigInteger getS() {
+        return keyPair.getS();
+    }
+
+    /// Zero and release the native memory and destroy the Java key pair.
+    @Override
+    public void destroy() {
+        handle.close();
+        keyPair.destroy();
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return keyPair.isDestroyed();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + " publicKey = " + publicKey() + " }";
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.SecpFieldElement;
+import org.bitcoinj.secp.SecpPoint;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_pubkey;
+
+import java.lang.foreign.MemorySegment;
+import java.security.spec.ECPoint;
+
+/// A [SecpPubKey] that also holds its parsed, 64-byte `secp256k1_pubkey` representation in native memory.
+///
+/// Create one with [Secp256k1Foreign#ecPubKeyPrepare(SecpPubKey)] for keys that are used many times. When a
+/// `PreparedPubKey` is passed to a [Secp256k1Foreign] method (e.g. `ecdsaVerify`, `ecdh`, `ecPubKeyTweakMul`,
+/// `ecPubKeyCombine` or `ellswiftEncode`) the native representation is used directly, skipping
+/// the serialize, copy and `secp256k1_ec_pubkey_parse` steps that are otherwise done on every call.
+///
+/// The native memory is released by [#close()], or by a [java.lang.ref.Cleaner] if the key becomes
+/// unreachable. A closed `PreparedPubKey` is still a valid [SecpPubKey] and is simply parsed again on each use.
+/// It must not be closed while another thread is using it.
+public final class PreparedPubKey implements SecpPubKey, AutoCloseable {
+    private final SecpPubKey pubKey;
+    private final NativeHandle handle;
+
+    /// Allocate the native segment. [Secp256k1Foreign] is responsible for filling it.
+    PreparedPubKey(SecpPubKey pubKey) {
+        this.pubKey = pubKey;
+        this.handle = new NativeHandle(this, secp256k1_pubkey.layout(), false);
+    }
+
+    /// @return the `secp256k1_pubkey` segment. Callers must not modify it.
+    MemorySegment segment() {
+        return handle.segment();
+    }
+
+    /// @return true if the native representation is available, i.e. [#close()] has not been called
+    boolean isAlive() {
+        return handle.isAlive();
+    }
+
+    /// Release the native memory. Idempotent.
+    @Override
+    public void close() {
+        handle.close();
+    }
+
+    @Override
+    public String getFormat() {
+        return pubKey.getFormat();
+    }
+
+    @Override
+    public ECPoint getW() {
+        return pubKey.getW();
+    }
+
+    @Override
+    public SecpPoint.Uncompressed point() {
+        return pubKey.point();
+    }
+
+    @Override
+    public byte[] serialize(boolean compressed) {
+        return pubKey.serialize(compressed);
+    }
+
+    @Override
+    public SecpFieldElement x() {
+        return pubKey.x();
+    }
+
+    @Override
+    public SecpFieldElement y() {
+        return pubKey.y();
+    }
+
+    @Override
+    public SecpPoint.Compressed compress() {
+        return pubKey.compress();
+    }
+
+    @Override
+    public boolean isOdd() {
+        return pubKey.isOdd();
+    }
+
+    @Override
+    public String toString() {
+        return pubKey.toString();
+    }
+}
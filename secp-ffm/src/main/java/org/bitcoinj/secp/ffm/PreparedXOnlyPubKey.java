@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_xonly_pubkey;
+
+import java.lang.foreign.MemorySegment;
+import java.math.BigInteger;
+
+/// A [SecpXOnlyPubKey] that also holds its parsed, 64-byte `secp256k1_xonly_pubkey` representation in native memory.
+///
+/// Parsing an x-only key requires computing the y-coordinate (a field square root). Create a
+/// `PreparedXOnlyPubKey` with [Secp256k1Foreign#xOnlyPubKeyPrepare(SecpXOnlyPubKey)] for keys that verify many
+/// signatures, and pass it to `schnorrSigVerify` or `schnorrSigVerifyBatch` so that cost is paid once per key.
+///
+/// The native memory is released by [#close()], or by a [java.lang.ref.Cleaner] if the key becomes
+/// unreachable. A closed `PreparedXOnlyPubKey` is still a valid [SecpXOnlyPubKey] and is simply parsed again on
+/// each use. It must not be closed while another thread is using it.
+public final class PreparedXOnlyPubKey implements SecpXOnlyPubKey, AutoCloseable {
+    private final SecpXOnlyPubKey pubKey;
+    private final NativeHandle handle;
+
+    /// Allocate the native segment. [Secp256k1Foreign] is responsible for filling it.
+    PreparedXOnlyPubKey(SecpXOnlyPubKey pubKey) {
+        this.pubKey = pubKey;
+        this.handle = new NativeHandle(this, secp256k1_xonly_pubkey.layout(), false);
+    }
+
+    /// @return the `secp256k1_xonly_pubkey` segment. Callers must not modify it.
+    MemorySegment segment() {
+        return handle.segment();
+    }
+
+    /// @return true if the native representation is available, i.e. [#close()] has not been called
+    boolean isAlive() {
+        return handle.isAlive();
+    }
+
+    /// Release the native memory. Idempotent.
+    @Override
+    public void close() {
+        handle.close();
+    }
+
+    @Override
+    public BigInteger getX() {
+        return pubKey.getX();
+    }
+
+    @Override
+    public byte[] serialize() {
+        return pubKey.serialize();
+    }
+
+    @Override
+    public byte[] serializeCompressed() {
+        return pubKey.serializeCompressed();
+    }
+
+    @Override
+    public String toString() {
+        return pubKey.toString();
+    }
+}
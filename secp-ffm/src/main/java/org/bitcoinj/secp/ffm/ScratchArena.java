@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/// A per-thread, reusable [Arena] used by [Secp256k1Foreign.ArenaStrategy#THREAD_LOCAL].
+///
+/// Each platform thread owns one pre-allocated slab of [#SLAB_SIZE] bytes. Allocations are bump-allocated
+/// slices of the slab and [#close()] zeroes the used part of the slab and resets it, so the slab is all zeros
+/// at the start of every call (as segments from a fresh arena would be) and no key material outlives the call.
+/// Allocations that do not fit in the slab go to an overflow confined arena that is closed with the scratch arena.
+///
+/// Unlike a confined arena, slices of the slab remain *accessible* after [#close()]. They must not escape the
+/// call that allocated them -- which is already the rule for every `ta` arena in [Secp256k1Foreign].
+///
+/// Virtual threads and reentrant use on the same thread get a plain [Arena#ofConfined()] instead.
+final class ScratchArena implements Arena {
+    /// Size of the per-thread slab. This comfortably covers every single-operation call.
+    static final long SLAB_SIZE = 4096;
+
+    private static final ThreadLocal<ScratchArena> SCRATCH = ThreadLocal.withInitial(ScratchArena::new);
+
+    // The slab is allocated from an automatic arena so it is freed once the owning thread (and its
+    // ThreadLocal map) is gone.
+    private final MemorySegment slab = Arena.ofAuto().allocate(SLAB_SIZE, 16);
+    private long offset = 0;
+    private boolean inUse = false;
+    private Arena overflow = null;
+
+    private ScratchArena() {
+    }
+
+    /// Get the current thread's scratch arena, or a new confined arena if it is not available.
+    /// @return an arena that must be closed by the caller
+    static Arena acquire() {
+        if (Thread.currentThread().isVirtual()) {
+            return Arena.ofConfined();
+        }
+        ScratchArena scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            return Arena.ofConfined();
+        }
+        scratch.inUse = true;
+        return scratch;
+    }
+
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+        long base = slab.address();
+        long start = ((base + offset + byteAlignment - 1) & -byteAlignment) - base;
+        if (start + byteSize <= SLAB_SIZE) {
+            offset = start + byteSize;
+            return slab.asSlice(start, byteSize);
+        }
+        if (overflow == null) {
+            overflow = Arena.ofConfined();
+        }
+        return overflow.allocate(byteSize, byteAlignment);
+    }
+
+    @Override
+    public MemorySegment.Scope scope() {
+        return slab.scope();
+    }
+
+    /// Zero the used part of the slab, free any overflow allocations and return the arena to its thread.
+    @Override
+    public void close() {
+        slab.asSlice(0, offset).fill((byte) 0x00);
+        offset = 0;
+        if (overflow != null) {
+            overflow.close();
+            overflow = null;
+        }
+        inUse = false;
+    }
+}
@@ -16,10 +16,13 @@
 package org.bitcoinj.secp.ffm;
 
 import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
 import org.bitcoinj.secp.SecpFieldElement;
 import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
 import org.bitcoinj.secp.SecpPoint;
 import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpRandom;
 import org.bitcoinj.secp.SecpResult;
 import org.bitcoinj.secp.SecpXOnlyPubKey;
 import org.bitcoinj.secp.SecpPrivKey;
@@ -27,12 +30,16 @@ import org.bitcoinj.secp.SchnorrSignature;
 import org.bitcoinj.secp.Secp256k1;
 import org.bitcoinj.secp.EcdsaSignature;
 import org.bitcoinj.secp.ffm.segments.LowRGrindingNonce;
+import org.bitcoinj.secp.ffm.segments.SchnorrSigExtraParams;
 import org.bitcoinj.secp.internal.EcdhSharedSecretImpl;
+import org.bitcoinj.secp.internal.EcdsaDer;
+import org.bitcoinj.secp.internal.EcdsaRecoverableSignatureImpl;
 import org.bitcoinj.secp.internal.EcdsaSignatureImpl;
 import org.bitcoinj.secp.internal.SecpKeyPairImpl;
 import org.bitcoinj.secp.internal.SecpPointUncompressed;
 import org.bitcoinj.secp.internal.SecpPrivKeyImpl;
 import org.bitcoinj.secp.internal.SecpPubKeyImpl;
+import org.bitcoinj.secp.ffm.jextract.secp256k1_ecdsa_recoverable_signature;
 import org.bitcoinj.secp.ffm.jextract.secp256k1_ecdsa_signature;
 import org.bitcoinj.secp.ffm.jextract.secp256k1_h;
 import org.bitcoinj.secp.ffm.jextract.secp256k1_keypair;
@@ -41,17 +48,26 @@ import org.bitcoinj.secp.ffm.jextract.secp256k1_xonly_pubkey;
 import org.bitcoinj.secp.internal.SchnorrSignatureImpl;
 import org.bitcoinj.secp.internal.SecpScalarImpl;
 import org.bitcoinj.secp.internal.SecpXOnlyPubKeyImpl;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.SegmentAllocator;
+import java.lang.ref.Reference;
 import java.math.BigInteger;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static org.bitcoinj.secp.SecpResult.OK;
 import static org.bitcoinj.secp.ffm.jextract.secp256k1_h.C_POINTER;
 import static org.bitcoinj.secp.ffm.jextract.secp256k1_h.SECP256K1_EC_UNCOMPRESSED;
@@ -63,9 +79,11 @@ import static org.bitcoinj.secp.ffm.jextract.secp256k1_h.secp256k1_xonly_pubkey_
 ///
 /// ## Memory management
 ///
-/// Every API method that needs off-heap (native) memory creates a temporary, thread-scoped "confined" [Arena] (via
-/// [Arena#ofConfined()]) for the duration of that call, so all native allocations are deterministically released
-/// (via [Arena#close()]]) when the call returns.
+/// Every API method that needs off-heap (native) memory creates a temporary, thread-scoped [Arena] for the duration
+/// of that call, so all native allocations are deterministically released (via [Arena#close()]]) when the call
+/// returns. How that arena is created is selected by [ArenaStrategy]: by default a new "confined" arena is created
+/// (via [Arena#ofConfined()]) for each call; with [ArenaStrategy#THREAD_LOCAL] a per-thread slab is reused and
+/// zeroed when the call returns.
 ///
 /// We use `ta` as the name for these `t`emporary/`t`hread arenas.
 ///
@@ -73,59 +91,150 @@ import static org.bitcoinj.secp.ffm.jextract.secp256k1_h.secp256k1_xonly_pubkey_
 /// retains control over the lifetime of everything that is allocated on its behalf. Any [MemorySegment]
 /// returned by a helper is therefore only valid until the caller's arena is closed.
 ///
-/// The only native resource with a lifetime longer than a single call is the `secp256k1_context`, which is
-/// allocated and freed by the C library itself (see [#close()]).
+/// The only native resources with a lifetime longer than a single call are the `secp256k1_context` (and its
+/// per-thread clones, see [Builder#contextPerThread(Duration)]), which is allocated and freed by the C library
+/// itself (see [#close()]), and the `Prepared*` handles (e.g. [PreparedPubKey]) and MuSig2 handles (see [#musig()]),
+/// which each own a shared arena that is closed by the handle's `close()` method or by a [java.lang.ref.Cleaner].
 public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
+    /// How the temporary [Arena] used by each API call is created.
+    public enum ArenaStrategy {
+        /// Create (and close) a new [Arena#ofConfined()] arena for every call. This is the default.
+        CONFINED,
+        /// Reuse a pre-allocated, per-thread slab that is zeroed when each call returns. This avoids the cost of
+        /// creating and closing an arena and is faster for cheap operations (e.g. parsing). Virtual threads
+        /// fall back to [#CONFINED].
+        THREAD_LOCAL
+    }
+
+    /// Builder for [Secp256k1Foreign] instances with non-default options.
+    public static final class Builder {
+        private int flags = secp256k1_h.SECP256K1_CONTEXT_NONE();
+        private boolean randomize = true;
+        private ArenaStrategy arenaStrategy = ArenaStrategy.CONFINED;
+        private boolean criticalDowncalls = false;
+        private @Nullable Duration rerandomizeInterval = null;
+        private SecpRandom random = SecpRandom.getDefault();
+
+        private Builder() {
+        }
+
+        /// @param flags context flags (default: `SECP256K1_CONTEXT_NONE`)
+        /// @return this builder
+        public Builder flags(int flags) {
+            this.flags = flags;
+            return this;
+        }
+
+        /// @param randomize whether to randomize the context (default: `true`)
+        /// @return this builder
+        public Builder randomize(boolean randomize) {
+            this.randomize = randomize;
+            return this;
+        }
+
+        /// @param arenaStrategy how the temporary arena for each call is created (default: [ArenaStrategy#CONFINED])
+        /// @return this builder
+        public Builder arenaStrategy(ArenaStrategy arenaStrategy) {
+            this.arenaStrategy = arenaStrategy;
+            return this;
+        }
+
+        /// Use critical downcalls (see `Linker.Option.critical(true)`) that pass Java arrays directly to the native
+        /// library for short, non-blocking operations: `ecdsaVerify`, `schnorrSigVerify`, `taggedSha256`,
+        /// `ecPubKeyParse`, `xOnlyPubKeyParse` and `ecdsaSignatureParseCompact`. These operations then need no
+        /// arena and no copies, but may briefly block the garbage collector.
+        /// @param criticalDowncalls whether to use critical downcalls (default: `false`)
+        /// @return this builder
+        public Builder criticalDowncalls(boolean criticalDowncalls) {
+            this.criticalDowncalls = criticalDowncalls;
+            return this;
+        }
+
+        /// Give each platform thread its own randomized clone of the context and replace it with a freshly
+        /// randomized clone every `rerandomizeInterval`, without blocking callers. By default all threads
+        /// share one context that is only randomized (if `randomize` is set) when the instance is created.
+        /// @param rerandomizeInterval how often each thread's context is re-randomized (must be positive)
+        /// @return this builder
+        public Builder contextPerThread(Duration rerandomizeInterval) {
+            this.rerandomizeInterval = rerandomizeInterval;
+            return this;
+        }
+
+        /// @param random source of random bytes for key generation, context randomization and signing
+        ///               (default: [SecpRandom#getDefault()])
+        /// @return this builder
+        public Builder random(SecpRandom random) {
+            this.random = random;
+            return this;
+        }
+
+        /// @return a new instance, which should be closed by the caller
+        public Secp256k1Foreign build() {
+            return new Secp256k1Foreign(this, false);
+        }
+
+        /// Build a verify-only instance. If all we need is parsing and signature verification (and no key
+        /// generation or signing), we don't need a context created via `secp256k1_context_create()` and can
+        /// use the static context `secp256k1_context_static` (see `include/secp256k1.h`). No random number
+        /// generator or context is created, so this is very cheap. Only [#arenaStrategy(ArenaStrategy)] and
+        /// [#criticalDowncalls(boolean)] apply to verifiers.
+        /// @return a new verifier
+        public Secp256k1ForeignVerifier buildVerifier() {
+            return new Secp256k1ForeignVerifier(new Secp256k1Foreign(this, true));
+        }
+    }
+
     private final AtomicBoolean closed = new AtomicBoolean(false);
-    private final MemorySegment ctx;
+    private final ArenaStrategy arenaStrategy;
+    private final boolean criticalDowncalls;
+    private final MemorySegment ctx;    // The base context, use ctx() to get the context for the current thread
+    private final @Nullable ContextPool contextPool;
+    private final boolean verifyOnly;   // Uses the static context
     static final MemorySegment secp256k1StaticContext = secp256k1_h.secp256k1_context_static();
     private static final MemorySegment NULL = MemorySegment.ofAddress(0L);
-    private final SecureRandom secureRandom;
-
-    /// TBD: Static verify method that doesn't require a class instance.
-    public static boolean ecdsaVerify(MemorySegment sig, MemorySegment msg_hash, MemorySegment pubkey) {
-    /* Bonus example: if all we need is signature verification (and no key
-       generation or signing), we don't need to use a context created via
-       secp256k1_context_create(). We can simply use the static (i.e., global)
-       context secp256k1_context_static. See its description in
-       include/secp256k1.h for details. */
-        int is_sig_valid = secp256k1_h.secp256k1_ecdsa_verify(secp256k1_h.secp256k1_context_static(), sig, msg_hash, pubkey);
-        return is_sig_valid == 1;
-    }
+    private final SecpRandom random;
+    private final MuSigForeign musig = new MuSigForeign(this);
 
     public Secp256k1Foreign() {
         this(secp256k1_h.SECP256K1_CONTEXT_NONE(), true); // Randomize automatically by default
     }
 
+    /// Create an instance with a randomized context and the given arena strategy.
+    /// @param arenaStrategy how the temporary arena for each call is created
+    public Secp256k1Foreign(ArenaStrategy arenaStrategy) {
+        this(secp256k1_h.SECP256K1_CONTEXT_NONE(), true, arenaStrategy);
+    }
+
     public Secp256k1Foreign(int flags, boolean randomize) {
-        // TODO: Verify using cryptographic random number generator properly
-        // We initialize a new `SecureRandom` per instance for the following reasons:
-        // 1. Per-instance allocation avoids the static being contained in GraalVM
-        //    native-image instances (GraalVM may special-case this) or being cloned when the
-        //    containing process is cloned (may occur with containers, etc.)
-        // 2. On certain JDK/OS configurations it's possible `SecureRandom.getInstanceStrong()`
-        //    can cause a delay. It's better to incur this
-        // 3. Some implementations of `SecureRandom` may have locking contention
-        //    that could show up in a multi-threaded environment
-        // 4. Per-instance allocation allows for override for testing or custom
-        //    configurations, though this will require adding new constructors.
-        try {
-            secureRandom = SecureRandom.getInstanceStrong();
-        } catch (NoSuchAlgorithmException e) {
-            // This should never happen. The Javadoc for getInstanceStrong() says
-            // "Every implementation of the Java platform is required to support
-            // at least one strong SecureRandom implementation."
-            throw new RuntimeException("No strong SecureRandom available", e);
+        this(flags, randomize, ArenaStrategy.CONFINED);
+    }
+
+    /// @param flags context flags
+    /// @param randomize whether to randomize the context
+    /// @param arenaStrategy how the temporary arena for each call is created
+    public Secp256k1Foreign(int flags, boolean randomize, ArenaStrategy arenaStrategy) {
+        this(builder().flags(flags).randomize(randomize).arenaStrategy(arenaStrategy), false);
+    }
+
+    private Secp256k1Foreign(Builder builder, boolean verifyOnly) {
+        this.arenaStrategy = builder.arenaStrategy;
+        this.criticalDowncalls = builder.criticalDowncalls;
+        this.verifyOnly = verifyOnly;
+        this.random = builder.random;
+        if (verifyOnly) {
+            ctx = secp256k1StaticContext;
+            contextPool = null;
+            return;
         }
 
         /* Before we can call actual API functions, we need to create a "context". */
-        ctx = secp256k1_h.secp256k1_context_create(flags);
+        ctx = secp256k1_h.secp256k1_context_create(builder.flags);
 
-        if (randomize) {
+        if (builder.randomize) {
             /* Randomizing the context is recommended to protect against side-channel
              * leakage See `secp256k1_context_randomize` in secp256k1.h for more
              * information about it. This should never fail. */
-            try (Arena ta = Arena.ofConfined()) {
+            try (Arena ta = newArena()) {
                 MemorySegment random = fill_random(ta, 32);
                 int return_val = secp256k1_h.secp256k1_context_randomize(ctx, random);
                 // zero and free random segment?
@@ -133,26 +242,52 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
                 if (return_val != 1) throw new RuntimeException("context_randomize failed");
             }
         }
+        contextPool = builder.rerandomizeInterval != null
+                ? new ContextPool(ctx, random, builder.rerandomizeInterval)
+                : null;
+    }
+
+    /// Get the context to use on the current thread: the shared base context or, if
+    /// [Builder#contextPerThread(Duration)] was used, the current thread's clone.
+    /// @return a context
+    MemorySegment ctx() {
+        return contextPool != null ? contextPool.get() : ctx;
+    }
+
+    /// @return a builder for an instance with non-default options
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /// Create the temporary arena for an API call, according to the [ArenaStrategy]
+    /// @return an arena that must be closed before the call returns
+    Arena newArena() {
+        return arenaStrategy == ArenaStrategy.THREAD_LOCAL ? ScratchArena.acquire() : Arena.ofConfined();
     }
 
     @Override
     public void close() {
         // Use AtomicBoolean to implement idempotent close as recommended for AutoClosable
         if (closed.compareAndSet(false, true)) {
-            secp256k1_h.secp256k1_context_destroy(ctx);
+            if (contextPool != null) {
+                contextPool.close();
+            }
+            if (!verifyOnly) {
+                secp256k1_h.secp256k1_context_destroy(ctx);
+            }
         }
     }
 
     @Override
     public SecpPrivKey ecPrivKeyCreate() {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             /* If the secret key is zero or out of range (bigger than secp256k1's
              * order), we try to sample a new key. Note that the probability of this
              * happening is negligible. */
             MemorySegment privKeySeg;
             do {
                 privKeySeg = fill_random(ta, 32);
-            } while (secp256k1_h.secp256k1_ec_seckey_verify(ctx, privKeySeg) != 1);
+            } while (secp256k1_h.secp256k1_ec_seckey_verify(ctx(), privKeySeg) != 1);
             SecpPrivKey privKey = new SecpPrivKeyImpl(privKeySeg.toArray(JAVA_BYTE));
             privKeySeg.fill((byte) 0x00);
             return privKey;
@@ -171,7 +306,7 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpPubKey ecPubKeyCreate(SecpPrivKey privkey) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
 // Should we verify the key here for safety? (Probably)
             MemorySegment privkeySegment = ta.allocateFrom(JAVA_BYTE, privkey.getEncoded());
             MemorySegment pubKey = ecPubKeyCreate(ta, privkeySegment);
@@ -184,13 +319,13 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     MemorySegment ecPubKeyCreate(SegmentAllocator alloc, MemorySegment privkeySegment) {
         /* Public key creation using a valid context with a verified private key should never fail */
         MemorySegment pubkey = secp256k1_pubkey.allocate(alloc);
-        int return_val = secp256k1_h.secp256k1_ec_pubkey_create(ctx, pubkey, privkeySegment);
+        int return_val = secp256k1_h.secp256k1_ec_pubkey_create(ctx(), pubkey, privkeySegment);
         assert(return_val == 1);
         return pubkey;
     }
 
     /// Convert a pubKey [MemorySegment] to a [SecpPubKeyImpl]
-    private SecpPubKeyImpl toSecpPubKey(SegmentAllocator alloc, MemorySegment pubKeySegment) {
+    SecpPubKeyImpl toSecpPubKey(SegmentAllocator alloc, MemorySegment pubKeySegment) {
         MemorySegment serialized_pubkey = pubKeySerializeSegment(alloc, pubKeySegment, SECP256K1_EC_UNCOMPRESSED());
         return new SecpPubKeyImpl(serializedPubKeyToPoint(serialized_pubkey));
     }
@@ -206,7 +341,7 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpKeyPair ecKeyPairCreate() {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment keyPairSeg = secp256k1_keypair.allocate(ta);
             /* If the secret key is zero or out of range (bigger than secp256k1's
              * order), we try to sample a new key. Note that the probability of this
@@ -214,7 +349,7 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
             MemorySegment privKeySeg;
             do {
                 privKeySeg = fill_random(ta, 32);
-            } while (secp256k1_h.secp256k1_keypair_create(ctx, keyPairSeg, privKeySeg) != 1);
+            } while (secp256k1_h.secp256k1_keypair_create(ctx(), keyPairSeg, privKeySeg) != 1);
             // TODO: Parse keyPairSeg into standard SecpKeyPairImpl
             SecpKeyPair keyPair = toKeyPair(ta, keyPairSeg);
             privKeySeg.fill((byte) 0x00);
@@ -225,10 +360,10 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpKeyPair ecKeyPairCreate(SecpPrivKey privKey) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment keyPairSeg = secp256k1_keypair.allocate(ta);
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
-            int return_val = secp256k1_h.secp256k1_keypair_create(ctx, keyPairSeg, privKeySeg);
+            int return_val = secp256k1_h.secp256k1_keypair_create(ctx(), keyPairSeg, privKeySeg);
             privKeySeg.fill((byte) 0x00);
             assert(return_val == 1);
             // TODO: Parse keyPairSeg into standard SecpKeyPairImpl
@@ -240,11 +375,12 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpPubKey ecPubKeyTweakMul(SecpPoint.Uncompressed pubKey, BigInteger scalarMultiplier) {
-        try (Arena ta = Arena.ofConfined()) {
-            MemorySegment pubKeySeg = pubKeyParse(ta, pubKey).get();
+        try (Arena ta = newArena()) {
+            // tweak_mul modifies the pubkey in place, so copy it in case it is a prepared key's segment
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta).copyFrom(pubKeyParse(ta, pubKey).get());
             byte[] tweakBytes = SecpScalarImpl.integerTo32Bytes(scalarMultiplier);
             MemorySegment tweakSeg = ta.allocateFrom(JAVA_BYTE, tweakBytes);
-            int return_val = secp256k1_h.secp256k1_ec_pubkey_tweak_mul(ctx, pubKeySeg, tweakSeg);
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_tweak_mul(ctx(), pubKeySeg, tweakSeg);
             if (return_val != 1) {
                 throw new IllegalStateException("Tweak_mul failed");
             }
@@ -254,12 +390,14 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpPubKey ecPubKeyCombine(SecpPoint.Uncompressed key1, SecpPoint.Uncompressed key2) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment resultKeySeg = secp256k1_pubkey.allocate(ta);
             MemorySegment ins = ta.allocate(C_POINTER, 2);
             ins.setAtIndex(C_POINTER, 0, pubKeyParse(ta, key1).get());
             ins.setAtIndex(C_POINTER, 1, pubKeyParse(ta, key2).get());
-            int return_val = secp256k1_h.secp256k1_ec_pubkey_combine(ctx, resultKeySeg, ins, 2);
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_combine(ctx(), resultKeySeg, ins, 2);
+            Reference.reachabilityFence(key1);
+            Reference.reachabilityFence(key2);
             if (return_val != 1) {
                 throw new IllegalStateException("secp256k1_ec_pubkey_combine failed");
             }
@@ -267,12 +405,177 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
         }
     }
 
+    /// Add together any number of public keys with a single call to `secp256k1_ec_pubkey_combine`.
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyCombine(List<? extends SecpPubKey> pubKeys) {
+        checkArg(!pubKeys.isEmpty(), "At least one public key is required");
+        try (Arena ta = newArena()) {
+            MemorySegment ins = pubKeyPointers(ta, pubKeys);
+            MemorySegment resultKeySeg = secp256k1_pubkey.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_combine(ctx(), resultKeySeg, ins, pubKeys.size());
+            Reference.reachabilityFence(pubKeys);
+            return SecpResult.checked(return_val, () -> toSecpPubKey(ta, resultKeySeg));
+        }
+    }
+
+    /// Sort public keys with `secp256k1_ec_pubkey_sort`. The keys are parsed once into a contiguous native array and
+    /// the array of pointers to them is sorted. The index of each key in `pubKeys` is its pointer's offset in that
+    /// array, so the result contains the same instances as `pubKeys`.
+    /// @throws IllegalArgumentException if a public key can't be parsed
+    @Override
+    public <T extends SecpPubKey> List<T> ecPubKeySort(List<T> pubKeys) {
+        int count = pubKeys.size();
+        long keySize = secp256k1_pubkey.layout().byteSize();
+        try (Arena ta = newArena()) {
+            MemorySegment keys = ta.allocate(MemoryLayout.sequenceLayout(count, secp256k1_pubkey.layout()));
+            MemorySegment pubKeyPtrs = ta.allocate(C_POINTER, count);
+            for (int i = 0; i < count; i++) {
+                SecpResult<MemorySegment> parsed = pubKeyParse(ta, pubKeys.get(i));
+                checkArg(parsed.isOk(), "Public key " + i + " is invalid");
+                MemorySegment key = keys.asSlice(i * keySize, keySize).copyFrom(parsed.get());
+                pubKeyPtrs.setAtIndex(C_POINTER, i, key);
+            }
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_sort(ctx(), pubKeyPtrs, count);
+            assert(return_val == 1);
+            List<T> sorted = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long offset = pubKeyPtrs.getAtIndex(C_POINTER, i).address() - keys.address();
+                sorted.add(pubKeys.get((int) (offset / keySize)));
+            }
+            return sorted;
+        }
+    }
+
+    /// Parse public keys and return a native array of pointers to them
+    /// @param alloc allocator to create segments with
+    /// @param pubKeys public keys
+    /// @return array of `secp256k1_pubkey` pointers, which may point to segments of prepared keys: the caller must
+    ///         keep `pubKeys` reachable until the downcalls using it have returned
+    MemorySegment pubKeyPointers(SegmentAllocator alloc, List<? extends SecpPubKey> pubKeys) {
+        MemorySegment pointers = alloc.allocate(C_POINTER, pubKeys.size());
+        for (int i = 0; i < pubKeys.size(); i++) {
+            pointers.setAtIndex(C_POINTER, i, pubKeyParse(alloc, pubKeys.get(i)).get());
+        }
+        return pointers;
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyTweakAdd(SecpPubKey pubKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            SecpResult<MemorySegment> parsedPubKey = pubKeyParse(ta, pubKey);
+            if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+            // tweak_add modifies the pubkey in place, so copy it in case it is a prepared key's segment
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta).copyFrom(parsedPubKey.get());
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_tweak_add(ctx(), pubKeySeg, ta.allocateFrom(JAVA_BYTE, tweak));
+            return SecpResult.checked(return_val, () -> toSecpPubKey(ta, pubKeySeg));
+        }
+    }
+
+    /// Tweak a public key with each of a list of tweaks. The public key is parsed once, and all native memory is
+    /// allocated once and reused for each tweak.
+    @Override
+    public List<SecpResult<SecpPubKey>> ecPubKeyTweakAdd(SecpPubKey pubKey, List<byte[]> tweaks) {
+        for (byte[] tweak : tweaks) {
+            checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        }
+        List<SecpResult<SecpPubKey>> results = new ArrayList<>(tweaks.size());
+        try (Arena ta = newArena()) {
+            SecpResult<MemorySegment> parsedPubKey = pubKeyParse(ta, pubKey);
+            if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) {
+                tweaks.forEach(t -> results.add(SecpResult.err(err.code())));
+                return results;
+            }
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);
+            MemorySegment tweakSeg = ta.allocate(32);
+            MemorySegment serializeScratch = ta.allocate(128, 8);  // Serialized pubkey and its length
+            for (byte[] tweak : tweaks) {
+                pubKeySeg.copyFrom(parsedPubKey.get());
+                MemorySegment.copy(tweak, 0, tweakSeg, JAVA_BYTE, 0, 32);
+                int return_val = secp256k1_h.secp256k1_ec_pubkey_tweak_add(ctx(), pubKeySeg, tweakSeg);
+                results.add(SecpResult.checked(return_val,
+                        () -> toSecpPubKey(SegmentAllocator.slicingAllocator(serializeScratch), pubKeySeg)));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> xOnlyPubKeyTweakAdd(SecpXOnlyPubKey internalKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            SecpResult<MemorySegment> parsedKey = xOnlyPubKeyParse(ta, internalKey);
+            if (parsedKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+            MemorySegment outputSeg = secp256k1_pubkey.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_xonly_pubkey_tweak_add(ctx(), outputSeg, parsedKey.get(), ta.allocateFrom(JAVA_BYTE, tweak));
+            Reference.reachabilityFence(internalKey);
+            return SecpResult.checked(return_val, () -> toSecpPubKey(ta, outputSeg));
+        }
+    }
+
+    @Override
+    public SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        checkArg(tweakedKeyParity == 0 || tweakedKeyParity == 1, "Parity must be 0 or 1");
+        try (Arena ta = newArena()) {
+            SecpResult<MemorySegment> parsedKey = xOnlyPubKeyParse(ta, internalKey);
+            if (!parsedKey.isOk()) return SecpResult.ok(false);     // Internal key is not on the curve
+            int return_val = secp256k1_h.secp256k1_xonly_pubkey_tweak_add_check(ctx(),
+                    ta.allocateFrom(JAVA_BYTE, tweakedKey.serialize()),
+                    tweakedKeyParity,
+                    parsedKey.get(),
+                    ta.allocateFrom(JAVA_BYTE, tweak));
+            Reference.reachabilityFence(internalKey);
+            return SecpResult.ok(return_val == 1);
+        }
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakAdd(SecpPrivKey privKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
+            int return_val = secp256k1_h.secp256k1_ec_seckey_tweak_add(ctx(), privKeySeg, ta.allocateFrom(JAVA_BYTE, tweak));
+            return toTweakedPrivKey(return_val, privKeySeg);
+        }
+    }
+
+    @Override
+    public SecpResult<SecpPrivKey> ecSecKeyTweakMul(SecpPrivKey privKey, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
+            int return_val = secp256k1_h.secp256k1_ec_seckey_tweak_mul(ctx(), privKeySeg, ta.allocateFrom(JAVA_BYTE, tweak));
+            return toTweakedPrivKey(return_val, privKeySeg);
+        }
+    }
+
+    @Override
+    public SecpPrivKey ecSecKeyNegate(SecpPrivKey privKey) {
+        try (Arena ta = newArena()) {
+            MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
+            int return_val = secp256k1_h.secp256k1_ec_seckey_negate(ctx(), privKeySeg);
+            return toTweakedPrivKey(return_val, privKeySeg).get();
+        }
+    }
+
+    /// Construct the result of an in-place secret key operation and zero the segment
+    /// @param return_val return value of the operation
+    /// @param privKeySeg segment containing the (modified) 32-byte private key
+    /// @return private key or error
+    private static SecpResult<SecpPrivKey> toTweakedPrivKey(int return_val, MemorySegment privKeySeg) {
+        SecpResult<SecpPrivKey> result = SecpResult.checked(return_val, () -> new SecpPrivKeyImpl(privKeySeg.toArray(JAVA_BYTE)));
+        privKeySeg.fill((byte) 0x00);
+        return result;
+    }
+
     public SecpPubKey ecPubKeyCombine(SecpPubKey key1) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment resultKeySeg = secp256k1_pubkey.allocate(ta);
             MemorySegment ins = ta.allocate(C_POINTER, 1);
             ins.setAtIndex(C_POINTER, 0, pubKeyParse(ta, key1).get());
-            int return_val = secp256k1_h.secp256k1_ec_pubkey_combine(ctx, resultKeySeg, ins, 1);
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_combine(ctx(), resultKeySeg, ins, 1);
+            Reference.reachabilityFence(key1);
             if (return_val != 1) {
                 throw new IllegalStateException("secp256k1_ec_pubkey_combine failed");
             }
@@ -323,10 +626,11 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData) {
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return ecPubKeyParseCritical(inputData);
+        try (Arena ta = newArena()) {
             MemorySegment input = ta.allocateFrom(JAVA_BYTE, inputData);
             MemorySegment pubkey = secp256k1_pubkey.allocate(ta);
-            int return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx, pubkey, input, input.byteSize());
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx(), pubkey, input, input.byteSize());
             return SecpResult.checked(return_val, () -> toSecpPubKey(ta, pubkey));
         }
     }
@@ -334,48 +638,164 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     @Override
     public SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData) {
         if (inputData.length != 32) throw new IllegalArgumentException("length != 32");
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return xOnlyPubKeyParseCritical(inputData);
+        try (Arena ta = newArena()) {
             MemorySegment input = ta.allocateFrom(JAVA_BYTE, inputData);
             MemorySegment xOnly = secp256k1_xonly_pubkey.allocate(ta);
-            int return_val = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx, xOnly, input);
+            int return_val = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx(), xOnly, input);
             if (return_val != 1) return SecpResult.err(return_val);
             // Surprisingly, secp256k1_xonly_pubkey is 64 opaque bytes, so we need to serialize to get 32 bytes
             MemorySegment serializedXOnly = ta.allocate(32);
-            secp256k1_xonly_pubkey_serialize(ctx, serializedXOnly, xOnly);  // Always returns 1
+            secp256k1_xonly_pubkey_serialize(ctx(), serializedXOnly, xOnly);  // Always returns 1
             return SecpResult.ok(SecpXOnlyPubKeyImpl.ofVerifiedBytes(serializedXOnly.toArray(JAVA_BYTE)));
         }
     }
 
-    /// Parse a pubKey into the 64-byte internal format.
+    /// Parse a pubKey into the 64-byte native `secp256k1_pubkey` format and return it in a [PreparedPubKey].
+    /// Use this for keys that are used many times (e.g. to verify many signatures), to avoid parsing the key
+    /// again on each call. The caller should [PreparedPubKey#close()] the result when it is no longer needed.
+    /// @param pubKey the pubKey to prepare
+    /// @return a result containing a prepared key or an error if the key could not be parsed
+    public SecpResult<PreparedPubKey> ecPubKeyPrepare(SecpPubKey pubKey) {
+        PreparedPubKey prepared = new PreparedPubKey(pubKey);
+        try (Arena ta = newArena()) {
+            MemorySegment input = ta.allocateFrom(JAVA_BYTE, pubKey.serialize(false));
+            int return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx(), prepared.segment(), input, input.byteSize());
+            if (return_val != 1) {
+                prepared.close();
+                return SecpResult.err(return_val);
+            }
+            return SecpResult.ok(prepared);
+        }
+    }
+
+    /// Parse a pubKey into the 64-byte internal format. If `pubKeyData` is an open [PreparedPubKey], its
+    /// segment is returned without parsing.
     /// @param alloc allocator to create segments with
     /// @param pubKeyData the pubKey to parse
-    /// @return a result containing a segment (valid for the lifetime of `alloc`) in internal format
-    private SecpResult<MemorySegment> pubKeyParse(SegmentAllocator alloc, SecpPoint.Uncompressed pubKeyData) {
+    /// @return a result containing a segment (valid for the lifetime of `alloc`) in internal format. The segment
+    ///         may belong to a prepared key and must not be modified, and the caller must keep `pubKeyData`
+    ///         reachable (see [Reference#reachabilityFence(Object)]) until the downcalls using it have returned.
+    SecpResult<MemorySegment> pubKeyParse(SegmentAllocator alloc, SecpPoint.Uncompressed pubKeyData) {
+        if (pubKeyData instanceof PreparedPubKey prepared && prepared.isAlive()) {
+            return SecpResult.ok(prepared.segment());
+        }
         MemorySegment input = alloc.allocateFrom(JAVA_BYTE, pubKeyData.serialize()); // 65 byte, uncompressed format
         MemorySegment pubkey = secp256k1_pubkey.allocate(alloc);
-        int return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx, pubkey, input, input.byteSize());
+        int return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx(), pubkey, input, input.byteSize());
         return SecpResult.checked(return_val, () -> pubkey);
     }
 
     @Override
     public SecpResult<EcdsaSignature> ecdsaSign(byte[] msg_hash_data, SecpPrivKey privKey) {
         checkArg(msg_hash_data.length == 32, "Message must be 32-byte (hash)");
-        try (Arena ta = Arena.ofConfined()) {
-            /* Generate an ECDSA signature `noncefp` and `ndata` allows you to pass a
-             * custom nonce function, passing `NULL` will use the RFC-6979 safe default.
-             * Signing with a valid context, verified secret key
-             * and the default nonce function should never fail. */
-            MemorySegment msg_hash = ta.allocateFrom(JAVA_BYTE, msg_hash_data);
-            MemorySegment sig = secp256k1_ecdsa_signature.allocate(ta);          // internal signature format
-            MemorySegment serSigSeg = secp256k1_ecdsa_signature.allocate(ta);    // serialized signature format
+        try (Arena ta = newArena()) {
+            MemorySegment serSigSeg = ta.allocate(64);    // serialized signature format
+            int return_val = ecdsaSign(ta, ta.allocateFrom(JAVA_BYTE, msg_hash_data), privKey, serSigSeg);
+            return SecpResult.checked(return_val, () -> new EcdsaSignatureImpl(serSigSeg.toArray(JAVA_BYTE)));
+        }
+    }
+
+    @Override
+    public SecpResult<ByteBuffer> ecdsaSign(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        checkOutput(sigOut, 64);
+        SecpResult<MemorySegment> result = ecdsaSign(MemorySegment.ofBuffer(msgHash), privKey, MemorySegment.ofBuffer(sigOut));
+        if (!result.isOk()) return SecpResult.err(result.errorCode());
+        sigOut.position(sigOut.position() + 64);
+        return SecpResult.ok(sigOut);
+    }
+
+    /// Sign a message hash using the ECDSA algorithm, writing the 64-byte compact signature into a memory segment.
+    /// Native segments (e.g. of direct or memory-mapped buffers) are passed to the library without copying, heap
+    /// segments are copied.
+    /// @param msgHash segment containing the 32-byte hash of the message to sign
+    /// @param privKey private key
+    /// @param sigOut writable segment of at least 64 bytes to write the signature to (at offset 0)
+    /// @return a result containing `sigOut`, or an error (in which case nothing was written)
+    public SecpResult<MemorySegment> ecdsaSign(MemorySegment msgHash, SecpPrivKey privKey, MemorySegment sigOut) {
+        checkArg(msgHash.byteSize() == 32, "Message must be 32-byte (hash)");
+        try (Arena ta = newArena()) {
+            MemorySegment serSigSeg = downcallOutput(ta, sigOut, 64);
+            int return_val = ecdsaSign(ta, downcallInput(ta, msgHash), privKey, serSigSeg);
+            if (return_val != 1) return SecpResult.err(return_val);
+            copyOutput(serSigSeg, sigOut);
+            return SecpResult.ok(sigOut);
+        }
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param msgHash native segment containing the 32-byte message hash
+    /// @param privKey private key
+    /// @param serSigOut native segment to write the 64-byte compact signature to, if successful
+    /// @return the return value of `secp256k1_ecdsa_sign`
+    private int ecdsaSign(SegmentAllocator alloc, MemorySegment msgHash, SecpPrivKey privKey, MemorySegment serSigOut) {
+        /* Generate an ECDSA signature `noncefp` and `ndata` allows you to pass a
+         * custom nonce function, passing `NULL` will use the RFC-6979 safe default.
+         * Signing with a valid context, verified secret key
+         * and the default nonce function should never fail. */
+        MemorySegment sig = secp256k1_ecdsa_signature.allocate(alloc);          // internal signature format
+        MemorySegment privKeySeg = alloc.allocateFrom(JAVA_BYTE, privKey.getEncoded());
+        int return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx(), sig, msgHash, privKeySeg, NULL, NULL);
+        privKeySeg.fill((byte) 0x00);
+        if (return_val == 1) {
+            secp256k1_h.secp256k1_ecdsa_signature_serialize_compact(ctx(), serSigOut, sig);
+        }
+        return return_val;
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaSignRecoverable(byte[] msgHash, SecpPrivKey privKey) {
+        checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+        try (Arena ta = newArena()) {
+            MemorySegment sig = secp256k1_ecdsa_recoverable_signature.allocate(ta);  // internal signature format
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
-            int return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx, sig, msg_hash, privKeySeg, NULL, NULL);
+            int return_val = secp256k1_h.secp256k1_ecdsa_sign_recoverable(ctx(), sig, ta.allocateFrom(JAVA_BYTE, msgHash), privKeySeg, NULL, NULL);
             privKeySeg.fill((byte) 0x00);
-            secp256k1_h.secp256k1_ecdsa_signature_serialize_compact(ctx, serSigSeg, sig);
-            return SecpResult.checked(return_val, () -> new EcdsaSignatureImpl(serSigSeg.toArray(JAVA_BYTE)));
+            return SecpResult.checked(return_val, () -> toRecoverableSignature(ta, sig));
+        }
+    }
+
+    @Override
+    public byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig) {
+        return sig.serializeCompact();
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId) {
+        checkArg(serializedSignature.length == 64, "Signature must be 64-byte");
+        checkArg(recId >= 0 && recId <= 3, "Recovery id must be 0 to 3");
+        try (Arena ta = newArena()) {
+            MemorySegment sig = secp256k1_ecdsa_recoverable_signature.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_ecdsa_recoverable_signature_parse_compact(ctx(), sig, ta.allocateFrom(JAVA_BYTE, serializedSignature), recId);
+            return SecpResult.checked(return_val, () -> new EcdsaRecoverableSignatureImpl(serializedSignature, recId));
+        }
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash) {
+        checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_recoverable_signature.allocate(ta);
+            int return_val = secp256k1_h.secp256k1_ecdsa_recoverable_signature_parse_compact(ctx(), sigSeg, ta.allocateFrom(JAVA_BYTE, sig.serializeCompact()), sig.recId());
+            if (return_val != 1) return SecpResult.err(return_val);
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);
+            return_val = secp256k1_h.secp256k1_ecdsa_recover(ctx(), pubKeySeg, sigSeg, ta.allocateFrom(JAVA_BYTE, msgHash));
+            return SecpResult.checked(return_val, () -> toSecpPubKey(ta, pubKeySeg));
         }
     }
 
+    /// Construct an [EcdsaRecoverableSignature]
+    /// @param alloc allocator to create segments with
+    /// @param sig a segment containing a `secp256k1_ecdsa_recoverable_signature`
+    /// @return recoverable signature
+    private EcdsaRecoverableSignature toRecoverableSignature(SegmentAllocator alloc, MemorySegment sig) {
+        MemorySegment serSig = alloc.allocate(64);
+        MemorySegment recId = alloc.allocate(JAVA_INT);
+        int return_val = secp256k1_h.secp256k1_ecdsa_recoverable_signature_serialize_compact(ctx(), serSig, recId, sig);
+        assert(return_val == 1);
+        return new EcdsaRecoverableSignatureImpl(serSig.toArray(JAVA_BYTE), recId.get(JAVA_INT, 0));
+    }
+
     /// ECDSA signing with Low-R grinding. Will potentially sign multiple times until a low-R signature is generated.
     /// @param msg_hash_data hashed message data
     /// @param privKey private key
@@ -383,7 +803,7 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     @Override
     public SecpResult<EcdsaSignature> ecdsaSignLowR(byte[] msg_hash_data, SecpPrivKey privKey) {
         checkArg(msg_hash_data.length == 32, "Message must be 32-byte (hash)");
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment msg_hash = ta.allocateFrom(JAVA_BYTE, msg_hash_data);
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
             MemorySegment sig = secp256k1_ecdsa_signature.allocate(ta);  // internal signature format
@@ -394,16 +814,16 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
             do {
                 // Sign the message, producing a signature in `sig`
                 if (count == 0) {
-                    return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx, sig, msg_hash, privKeySeg, NULL, NULL);
+                    return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx(), sig, msg_hash, privKeySeg, NULL, NULL);
                 } else {
                     if (nonce == null) {
                         nonce = LowRGrindingNonce.allocate(ta);
                     }
                     LowRGrindingNonce.setCounter(nonce, count);
-                    return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx, sig, msg_hash, privKeySeg, NULL, nonce);
+                    return_val = secp256k1_h.secp256k1_ecdsa_sign(ctx(), sig, msg_hash, privKeySeg, NULL, nonce);
                 }
                 count++;
-                secp256k1_h.secp256k1_ecdsa_signature_serialize_compact(ctx, serSigSeg, sig);
+                secp256k1_h.secp256k1_ecdsa_signature_serialize_compact(ctx(), serSigSeg, sig);
             } while (return_val == OK && !hasLowR(serSigSeg)); // Retry until we get an error or low-R
             privKeySeg.fill((byte) 0x00);
             return SecpResult.checked(return_val, () -> new EcdsaSignatureImpl(serSigSeg.toArray(JAVA_BYTE)));
@@ -425,19 +845,91 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature) {
+        checkArg(serialized_signature.length == 64, "Signature must be 64-byte (compact)");
         // Use secp256k1_ecdsa_signature_parse_compact to validate the bytes,
         // but pass serialized signature (in big-endian format) to the EcdsaSignatureImpl constructor.
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return ecdsaSignatureParseCompactCritical(serialized_signature);
+        try (Arena ta = newArena()) {
             MemorySegment sig = secp256k1_ecdsa_signature.allocate(ta);
-            int return_val = secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx, sig, ta.allocateFrom(JAVA_BYTE, serialized_signature));
+            int return_val = secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sig, ta.allocateFrom(JAVA_BYTE, serialized_signature));
             return SecpResult.checked(return_val, () -> new EcdsaSignatureImpl(serialized_signature));
         }
     }
 
+    @Override
+    public byte[] ecdsaSignatureSerializeDer(EcdsaSignature sig) {
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
+            secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, ta.allocateFrom(JAVA_BYTE, sig.serializeCompact()));
+            MemorySegment output = ta.allocate(72);
+            MemorySegment lenSegment = ta.allocate(secp256k1_h.size_t);
+            lenSegment.set(secp256k1_h.size_t, 0, output.byteSize());
+            int return_val = secp256k1_h.secp256k1_ecdsa_signature_serialize_der(ctx(), output, lenSegment, sigSeg);
+            assert(return_val == 1);    // 72 bytes is always enough
+            return output.asSlice(0, lenSegment.get(secp256k1_h.size_t, 0)).toArray(JAVA_BYTE);
+        }
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDer(byte[] der) {
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
+            int return_val = secp256k1_h.secp256k1_ecdsa_signature_parse_der(ctx(), sigSeg, ta.allocateFrom(JAVA_BYTE, der), der.length);
+            if (return_val != 1) return SecpResult.err(return_val);
+            MemorySegment serSigSeg = ta.allocate(64);
+            secp256k1_h.secp256k1_ecdsa_signature_serialize_compact(ctx(), serSigSeg, sigSeg);  // Always returns 1
+            byte[] compact = serSigSeg.toArray(JAVA_BYTE);
+            // Out-of-range values of r or s are parsed as zero, which is not a valid scalar
+            return EcdsaDer.hasZeroScalar(compact) ? SecpResult.err(0) : SecpResult.ok(new EcdsaSignatureImpl(compact));
+        }
+    }
+
+    /// Verify a strict DER-encoded signature. The signature is parsed by `secp256k1_ecdsa_signature_parse_der`
+    /// directly into the native format, so no signature object or compact serialization is created.
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
+            int return_val = secp256k1_h.secp256k1_ecdsa_signature_parse_der(ctx(), sigSeg, ta.allocateFrom(JAVA_BYTE, der), der.length);
+            if (return_val != 1) return SecpResult.err(return_val);
+            return ecdsaVerify(ta, sigSeg, msgHash, pubKey);
+        }
+    }
+
+    /// Verify a lax DER-encoded signature. The signature is parsed in Java (`ecdsa_signature_parse_der_lax` is
+    /// not part of the library) and normalized by `secp256k1_ecdsa_signature_normalize`.
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+        byte[] compact = EcdsaDer.parseLax(der);
+        if (compact == null) return SecpResult.err(0);
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
+            secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, ta.allocateFrom(JAVA_BYTE, compact)); // Always in range
+            secp256k1_h.secp256k1_ecdsa_signature_normalize(ctx(), sigSeg, sigSeg);
+            return ecdsaVerify(ta, sigSeg, msgHash, pubKey);
+        }
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param sigSeg signature in internal format
+    /// @param msgHash 32-byte message hash
+    /// @param pubKey pubkey
+    /// @return true, false, or error if the pubkey could not be parsed
+    private SecpResult<Boolean> ecdsaVerify(SegmentAllocator alloc, MemorySegment sigSeg, byte[] msgHash, SecpPubKey pubKey) {
+        SecpResult<MemorySegment> parsedPubKey = pubKeyParse(alloc, pubKey);
+        if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+        int return_val = secp256k1_h.secp256k1_ecdsa_verify(ctx(), sigSeg, alloc.allocateFrom(JAVA_BYTE, msgHash), parsedPubKey.get());
+        Reference.reachabilityFence(pubKey);
+        return SecpResult.ok(return_val == 1);
+    }
+
     @Override
     public SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
         checkArg(msg_hash_data.length == 32, "Message must be 32-byte (hash)");
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return ecdsaVerifyCritical(sig, msg_hash_data, pubKey);
+        try (Arena ta = newArena()) {
             /* Generate an ECDSA signature `noncefp` and `ndata` allows you to pass a
              * custom nonce function, passing `NULL` will use the RFC-6979 safe default.
              * Signing with a valid context, verified secret key
@@ -446,23 +938,92 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
             SecpResult<MemorySegment> parsedPubKey = pubKeyParse(ta, pubKey);
             MemorySegment serSigSeg = ta.allocateFrom(JAVA_BYTE, sig.serializeCompact());
             MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
-            secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx, sigSeg, serSigSeg);
+            secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, serSigSeg);
             if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
-            int return_val = secp256k1_h.secp256k1_ecdsa_verify(ctx,
+            int return_val = secp256k1_h.secp256k1_ecdsa_verify(ctx(),
                     sigSeg,
                     msg_hash,
                     parsedPubKey.get());
+            Reference.reachabilityFence(pubKey);
+            return SecpResult.ok(return_val == 1);
+        }
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        return ecdsaVerifySerialized(MemorySegment.ofBuffer(sig), MemorySegment.ofBuffer(msgHash), MemorySegment.ofBuffer(pubKey));
+    }
+
+    /// Verify an ECDSA signature whose serialized inputs are in memory segments, e.g. slices of a memory-mapped file.
+    /// The signature and pubkey are parsed first; they are not the library's internal `secp256k1_ecdsa_signature` and
+    /// `secp256k1_pubkey` structs. Native segments are passed to the library without copying. Heap segments are
+    /// copied, unless critical downcalls are enabled (see [Builder#criticalDowncalls(boolean)]).
+    /// @param sig segment containing a 64-byte compact signature
+    /// @param msgHash segment containing the 32-byte hash of the message to verify
+    /// @param pubKey segment containing a serialized (33-byte compressed or 65-byte uncompressed) pubkey
+    /// @return true, false, or error (if the signature or pubkey could not be parsed)
+    public SecpResult<Boolean> ecdsaVerifySerialized(MemorySegment sig, MemorySegment msgHash, MemorySegment pubKey) {
+        checkArg(sig.byteSize() == 64, "Signature must be 64-byte (compact)");
+        checkArg(msgHash.byteSize() == 32, "Message must be 32-byte (hash)");
+        if (criticalDowncalls) return ecdsaVerifyCritical(sig, msgHash, pubKey);
+        try (Arena ta = newArena()) {
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);   // internal format
+            int return_val = secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, downcallInput(ta, sig));
+            if (return_val != 1) return SecpResult.err(return_val);
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);         // internal format
+            return_val = secp256k1_h.secp256k1_ec_pubkey_parse(ctx(), pubKeySeg, downcallInput(ta, pubKey), pubKey.byteSize());
+            if (return_val != 1) return SecpResult.err(return_val);
+            return_val = secp256k1_h.secp256k1_ecdsa_verify(ctx(), sigSeg, downcallInput(ta, msgHash), pubKeySeg);
             return SecpResult.ok(return_val == 1);
         }
     }
 
+    /// Verify a batch of ECDSA signatures using a single arena. The scratch segments for the message hash,
+    /// signature and pubkey are allocated once and overwritten for each item in the batch. A [PreparedPubKey] is
+    /// used without parsing.
+    @Override
+    public BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        checkArg(sigs.size() == msgHashes.size() && sigs.size() == pubKeys.size(), "Batch lists must be the same size");
+        BitSet valid = new BitSet(sigs.size());
+        try (Arena ta = newArena()) {
+            MemorySegment msgHashSeg = ta.allocate(32);
+            MemorySegment serSigSeg = ta.allocate(64);                          // serialized signature format
+            MemorySegment sigSeg = secp256k1_ecdsa_signature.allocate(ta);      // internal signature format
+            MemorySegment serPubKeySeg = ta.allocate(65);                       // serialized, uncompressed pubkey
+            MemorySegment pubKeySeg = secp256k1_pubkey.allocate(ta);            // internal pubkey format
+            for (int i = 0; i < sigs.size(); i++) {
+                byte[] msgHash = msgHashes.get(i);
+                checkArg(msgHash.length == 32, "Message must be 32-byte (hash)");
+                MemorySegment.copy(msgHash, 0, msgHashSeg, JAVA_BYTE, 0, 32);
+                MemorySegment.copy(sigs.get(i).serializeCompact(), 0, serSigSeg, JAVA_BYTE, 0, 64);
+                MemorySegment parsedPubKeySeg;
+                if (pubKeys.get(i) instanceof PreparedPubKey prepared && prepared.isAlive()) {
+                    parsedPubKeySeg = prepared.segment();
+                } else {
+                    MemorySegment.copy(pubKeys.get(i).serialize(false), 0, serPubKeySeg, JAVA_BYTE, 0, 65);
+                    if (secp256k1_h.secp256k1_ec_pubkey_parse(ctx(), pubKeySeg, serPubKeySeg, 65) != 1) {
+                        continue;
+                    }
+                    parsedPubKeySeg = pubKeySeg;
+                }
+                if (secp256k1_h.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, serSigSeg) == 1
+                        && secp256k1_h.secp256k1_ecdsa_verify(ctx(), sigSeg, msgHashSeg, parsedPubKeySeg) == 1) {
+                    valid.set(i);
+                }
+            }
+            Reference.reachabilityFence(pubKeys);
+        }
+        return valid;
+    }
+
     @Override
     public byte[] taggedSha256(byte[] tag, byte[] message) {
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return taggedSha256Critical(tag, message);
+        try (Arena ta = newArena()) {
             MemorySegment hash32 = ta.allocate(32);
             MemorySegment tagSeg = ta.allocateFrom(JAVA_BYTE, tag);
             MemorySegment msgSeg = ta.allocateFrom(JAVA_BYTE, message);
-            int return_val = secp256k1_h.secp256k1_tagged_sha256(ctx, hash32, tagSeg, tag.length, msgSeg, message.length);
+            int return_val = secp256k1_h.secp256k1_tagged_sha256(ctx(), hash32, tagSeg, tag.length, msgSeg, message.length);
             assert(return_val == 1);
             return hash32.toArray(JAVA_BYTE);
         }
@@ -471,7 +1032,7 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     @Override
     public SchnorrSignature schnorrSigSign32(byte[] messageHash, SecpPrivKey privKey) {
         checkArg(messageHash.length == 32, "Message must be 32-byte (hash)");
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment auxiliary_rand = fill_random(ta, 32);
             return schnorrSigSign32(ta, messageHash, privKey, auxiliary_rand);
         }
@@ -485,31 +1046,181 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     public SchnorrSignature schnorrSigSign32(byte[] messageHash, SecpPrivKey privKey, byte[] auxiliaryRandom) {
         checkArg(messageHash.length == 32, "Message must be 32-byte (hash)");
         checkArg(auxiliaryRandom.length == 32, "auxiliaryRandom must be 32-byte)");
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment auxiliary_rand = ta.allocateFrom(JAVA_BYTE, auxiliaryRandom);
             return schnorrSigSign32(ta, messageHash, privKey, auxiliary_rand);
         }
     }
 
+    @Override
+    public void schnorrSigSign32(ByteBuffer msgHash, SecpPrivKey privKey, ByteBuffer sigOut) {
+        checkOutput(sigOut, 64);
+        schnorrSigSign32(MemorySegment.ofBuffer(msgHash), privKey, MemorySegment.ofBuffer(sigOut));
+        sigOut.position(sigOut.position() + 64);
+    }
+
+    /// Create a Schnorr signature for a message hash, writing the 64-byte signature into a memory segment.
+    /// Native segments (e.g. of direct or memory-mapped buffers) are passed to the library without copying, heap
+    /// segments are copied.
+    /// @param msgHash segment containing the 32-byte hash of the message to sign
+    /// @param privKey private key for signing
+    /// @param sigOut writable segment of at least 64 bytes to write the signature to (at offset 0)
+    public void schnorrSigSign32(MemorySegment msgHash, SecpPrivKey privKey, MemorySegment sigOut) {
+        checkArg(msgHash.byteSize() == 32, "Message must be 32-byte (hash)");
+        try (Arena ta = newArena()) {
+            MemorySegment sig = downcallOutput(ta, sigOut, 64);
+            schnorrSigSign32(ta, downcallInput(ta, msgHash), privKey, fill_random(ta, 32), sig);
+            copyOutput(sig, sigOut);
+        }
+    }
+
     private SchnorrSignature schnorrSigSign32(SegmentAllocator alloc, byte[] messageHash, SecpPrivKey privKey, MemorySegment auxiliary_rand) {
         MemorySegment sig = alloc.allocate(64);
-        MemorySegment msg_hash = alloc.allocateFrom(JAVA_BYTE, messageHash);
-        MemorySegment keyPairSeg = privKeyToSegment(alloc, privKey);
-        int return_val = secp256k1_schnorrsig_sign32(ctx, sig, msg_hash, keyPairSeg, auxiliary_rand);
-        keyPairSeg.fill((byte) 0x00);   // Contains the private key
+        schnorrSigSign32(alloc, alloc.allocateFrom(JAVA_BYTE, messageHash), privKey, auxiliary_rand, sig);
+        return SchnorrSignatureImpl.of(sig.toArray(JAVA_BYTE));
+    }
+
+    /// @param alloc allocator to create segments with
+    /// @param msgHash native segment containing the 32-byte message hash
+    /// @param privKey private key
+    /// @param auxiliary_rand native segment containing 32 bytes of auxiliary randomness
+    /// @param sigOut native segment to write the 64-byte signature to
+    private void schnorrSigSign32(SegmentAllocator alloc, MemorySegment msgHash, SecpPrivKey privKey, MemorySegment auxiliary_rand, MemorySegment sigOut) {
+        // Use the key pair of a PreparedKeyPair as-is, otherwise create (and afterwards zero) a temporary one
+        PreparedKeyPair prepared = privKey instanceof PreparedKeyPair p && p.isAlive() ? p : null;
+        MemorySegment keyPairSeg = prepared != null ? prepared.segment() : privKeyToSegment(alloc, privKey);
+        int return_val = secp256k1_schnorrsig_sign32(ctx(), sigOut, msgHash, keyPairSeg, auxiliary_rand);
+        Reference.reachabilityFence(privKey);
+        if (prepared == null) {
+            keyPairSeg.fill((byte) 0x00);   // Contains the private key
+        }
         assert(return_val == 1);
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey) {
+        try (Arena ta = newArena()) {
+            return schnorrSigSign(ta, msg, privKey, fill_random(ta, 32));
+        }
+    }
+
+    @Override
+    public SchnorrSignature schnorrSigSign(byte[] msg, SecpPrivKey privKey, byte[] auxiliaryRandom) {
+        checkArg(auxiliaryRandom.length == 32, "auxiliaryRandom must be 32-byte");
+        try (Arena ta = newArena()) {
+            return schnorrSigSign(ta, msg, privKey, ta.allocateFrom(JAVA_BYTE, auxiliaryRandom));
+        }
+    }
+
+    /// Create a Schnorr signature for a message of any length, writing the 64-byte signature into a memory segment.
+    /// Native segments (e.g. of direct or memory-mapped buffers) are passed to the library without copying, heap
+    /// segments are copied.
+    /// @param msg segment containing the message to sign
+    /// @param privKey private key for signing
+    /// @param sigOut writable segment of at least 64 bytes to write the signature to (at offset 0)
+    public void schnorrSigSign(MemorySegment msg, SecpPrivKey privKey, MemorySegment sigOut) {
+        try (Arena ta = newArena()) {
+            MemorySegment sig = downcallOutput(ta, sigOut, 64);
+            schnorrSigSign(ta, downcallInput(ta, msg), privKey, fill_random(ta, 32), sig);
+            copyOutput(sig, sigOut);
+        }
+    }
+
+    private SchnorrSignature schnorrSigSign(SegmentAllocator alloc, byte[] msg, SecpPrivKey privKey, MemorySegment auxiliary_rand) {
+        MemorySegment sig = alloc.allocate(64);
+        schnorrSigSign(alloc, alloc.allocateFrom(JAVA_BYTE, msg), privKey, auxiliary_rand, sig);
         return SchnorrSignatureImpl.of(sig.toArray(JAVA_BYTE));
     }
 
+    /// Sign with `secp256k1_schnorrsig_sign_custom`, which takes the message length, so the message is signed
+    /// as-is rather than having to be a 32-byte hash.
+    /// @param alloc allocator to create segments with
+    /// @param msg native segment containing the message
+    /// @param privKey private key
+    /// @param auxiliary_rand native segment containing 32 bytes of auxiliary randomness
+    /// @param sigOut native segment to write the 64-byte signature to
+    private void schnorrSigSign(SegmentAllocator alloc, MemorySegment msg, SecpPrivKey privKey, MemorySegment auxiliary_rand, MemorySegment sigOut) {
+        PreparedKeyPair prepared = privKey instanceof PreparedKeyPair p && p.isAlive() ? p : null;
+        MemorySegment keyPairSeg = prepared != null ? prepared.segment() : privKeyToSegment(alloc, privKey);
+        MemorySegment extraParams = SchnorrSigExtraParams.allocate(alloc, auxiliary_rand);
+        int return_val = secp256k1_h.secp256k1_schnorrsig_sign_custom(ctx(), sigOut, msg, msg.byteSize(), keyPairSeg, extraParams);
+        Reference.reachabilityFence(privKey);
+        if (prepared == null) {
+            keyPairSeg.fill((byte) 0x00);   // Contains the private key
+        }
+        assert(return_val == 1);
+    }
+
+    /// Create a native `secp256k1_keypair` from a key pair and return it in a [PreparedKeyPair]. Use this for
+    /// keys that sign many messages, to avoid re-deriving the public key for every signature. The caller
+    /// should [PreparedKeyPair#close()] the result when it is no longer needed.
+    /// @param keyPair the key pair to prepare
+    /// @return a prepared key pair
+    public PreparedKeyPair ecKeyPairPrepare(SecpKeyPair keyPair) {
+        PreparedKeyPair prepared = new PreparedKeyPair(keyPair);
+        try (Arena ta = newArena()) {
+            MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, keyPair.getEncoded());
+            int return_val = secp256k1_h.secp256k1_keypair_create(ctx(), prepared.segment(), privKeySeg);
+            privKeySeg.fill((byte) 0x00);
+            if (return_val != 1) {
+                prepared.close();
+                throw new IllegalArgumentException("secp256k1_keypair_create failed");
+            }
+            return prepared;
+        }
+    }
+
+    @Override
+    public SecpResult<SecpKeyPair> keyPairXOnlyTweakAdd(SecpKeyPair keyPair, byte[] tweak) {
+        if (keyPair instanceof PreparedKeyPair prepared && prepared.isAlive()) {
+            SecpResult<PreparedKeyPair> result = keyPairXOnlyTweakAdd(prepared, tweak);
+            return result.isOk() ? SecpResult.ok(result.get()) : SecpResult.err(result.errorCode());
+        }
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            MemorySegment keyPairSeg = privKeyToSegment(ta, keyPair);
+            int return_val = secp256k1_h.secp256k1_keypair_xonly_tweak_add(ctx(), keyPairSeg, ta.allocateFrom(JAVA_BYTE, tweak));
+            SecpResult<SecpKeyPair> result = SecpResult.checked(return_val, () -> toKeyPair(ta, keyPairSeg));
+            keyPairSeg.fill((byte) 0x00);   // Contains the private key
+            return result;
+        }
+    }
+
+    /// Tweak a [PreparedKeyPair] for use with Schnorr signatures (see
+    /// [#keyPairXOnlyTweakAdd(SecpKeyPair, byte\[\])]). The tweak is applied to a copy of the native
+    /// `secp256k1_keypair`, which becomes the native key pair of the result, so a tweaked key can be used for
+    /// signing without another generator multiplication. The caller should [PreparedKeyPair#close()] the result
+    /// when it is no longer needed.
+    /// @param keyPair prepared key pair to tweak
+    /// @param tweak 32-byte, big-endian tweak
+    /// @return the tweaked, prepared key pair, or an error if `tweak` is not less than the curve order or the
+    /// resulting private key is zero
+    public SecpResult<PreparedKeyPair> keyPairXOnlyTweakAdd(PreparedKeyPair keyPair, byte[] tweak) {
+        checkArg(tweak.length == 32, "Tweak must be 32-byte");
+        try (Arena ta = newArena()) {
+            MemorySegment keyPairSeg = keyPair.isAlive()
+                    ? secp256k1_keypair.allocate(ta).copyFrom(keyPair.segment())
+                    : privKeyToSegment(ta, keyPair);
+            int return_val = secp256k1_h.secp256k1_keypair_xonly_tweak_add(ctx(), keyPairSeg, ta.allocateFrom(JAVA_BYTE, tweak));
+            SecpResult<PreparedKeyPair> result = SecpResult.checked(return_val, () -> {
+                PreparedKeyPair tweaked = new PreparedKeyPair(toKeyPair(ta, keyPairSeg));
+                tweaked.segment().copyFrom(keyPairSeg);
+                return tweaked;
+            });
+            keyPairSeg.fill((byte) 0x00);   // Contains the private key
+            return result;
+        }
+    }
+
     /// Create a `secp256k1_keypair` segment from a [SecpPrivKey]
     /// @param alloc allocator to create segments with
     /// @param privKey private key
     /// @return a segment (valid for the lifetime of `alloc`) containing a key pair
-    private MemorySegment privKeyToSegment(SegmentAllocator alloc, SecpPrivKey privKey) {
+    MemorySegment privKeyToSegment(SegmentAllocator alloc, SecpPrivKey privKey) {
         byte[] privBytes = privKey.getEncoded();
         MemorySegment privSeg = alloc.allocateFrom(JAVA_BYTE, privBytes);
         MemorySegment keyPairSeg = secp256k1_keypair.allocate(alloc);
-        secp256k1_h.secp256k1_keypair_create(ctx, keyPairSeg, privSeg);
+        secp256k1_h.secp256k1_keypair_create(ctx(), keyPairSeg, privSeg);
         privSeg.fill((byte) 0x00);
         return keyPairSeg;
     }
@@ -520,11 +1231,11 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     /// @return key pair
     private SecpKeyPair toKeyPair(SegmentAllocator alloc, MemorySegment keyPairSegment) {
         MemorySegment pubKeySegment = secp256k1_pubkey.allocate(alloc);
-        int return_val = secp256k1_h.secp256k1_keypair_pub(ctx, pubKeySegment, keyPairSegment);
+        int return_val = secp256k1_h.secp256k1_keypair_pub(ctx(), pubKeySegment, keyPairSegment);
         assert(return_val == 1);
         SecpPubKey pubKey = toSecpPubKey(alloc, pubKeySegment);
         MemorySegment privKeySegment = alloc.allocate(32);
-        int return_val2 = secp256k1_h.secp256k1_keypair_sec(ctx, privKeySegment, keyPairSegment);
+        int return_val2 = secp256k1_h.secp256k1_keypair_sec(ctx(), privKeySegment, keyPairSegment);
         assert(return_val2 == 1);
         SecpPrivKey privKey = new SecpPrivKeyImpl(privKeySegment.toArray(JAVA_BYTE));
         privKeySegment.fill((byte) 0x00);
@@ -533,27 +1244,133 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
-        try (Arena ta = Arena.ofConfined()) {
+        if (criticalDowncalls) return schnorrSigVerifyCritical(signature, msg_hash, pubKey);
+        try (Arena ta = newArena()) {
             MemorySegment sigSegment = ta.allocateFrom(JAVA_BYTE, signature.bytes());
             MemorySegment msgSegment = ta.allocateFrom(JAVA_BYTE, msg_hash);
-            MemorySegment pubKeySegment = ta.allocateFrom(JAVA_BYTE, pubKey.serialize()); // 32-byte
-            MemorySegment pubKeySegmentOpaque = secp256k1_xonly_pubkey.allocate(ta); // 64-byte opaque
-            int r = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx, pubKeySegmentOpaque, pubKeySegment);
-            if (r != 1) return SecpResult.err(r);
-            int return_val = secp256k1_h.secp256k1_schnorrsig_verify(ctx, sigSegment, msgSegment, msg_hash.length, pubKeySegmentOpaque);
+            SecpResult<MemorySegment> parsedPubKey = xOnlyPubKeyParse(ta, pubKey);
+            if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
+            int return_val = secp256k1_h.secp256k1_schnorrsig_verify(ctx(), sigSegment, msgSegment, msg_hash.length, parsedPubKey.get());
+            Reference.reachabilityFence(pubKey);
             return SecpResult.ok(return_val == 1);
         }
     }
 
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        return schnorrSigVerify(MemorySegment.ofBuffer(signature), MemorySegment.ofBuffer(msgHash), MemorySegment.ofBuffer(xOnlyPubKey));
+    }
+
+    /// Verify a Schnorr signature whose inputs are in memory segments, e.g. slices of a memory-mapped file. Native
+    /// segments are passed to the library without copying. Heap segments are copied, unless critical downcalls
+    /// are enabled (see [Builder#criticalDowncalls(boolean)]).
+    /// @param signature segment containing a 64-byte signature
+    /// @param msgHash segment containing the hash of the message
+    /// @param xOnlyPubKey segment containing a 32-byte serialized x-only pubkey
+    /// @return true, false, or error (if the pubkey could not be parsed)
+    public SecpResult<Boolean> schnorrSigVerify(MemorySegment signature, MemorySegment msgHash, MemorySegment xOnlyPubKey) {
+        checkArg(signature.byteSize() == 64, "Signature must be 64-byte");
+        checkArg(xOnlyPubKey.byteSize() == 32, "X-only pubkey must be 32-byte");
+        if (criticalDowncalls) return schnorrSigVerifyCritical(signature, msgHash, xOnlyPubKey);
+        try (Arena ta = newArena()) {
+            MemorySegment pubKeySeg = secp256k1_xonly_pubkey.allocate(ta);   // internal format
+            int return_val = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx(), pubKeySeg, downcallInput(ta, xOnlyPubKey));
+            if (return_val != 1) return SecpResult.err(return_val);
+            return_val = secp256k1_h.secp256k1_schnorrsig_verify(ctx(), downcallInput(ta, signature),
+                    downcallInput(ta, msgHash), msgHash.byteSize(), pubKeySeg);
+            return SecpResult.ok(return_val == 1);
+        }
+    }
+
+    /// Parse an x-only pubKey into the 64-byte native `secp256k1_xonly_pubkey` format and return it in a
+    /// [PreparedXOnlyPubKey]. Use this for keys that verify many signatures, to avoid parsing (and computing the
+    /// y-coordinate of) the key on each call. The caller should [PreparedXOnlyPubKey#close()] the result when
+    /// it is no longer needed.
+    /// @param pubKey the x-only pubKey to prepare
+    /// @return a result containing a prepared key or an error if the key could not be parsed
+    public SecpResult<PreparedXOnlyPubKey> xOnlyPubKeyPrepare(SecpXOnlyPubKey pubKey) {
+        PreparedXOnlyPubKey prepared = new PreparedXOnlyPubKey(pubKey);
+        try (Arena ta = newArena()) {
+            MemorySegment input = ta.allocateFrom(JAVA_BYTE, pubKey.serialize());
+            int return_val = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx(), prepared.segment(), input);
+            if (return_val != 1) {
+                prepared.close();
+                return SecpResult.err(return_val);
+            }
+            return SecpResult.ok(prepared);
+        }
+    }
+
+    /// Parse an x-only pubKey into the 64-byte internal format. If `pubKey` is an open [PreparedXOnlyPubKey], its
+    /// segment is returned without parsing.
+    /// @param alloc allocator to create segments with
+    /// @param pubKey the x-only pubKey to parse
+    /// @return a result containing a segment (valid for the lifetime of `alloc`) in internal format. The segment
+    ///         may belong to a prepared key and must not be modified, and the caller must keep `pubKey`
+    ///         reachable (see [Reference#reachabilityFence(Object)]) until the downcalls using it have returned.
+    private SecpResult<MemorySegment> xOnlyPubKeyParse(SegmentAllocator alloc, SecpXOnlyPubKey pubKey) {
+        if (pubKey instanceof PreparedXOnlyPubKey prepared && prepared.isAlive()) {
+            return SecpResult.ok(prepared.segment());
+        }
+        MemorySegment input = alloc.allocateFrom(JAVA_BYTE, pubKey.serialize()); // 32-byte
+        MemorySegment xOnly = secp256k1_xonly_pubkey.allocate(alloc);          // 64-byte opaque
+        int return_val = secp256k1_h.secp256k1_xonly_pubkey_parse(ctx(), xOnly, input);
+        return SecpResult.checked(return_val, () -> xOnly);
+    }
+
+    /// Verify a batch of Schnorr signatures using a single arena. The scratch segments for the signature, message
+    /// and pubkey are allocated once and overwritten for each item in the batch. Consecutive items with the same
+    /// pubkey (e.g. several inputs spending outputs of one Taproot key) only parse it once, and a
+    /// [PreparedXOnlyPubKey] is used without parsing.
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        checkArg(signatures.size() == msgHashes.size() && signatures.size() == pubKeys.size(), "Batch lists must be the same size");
+        int maxMsgLength = msgHashes.stream().mapToInt(m -> m.length).max().orElse(0);
+        BitSet valid = new BitSet(signatures.size());
+        try (Arena ta = newArena()) {
+            MemorySegment sigSegment = ta.allocate(64);
+            MemorySegment msgSegment = ta.allocate(maxMsgLength);
+            MemorySegment pubKeySegment = ta.allocate(32);                             // 32-byte
+            MemorySegment pubKeySegmentOpaque = secp256k1_xonly_pubkey.allocate(ta);   // 64-byte opaque
+            byte[] parsedPubKey = null;     // serialized form of the pubkey currently in `pubKeySegmentOpaque`
+            for (int i = 0; i < signatures.size(); i++) {
+                MemorySegment keySegment;
+                if (pubKeys.get(i) instanceof PreparedXOnlyPubKey prepared && prepared.isAlive()) {
+                    keySegment = prepared.segment();
+                } else {
+                    byte[] pubKey = pubKeys.get(i).serialize();
+                    if (!Arrays.equals(pubKey, parsedPubKey)) {
+                        MemorySegment.copy(pubKey, 0, pubKeySegment, JAVA_BYTE, 0, 32);
+                        if (secp256k1_h.secp256k1_xonly_pubkey_parse(ctx(), pubKeySegmentOpaque, pubKeySegment) != 1) {
+                            parsedPubKey = null;
+                            continue;
+                        }
+                        parsedPubKey = pubKey;
+                    }
+                    keySegment = pubKeySegmentOpaque;
+                }
+                byte[] msg = msgHashes.get(i);
+                MemorySegment.copy(signatures.get(i).bytes(), 0, sigSegment, JAVA_BYTE, 0, 64);
+                MemorySegment.copy(msg, 0, msgSegment, JAVA_BYTE, 0, msg.length);
+                if (secp256k1_h.secp256k1_schnorrsig_verify(ctx(), sigSegment, msgSegment, msg.length, keySegment) == 1) {
+                    valid.set(i);
+                }
+            }
+            Reference.reachabilityFence(pubKeys);
+        }
+        return valid;
+    }
+
     @Override
     public SecpResult<EcdhSharedSecret> ecdh(SecpPubKey pubKey, SecpPrivKey privKey) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             SecpResult<MemorySegment> parsedPubKey = pubKeyParse(ta, pubKey);
             if (parsedPubKey instanceof SecpResult.Err<MemorySegment> err) return SecpResult.err(err.code());
             MemorySegment pubKeySeg = parsedPubKey.get();  // Get pubkey in 64-byte internal format
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
             MemorySegment output = ta.allocate(32);
-            int success = secp256k1_h.secp256k1_ecdh(ctx, output, pubKeySeg, privKeySeg, NULL, NULL);
+            int success = secp256k1_h.secp256k1_ecdh(ctx(), output, pubKeySeg, privKeySeg, NULL, NULL);
+            Reference.reachabilityFence(pubKey);
             privKeySeg.fill((byte) 0x00);
             return SecpResult.checked(success, () -> new EcdhSharedSecretImpl(output.toArray(JAVA_BYTE)));
         }
@@ -561,13 +1378,14 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public byte[] ellswiftEncode(SecpPubKey pubKey) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment pubKeySeg = pubKeyParse(ta, pubKey).get();
             MemorySegment auxiliaryRandom = fill_random(ta, 32);
 
             MemorySegment ellSwiftPubKey = ta.allocate(64);
 
-            int ret = secp256k1_h.secp256k1_ellswift_encode(ctx, ellSwiftPubKey, pubKeySeg, auxiliaryRandom);
+            int ret = secp256k1_h.secp256k1_ellswift_encode(ctx(), ellSwiftPubKey, pubKeySeg, auxiliaryRandom);
+            Reference.reachabilityFence(pubKey);
             assert(ret == 1);
 
             return ellSwiftPubKey.toArray(JAVA_BYTE);
@@ -577,12 +1395,12 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     @Override
     public SecpPubKey ellswiftDecode(byte[] encodedPubKey) {
         checkArg(encodedPubKey.length == 64, "The byte array length must be 64 bytes");
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment encodedPubKeySeg = ta.allocateFrom(JAVA_BYTE, encodedPubKey);
 
             MemorySegment decodedPubKeySeg = secp256k1_pubkey.allocate(ta);
 
-            int ret = secp256k1_h.secp256k1_ellswift_decode(ctx, decodedPubKeySeg, encodedPubKeySeg);
+            int ret = secp256k1_h.secp256k1_ellswift_decode(ctx(), decodedPubKeySeg, encodedPubKeySeg);
             assert(ret == 1);
 
             return toSecpPubKey(ta, decodedPubKeySeg);
@@ -591,13 +1409,13 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
 
     @Override
     public byte[] ellswiftCreate(SecpPrivKey privKey) {
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
             MemorySegment auxiliaryRandomSeg = fill_random(ta, 32);
 
             MemorySegment ellswiftPubKey = ta.allocate(64);
 
-            int ret = secp256k1_h.secp256k1_ellswift_create(ctx, ellswiftPubKey, privKeySeg, auxiliaryRandomSeg);
+            int ret = secp256k1_h.secp256k1_ellswift_create(ctx(), ellswiftPubKey, privKeySeg, auxiliaryRandomSeg);
 
             privKeySeg.fill((byte) 0x00);
             assert(ret == 1);
@@ -609,14 +1427,14 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     @Override
     public byte[] ellswiftXDH(byte[] encodedPubKeyA, byte[] encodedPubKeyB, SecpPrivKey privKey, boolean isPartyA) {
         checkArg(encodedPubKeyA.length == 64 && encodedPubKeyB.length == 64, "The byte array length must be 64 bytes");
-        try (Arena ta = Arena.ofConfined()) {
+        try (Arena ta = newArena()) {
             MemorySegment encodedPubKeySegA = ta.allocateFrom(JAVA_BYTE, encodedPubKeyA);
             MemorySegment encodedPubKeySegB = ta.allocateFrom(JAVA_BYTE, encodedPubKeyB);
             MemorySegment privKeySeg = ta.allocateFrom(JAVA_BYTE, privKey.getEncoded());
 
             MemorySegment sharedSecret = ta.allocate(32);
 
-            int ret = secp256k1_h.secp256k1_ellswift_xdh(ctx, sharedSecret, encodedPubKeySegA, encodedPubKeySegB, privKeySeg, isPartyA ? 0 : 1 , secp256k1_ellswift_xdh_hash_function_bip324(), MemorySegment.NULL);
+            int ret = secp256k1_h.secp256k1_ellswift_xdh(ctx(), sharedSecret, encodedPubKeySegA, encodedPubKeySegB, privKeySeg, isPartyA ? 0 : 1 , secp256k1_ellswift_xdh_hash_function_bip324(), MemorySegment.NULL);
 
             privKeySeg.fill((byte) 0x00);
             assert(ret == 1);
@@ -628,6 +1446,98 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
         }
     }
 
+    @Override
+    public SecpMuSig musig() {
+        return musig;
+    }
+
+    // Implementations using critical downcalls (see CriticalDowncalls). All pointer arguments are either
+    // heap segments wrapping Java arrays or, for prepared keys, native segments.
+
+    private SecpResult<SecpPubKey> ecPubKeyParseCritical(byte[] inputData) {
+        MemorySegment pubkey = MemorySegment.ofArray(new byte[64]);
+        int return_val = CriticalDowncalls.secp256k1_ec_pubkey_parse(ctx(), pubkey, MemorySegment.ofArray(inputData), inputData.length);
+        if (return_val != 1) return SecpResult.err(return_val);
+        MemorySegment serialized = MemorySegment.ofArray(new byte[65]);
+        MemorySegment lenSegment = MemorySegment.ofArray(new long[] {serialized.byteSize()});
+        CriticalDowncalls.secp256k1_ec_pubkey_serialize(secp256k1StaticContext, serialized, lenSegment, pubkey, SECP256K1_EC_UNCOMPRESSED()); // Always returns 1
+        return SecpResult.ok(new SecpPubKeyImpl(serializedPubKeyToPoint(serialized)));
+    }
+
+    private SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParseCritical(byte[] inputData) {
+        MemorySegment xOnly = MemorySegment.ofArray(new byte[64]);
+        int return_val = CriticalDowncalls.secp256k1_xonly_pubkey_parse(ctx(), xOnly, MemorySegment.ofArray(inputData));
+        if (return_val != 1) return SecpResult.err(return_val);
+        byte[] serializedXOnly = new byte[32];
+        CriticalDowncalls.secp256k1_xonly_pubkey_serialize(ctx(), MemorySegment.ofArray(serializedXOnly), xOnly);  // Always returns 1
+        return SecpResult.ok(SecpXOnlyPubKeyImpl.ofVerifiedBytes(serializedXOnly));
+    }
+
+    private SecpResult<EcdsaSignature> ecdsaSignatureParseCompactCritical(byte[] serialized_signature) {
+        MemorySegment sig = MemorySegment.ofArray(new byte[64]);
+        int return_val = CriticalDowncalls.secp256k1_ecdsa_signature_parse_compact(ctx(), sig, MemorySegment.ofArray(serialized_signature));
+        return SecpResult.checked(return_val, () -> new EcdsaSignatureImpl(serialized_signature));
+    }
+
+    private SecpResult<Boolean> ecdsaVerifyCritical(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
+        MemorySegment pubKeySeg;
+        if (pubKey instanceof PreparedPubKey prepared && prepared.isAlive()) {
+            pubKeySeg = prepared.segment();
+        } else {
+            byte[] serializedPubKey = pubKey.serialize(false);
+            pubKeySeg = MemorySegment.ofArray(new byte[64]);
+            int r = CriticalDowncalls.secp256k1_ec_pubkey_parse(ctx(), pubKeySeg, MemorySegment.ofArray(serializedPubKey), serializedPubKey.length);
+            if (r != 1) return SecpResult.err(r);
+        }
+        MemorySegment sigSeg = MemorySegment.ofArray(new byte[64]);   // internal format
+        CriticalDowncalls.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, MemorySegment.ofArray(sig.serializeCompact()));
+        int return_val = CriticalDowncalls.secp256k1_ecdsa_verify(ctx(), sigSeg, MemorySegment.ofArray(msg_hash_data), pubKeySeg);
+        Reference.reachabilityFence(pubKey);
+        return SecpResult.ok(return_val == 1);
+    }
+
+    private SecpResult<Boolean> schnorrSigVerifyCritical(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
+        MemorySegment pubKeySeg;
+        if (pubKey instanceof PreparedXOnlyPubKey prepared && prepared.isAlive()) {
+            pubKeySeg = prepared.segment();
+        } else {
+            pubKeySeg = MemorySegment.ofArray(new byte[64]);
+            int r = CriticalDowncalls.secp256k1_xonly_pubkey_parse(ctx(), pubKeySeg, MemorySegment.ofArray(pubKey.serialize()));
+            if (r != 1) return SecpResult.err(r);
+        }
+        int return_val = CriticalDowncalls.secp256k1_schnorrsig_verify(ctx(), MemorySegment.ofArray(signature.bytes()),
+                MemorySegment.ofArray(msg_hash), msg_hash.length, pubKeySeg);
+        Reference.reachabilityFence(pubKey);
+        return SecpResult.ok(return_val == 1);
+    }
+
+    private SecpResult<Boolean> ecdsaVerifyCritical(MemorySegment sig, MemorySegment msgHash, MemorySegment pubKey) {
+        MemorySegment sigSeg = MemorySegment.ofArray(new byte[64]);      // internal format
+        int return_val = CriticalDowncalls.secp256k1_ecdsa_signature_parse_compact(ctx(), sigSeg, sig);
+        if (return_val != 1) return SecpResult.err(return_val);
+        MemorySegment pubKeySeg = MemorySegment.ofArray(new byte[64]);   // internal format
+        return_val = CriticalDowncalls.secp256k1_ec_pubkey_parse(ctx(), pubKeySeg, pubKey, pubKey.byteSize());
+        if (return_val != 1) return SecpResult.err(return_val);
+        return_val = CriticalDowncalls.secp256k1_ecdsa_verify(ctx(), sigSeg, msgHash, pubKeySeg);
+        return SecpResult.ok(return_val == 1);
+    }
+
+    private SecpResult<Boolean> schnorrSigVerifyCritical(MemorySegment signature, MemorySegment msgHash, MemorySegment xOnlyPubKey) {
+        MemorySegment pubKeySeg = MemorySegment.ofArray(new byte[64]);   // internal format
+        int return_val = CriticalDowncalls.secp256k1_xonly_pubkey_parse(ctx(), pubKeySeg, xOnlyPubKey);
+        if (return_val != 1) return SecpResult.err(return_val);
+        return_val = CriticalDowncalls.secp256k1_schnorrsig_verify(ctx(), signature, msgHash, msgHash.byteSize(), pubKeySeg);
+        return SecpResult.ok(return_val == 1);
+    }
+
+    private byte[] taggedSha256Critical(byte[] tag, byte[] message) {
+        byte[] hash32 = new byte[32];
+        int return_val = CriticalDowncalls.secp256k1_tagged_sha256(ctx(), MemorySegment.ofArray(hash32),
+                MemorySegment.ofArray(tag), tag.length, MemorySegment.ofArray(message), message.length);
+        assert(return_val == 1);
+        return hash32;
+    }
+
     @Override
     public String toString() {
         return "Secp256k1/" + ProviderId.LIBSECP256K1_FFM;
@@ -636,16 +1546,53 @@ public class Secp256k1Foreign implements AutoCloseable, Secp256k1 {
     /// @param allocator allocator to create segment with
     /// @param size size in bytes of random data
     /// @return A newly-allocated memory segment full of random data
-    private MemorySegment fill_random(SegmentAllocator allocator, int size) {
+    MemorySegment fill_random(SegmentAllocator allocator, int size) {
         byte[] data = new byte[size];
         try {
-            secureRandom.nextBytes(data);
+            random.nextBytes(data);
             return allocator.allocateFrom(JAVA_BYTE, data);
         } finally {
             Arrays.fill(data, (byte) 0);
         }
     }
 
+    /// Get a segment with the contents of `input` that can be passed to a (non-critical) downcall.
+    /// @param alloc allocator to create a copy with
+    /// @param input input segment
+    /// @return `input` if it is native, otherwise a native copy of it
+    private static MemorySegment downcallInput(SegmentAllocator alloc, MemorySegment input) {
+        return input.isNative() ? input : alloc.allocate(input.byteSize()).copyFrom(input);
+    }
+
+    /// Get a segment that a (non-critical) downcall can write `size` bytes of output to. Call
+    /// [#copyOutput(MemorySegment, MemorySegment)] after the downcall.
+    /// @param alloc allocator to create a temporary segment with
+    /// @param output writable segment of at least `size` bytes
+    /// @param size size in bytes of the output
+    /// @return a slice of `output` if it is native, otherwise a temporary native segment
+    private static MemorySegment downcallOutput(SegmentAllocator alloc, MemorySegment output, long size) {
+        checkArg(!output.isReadOnly(), "Output segment is read-only");
+        checkArg(output.byteSize() >= size, "Output segment must be at least " + size + "-byte");
+        return output.isNative() ? output.asSlice(0, size) : alloc.allocate(size);
+    }
+
+    /// Copy output written to a segment returned by [#downcallOutput(SegmentAllocator, MemorySegment, long)] to
+    /// its destination, if it is not already there
+    /// @param written segment returned by `downcallOutput`
+    /// @param output the `output` segment passed to `downcallOutput`
+    private static void copyOutput(MemorySegment written, MemorySegment output) {
+        if (!output.isNative()) {
+            MemorySegment.copy(written, 0, output, 0, written.byteSize());
+        }
+    }
+
+    /// @param output output buffer
+    /// @param size size in bytes that will be written to it
+    private static void checkOutput(ByteBuffer output, int size) {
+        if (output.isReadOnly()) throw new ReadOnlyBufferException();
+        if (output.remaining() < size) throw new BufferOverflowException();
+    }
+
     private static void checkArg(boolean condition, String string) {
         if (!condition) {
             throw new IllegalArgumentException(string);
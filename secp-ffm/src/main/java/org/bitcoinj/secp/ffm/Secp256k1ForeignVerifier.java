@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.Secp256k1Verifier;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+
+/// Verify-only implementation of [Secp256k1Verifier] using the `secp256k1` C-language library.
+///
+/// All operations use the static context `secp256k1_context_static`, so creating a verifier allocates no
+/// context and no random number generator, and closing it is a no-op. A verifier can be shared by all threads.
+/// Use [Secp256k1Foreign#builder()] and [Secp256k1Foreign.Builder#buildVerifier()] to select non-default options.
+public final class Secp256k1ForeignVerifier implements Secp256k1Verifier {
+    private final Secp256k1Foreign secp;
+
+    /// Create a verifier with default options
+    public Secp256k1ForeignVerifier() {
+        this(Secp256k1Foreign.builder().buildVerifier().secp);
+    }
+
+    /// @param secp a verify-only instance, see [Secp256k1Foreign.Builder#buildVerifier()]
+    Secp256k1ForeignVerifier(Secp256k1Foreign secp) {
+        this.secp = secp;
+    }
+
+    /// Parse a pubKey into a [PreparedPubKey]. See [Secp256k1Foreign#ecPubKeyPrepare(SecpPubKey)].
+    /// @param pubKey the pubKey to prepare
+    /// @return a result containing a prepared key or an error if the key could not be parsed
+    public SecpResult<PreparedPubKey> ecPubKeyPrepare(SecpPubKey pubKey) {
+        return secp.ecPubKeyPrepare(pubKey);
+    }
+
+    /// Parse an x-only pubKey into a [PreparedXOnlyPubKey]. See [Secp256k1Foreign#xOnlyPubKeyPrepare(SecpXOnlyPubKey)].
+    /// @param pubKey the x-only pubKey to prepare
+    /// @return a result containing a prepared key or an error if the key could not be parsed
+    public SecpResult<PreparedXOnlyPubKey> xOnlyPubKeyPrepare(SecpXOnlyPubKey pubKey) {
+        return secp.xOnlyPubKeyPrepare(pubKey);
+    }
+
+    @Override
+    public byte[] ecPubKeySerialize(SecpPubKey pubKey, int flags) {
+        return secp.ecPubKeySerialize(pubKey, flags);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecPubKeyParse(byte[] inputData) {
+        return secp.ecPubKeyParse(inputData);
+    }
+
+    @Override
+    public SecpResult<SecpXOnlyPubKey> xOnlyPubKeyParse(byte[] inputData) {
+        return secp.xOnlyPubKeyParse(inputData);
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeCompact(EcdsaSignature sig) {
+        return secp.ecdsaSignatureSerializeCompact(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseCompact(byte[] serialized_signature) {
+        return secp.ecdsaSignatureParseCompact(serialized_signature);
+    }
+
+    @Override
+    public byte[] ecdsaSignatureSerializeDer(EcdsaSignature sig) {
+        return secp.ecdsaSignatureSerializeDer(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaSignature> ecdsaSignatureParseDer(byte[] der) {
+        return secp.ecdsaSignatureParseDer(der);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDer(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return secp.ecdsaVerifyDer(der, msgHash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerifyDerLax(byte[] der, byte[] msgHash, SecpPubKey pubKey) {
+        return secp.ecdsaVerifyDerLax(der, msgHash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(EcdsaSignature sig, byte[] msg_hash_data, SecpPubKey pubKey) {
+        return secp.ecdsaVerify(sig, msg_hash_data, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> ecdsaVerify(ByteBuffer sig, ByteBuffer msgHash, ByteBuffer pubKey) {
+        return secp.ecdsaVerify(sig, msgHash, pubKey);
+    }
+
+    /// Verify an ECDSA signature whose serialized inputs are in memory segments.
+    /// See [Secp256k1Foreign#ecdsaVerifySerialized(MemorySegment, MemorySegment, MemorySegment)].
+    /// @param sig segment containing a 64-byte compact signature
+    /// @param msgHash segment containing the 32-byte hash of the message to verify
+    /// @param pubKey segment containing a serialized (33-byte compressed or 65-byte uncompressed) pubkey
+    /// @return true, false, or error (if the signature or pubkey could not be parsed)
+    public SecpResult<Boolean> ecdsaVerifySerialized(MemorySegment sig, MemorySegment msgHash, MemorySegment pubKey) {
+        return secp.ecdsaVerifySerialized(sig, msgHash, pubKey);
+    }
+
+    @Override
+    public BitSet ecdsaVerifyBatch(List<EcdsaSignature> sigs, List<byte[]> msgHashes, List<SecpPubKey> pubKeys) {
+        return secp.ecdsaVerifyBatch(sigs, msgHashes, pubKeys);
+    }
+
+    @Override
+    public byte[] taggedSha256(byte[] tag, byte[] message) {
+        return secp.taggedSha256(tag, message);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(SchnorrSignature signature, byte[] msg_hash, SecpXOnlyPubKey pubKey) {
+        return secp.schnorrSigVerify(signature, msg_hash, pubKey);
+    }
+
+    @Override
+    public SecpResult<Boolean> schnorrSigVerify(ByteBuffer signature, ByteBuffer msgHash, ByteBuffer xOnlyPubKey) {
+        return secp.schnorrSigVerify(signature, msgHash, xOnlyPubKey);
+    }
+
+    /// Verify a Schnorr signature whose inputs are in memory segments.
+    /// See [Secp256k1Foreign#schnorrSigVerify(MemorySegment, MemorySegment, MemorySegment)].
+    /// @param signature segment containing a 64-byte signature
+    /// @param msgHash segment containing the hash of the message
+    /// @param xOnlyPubKey segment containing a 32-byte serialized x-only pubkey
+    /// @return true, false, or error (if the pubkey could not be parsed)
+    public SecpResult<Boolean> schnorrSigVerify(MemorySegment signature, MemorySegment msgHash, MemorySegment xOnlyPubKey) {
+        return secp.schnorrSigVerify(signature, msgHash, xOnlyPubKey);
+    }
+
+    @Override
+    public byte[] ecdsaRecoverableSignatureSerializeCompact(EcdsaRecoverableSignature sig) {
+        return secp.ecdsaRecoverableSignatureSerializeCompact(sig);
+    }
+
+    @Override
+    public SecpResult<EcdsaRecoverableSignature> ecdsaRecoverableSignatureParseCompact(byte[] serializedSignature, int recId) {
+        return secp.ecdsaRecoverableSignatureParseCompact(serializedSignature, recId);
+    }
+
+    @Override
+    public SecpResult<SecpPubKey> ecdsaRecover(EcdsaRecoverableSignature sig, byte[] msgHash) {
+        return secp.ecdsaRecover(sig, msgHash);
+    }
+
+    @Override
+    public SecpResult<Boolean> xOnlyTweakAddCheck(SecpXOnlyPubKey tweakedKey, int tweakedKeyParity, SecpXOnlyPubKey internalKey, byte[] tweak) {
+        return secp.xOnlyTweakAddCheck(tweakedKey, tweakedKeyParity, internalKey, tweak);
+    }
+
+    @Override
+    public BitSet schnorrSigVerifyBatch(List<SchnorrSignature> signatures, List<byte[]> msgHashes, List<SecpXOnlyPubKey> pubKeys) {
+        return secp.schnorrSigVerifyBatch(signatures, msgHashes, pubKeys);
+    }
+
+    @Override
+    public void close() {
+        secp.close();
+    }
+
+    @Override
+    public String toString() {
+        return "Secp256k1Verifier/" + Secp256k1.ProviderId.LIBSECP256K1_FFM;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.bitcoinj.secp.InstrumentedSecp256k1;
+
+/// JDK Flight Recorder event for a call to an [InstrumentedSecp256k1]. The event duration is the duration of
+/// the call, so calls can be correlated with GC pauses and CPU samples in the same recording.
+///
+/// There can be an event for every signature, so it is disabled by default. Enable it in a recording with e.g.
+/// `-XX:StartFlightRecording:+org.bitcoinj.secp.Operation#enabled=true`, and add a `threshold` to only record
+/// slow calls. While it is not enabled, [#listener()] only costs a check per call and allocates nothing. Use it with
+/// [InstrumentedSecp256k1#of(org.bitcoinj.secp.Secp256k1, String, InstrumentedSecp256k1.Listener)], the secp-api
+/// module can't use JFR itself as it targets Java 9.
+@Name("org.bitcoinj.secp.Operation")
+@Label("Secp256k1 Operation")
+@Category({"Bitcoin", "Secp256k1"})
+@Description("A call to a Secp256k1 operation")
+@Enabled(false)
+@StackTrace(false)
+public final class SecpOperationEvent extends Event implements InstrumentedSecp256k1.Call {
+    private static final InstrumentedSecp256k1.Call NOT_RECORDED = failed -> { };
+    private static final InstrumentedSecp256k1.Listener LISTENER = SecpOperationEvent::start;
+
+    @Label("Operation")
+    @Description("Name of the Secp256k1 method")
+    String operation;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Batch Size")
+    @Description("Number of items for operations on lists, otherwise 1")
+    int batchSize;
+
+    @Label("Failed")
+    @Description("The operation returned an error result or threw")
+    boolean failed;
+
+    private SecpOperationEvent(String provider, String operation, int batchSize) {
+        this.provider = provider;
+        this.operation = operation;
+        this.batchSize = batchSize;
+    }
+
+    /// Get a listener that records an event for each call
+    /// @return listener for [InstrumentedSecp256k1#of(org.bitcoinj.secp.Secp256k1, String, InstrumentedSecp256k1.Listener)]
+    public static InstrumentedSecp256k1.Listener listener() {
+        return LISTENER;
+    }
+
+    private static InstrumentedSecp256k1.Call start(String provider, String operation, int batchSize) {
+        // Check before allocating, so that a disabled event costs no garbage
+        if (!Type.TYPE.isEnabled()) return NOT_RECORDED;
+        SecpOperationEvent event = new SecpOperationEvent(provider, operation, batchSize);
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void completed(boolean failed) {
+        this.failed = failed;
+        commit();
+    }
+
+    // Looked up on first use rather than while this event class is being initialized
+    private static final class Type {
+        static final EventType TYPE = EventType.getEventType(SecpOperationEvent.class);
+    }
+}
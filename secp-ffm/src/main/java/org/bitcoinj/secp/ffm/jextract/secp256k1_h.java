@@ -3506,6 +3506,1402 @@ public class secp256k1_h extends secp256k1_h$shared {
            throw new AssertionError("should not reach here", ex$);
         }
     }
+
+    private static class secp256k1_ecdsa_recoverable_signature_parse_compact {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_INT
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_ecdsa_recoverable_signature_parse_compact");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_parse_compact(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *input64, int recid)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_ecdsa_recoverable_signature_parse_compact$descriptor() {
+        return secp256k1_ecdsa_recoverable_signature_parse_compact.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_parse_compact(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *input64, int recid)
+     * }
+     */
+    public static MethodHandle secp256k1_ecdsa_recoverable_signature_parse_compact$handle() {
+        return secp256k1_ecdsa_recoverable_signature_parse_compact.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_parse_compact(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *input64, int recid)
+     * }
+     */
+    public static MemorySegment secp256k1_ecdsa_recoverable_signature_parse_compact$address() {
+        return secp256k1_ecdsa_recoverable_signature_parse_compact.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_parse_compact(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *input64, int recid)
+     * }
+     */
+    public static int secp256k1_ecdsa_recoverable_signature_parse_compact(MemorySegment ctx, MemorySegment sig, MemorySegment input64, int recid) {
+        var mh$ = secp256k1_ecdsa_recoverable_signature_parse_compact.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_ecdsa_recoverable_signature_parse_compact", ctx, sig, input64, recid);
+            }
+            return (int)mh$.invokeExact(ctx, sig, input64, recid);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_ecdsa_recoverable_signature_convert {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_ecdsa_recoverable_signature_convert");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_convert(const secp256k1_context *ctx, secp256k1_ecdsa_signature *sig, const secp256k1_ecdsa_recoverable_signature *sigin)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_ecdsa_recoverable_signature_convert$descriptor() {
+        return secp256k1_ecdsa_recoverable_signature_convert.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_convert(const secp256k1_context *ctx, secp256k1_ecdsa_signature *sig, const secp256k1_ecdsa_recoverable_signature *sigin)
+     * }
+     */
+    public static MethodHandle secp256k1_ecdsa_recoverable_signature_convert$handle() {
+        return secp256k1_ecdsa_recoverable_signature_convert.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_convert(const secp256k1_context *ctx, secp256k1_ecdsa_signature *sig, const secp256k1_ecdsa_recoverable_signature *sigin)
+     * }
+     */
+    public static MemorySegment secp256k1_ecdsa_recoverable_signature_convert$address() {
+        return secp256k1_ecdsa_recoverable_signature_convert.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_convert(const secp256k1_context *ctx, secp256k1_ecdsa_signature *sig, const secp256k1_ecdsa_recoverable_signature *sigin)
+     * }
+     */
+    public static int secp256k1_ecdsa_recoverable_signature_convert(MemorySegment ctx, MemorySegment sig, MemorySegment sigin) {
+        var mh$ = secp256k1_ecdsa_recoverable_signature_convert.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_ecdsa_recoverable_signature_convert", ctx, sig, sigin);
+            }
+            return (int)mh$.invokeExact(ctx, sig, sigin);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_ecdsa_recoverable_signature_serialize_compact {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_ecdsa_recoverable_signature_serialize_compact");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_serialize_compact(const secp256k1_context *ctx, unsigned char *output64, int *recid, const secp256k1_ecdsa_recoverable_signature *sig)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_ecdsa_recoverable_signature_serialize_compact$descriptor() {
+        return secp256k1_ecdsa_recoverable_signature_serialize_compact.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_serialize_compact(const secp256k1_context *ctx, unsigned char *output64, int *recid, const secp256k1_ecdsa_recoverable_signature *sig)
+     * }
+     */
+    public static MethodHandle secp256k1_ecdsa_recoverable_signature_serialize_compact$handle() {
+        return secp256k1_ecdsa_recoverable_signature_serialize_compact.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_serialize_compact(const secp256k1_context *ctx, unsigned char *output64, int *recid, const secp256k1_ecdsa_recoverable_signature *sig)
+     * }
+     */
+    public static MemorySegment secp256k1_ecdsa_recoverable_signature_serialize_compact$address() {
+        return secp256k1_ecdsa_recoverable_signature_serialize_compact.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recoverable_signature_serialize_compact(const secp256k1_context *ctx, unsigned char *output64, int *recid, const secp256k1_ecdsa_recoverable_signature *sig)
+     * }
+     */
+    public static int secp256k1_ecdsa_recoverable_signature_serialize_compact(MemorySegment ctx, MemorySegment output64, MemorySegment recid, MemorySegment sig) {
+        var mh$ = secp256k1_ecdsa_recoverable_signature_serialize_compact.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_ecdsa_recoverable_signature_serialize_compact", ctx, output64, recid, sig);
+            }
+            return (int)mh$.invokeExact(ctx, output64, recid, sig);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_ecdsa_sign_recoverable {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_ecdsa_sign_recoverable");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_sign_recoverable(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32, const unsigned char *seckey, secp256k1_nonce_function noncefp, const void *ndata)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_ecdsa_sign_recoverable$descriptor() {
+        return secp256k1_ecdsa_sign_recoverable.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_sign_recoverable(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32, const unsigned char *seckey, secp256k1_nonce_function noncefp, const void *ndata)
+     * }
+     */
+    public static MethodHandle secp256k1_ecdsa_sign_recoverable$handle() {
+        return secp256k1_ecdsa_sign_recoverable.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_sign_recoverable(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32, const unsigned char *seckey, secp256k1_nonce_function noncefp, const void *ndata)
+     * }
+     */
+    public static MemorySegment secp256k1_ecdsa_sign_recoverable$address() {
+        return secp256k1_ecdsa_sign_recoverable.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_sign_recoverable(const secp256k1_context *ctx, secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32, const unsigned char *seckey, secp256k1_nonce_function noncefp, const void *ndata)
+     * }
+     */
+    public static int secp256k1_ecdsa_sign_recoverable(MemorySegment ctx, MemorySegment sig, MemorySegment msghash32, MemorySegment seckey, MemorySegment noncefp, MemorySegment ndata) {
+        var mh$ = secp256k1_ecdsa_sign_recoverable.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_ecdsa_sign_recoverable", ctx, sig, msghash32, seckey, noncefp, ndata);
+            }
+            return (int)mh$.invokeExact(ctx, sig, msghash32, seckey, noncefp, ndata);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_ecdsa_recover {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_ecdsa_recover");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recover(const secp256k1_context *ctx, secp256k1_pubkey *pubkey, const secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_ecdsa_recover$descriptor() {
+        return secp256k1_ecdsa_recover.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recover(const secp256k1_context *ctx, secp256k1_pubkey *pubkey, const secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32)
+     * }
+     */
+    public static MethodHandle secp256k1_ecdsa_recover$handle() {
+        return secp256k1_ecdsa_recover.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recover(const secp256k1_context *ctx, secp256k1_pubkey *pubkey, const secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32)
+     * }
+     */
+    public static MemorySegment secp256k1_ecdsa_recover$address() {
+        return secp256k1_ecdsa_recover.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_ecdsa_recover(const secp256k1_context *ctx, secp256k1_pubkey *pubkey, const secp256k1_ecdsa_recoverable_signature *sig, const unsigned char *msghash32)
+     * }
+     */
+    public static int secp256k1_ecdsa_recover(MemorySegment ctx, MemorySegment pubkey, MemorySegment sig, MemorySegment msghash32) {
+        var mh$ = secp256k1_ecdsa_recover.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_ecdsa_recover", ctx, pubkey, sig, msghash32);
+            }
+            return (int)mh$.invokeExact(ctx, pubkey, sig, msghash32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubnonce_parse {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubnonce_parse");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_parse(const secp256k1_context *ctx, secp256k1_musig_pubnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubnonce_parse$descriptor() {
+        return secp256k1_musig_pubnonce_parse.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_parse(const secp256k1_context *ctx, secp256k1_musig_pubnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubnonce_parse$handle() {
+        return secp256k1_musig_pubnonce_parse.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_parse(const secp256k1_context *ctx, secp256k1_musig_pubnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubnonce_parse$address() {
+        return secp256k1_musig_pubnonce_parse.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_parse(const secp256k1_context *ctx, secp256k1_musig_pubnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static int secp256k1_musig_pubnonce_parse(MemorySegment ctx, MemorySegment nonce, MemorySegment in66) {
+        var mh$ = secp256k1_musig_pubnonce_parse.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubnonce_parse", ctx, nonce, in66);
+            }
+            return (int)mh$.invokeExact(ctx, nonce, in66);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubnonce_serialize {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubnonce_serialize");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_pubnonce *nonce)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubnonce_serialize$descriptor() {
+        return secp256k1_musig_pubnonce_serialize.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_pubnonce *nonce)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubnonce_serialize$handle() {
+        return secp256k1_musig_pubnonce_serialize.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_pubnonce *nonce)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubnonce_serialize$address() {
+        return secp256k1_musig_pubnonce_serialize.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_pubnonce *nonce)
+     * }
+     */
+    public static int secp256k1_musig_pubnonce_serialize(MemorySegment ctx, MemorySegment out66, MemorySegment nonce) {
+        var mh$ = secp256k1_musig_pubnonce_serialize.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubnonce_serialize", ctx, out66, nonce);
+            }
+            return (int)mh$.invokeExact(ctx, out66, nonce);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_aggnonce_parse {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_aggnonce_parse");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_parse(const secp256k1_context *ctx, secp256k1_musig_aggnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_aggnonce_parse$descriptor() {
+        return secp256k1_musig_aggnonce_parse.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_parse(const secp256k1_context *ctx, secp256k1_musig_aggnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_aggnonce_parse$handle() {
+        return secp256k1_musig_aggnonce_parse.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_parse(const secp256k1_context *ctx, secp256k1_musig_aggnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_aggnonce_parse$address() {
+        return secp256k1_musig_aggnonce_parse.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_parse(const secp256k1_context *ctx, secp256k1_musig_aggnonce *nonce, const unsigned char *in66)
+     * }
+     */
+    public static int secp256k1_musig_aggnonce_parse(MemorySegment ctx, MemorySegment nonce, MemorySegment in66) {
+        var mh$ = secp256k1_musig_aggnonce_parse.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_aggnonce_parse", ctx, nonce, in66);
+            }
+            return (int)mh$.invokeExact(ctx, nonce, in66);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_aggnonce_serialize {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_aggnonce_serialize");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_aggnonce *nonce)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_aggnonce_serialize$descriptor() {
+        return secp256k1_musig_aggnonce_serialize.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_aggnonce *nonce)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_aggnonce_serialize$handle() {
+        return secp256k1_musig_aggnonce_serialize.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_aggnonce *nonce)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_aggnonce_serialize$address() {
+        return secp256k1_musig_aggnonce_serialize.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_aggnonce_serialize(const secp256k1_context *ctx, unsigned char *out66, const secp256k1_musig_aggnonce *nonce)
+     * }
+     */
+    public static int secp256k1_musig_aggnonce_serialize(MemorySegment ctx, MemorySegment out66, MemorySegment nonce) {
+        var mh$ = secp256k1_musig_aggnonce_serialize.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_aggnonce_serialize", ctx, out66, nonce);
+            }
+            return (int)mh$.invokeExact(ctx, out66, nonce);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_partial_sig_parse {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_partial_sig_parse");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_parse(const secp256k1_context *ctx, secp256k1_musig_partial_sig *sig, const unsigned char *in32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_partial_sig_parse$descriptor() {
+        return secp256k1_musig_partial_sig_parse.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_parse(const secp256k1_context *ctx, secp256k1_musig_partial_sig *sig, const unsigned char *in32)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_partial_sig_parse$handle() {
+        return secp256k1_musig_partial_sig_parse.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_parse(const secp256k1_context *ctx, secp256k1_musig_partial_sig *sig, const unsigned char *in32)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_partial_sig_parse$address() {
+        return secp256k1_musig_partial_sig_parse.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_parse(const secp256k1_context *ctx, secp256k1_musig_partial_sig *sig, const unsigned char *in32)
+     * }
+     */
+    public static int secp256k1_musig_partial_sig_parse(MemorySegment ctx, MemorySegment sig, MemorySegment in32) {
+        var mh$ = secp256k1_musig_partial_sig_parse.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_partial_sig_parse", ctx, sig, in32);
+            }
+            return (int)mh$.invokeExact(ctx, sig, in32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_partial_sig_serialize {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_partial_sig_serialize");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_serialize(const secp256k1_context *ctx, unsigned char *out32, const secp256k1_musig_partial_sig *sig)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_partial_sig_serialize$descriptor() {
+        return secp256k1_musig_partial_sig_serialize.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_serialize(const secp256k1_context *ctx, unsigned char *out32, const secp256k1_musig_partial_sig *sig)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_partial_sig_serialize$handle() {
+        return secp256k1_musig_partial_sig_serialize.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_serialize(const secp256k1_context *ctx, unsigned char *out32, const secp256k1_musig_partial_sig *sig)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_partial_sig_serialize$address() {
+        return secp256k1_musig_partial_sig_serialize.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_serialize(const secp256k1_context *ctx, unsigned char *out32, const secp256k1_musig_partial_sig *sig)
+     * }
+     */
+    public static int secp256k1_musig_partial_sig_serialize(MemorySegment ctx, MemorySegment out32, MemorySegment sig) {
+        var mh$ = secp256k1_musig_partial_sig_serialize.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_partial_sig_serialize", ctx, out32, sig);
+            }
+            return (int)mh$.invokeExact(ctx, out32, sig);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubkey_agg {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_LONG
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubkey_agg");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_agg(const secp256k1_context *ctx, secp256k1_xonly_pubkey *agg_pk, secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_pubkey *const *pubkeys, size_t n_pubkeys)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubkey_agg$descriptor() {
+        return secp256k1_musig_pubkey_agg.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_agg(const secp256k1_context *ctx, secp256k1_xonly_pubkey *agg_pk, secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_pubkey *const *pubkeys, size_t n_pubkeys)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubkey_agg$handle() {
+        return secp256k1_musig_pubkey_agg.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_agg(const secp256k1_context *ctx, secp256k1_xonly_pubkey *agg_pk, secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_pubkey *const *pubkeys, size_t n_pubkeys)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubkey_agg$address() {
+        return secp256k1_musig_pubkey_agg.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_agg(const secp256k1_context *ctx, secp256k1_xonly_pubkey *agg_pk, secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_pubkey *const *pubkeys, size_t n_pubkeys)
+     * }
+     */
+    public static int secp256k1_musig_pubkey_agg(MemorySegment ctx, MemorySegment agg_pk, MemorySegment keyagg_cache, MemorySegment pubkeys, long n_pubkeys) {
+        var mh$ = secp256k1_musig_pubkey_agg.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubkey_agg", ctx, agg_pk, keyagg_cache, pubkeys, n_pubkeys);
+            }
+            return (int)mh$.invokeExact(ctx, agg_pk, keyagg_cache, pubkeys, n_pubkeys);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubkey_get {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubkey_get");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_get(const secp256k1_context *ctx, secp256k1_pubkey *agg_pk, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubkey_get$descriptor() {
+        return secp256k1_musig_pubkey_get.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_get(const secp256k1_context *ctx, secp256k1_pubkey *agg_pk, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubkey_get$handle() {
+        return secp256k1_musig_pubkey_get.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_get(const secp256k1_context *ctx, secp256k1_pubkey *agg_pk, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubkey_get$address() {
+        return secp256k1_musig_pubkey_get.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_get(const secp256k1_context *ctx, secp256k1_pubkey *agg_pk, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static int secp256k1_musig_pubkey_get(MemorySegment ctx, MemorySegment agg_pk, MemorySegment keyagg_cache) {
+        var mh$ = secp256k1_musig_pubkey_get.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubkey_get", ctx, agg_pk, keyagg_cache);
+            }
+            return (int)mh$.invokeExact(ctx, agg_pk, keyagg_cache);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubkey_ec_tweak_add {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubkey_ec_tweak_add");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_ec_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubkey_ec_tweak_add$descriptor() {
+        return secp256k1_musig_pubkey_ec_tweak_add.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_ec_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubkey_ec_tweak_add$handle() {
+        return secp256k1_musig_pubkey_ec_tweak_add.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_ec_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubkey_ec_tweak_add$address() {
+        return secp256k1_musig_pubkey_ec_tweak_add.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_ec_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static int secp256k1_musig_pubkey_ec_tweak_add(MemorySegment ctx, MemorySegment output_pubkey, MemorySegment keyagg_cache, MemorySegment tweak32) {
+        var mh$ = secp256k1_musig_pubkey_ec_tweak_add.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubkey_ec_tweak_add", ctx, output_pubkey, keyagg_cache, tweak32);
+            }
+            return (int)mh$.invokeExact(ctx, output_pubkey, keyagg_cache, tweak32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_pubkey_xonly_tweak_add {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_pubkey_xonly_tweak_add");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_xonly_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_pubkey_xonly_tweak_add$descriptor() {
+        return secp256k1_musig_pubkey_xonly_tweak_add.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_xonly_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_pubkey_xonly_tweak_add$handle() {
+        return secp256k1_musig_pubkey_xonly_tweak_add.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_xonly_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_pubkey_xonly_tweak_add$address() {
+        return secp256k1_musig_pubkey_xonly_tweak_add.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_pubkey_xonly_tweak_add(const secp256k1_context *ctx, secp256k1_pubkey *output_pubkey, secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *tweak32)
+     * }
+     */
+    public static int secp256k1_musig_pubkey_xonly_tweak_add(MemorySegment ctx, MemorySegment output_pubkey, MemorySegment keyagg_cache, MemorySegment tweak32) {
+        var mh$ = secp256k1_musig_pubkey_xonly_tweak_add.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_pubkey_xonly_tweak_add", ctx, output_pubkey, keyagg_cache, tweak32);
+            }
+            return (int)mh$.invokeExact(ctx, output_pubkey, keyagg_cache, tweak32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_nonce_gen {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_nonce_gen");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, unsigned char *session_secrand32, const unsigned char *seckey, const secp256k1_pubkey *pubkey, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_nonce_gen$descriptor() {
+        return secp256k1_musig_nonce_gen.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, unsigned char *session_secrand32, const unsigned char *seckey, const secp256k1_pubkey *pubkey, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_nonce_gen$handle() {
+        return secp256k1_musig_nonce_gen.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, unsigned char *session_secrand32, const unsigned char *seckey, const secp256k1_pubkey *pubkey, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_nonce_gen$address() {
+        return secp256k1_musig_nonce_gen.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, unsigned char *session_secrand32, const unsigned char *seckey, const secp256k1_pubkey *pubkey, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static int secp256k1_musig_nonce_gen(MemorySegment ctx, MemorySegment secnonce, MemorySegment pubnonce, MemorySegment session_secrand32, MemorySegment seckey, MemorySegment pubkey, MemorySegment msg32, MemorySegment keyagg_cache, MemorySegment extra_input32) {
+        var mh$ = secp256k1_musig_nonce_gen.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_nonce_gen", ctx, secnonce, pubnonce, session_secrand32, seckey, pubkey, msg32, keyagg_cache, extra_input32);
+            }
+            return (int)mh$.invokeExact(ctx, secnonce, pubnonce, session_secrand32, seckey, pubkey, msg32, keyagg_cache, extra_input32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_nonce_gen_counter {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_LONG,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_nonce_gen_counter");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen_counter(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, uint64_t nonrepeating_cnt, const secp256k1_keypair *keypair, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_nonce_gen_counter$descriptor() {
+        return secp256k1_musig_nonce_gen_counter.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen_counter(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, uint64_t nonrepeating_cnt, const secp256k1_keypair *keypair, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_nonce_gen_counter$handle() {
+        return secp256k1_musig_nonce_gen_counter.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen_counter(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, uint64_t nonrepeating_cnt, const secp256k1_keypair *keypair, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_nonce_gen_counter$address() {
+        return secp256k1_musig_nonce_gen_counter.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_gen_counter(const secp256k1_context *ctx, secp256k1_musig_secnonce *secnonce, secp256k1_musig_pubnonce *pubnonce, uint64_t nonrepeating_cnt, const secp256k1_keypair *keypair, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache, const unsigned char *extra_input32)
+     * }
+     */
+    public static int secp256k1_musig_nonce_gen_counter(MemorySegment ctx, MemorySegment secnonce, MemorySegment pubnonce, long nonrepeating_cnt, MemorySegment keypair, MemorySegment msg32, MemorySegment keyagg_cache, MemorySegment extra_input32) {
+        var mh$ = secp256k1_musig_nonce_gen_counter.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_nonce_gen_counter", ctx, secnonce, pubnonce, nonrepeating_cnt, keypair, msg32, keyagg_cache, extra_input32);
+            }
+            return (int)mh$.invokeExact(ctx, secnonce, pubnonce, nonrepeating_cnt, keypair, msg32, keyagg_cache, extra_input32);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_nonce_agg {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_LONG
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_nonce_agg");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_agg(const secp256k1_context *ctx, secp256k1_musig_aggnonce *aggnonce, const secp256k1_musig_pubnonce *const *pubnonces, size_t n_pubnonces)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_nonce_agg$descriptor() {
+        return secp256k1_musig_nonce_agg.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_agg(const secp256k1_context *ctx, secp256k1_musig_aggnonce *aggnonce, const secp256k1_musig_pubnonce *const *pubnonces, size_t n_pubnonces)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_nonce_agg$handle() {
+        return secp256k1_musig_nonce_agg.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_agg(const secp256k1_context *ctx, secp256k1_musig_aggnonce *aggnonce, const secp256k1_musig_pubnonce *const *pubnonces, size_t n_pubnonces)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_nonce_agg$address() {
+        return secp256k1_musig_nonce_agg.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_agg(const secp256k1_context *ctx, secp256k1_musig_aggnonce *aggnonce, const secp256k1_musig_pubnonce *const *pubnonces, size_t n_pubnonces)
+     * }
+     */
+    public static int secp256k1_musig_nonce_agg(MemorySegment ctx, MemorySegment aggnonce, MemorySegment pubnonces, long n_pubnonces) {
+        var mh$ = secp256k1_musig_nonce_agg.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_nonce_agg", ctx, aggnonce, pubnonces, n_pubnonces);
+            }
+            return (int)mh$.invokeExact(ctx, aggnonce, pubnonces, n_pubnonces);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_nonce_process {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_nonce_process");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_process(const secp256k1_context *ctx, secp256k1_musig_session *session, const secp256k1_musig_aggnonce *aggnonce, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_nonce_process$descriptor() {
+        return secp256k1_musig_nonce_process.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_process(const secp256k1_context *ctx, secp256k1_musig_session *session, const secp256k1_musig_aggnonce *aggnonce, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_nonce_process$handle() {
+        return secp256k1_musig_nonce_process.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_process(const secp256k1_context *ctx, secp256k1_musig_session *session, const secp256k1_musig_aggnonce *aggnonce, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_nonce_process$address() {
+        return secp256k1_musig_nonce_process.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_nonce_process(const secp256k1_context *ctx, secp256k1_musig_session *session, const secp256k1_musig_aggnonce *aggnonce, const unsigned char *msg32, const secp256k1_musig_keyagg_cache *keyagg_cache)
+     * }
+     */
+    public static int secp256k1_musig_nonce_process(MemorySegment ctx, MemorySegment session, MemorySegment aggnonce, MemorySegment msg32, MemorySegment keyagg_cache) {
+        var mh$ = secp256k1_musig_nonce_process.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_nonce_process", ctx, session, aggnonce, msg32, keyagg_cache);
+            }
+            return (int)mh$.invokeExact(ctx, session, aggnonce, msg32, keyagg_cache);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_partial_sign {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_partial_sign");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sign(const secp256k1_context *ctx, secp256k1_musig_partial_sig *partial_sig, secp256k1_musig_secnonce *secnonce, const secp256k1_keypair *keypair, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_partial_sign$descriptor() {
+        return secp256k1_musig_partial_sign.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sign(const secp256k1_context *ctx, secp256k1_musig_partial_sig *partial_sig, secp256k1_musig_secnonce *secnonce, const secp256k1_keypair *keypair, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_partial_sign$handle() {
+        return secp256k1_musig_partial_sign.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sign(const secp256k1_context *ctx, secp256k1_musig_partial_sig *partial_sig, secp256k1_musig_secnonce *secnonce, const secp256k1_keypair *keypair, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_partial_sign$address() {
+        return secp256k1_musig_partial_sign.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sign(const secp256k1_context *ctx, secp256k1_musig_partial_sig *partial_sig, secp256k1_musig_secnonce *secnonce, const secp256k1_keypair *keypair, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static int secp256k1_musig_partial_sign(MemorySegment ctx, MemorySegment partial_sig, MemorySegment secnonce, MemorySegment keypair, MemorySegment keyagg_cache, MemorySegment session) {
+        var mh$ = secp256k1_musig_partial_sign.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_partial_sign", ctx, partial_sig, secnonce, keypair, keyagg_cache, session);
+            }
+            return (int)mh$.invokeExact(ctx, partial_sig, secnonce, keypair, keyagg_cache, session);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_partial_sig_verify {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_partial_sig_verify");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_verify(const secp256k1_context *ctx, const secp256k1_musig_partial_sig *partial_sig, const secp256k1_musig_pubnonce *pubnonce, const secp256k1_pubkey *pubkey, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_partial_sig_verify$descriptor() {
+        return secp256k1_musig_partial_sig_verify.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_verify(const secp256k1_context *ctx, const secp256k1_musig_partial_sig *partial_sig, const secp256k1_musig_pubnonce *pubnonce, const secp256k1_pubkey *pubkey, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_partial_sig_verify$handle() {
+        return secp256k1_musig_partial_sig_verify.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_verify(const secp256k1_context *ctx, const secp256k1_musig_partial_sig *partial_sig, const secp256k1_musig_pubnonce *pubnonce, const secp256k1_pubkey *pubkey, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_partial_sig_verify$address() {
+        return secp256k1_musig_partial_sig_verify.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_verify(const secp256k1_context *ctx, const secp256k1_musig_partial_sig *partial_sig, const secp256k1_musig_pubnonce *pubnonce, const secp256k1_pubkey *pubkey, const secp256k1_musig_keyagg_cache *keyagg_cache, const secp256k1_musig_session *session)
+     * }
+     */
+    public static int secp256k1_musig_partial_sig_verify(MemorySegment ctx, MemorySegment partial_sig, MemorySegment pubnonce, MemorySegment pubkey, MemorySegment keyagg_cache, MemorySegment session) {
+        var mh$ = secp256k1_musig_partial_sig_verify.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_partial_sig_verify", ctx, partial_sig, pubnonce, pubkey, keyagg_cache, session);
+            }
+            return (int)mh$.invokeExact(ctx, partial_sig, pubnonce, pubkey, keyagg_cache, session);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
+
+    private static class secp256k1_musig_partial_sig_agg {
+        public static final FunctionDescriptor DESC = FunctionDescriptor.of(
+            secp256k1_h.C_INT,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_POINTER,
+            secp256k1_h.C_LONG
+        );
+
+        public static final MemorySegment ADDR = SYMBOL_LOOKUP.findOrThrow("secp256k1_musig_partial_sig_agg");
+
+        public static final MethodHandle HANDLE = Linker.nativeLinker().downcallHandle(ADDR, DESC);
+    }
+
+    /**
+     * Function descriptor for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_agg(const secp256k1_context *ctx, unsigned char *sig64, const secp256k1_musig_session *session, const secp256k1_musig_partial_sig *const *partial_sigs, size_t n_sigs)
+     * }
+     */
+    public static FunctionDescriptor secp256k1_musig_partial_sig_agg$descriptor() {
+        return secp256k1_musig_partial_sig_agg.DESC;
+    }
+
+    /**
+     * Downcall method handle for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_agg(const secp256k1_context *ctx, unsigned char *sig64, const secp256k1_musig_session *session, const secp256k1_musig_partial_sig *const *partial_sigs, size_t n_sigs)
+     * }
+     */
+    public static MethodHandle secp256k1_musig_partial_sig_agg$handle() {
+        return secp256k1_musig_partial_sig_agg.HANDLE;
+    }
+
+    /**
+     * Address for:
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_agg(const secp256k1_context *ctx, unsigned char *sig64, const secp256k1_musig_session *session, const secp256k1_musig_partial_sig *const *partial_sigs, size_t n_sigs)
+     * }
+     */
+    public static MemorySegment secp256k1_musig_partial_sig_agg$address() {
+        return secp256k1_musig_partial_sig_agg.ADDR;
+    }
+
+    /**
+     * {@snippet lang=c :
+     * extern int secp256k1_musig_partial_sig_agg(const secp256k1_context *ctx, unsigned char *sig64, const secp256k1_musig_session *session, const secp256k1_musig_partial_sig *const *partial_sigs, size_t n_sigs)
+     * }
+     */
+    public static int secp256k1_musig_partial_sig_agg(MemorySegment ctx, MemorySegment sig64, MemorySegment session, MemorySegment partial_sigs, long n_sigs) {
+        var mh$ = secp256k1_musig_partial_sig_agg.HANDLE;
+        try {
+            if (TRACE_DOWNCALLS) {
+                traceDowncall("secp256k1_musig_partial_sig_agg", ctx, sig64, session, partial_sigs, n_sigs);
+            }
+            return (int)mh$.invokeExact(ctx, sig64, session, partial_sigs, n_sigs);
+        } catch (Error | RuntimeException ex) {
+           throw ex;
+        } catch (Throwable ex$) {
+           throw new AssertionError("should not reach here", ex$);
+        }
+    }
     private static final MemorySegment NULL = MemorySegment.ofAddress(0L);
     /**
      * {@snippet lang=c :
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.ffm.segments;
+
+import org.bitcoinj.secp.ffm.jextract.secp256k1_schnorrsig_extraparams;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/// Helper for creating `secp256k1_schnorrsig_extraparams` structs. The struct must start with the magic value
+/// `SECP256K1_SCHNORRSIG_EXTRAPARAMS_MAGIC`, which is an initializer macro that jextract does not translate.
+public interface SchnorrSigExtraParams {
+    /// Allocate extra parameters that select the default (BIP-340) nonce function with the given auxiliary randomness.
+    /// All fields are written, so the allocator does not need to return zeroed memory.
+    /// @param alloc allocator to create the struct with
+    /// @param auxRand segment containing 32 bytes of auxiliary randomness
+    /// @return a `secp256k1_schnorrsig_extraparams` segment
+    static MemorySegment allocate(SegmentAllocator alloc, MemorySegment auxRand) {
+        MemorySegment params = secp256k1_schnorrsig_extraparams.allocate(alloc);
+        byte[] magic = { (byte) 0xda, (byte) 0x6f, (byte) 0xb3, (byte) 0x8c };
+        MemorySegment.copy(magic, 0, secp256k1_schnorrsig_extraparams.magic(params), JAVA_BYTE, 0, magic.length);
+        secp256k1_schnorrsig_extraparams.noncefp(params, MemorySegment.ofAddress(0L));  // Default nonce function
+        secp256k1_schnorrsig_extraparams.ndata(params, auxRand);
+        return params;
+    }
+}
@@ -83,6 +83,20 @@ public class BIP340TestVectorTests implements SecpTestSupport {
         assertArrayEquals(vec.signature, actualSignature.bytes());
     }
 
+    /// For each vector containing a private key, including those with messages that are not 32 bytes long,
+    /// verify that the variable-length `schnorrSigSign` generates the exact, byte-for-byte signature
+    /// in the [TestVector] argument.
+    /// @param vec TestVector to be tested.
+    @ParameterizedTest
+    @FieldSource("SIGN_VECTORS")
+    void schnorrSigSign(TestVector vec) {
+        var privKey = secp.ecPrivKeyImport(vec.privKey);
+
+        var actualSignature = secp.schnorrSigSign(vec.message, privKey, vec.auxRand);
+
+        assertArrayEquals(vec.signature, actualSignature.bytes());
+    }
+
     /// For each vector in the subset containing valid public keys and valid signatures,
     /// verify that the `secp` instance signature verification result matches the
     /// expected verification result given by the [TestVector] argument.
@@ -137,9 +151,11 @@ public class BIP340TestVectorTests implements SecpTestSupport {
     static final List<TestVector> SIGN32_VECTORS = ALL_VECTORS.stream()
             .filter(vec -> vec.privKey.length > 0 && vec.message.length == 32)
             .toList();
+    static final List<TestVector> SIGN_VECTORS = ALL_VECTORS.stream()
+            .filter(vec -> vec.privKey.length > 0)
+            .toList();
     static final List<TestVector> SIGNVERIFY_VECTORS = ALL_VECTORS.stream()
-            .filter(vec -> vec.message.length > 0
-                    && vec.index != 5 && vec.index != 12 && vec.index != 13 && vec.index != 14)
+            .filter(vec -> vec.index != 5 && vec.index != 12 && vec.index != 13 && vec.index != 14)
             .toList();
     static final List<TestVector> PUBKEYCREATE_VECTORS = ALL_VECTORS.stream()
             .filter(vec -> vec.privKey.length > 0)
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.CachingSecp256k1;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests of the signature verification cache
+@ParameterizedClass
+@MethodSource("secpImplementations")
+public class CachingSecp256k1Test implements SecpTestSupport {
+    private final Secp256k1 secp;
+    // Not closed, as that would close the injected implementation
+    private final CachingSecp256k1 cache;
+
+    /// @param secp injected Secp256k1 implementation to test
+    CachingSecp256k1Test(Secp256k1 secp) {
+        this.secp = secp;
+        this.cache = CachingSecp256k1.of(secp, 1024);
+    }
+
+    @Test
+    void ecdsaVerifyHit() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        byte[] msgHash = SecpTestSupport.hash("mempool then block");
+        EcdsaSignature sig = secp.ecdsaSign(msgHash, keyPair).get();
+
+        assertTrue(cache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertEquals(0, cache.hits());
+        assertEquals(1, cache.misses());
+        assertTrue(cache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertEquals(1, cache.hits());
+        // The same verification, from a DER-encoded signature and from buffers
+        assertTrue(cache.ecdsaVerifyDer(secp.ecdsaSignatureSerializeDer(sig), msgHash, keyPair.publicKey()).get());
+        assertTrue(cache.ecdsaVerify(ByteBuffer.wrap(sig.serializeCompact()), ByteBuffer.wrap(msgHash),
+                ByteBuffer.wrap(keyPair.publicKey().serialize(true))).get());
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void schnorrSigVerifyHit() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        SecpXOnlyPubKey xOnly = keyPair.publicKey().xOnly();
+        byte[] msg = "not a hash".getBytes(StandardCharsets.US_ASCII);
+        SchnorrSignature sig = secp.schnorrSigSign(msg, keyPair);
+
+        assertTrue(cache.schnorrSigVerify(sig, msg, xOnly).get());
+        assertTrue(cache.schnorrSigVerify(sig, msg, keyPair.publicKey()).get());
+        assertTrue(cache.schnorrSigVerify(ByteBuffer.wrap(sig.bytes()), ByteBuffer.wrap(msg),
+                ByteBuffer.wrap(xOnly.serialize())).get());
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        // A prefix of the message must not hit
+        assertFalse(cache.schnorrSigVerify(sig, "not a".getBytes(StandardCharsets.US_ASCII), xOnly).get());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void invalidNotCached() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        byte[] msgHash = SecpTestSupport.hash("signed");
+        EcdsaSignature sig = secp.ecdsaSign(msgHash, keyPair).get();
+        byte[] otherHash = SecpTestSupport.hash("not signed");
+
+        assertFalse(cache.ecdsaVerify(sig, otherHash, keyPair.publicKey()).get());
+        assertFalse(cache.ecdsaVerify(sig, otherHash, keyPair.publicKey()).get());
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void eraseOnHit() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        byte[] msgHash = SecpTestSupport.hash("connect block");
+        EcdsaSignature sig = secp.ecdsaSign(msgHash, keyPair).get();
+        CachingSecp256k1 blockCache = cache.eraseOnHit();
+
+        // Verifications through the view don't add entries
+        assertTrue(blockCache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertTrue(blockCache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertEquals(0, cache.hits());
+
+        assertTrue(cache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertTrue(blockCache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertEquals(1, blockCache.hits());
+        // The hit erased the entry
+        assertTrue(cache.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        assertEquals(1, cache.hits());
+        assertEquals(4, cache.misses());
+    }
+
+    @Test
+    void batch() {
+        List<SchnorrSignature> sigs = new ArrayList<>();
+        List<byte[]> msgs = new ArrayList<>();
+        List<SecpXOnlyPubKey> pubKeys = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] msgHash = SecpTestSupport.hash("batch " + i);
+            sigs.add(secp.schnorrSigSign32(msgHash, keyPair));
+            msgs.add(msgHash);
+            pubKeys.add(keyPair.publicKey().xOnly());
+        }
+        // Item 3 is invalid
+        msgs.set(3, SecpTestSupport.hash("other"));
+        // Item 0 is already cached
+        assertTrue(cache.schnorrSigVerify(sigs.get(0), msgs.get(0), pubKeys.get(0)).get());
+
+        BitSet expected = new BitSet();
+        expected.set(0, 3);
+        assertEquals(expected, cache.schnorrSigVerifyBatch(sigs, msgs, pubKeys));
+        assertEquals(1, cache.hits());
+        assertEquals(expected, cache.schnorrSigVerifyBatch(sigs, msgs, pubKeys));
+        assertEquals(4, cache.hits());
+    }
+
+    @Test
+    void smallCache() {
+        CachingSecp256k1 small = CachingSecp256k1.of(secp, 4);
+        List<EcdsaSignature> sigs = new ArrayList<>();
+        List<byte[]> msgHashes = new ArrayList<>();
+        List<SecpPubKey> pubKeys = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] msgHash = SecpTestSupport.hash("evict " + i);
+            sigs.add(secp.ecdsaSign(msgHash, keyPair).get());
+            msgHashes.add(msgHash);
+            pubKeys.add(keyPair.publicKey());
+        }
+        // Evictions only cost verifications, results stay correct
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < sigs.size(); i++) {
+                assertTrue(small.ecdsaVerify(sigs.get(i), msgHashes.get(i), pubKeys.get(i)).get());
+                assertFalse(small.ecdsaVerify(sigs.get(i), msgHashes.get((i + 1) % sigs.size()), pubKeys.get(i)).get());
+            }
+        }
+        // Only valid signatures are stored, and at most 4 of them survive into the second round
+        assertEquals(2 * 2 * sigs.size(), small.hits() + small.misses());
+        assertTrue(small.hits() <= 4);
+        assertThrows(IllegalArgumentException.class, () -> CachingSecp256k1.of(secp, 0));
+    }
+
+    @Test
+    void eviction() {
+        // With a single slot, only one of two signatures can be cached
+        CachingSecp256k1 single = CachingSecp256k1.of(secp, 1);
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        byte[] msgA = SecpTestSupport.hash("a");
+        byte[] msgB = SecpTestSupport.hash("b");
+        EcdsaSignature sigA = secp.ecdsaSign(msgA, keyPair).get();
+        EcdsaSignature sigB = secp.ecdsaSign(msgB, keyPair).get();
+
+        assertTrue(single.ecdsaVerify(sigA, msgA, keyPair.publicKey()).get());
+        assertTrue(single.ecdsaVerify(sigA, msgA, keyPair.publicKey()).get());
+        assertEquals(1, single.hits());
+        assertTrue(single.ecdsaVerify(sigB, msgB, keyPair.publicKey()).get());
+        assertEquals(2, single.misses());
+        // Exactly one of the two is still cached
+        assertTrue(single.ecdsaVerify(sigA, msgA, keyPair.publicKey()).get());
+        assertTrue(single.ecdsaVerify(sigB, msgB, keyPair.publicKey()).get());
+        assertEquals(2, single.hits());
+        assertEquals(3, single.misses());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.EcdsaRecoverableSignature;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.bitcoinj.secp.integration.SecpTestSupport.hash;
+import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// ECDSA public key recovery test
+@ParameterizedClass
+@MethodSource("secpImplementations")
+public class EcdsaRecoveryTest implements SecpTestSupport {
+    private static final byte[] MSG_HASH = hash("Hello, recovery!");
+
+    private final Secp256k1 secp;
+
+    /// @param secp injected Secp256k1 implementation to test
+    EcdsaRecoveryTest(Secp256k1 secp) {
+        this.secp = secp;
+    }
+
+    @Test
+    void signAndRecover() {
+        for (int i = 0; i < 10; i++) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            EcdsaRecoverableSignature sig = secp.ecdsaSignRecoverable(MSG_HASH, keyPair).get();
+            SecpPubKey recovered = secp.ecdsaRecover(sig, MSG_HASH).get();
+            assertEquals(keyPair.publicKey().getW(), recovered.getW());
+            assertTrue(secp.ecdsaVerify(sig.signature(), MSG_HASH, recovered).get());
+
+            // The recoverable signature is the same as the regular signature
+            EcdsaSignature plain = secp.ecdsaSign(MSG_HASH, keyPair).get();
+            assertArrayEquals(plain.serializeCompact(), sig.serializeCompact());
+
+            // With the other y-parity a different key (or none) is recovered
+            EcdsaRecoverableSignature flipped = secp.ecdsaRecoverableSignatureParseCompact(sig.serializeCompact(), sig.recId() ^ 1).get();
+            SecpResult<SecpPubKey> other = secp.ecdsaRecover(flipped, MSG_HASH);
+            assertFalse(other.isOk() && other.get().getW().equals(keyPair.publicKey().getW()));
+        }
+    }
+
+    @Test
+    void parseAndSerialize() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        EcdsaRecoverableSignature sig = secp.ecdsaSignRecoverable(MSG_HASH, keyPair).get();
+        byte[] serialized = secp.ecdsaRecoverableSignatureSerializeCompact(sig);
+        EcdsaRecoverableSignature parsed = secp.ecdsaRecoverableSignatureParseCompact(serialized, sig.recId()).get();
+        assertArrayEquals(serialized, parsed.serializeCompact());
+        assertEquals(sig.recId(), parsed.recId());
+
+        // r = n is out of range
+        byte[] overflow = parseHex("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141"
+                + "0000000000000000000000000000000000000000000000000000000000000001");
+        assertFalse(secp.ecdsaRecoverableSignatureParseCompact(overflow, 0).isOk());
+    }
+
+    @Test
+    void recoverWrongMessage() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        EcdsaRecoverableSignature sig = secp.ecdsaSignRecoverable(MSG_HASH, keyPair).get();
+        SecpResult<SecpPubKey> recovered = secp.ecdsaRecover(sig, hash("Goodbye"));
+        if (recovered.isOk()) {
+            assertNotEquals(keyPair.publicKey().getW(), recovered.get().getW());
+        }
+    }
+
+    /// All implementations must create the same signature and recovery id
+    @Test
+    void sameAsOtherImplementations() {
+        SecpPrivKey privKey = secp.ecPrivKeyImport(hash("secp256k1-jdk recovery test key"));
+        EcdsaRecoverableSignature sig = secp.ecdsaSignRecoverable(MSG_HASH, privKey).get();
+        List<Secp256k1> all = SecpTestSupport.secpImplementations().collect(Collectors.toList());
+        for (Secp256k1 other : all) {
+            EcdsaRecoverableSignature otherSig = other.ecdsaSignRecoverable(MSG_HASH, privKey).get();
+            assertArrayEquals(sig.serializeCompact(), otherSig.serializeCompact());
+            assertEquals(sig.recId(), otherSig.recId());
+        }
+    }
+}
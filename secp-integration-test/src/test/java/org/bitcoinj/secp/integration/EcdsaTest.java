@@ -27,10 +27,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
 
 import static org.bitcoinj.secp.integration.SecpTestSupport.hash;
 import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -58,6 +62,59 @@ public class EcdsaTest implements SecpTestSupport {
         assertTrue(validSignature);
     }
 
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test Ecdsa for {0}")
+    void testEcdsaByteBuffers(Secp256k1 secp) {
+        SecpPrivKey privKey = secp.ecPrivKeyCreate();
+        ByteBuffer msgHash = ByteBuffer.allocateDirect(32).put(MSG_HASH).flip();
+        ByteBuffer sig = ByteBuffer.allocateDirect(64);
+        assertTrue(secp.ecdsaSign(msgHash, privKey, sig).isOk());
+        assertEquals(64, sig.position());
+        assertEquals(0, msgHash.position());
+        sig.flip();
+        ByteBuffer pubKey = ByteBuffer.wrap(secp.ecPubKeyCreate(privKey).serialize(true));
+        assertTrue(secp.ecdsaVerify(sig, msgHash, pubKey).get());
+        assertEquals(0, sig.position());
+        assertFalse(secp.ecdsaVerify(sig, ByteBuffer.wrap(hash("Goodbye")), pubKey).get());
+        byte[] sigBytes = new byte[64];
+        sig.get(sigBytes);
+        assertTrue(secp.ecdsaVerify(secp.ecdsaSignatureParseCompact(sigBytes).get(), MSG_HASH, secp.ecPubKeyCreate(privKey)).get());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test Ecdsa DER for {0}")
+    void testEcdsaDer(Secp256k1 secp) {
+        SecpPrivKey privKey = secp.ecPrivKeyImport(TEST_PRIVKEY);
+        SecpPubKey pubKey = secp.ecPubKeyCreate(privKey);
+        EcdsaSignature sig = secp.ecdsaSign(MSG_HASH, privKey).get();
+        byte[] der = secp.ecdsaSignatureSerializeDer(sig);
+        assertArrayEquals(sig.serializeCompact(), secp.ecdsaSignatureParseDer(der).get().serializeCompact());
+        assertArrayEquals(sig.serializeCompact(), secp.ecdsaSignatureParseDerLax(der).get().serializeCompact());
+        assertTrue(secp.ecdsaVerifyDer(der, MSG_HASH, pubKey).get());
+        assertTrue(secp.ecdsaVerifyDerLax(der, MSG_HASH, pubKey).get());
+        assertFalse(secp.ecdsaVerifyDer(der, HIGH_S_MSG_HASH, pubKey).get());
+
+        // An extra leading zero in r is not valid DER, but is accepted by the lax parser
+        byte[] padded = new byte[der.length + 1];
+        padded[0] = 0x30;
+        padded[1] = (byte) (der[1] + 1);
+        padded[2] = 0x02;
+        padded[3] = (byte) (der[3] + 1);
+        System.arraycopy(der, 4, padded, 5, der.length - 4);
+        assertFalse(secp.ecdsaSignatureParseDer(padded).isOk());
+        assertFalse(secp.ecdsaVerifyDer(padded, MSG_HASH, pubKey).isOk());
+        assertArrayEquals(sig.serializeCompact(), secp.ecdsaSignatureParseDerLax(padded).get().serializeCompact());
+        assertTrue(secp.ecdsaVerifyDerLax(padded, MSG_HASH, pubKey).get());
+
+        // A high-s signature is only valid when verified with the lax rules, which normalize it
+        byte[] highS = secp.ecdsaSignatureSerializeDer(secp.ecdsaSignatureParseCompact(HIGH_S_SIG).get());
+        assertFalse(secp.ecdsaVerifyDer(highS, MSG_HASH, pubKey).get());
+        assertTrue(secp.ecdsaVerifyDerLax(highS, MSG_HASH, pubKey).get());
+
+        assertFalse(secp.ecdsaSignatureParseDer(new byte[0]).isOk());
+        assertFalse(secp.ecdsaSignatureParseDerLax(new byte[0]).isOk());
+    }
+
     @MethodSource("secpImplementations")
     @ParameterizedTest(name = "Test Ecdsa for {0}")
     void testEcdsaLowR(Secp256k1 secp) {
@@ -115,6 +172,31 @@ public class EcdsaTest implements SecpTestSupport {
         assertTrue(string.contains("000A]"));
     }
 
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test ecdsaVerifyBatch for {0}")
+    void testEcdsaVerifyBatch(Secp256k1 secp) {
+        SecpPrivKey privKey1 = secp.ecPrivKeyCreate();
+        SecpPrivKey privKey2 = secp.ecPrivKeyImport(TEST_PRIVKEY);
+        SecpPubKey pubKey1 = secp.ecPubKeyCreate(privKey1);
+        SecpPubKey pubKey2 = secp.ecPubKeyCreate(privKey2);
+        EcdsaSignature sig1 = secp.ecdsaSign(MSG_HASH, privKey1).get();
+        EcdsaSignature sig2 = secp.ecdsaSign(HIGH_S_MSG_HASH, privKey2).get();
+        EcdsaSignature sigHighS = secp.ecdsaSignatureParseCompact(HIGH_S_SIG).get();
+
+        BitSet valid = secp.ecdsaVerifyBatch(
+                List.of(sig1, sig2, sig1, sigHighS, sigHighS.normalize()),
+                List.of(MSG_HASH, HIGH_S_MSG_HASH, MSG_HASH, MSG_HASH, MSG_HASH),
+                List.of(pubKey1, pubKey2, pubKey2, pubKey2, pubKey2));
+
+        BitSet expected = new BitSet();
+        expected.set(0);    // valid
+        expected.set(1);    // valid
+                            // 2: wrong pubkey
+                            // 3: high-s
+        expected.set(4);    // normalized
+        assertEquals(expected, valid);
+    }
+
     @Test
     void ecdsaCrossCheck() {
         try (Secp256k1 secp1 = new Secp256k1Foreign(); Secp256k1 secp2 = new Bouncy256k1()) {
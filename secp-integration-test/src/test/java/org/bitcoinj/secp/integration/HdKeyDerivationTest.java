@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpExtendedPrivKey;
+import org.bitcoinj.secp.SecpExtendedPubKey;
+import org.bitcoinj.secp.SecpHdKeyDeriver;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.bitcoinj.secp.SecpHdKeyDeriver.hardened;
+import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/// BIP-32 derivation test, using test vector 1 of BIP-32
+@ParameterizedClass
+@MethodSource("secpImplementations")
+public class HdKeyDerivationTest implements SecpTestSupport {
+    private static final byte[] SEED = parseHex("000102030405060708090a0b0c0d0e0f");
+
+    private final Secp256k1 secp;
+    private final SecpHdKeyDeriver deriver;
+
+    /// @param secp injected Secp256k1 implementation to test
+    HdKeyDerivationTest(Secp256k1 secp) {
+        this.secp = secp;
+        this.deriver = SecpHdKeyDeriver.of(secp);
+    }
+
+    @Test
+    void masterKey() {
+        SecpExtendedPrivKey master = deriver.masterKey(SEED).get();
+        assertArrayEquals(parseHex("e8f32e723decf4051aefac8e2c93c9c5b214313817cdb01a1494b917c8436b35"), master.privKey().getEncoded());
+        assertArrayEquals(parseHex("873dff81c02f525623fd1fe5167eac3a55a049de3d314bb42ee227ffed37d508"), master.chainCode());
+        assertArrayEquals(parseHex("0339a36013301597daef41fbe593a02cc513d0b55527ec2df1050e2e8ff49c85c2"),
+                deriver.publicKey(master).pubKey().serialize(true));
+        assertEquals(0, master.depth());
+    }
+
+    @Test
+    void derivePrivate() {
+        SecpExtendedPrivKey master = deriver.masterKey(SEED).get();
+        SecpExtendedPrivKey key = deriver.derive(master, hardened(0), 1, hardened(2), 2, 1000000000).get();
+        assertArrayEquals(parseHex("471b76e389e528d6de6d816857e012c5455051cad6660850e58372a6c3e6e7c8"), key.privKey().getEncoded());
+        assertArrayEquals(parseHex("c783e67b921d2beb8f6b389cc646d7263b4145701dadd2161548a8b078e65e9e"), key.chainCode());
+        assertArrayEquals(parseHex("022a471424da5e657499d1ff51cb43c47481a03b1e77f951fe64cec9f5a48f7011"),
+                deriver.publicKey(key).pubKey().serialize(true));
+        assertEquals(5, key.depth());
+        assertEquals(1000000000, key.childNumber());
+    }
+
+    @Test
+    void derivePublic() {
+        SecpExtendedPrivKey master = deriver.masterKey(SEED).get();
+        // m/0H/1/2H is hardened, continue with public derivation from its public key
+        SecpExtendedPubKey xpub = deriver.publicKey(deriver.derive(master, hardened(0), 1, hardened(2)).get());
+        SecpExtendedPubKey key = deriver.derive(xpub, 2, 1000000000).get();
+        assertArrayEquals(parseHex("022a471424da5e657499d1ff51cb43c47481a03b1e77f951fe64cec9f5a48f7011"), key.pubKey().serialize(true));
+        assertArrayEquals(parseHex("c783e67b921d2beb8f6b389cc646d7263b4145701dadd2161548a8b078e65e9e"), key.chainCode());
+        // Again, with the node m/0H/1/2H/2 from the cache
+        assertEquals(key, deriver.derive(xpub, 2, 1000000000).get());
+
+        assertThrows(IllegalArgumentException.class, () -> deriver.derive(xpub, hardened(0)));
+    }
+
+    @Test
+    void cachedNodesKeepTheirDepth() {
+        SecpExtendedPubKey master = deriver.publicKey(deriver.masterKey(SEED).get());
+        SecpExtendedPubKey child = deriver.derive(master, 1, 2).get();
+        // The same key and chain code, presented as a node at depth 3
+        SecpExtendedPubKey deeper = new SecpExtendedPubKey() {
+            @Override public SecpPubKey pubKey() { return master.pubKey(); }
+            @Override public byte[] chainCode() { return master.chainCode(); }
+            @Override public int depth() { return 3; }
+            @Override public int childNumber() { return 7; }
+        };
+        SecpExtendedPubKey deeperChild = deriver.derive(deeper, 1, 2).get();
+        assertEquals(2, child.depth());
+        assertEquals(5, deeperChild.depth());
+        assertEquals(2, deeperChild.childNumber());
+        assertEquals(child.pubKey().getW(), deeperChild.pubKey().getW());
+    }
+
+    @Test
+    void deriveRange() {
+        SecpExtendedPrivKey master = deriver.masterKey(SEED).get();
+        SecpExtendedPubKey account = deriver.publicKey(deriver.derive(master, hardened(0)).get());
+        List<SecpResult<SecpPubKey>> children = deriver.deriveRange(account, new int[] {1}, 0, 3);
+        assertEquals(3, children.size());
+        assertArrayEquals(parseHex("03e10f4f003b36e87c070fcda5201bb5f3f8a4a9537f853e3aaca53a44f166b630"), children.get(0).get().serialize(true));
+        assertArrayEquals(parseHex("03a01d90298db7316ee4ef41296157069ee2292028daf068818bb991aac60c578d"), children.get(1).get().serialize(true));
+        assertArrayEquals(parseHex("026a5857b29f2b0529c907a3ad9dc9c964df0be4682432af3ba8747800dd13a902"), children.get(2).get().serialize(true));
+
+        // The range must match one-at-a-time derivation, and private derivation
+        List<SecpResult<SecpPubKey>> range = deriver.deriveRange(account, new int[] {0}, 10, 30);
+        for (int i = 0; i < range.size(); i++) {
+            SecpPubKey expected = deriver.derive(account, 0, 10 + i).get().pubKey();
+            assertEquals(expected.getW(), range.get(i).get().getW());
+            SecpExtendedPrivKey privKey = deriver.derive(master, hardened(0), 0, 10 + i).get();
+            assertEquals(expected.getW(), secp.ecPubKeyCreate(privKey.privKey()).getW());
+        }
+        assertEquals(0, deriver.deriveRange(account, new int[0], 5, 5).size());
+        assertThrows(IllegalArgumentException.class, () -> deriver.deriveRange(account, new int[0], 5, 4));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.InstrumentedSecp256k1;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.ffm.SecpOperationEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.bitcoinj.secp.Secp256k1.ProviderId.BOUNCY_CASTLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests of the instrumenting decorator
+@ParameterizedClass
+@MethodSource("secpImplementations")
+public class InstrumentedSecp256k1Test implements SecpTestSupport {
+    private final Secp256k1 secp;
+    private final List<String> calls = new ArrayList<>();
+    // Not closed, as that would close the injected implementation
+    private final InstrumentedSecp256k1 instrumented;
+
+    /// @param secp injected Secp256k1 implementation to test
+    InstrumentedSecp256k1Test(Secp256k1 secp) {
+        this.secp = secp;
+        this.instrumented = InstrumentedSecp256k1.of(secp, "test", (provider, operation, batchSize) -> {
+            calls.add(provider + ":" + operation + ":" + batchSize);
+            return failed -> calls.add(failed ? "failed" : "ok");
+        });
+    }
+
+    @Test
+    void countsAndErrors() {
+        SecpKeyPair keyPair = instrumented.ecKeyPairCreate();
+        byte[] msgHash = SecpTestSupport.hash("instrumented");
+        EcdsaSignature sig = instrumented.ecdsaSign(msgHash, keyPair).get();
+        assertTrue(instrumented.ecdsaVerify(sig, msgHash, keyPair.publicKey()).get());
+        // A valid signature of another message is not an error
+        assertFalse(instrumented.ecdsaVerify(sig, SecpTestSupport.hash("other"), keyPair.publicKey()).get());
+        // An unparseable key is
+        assertFalse(instrumented.ecPubKeyParse(new byte[33]).isOk());
+        assertThrows(RuntimeException.class, () -> instrumented.ecPrivKeyImport(new byte[3]));
+
+        InstrumentedSecp256k1.OperationStats verify = stats("ecdsaVerify");
+        assertEquals(2, verify.getCount());
+        assertEquals(0, verify.getErrors());
+        assertTrue(verify.getMaxNanos() > 0);
+        assertTrue(verify.getP50Nanos() <= verify.getP99Nanos());
+        assertEquals(2, sum(verify.getLatencyHistogram()));
+        assertEquals(1, stats("ecPubKeyParse").getErrors());
+        assertEquals(1, stats("ecPrivKeyImport").getErrors());
+        assertEquals(List.of("ecKeyPairCreate", "ecPrivKeyImport", "ecPubKeyParse", "ecdsaSign", "ecdsaVerify"),
+                instrumented.stats().stream().map(InstrumentedSecp256k1.OperationStats::getOperation).toList());
+
+        instrumented.resetStats();
+        assertTrue(instrumented.stats().isEmpty());
+    }
+
+    @Test
+    void listener() {
+        SecpPubKey pubKey = secp.ecKeyPairCreate().publicKey();
+        instrumented.ecPubKeyCombine(List.of(pubKey, secp.ecKeyPairCreate().publicKey()));
+        instrumented.ecPubKeyParse(new byte[33]);
+        assertEquals(List.of("test:ecPubKeyCombine:2", "ok", "test:ecPubKeyParse:1", "failed"), calls);
+    }
+
+    @Test
+    void mbean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.bitcoinj.secp:type=Secp256k1,provider=" + ObjectName.quote("mbean-test"));
+        try (InstrumentedSecp256k1 bouncy = InstrumentedSecp256k1.of(Secp256k1.getById(BOUNCY_CASTLE), "mbean-test", null)) {
+            bouncy.registerMBean();
+            assertThrows(IllegalStateException.class, bouncy::registerMBean);
+            bouncy.ecKeyPairCreate();
+
+            assertEquals("mbean-test", server.getAttribute(name, "Provider"));
+            CompositeData[] operations = (CompositeData[]) server.getAttribute(name, "Operations");
+            assertEquals(1, operations.length);
+            assertEquals("ecKeyPairCreate", operations[0].get("operation"));
+            assertEquals(1L, operations[0].get("count"));
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void flightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("secp", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.bitcoinj.secp.Operation");
+            recording.start();
+            InstrumentedSecp256k1 recorded = InstrumentedSecp256k1.of(secp, "jfr-test", SecpOperationEvent.listener());
+            SecpPubKey pubKey = recorded.ecKeyPairCreate().publicKey();
+            recorded.ecPubKeyCombine(List.of(pubKey, pubKey));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getString("provider").equals("jfr-test"))
+                .toList();
+        Files.delete(file);
+        assertEquals(2, events.size());
+        assertEquals("ecKeyPairCreate", events.get(0).getString("operation"));
+        assertEquals("ecPubKeyCombine", events.get(1).getString("operation"));
+        assertEquals(2, events.get(1).getInt("batchSize"));
+        assertFalse(events.get(1).getBoolean("failed"));
+    }
+
+    private InstrumentedSecp256k1.OperationStats stats(String operation) {
+        return instrumented.stats().stream()
+                .filter(s -> s.getOperation().equals(operation))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long v : values) {
+            sum += v;
+        }
+        return sum;
+    }
+}
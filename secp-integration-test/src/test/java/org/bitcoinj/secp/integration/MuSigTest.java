@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
+import org.bitcoinj.secp.SecpMuSig.AggNonce;
+import org.bitcoinj.secp.SecpMuSig.KeyAggCache;
+import org.bitcoinj.secp.SecpMuSig.PartialSig;
+import org.bitcoinj.secp.SecpMuSig.PubNonce;
+import org.bitcoinj.secp.SecpMuSig.SecNonce;
+import org.bitcoinj.secp.SecpMuSig.Session;
+import org.bitcoinj.secp.SecpPubKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedClass;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.bitcoinj.secp.integration.SecpTestSupport.formatHex;
+import static org.bitcoinj.secp.integration.SecpTestSupport.hash;
+import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// MuSig2 (BIP-327) test
+@ParameterizedClass
+@MethodSource("secpImplementations")
+public class MuSigTest implements SecpTestSupport {
+    private static final byte[] MSG = hash("Hello, MuSig2!");
+    // Public keys and aggregate keys of the BIP-327 KeyAgg test vectors
+    private static final String X1 = "02F9308A019258C31049344F85F89D5229B531C845836F99B08601F113BCE036F9";
+    private static final String X2 = "03DFF1D77F2A671C5F36183726DB2341BE58FEAE1DA2DECED843240F7B502BA659";
+    private static final String X3 = "023590A94E768F8E1815C2F24B4D80A8E3149316C3518CE7B7AD338368D038CA66";
+
+    private final Secp256k1 secp;
+    private final SecpMuSig musig;
+
+    /// @param secp injected Secp256k1 implementation to test
+    MuSigTest(Secp256k1 secp) {
+        this.secp = secp;
+        this.musig = secp.musig();
+    }
+
+    @Test
+    void keyAggVectors() {
+        assertKeyAgg("90539EEDE565F5D054F32CC0C220126889ED1E5D193BAF15AEF344FE59D4610C", X1, X2, X3);
+        assertKeyAgg("6204DE8B083426DC6EAF9502D27024D53FC826BF7D2012148A0575435DF54B2B", X3, X2, X1);
+        assertKeyAgg("B436E3BAD62B8CD409969A224731C193D051162D8C5AE8B109306127DA3AA935", X1, X1, X1);
+        assertKeyAgg("69BC22BFA5D106306E48A20679DE1D7389386124D07571D0D872686028C26A3E", X1, X1, X2, X2);
+    }
+
+    private void assertKeyAgg(String expected, String... pubKeys) {
+        List<SecpPubKey> keys = Arrays.stream(pubKeys)
+                .map(k -> secp.ecPubKeyParse(parseHex(k)).get())
+                .collect(Collectors.toList());
+        try (KeyAggCache cache = musig.pubKeyAgg(keys).get()) {
+            assertEquals(expected, formatHex(musig.pubKeyGet(cache).xOnly().serialize()));
+        }
+    }
+
+    @Test
+    void signAndVerify() {
+        for (int n : new int[] { 1, 2, 7, 11 }) {
+            List<SecpKeyPair> keyPairs = keyPairs(n);
+            try (KeyAggCache cache = musig.pubKeyAgg(sortedPubKeys(keyPairs)).get()) {
+                SecpPubKey outputKey = musig.pubKeyXOnlyTweakAdd(cache, hash("TapTweak")).get();
+                assertEquals(outputKey.getW(), musig.pubKeyGet(cache).getW());
+
+                SchnorrSignature sig = sign(keyPairs, cache);
+                assertTrue(secp.schnorrSigVerify(sig, MSG, outputKey.xOnly()).get());
+            }
+        }
+    }
+
+    @Test
+    void reuseKeyAggCache() {
+        List<SecpKeyPair> keyPairs = keyPairs(3);
+        try (KeyAggCache cache = musig.pubKeyAgg(sortedPubKeys(keyPairs)).get()) {
+            musig.pubKeyEcTweakAdd(cache, hash("BIP-32 tweak")).get();
+            SecpPubKey outputKey = musig.pubKeyXOnlyTweakAdd(cache, hash("TapTweak")).get();
+            // One cache is used for several sessions
+            for (int i = 0; i < 3; i++) {
+                assertTrue(secp.schnorrSigVerify(sign(keyPairs, cache), MSG, outputKey.xOnly()).get());
+            }
+        }
+    }
+
+    @Test
+    void partialSigVerify() {
+        List<SecpKeyPair> keyPairs = keyPairs(2);
+        try (KeyAggCache cache = musig.pubKeyAgg(sortedPubKeys(keyPairs)).get()) {
+            SecNonce secNonce0 = musig.nonceGen(keyPairs.get(0).publicKey(), keyPairs.get(0), MSG, cache, null).get();
+            SecNonce secNonce1 = musig.nonceGen(keyPairs.get(1).publicKey(), null, null, null, null).get();
+            AggNonce aggNonce = musig.nonceAgg(List.of(secNonce0.pubNonce(), secNonce1.pubNonce()));
+            try (Session session = musig.nonceProcess(aggNonce, MSG, cache)) {
+                PartialSig partialSig = musig.partialSign(secNonce0, keyPairs.get(0), cache, session).get();
+                assertTrue(musig.partialSigVerify(partialSig, secNonce0.pubNonce(), keyPairs.get(0).publicKey(), cache, session).get());
+                // Wrong nonce or key
+                assertFalse(musig.partialSigVerify(partialSig, secNonce1.pubNonce(), keyPairs.get(0).publicKey(), cache, session).get());
+                assertFalse(musig.partialSigVerify(partialSig, secNonce0.pubNonce(), keyPairs.get(1).publicKey(), cache, session).get());
+                secNonce1.close();
+            }
+        }
+    }
+
+    @Test
+    void secNonceUsedOnce() {
+        List<SecpKeyPair> keyPairs = keyPairs(2);
+        try (KeyAggCache cache = musig.pubKeyAgg(sortedPubKeys(keyPairs)).get()) {
+            SecNonce secNonce0 = musig.nonceGen(keyPairs.get(0).publicKey(), null, null, null, null).get();
+            SecNonce secNonce1 = musig.nonceGen(keyPairs.get(1).publicKey(), null, null, null, null).get();
+            AggNonce aggNonce = musig.nonceAgg(List.of(secNonce0.pubNonce(), secNonce1.pubNonce()));
+            try (Session session = musig.nonceProcess(aggNonce, MSG, cache)) {
+                // A nonce can't be used with another key, and is used up by trying
+                assertThrows(IllegalArgumentException.class, () -> musig.partialSign(secNonce1, keyPairs.get(0), cache, session));
+                assertThrows(IllegalStateException.class, () -> musig.partialSign(secNonce1, keyPairs.get(1), cache, session));
+                musig.partialSign(secNonce0, keyPairs.get(0), cache, session).get();
+                assertThrows(IllegalStateException.class, () -> musig.partialSign(secNonce0, keyPairs.get(0), cache, session));
+            }
+        }
+    }
+
+    @Test
+    void parseAndSerialize() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        try (SecNonce secNonce = musig.nonceGen(keyPair.publicKey(), keyPair, null, null, null).get()) {
+            byte[] pubNonce = secNonce.pubNonce().serialize();
+            assertArrayEquals(pubNonce, musig.pubNonceParse(pubNonce).get().serialize());
+            AggNonce aggNonce = musig.nonceAgg(List.of(secNonce.pubNonce()));
+            assertArrayEquals(aggNonce.serialize(), musig.aggNonceParse(aggNonce.serialize()).get().serialize());
+            // The second point of a public nonce must not be infinity, but it can be in an aggregate nonce
+            byte[] withInfinity = Arrays.copyOf(pubNonce, 66);
+            Arrays.fill(withInfinity, 33, 66, (byte) 0);
+            assertFalse(musig.pubNonceParse(withInfinity).isOk());
+            assertTrue(musig.aggNonceParse(withInfinity).isOk());
+        }
+        byte[] order = parseHex("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141");
+        assertFalse(musig.partialSigParse(order).isOk());
+        byte[] one = new byte[32];
+        one[31] = 1;
+        assertArrayEquals(one, musig.partialSigParse(one).get().serialize());
+    }
+
+    @Test
+    void mixedImplementations() {
+        // Signers using different implementations exchange public nonces and partial signatures
+        for (Secp256k1 other : SecpTestSupport.secpImplementations().collect(Collectors.toList())) {
+            List<SecpKeyPair> keyPairs = keyPairs(4);
+            List<SecpPubKey> pubKeys = sortedPubKeys(keyPairs);
+            List<SecpMuSig> signers = new ArrayList<>();
+            List<KeyAggCache> caches = new ArrayList<>();
+            List<SecNonce> secNonces = new ArrayList<>();
+            List<PubNonce> pubNonces = new ArrayList<>();
+            for (int i = 0; i < keyPairs.size(); i++) {
+                SecpMuSig signer = i % 2 == 0 ? musig : other.musig();
+                KeyAggCache cache = signer.pubKeyAgg(pubKeys).get();
+                signer.pubKeyXOnlyTweakAdd(cache, hash("TapTweak")).get();
+                SecNonce secNonce = signer.nonceGen(keyPairs.get(i).publicKey(), keyPairs.get(i), MSG, cache, null).get();
+                signers.add(signer);
+                caches.add(cache);
+                secNonces.add(secNonce);
+                pubNonces.add(secNonce.pubNonce());
+            }
+            List<PartialSig> partialSigs = new ArrayList<>();
+            for (int i = 0; i < keyPairs.size(); i++) {
+                SecpMuSig signer = signers.get(i);
+                try (Session session = signer.nonceProcess(signer.nonceAgg(pubNonces), MSG, caches.get(i))) {
+                    partialSigs.add(signer.partialSign(secNonces.get(i), keyPairs.get(i), caches.get(i), session).get());
+                }
+            }
+            try (Session session = musig.nonceProcess(musig.nonceAgg(pubNonces), MSG, caches.get(0))) {
+                for (int i = 0; i < keyPairs.size(); i++) {
+                    assertTrue(musig.partialSigVerify(partialSigs.get(i), pubNonces.get(i), keyPairs.get(i).publicKey(), caches.get(0), session).get());
+                }
+                SchnorrSignature sig = musig.partialSigAgg(session, partialSigs);
+                assertTrue(secp.schnorrSigVerify(sig, MSG, musig.pubKeyGet(caches.get(0)).xOnly()).get());
+            }
+            caches.forEach(KeyAggCache::close);
+        }
+    }
+
+    @Test
+    void foreignHandlesRejected() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        KeyAggCache notOurs = () -> { };
+        assertThrows(IllegalArgumentException.class, () -> musig.pubKeyGet(notOurs));
+        assertThrows(IllegalArgumentException.class, () -> musig.nonceGen(keyPair.publicKey(), null, null, notOurs, null));
+    }
+
+    /// Run a complete signing session with all signers using `musig`
+    private SchnorrSignature sign(List<SecpKeyPair> keyPairs, KeyAggCache cache) {
+        List<SecNonce> secNonces = new ArrayList<>();
+        for (SecpKeyPair keyPair : keyPairs) {
+            secNonces.add(musig.nonceGen(keyPair.publicKey(), keyPair, MSG, cache, null).get());
+        }
+        AggNonce aggNonce = musig.nonceAgg(secNonces.stream().map(SecNonce::pubNonce).collect(Collectors.toList()));
+        try (Session session = musig.nonceProcess(aggNonce, MSG, cache)) {
+            List<PartialSig> partialSigs = new ArrayList<>();
+            for (int i = 0; i < keyPairs.size(); i++) {
+                PartialSig partialSig = musig.partialSign(secNonces.get(i), keyPairs.get(i), cache, session).get();
+                assertTrue(musig.partialSigVerify(partialSig, secNonces.get(i).pubNonce(), keyPairs.get(i).publicKey(), cache, session).get());
+                partialSigs.add(partialSig);
+            }
+            return musig.partialSigAgg(session, partialSigs);
+        }
+    }
+
+    private List<SecpKeyPair> keyPairs(int n) {
+        List<SecpKeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            keyPairs.add(secp.ecKeyPairCreate());
+        }
+        return keyPairs;
+    }
+
+    private List<SecpPubKey> sortedPubKeys(List<SecpKeyPair> keyPairs) {
+        return secp.ecPubKeySort(keyPairs.stream().map(SecpKeyPair::publicKey).collect(Collectors.toList()));
+    }
+}
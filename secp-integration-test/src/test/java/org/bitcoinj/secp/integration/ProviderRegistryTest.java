@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.InstrumentedSecp256k1;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpMuSig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests of provider lookup and shared instances
+public class ProviderRegistryTest {
+    @Test
+    void providersAreCached() {
+        List<Secp256k1.Provider> first = Secp256k1.all().toList();
+        List<Secp256k1.Provider> second = Secp256k1.all().toList();
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(first.get(i), second.get(i));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Secp256k1.ProviderId.class)
+    void sharedInstanceOutlivesReleasedReferences(Secp256k1.ProviderId id) {
+        SecpMuSig musig;
+        try (Secp256k1 kept = Secp256k1.getById(id)) {
+            musig = kept.musig();
+            Secp256k1 released = Secp256k1.getById(id);
+            assertNotSame(kept, released);
+            assertSame(musig, released.musig());
+            released.close();
+            // Closing again must not release the reference held by kept
+            released.close();
+            assertThrows(IllegalStateException.class, released::ecKeyPairCreate);
+            assertSignAndVerify(kept);
+        }
+        // The registry still holds the implementation, so it is reused
+        try (Secp256k1 secp = Secp256k1.getByName(id.toString())) {
+            assertSame(musig, secp.musig());
+            assertSignAndVerify(secp);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Secp256k1.ProviderId.class)
+    void closeShared(Secp256k1.ProviderId id) {
+        try (Secp256k1 inUse = Secp256k1.getById(id)) {
+            Secp256k1.closeShared();
+            // Instances in use stay valid, later callers get a new implementation
+            assertSignAndVerify(inUse);
+            try (Secp256k1 later = Secp256k1.getById(id)) {
+                assertNotSame(inUse.musig(), later.musig());
+                assertSignAndVerify(later);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Secp256k1.ProviderId.class)
+    void newInstanceIsIndependent(Secp256k1.ProviderId id) {
+        try (Secp256k1 shared = Secp256k1.getById(id)) {
+            Secp256k1 isolated = Secp256k1.newInstance(id);
+            assertNotSame(shared.musig(), isolated.musig());
+            isolated.close();
+            assertSignAndVerify(shared);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Secp256k1.ProviderId.class)
+    void instrumentedProviderName(Secp256k1.ProviderId id) {
+        try (InstrumentedSecp256k1 shared = InstrumentedSecp256k1.of(Secp256k1.getById(id));
+             InstrumentedSecp256k1 isolated = InstrumentedSecp256k1.of(Secp256k1.newInstance(id))) {
+            assertEquals(isolated.provider(), shared.provider());
+        }
+    }
+
+    private static void assertSignAndVerify(Secp256k1 secp) {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        byte[] msgHash = SecpTestSupport.hash("registry");
+        assertTrue(secp.ecdsaVerify(secp.ecdsaSign(msgHash, keyPair).get(), msgHash, keyPair.publicKey()).get());
+    }
+}
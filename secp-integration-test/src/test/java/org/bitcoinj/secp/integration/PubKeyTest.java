@@ -23,7 +23,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HexFormat;
+import java.util.List;
 
 import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -77,4 +80,54 @@ public class PubKeyTest implements SecpTestSupport {
         assertEquals(expectedToString, pubKey.toString());
     }
 
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test combining a list of pubkeys for {0}")
+    void testPubKeyCombineList(Secp256k1 secp) {
+        List<SecpPubKey> pubKeys = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            pubKeys.add(secp.ecPubKeyCreate(secp.ecPrivKeyImport(BigInteger.valueOf(i))));
+        }
+        // 1 + 2 + ... + 15 = 120
+        SecpPubKey expected = secp.ecPubKeyCreate(secp.ecPrivKeyImport(BigInteger.valueOf(120)));
+        assertEquals(expected.getW(), secp.ecPubKeyCombine(pubKeys).get().getW());
+        assertEquals(pubKeys.get(0).getW(), secp.ecPubKeyCombine(pubKeys.subList(0, 1)).get().getW());
+
+        // P + (-P) is the point at infinity
+        SecpPubKey negated = secp.ecPubKeyCreate(secp.ecPrivKeyImport(Secp256k1.N.subtract(BigInteger.ONE)));
+        assertFalse(secp.ecPubKeyCombine(List.of(pubKeys.get(0), negated)).isOk());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test sorting pubkeys for {0}")
+    void testPubKeySort(Secp256k1 secp) {
+        List<SecpPubKey> pubKeys = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            pubKeys.add(secp.ecKeyPairCreate().publicKey());
+        }
+        pubKeys.add(pubKeys.get(3));    // Duplicates are allowed
+        List<SecpPubKey> sorted = secp.ecPubKeySort(pubKeys);
+        assertEquals(pubKeys.size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(Arrays.compareUnsigned(sorted.get(i - 1).serialize(true), sorted.get(i).serialize(true)) <= 0);
+        }
+        for (SecpPubKey pubKey : pubKeys) {
+            assertTrue(sorted.stream().anyMatch(k -> k == pubKey));
+        }
+    }
+
+    /// BIP-67 test vector 1
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test BIP-67 sort for {0}")
+    void testPubKeySortBip67(Secp256k1 secp) {
+        List<String> expected = List.of(
+                "02fe6f0a5a297eb38c391581c4413e084773ea23954d93f7753db7dc0adc188b2f",
+                "02ff12471208c14bd580709cb2358d98975247d8765f92bc25eab3b2763ed605f8");
+        List<SecpPubKey> pubKeys = List.of(
+                secp.ecPubKeyParse(parseHex(expected.get(1))).get(),
+                secp.ecPubKeyParse(parseHex(expected.get(0))).get());
+        List<SecpPubKey> sorted = secp.ecPubKeySort(pubKeys);
+        assertArrayEquals(parseHex(expected.get(0)), sorted.get(0).serialize(true));
+        assertArrayEquals(parseHex(expected.get(1)), sorted.get(1).serialize(true));
+    }
 }
@@ -25,6 +25,13 @@ import org.junit.jupiter.params.ParameterizedClass;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -53,6 +60,44 @@ public class SchnorrTest implements SecpTestSupport {
         assertTrue(isValid);
     }
 
+    @Test
+    void testSchnorrByteBuffers() {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        ByteBuffer messageHash = ByteBuffer.allocateDirect(32).put(secp.taggedSha256(tag, msg)).flip();
+        ByteBuffer signature = ByteBuffer.allocate(64);
+        secp.schnorrSigSign32(messageHash, keyPair, signature);
+        assertEquals(64, signature.position());
+        signature.flip();
+        ByteBuffer xOnly = ByteBuffer.allocateDirect(32).put(keyPair.publicKey().xOnly().serialize()).flip();
+        assertTrue(secp.schnorrSigVerify(signature, messageHash, xOnly).get());
+        assertEquals(0, messageHash.position());
+        assertFalse(secp.schnorrSigVerify(signature, ByteBuffer.wrap(secp.taggedSha256(tag, "Goodbye")), xOnly).get());
+    }
+
+    @Test
+    void testSchnorrVerifyBatch() {
+        List<SchnorrSignature> signatures = new ArrayList<>();
+        List<byte[]> messageHashes = new ArrayList<>();
+        List<SecpXOnlyPubKey> pubKeys = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] messageHash = secp.taggedSha256(tag, msg + i);
+            signatures.add(secp.schnorrSigSign32(messageHash, keyPair));
+            messageHashes.add(messageHash);
+            pubKeys.add(keyPair.publicKey().xOnly());
+        }
+        BitSet allValid = new BitSet();
+        allValid.set(0, 8);
+        assertEquals(allValid, secp.schnorrSigVerifyBatch(signatures, messageHashes, pubKeys));
+
+        messageHashes.set(2, secp.taggedSha256(tag, "wrong message"));
+        pubKeys.set(5, pubKeys.get(6));
+        BitSet expected = (BitSet) allValid.clone();
+        expected.clear(2);
+        expected.clear(5);
+        assertEquals(expected, secp.schnorrSigVerifyBatch(signatures, messageHashes, pubKeys));
+    }
+
     @MethodSource("secpImplementations")
     @ParameterizedTest(name = "Test Ecdsa for {0}")
     void testSchnorrSignatureToString(Secp256k1 secp) {
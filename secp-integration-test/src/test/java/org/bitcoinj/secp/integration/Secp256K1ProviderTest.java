@@ -15,7 +15,10 @@
  */
 package org.bitcoinj.secp.integration;
 
+import org.bitcoinj.secp.EcdsaSignature;
 import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.Secp256k1Verifier;
+import org.bitcoinj.secp.SecpKeyPair;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -43,4 +46,17 @@ public class Secp256K1ProviderTest implements SecpTestSupport {
     void checkImplementations(Secp256k1 secp) {
         assertNotNull(secp);
     }
+
+    @MethodSource("secpProviders")
+    @ParameterizedTest(name = "Provider: {0}")
+    void checkVerifiers(Secp256k1.Provider provider) {
+        byte[] message = SecpTestSupport.hash("Hello verifier");
+        try (Secp256k1 secp = provider.get(); Secp256k1Verifier verifier = provider.verifier()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            EcdsaSignature sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+            assertTrue(verifier.ecdsaVerify(sig, message, keyPair.publicKey()).get());
+            assertTrue(verifier.schnorrSigVerify(secp.schnorrSigSign32(message, keyPair), message, keyPair.publicKey()).get());
+            assertTrue(verifier.ecPubKeyParse(keyPair.publicKey().serialize()).isOk());
+        }
+    }
 }
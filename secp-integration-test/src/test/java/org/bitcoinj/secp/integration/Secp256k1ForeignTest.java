@@ -15,13 +15,35 @@
  */
 package org.bitcoinj.secp.integration;
 
+import org.bitcoinj.secp.EcdhSharedSecret;
+import org.bitcoinj.secp.EcdsaSignature;
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.Secp256k1Verifier;
+import org.bitcoinj.secp.SecpKeyPair;
 import org.bitcoinj.secp.SecpPrivKey;
 import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.ffm.PreparedKeyPair;
+import org.bitcoinj.secp.ffm.PreparedPubKey;
+import org.bitcoinj.secp.ffm.PreparedXOnlyPubKey;
 import org.bitcoinj.secp.ffm.Secp256k1Foreign;
+import org.bitcoinj.secp.ffm.Secp256k1ForeignVerifier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static org.bitcoinj.secp.integration.SecpTestSupport.hash;
 
 /**
  *
@@ -48,4 +70,224 @@ public class Secp256k1ForeignTest {
         }
     }
 
+    @Test
+    void preparedPubKey() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            SecpKeyPair otherKeyPair = secp.ecKeyPairCreate();
+            byte[] message = hash("Hello prepared key");
+            EcdsaSignature sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+            try (PreparedPubKey prepared = secp.ecPubKeyPrepare(keyPair.publicKey()).get()) {
+                Assertions.assertEquals(keyPair.publicKey().getW(), prepared.getW());
+                Assertions.assertTrue(secp.ecdsaVerify(sig, message, prepared).get());
+                Assertions.assertFalse(secp.ecdsaVerify(sig, hash("Goodbye"), prepared).get());
+
+                EcdhSharedSecret expected = secp.ecdh(keyPair.publicKey(), otherKeyPair.privateKey()).get();
+                EcdhSharedSecret actual = secp.ecdh(prepared, otherKeyPair.privateKey()).get();
+                Assertions.assertArrayEquals(expected.bytes(), actual.bytes());
+
+                // tweak_mul must not modify the prepared key
+                SecpPubKey doubled = secp.ecPubKeyTweakMul(prepared, BigInteger.TWO);
+                Assertions.assertEquals(secp.ecPubKeyCombine(keyPair.publicKey(), keyPair.publicKey()).getW(), doubled.getW());
+                Assertions.assertTrue(secp.ecdsaVerify(sig, message, prepared).get());
+
+                prepared.close();
+                // A closed key is parsed again on each use
+                Assertions.assertTrue(secp.ecdsaVerify(sig, message, prepared).get());
+            }
+        }
+    }
+
+    @Test
+    void preparedXOnlyPubKey() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] message1 = hash("Hello prepared x-only key");
+            byte[] message2 = hash("Hello again");
+            SchnorrSignature sig1 = secp.schnorrSigSign32(message1, keyPair.privateKey());
+            SchnorrSignature sig2 = secp.schnorrSigSign32(message2, keyPair.privateKey());
+            try (PreparedXOnlyPubKey prepared = secp.xOnlyPubKeyPrepare(keyPair.publicKey().xOnly()).get()) {
+                Assertions.assertEquals(keyPair.publicKey().xOnly().getX(), prepared.getX());
+                Assertions.assertTrue(secp.schnorrSigVerify(sig1, message1, prepared).get());
+                Assertions.assertFalse(secp.schnorrSigVerify(sig1, message2, prepared).get());
+
+                BitSet valid = secp.schnorrSigVerifyBatch(List.of(sig1, sig2, sig2),
+                        List.of(message1, message2, message1),
+                        List.of(prepared, prepared, prepared));
+                Assertions.assertEquals(BitSet.valueOf(new long[]{0b011}), valid);
+
+                prepared.close();
+                // A closed key is parsed again on each use
+                Assertions.assertTrue(secp.schnorrSigVerify(sig2, message2, prepared).get());
+            }
+        }
+    }
+
+    @Test
+    void preparedKeyPair() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] message = hash("Hello prepared key pair");
+            byte[] auxRand = new byte[32];
+            SchnorrSignature expected = secp.schnorrSigSign32(message, keyPair, auxRand);
+            try (PreparedKeyPair prepared = secp.ecKeyPairPrepare(keyPair)) {
+                Assertions.assertEquals(keyPair.publicKey().getW(), prepared.publicKey().getW());
+                SchnorrSignature sig = secp.schnorrSigSign32(message, prepared, auxRand);
+                Assertions.assertArrayEquals(expected.bytes(), sig.bytes());
+                // The prepared key pair must still be usable after signing
+                SchnorrSignature sig2 = secp.schnorrSigSign32(message, prepared);
+                Assertions.assertTrue(secp.schnorrSigVerify(sig2, message, keyPair.publicKey().xOnly()).get());
+
+                prepared.close();
+                // A closed key pair creates a temporary secp256k1_keypair on each use
+                Assertions.assertArrayEquals(expected.bytes(), secp.schnorrSigSign32(message, prepared, auxRand).bytes());
+
+                prepared.destroy();
+                Assertions.assertTrue(prepared.isDestroyed());
+            }
+        }
+    }
+
+    @Test
+    void preparedKeyPairTweak() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] tweak = hash("Hello tweak");
+            byte[] message = hash("Hello tweaked key pair");
+            byte[] auxRand = new byte[32];
+            SecpKeyPair expected = secp.keyPairXOnlyTweakAdd(keyPair, tweak).get();
+            try (PreparedKeyPair prepared = secp.ecKeyPairPrepare(keyPair);
+                 PreparedKeyPair tweaked = secp.keyPairXOnlyTweakAdd(prepared, tweak).get()) {
+                Assertions.assertEquals(expected.publicKey().getW(), tweaked.publicKey().getW());
+                Assertions.assertEquals(expected.getS(), tweaked.getS());
+                Assertions.assertArrayEquals(secp.schnorrSigSign32(message, expected, auxRand).bytes(),
+                        secp.schnorrSigSign32(message, tweaked, auxRand).bytes());
+                // The interface method also returns a prepared key pair for a prepared input
+                try (PreparedKeyPair viaInterface = (PreparedKeyPair) secp.keyPairXOnlyTweakAdd((SecpKeyPair) prepared, tweak).get()) {
+                    Assertions.assertEquals(expected.getS(), viaInterface.getS());
+                }
+                // The input is unchanged
+                Assertions.assertEquals(keyPair.getS(), prepared.getS());
+                Assertions.assertArrayEquals(secp.schnorrSigSign32(message, keyPair, auxRand).bytes(),
+                        secp.schnorrSigSign32(message, prepared, auxRand).bytes());
+            }
+        }
+    }
+
+    @Test
+    void threadLocalArenaStrategy() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign(Secp256k1Foreign.ArenaStrategy.THREAD_LOCAL)) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] message = hash("Hello scratch arena");
+            for (int i = 0; i < 3; i++) {
+                EcdsaSignature sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+                Assertions.assertTrue(secp.ecdsaVerify(sig, message, keyPair.publicKey()).get());
+                SchnorrSignature schnorrSig = secp.schnorrSigSign32(message, keyPair);
+                Assertions.assertTrue(secp.schnorrSigVerify(schnorrSig, message, keyPair.publicKey().xOnly()).get());
+            }
+            // A message larger than the per-thread slab uses the overflow arena
+            byte[] bigMessage = new byte[10_000];
+            Assertions.assertEquals(32, secp.taggedSha256(hash("tag"), bigMessage).length);
+        }
+    }
+
+    @Test
+    void criticalDowncalls() {
+        try (Secp256k1Foreign secp = Secp256k1Foreign.builder().criticalDowncalls(true).build();
+             Secp256k1Foreign reference = new Secp256k1Foreign()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] message = hash("Hello critical downcalls");
+
+            EcdsaSignature sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+            Assertions.assertTrue(secp.ecdsaVerify(sig, message, keyPair.publicKey()).get());
+            Assertions.assertFalse(secp.ecdsaVerify(sig, hash("Goodbye"), keyPair.publicKey()).get());
+            Assertions.assertArrayEquals(sig.serializeCompact(),
+                    secp.ecdsaSignatureParseCompact(sig.serializeCompact()).get().serializeCompact());
+
+            SchnorrSignature schnorrSig = secp.schnorrSigSign32(message, keyPair);
+            Assertions.assertTrue(secp.schnorrSigVerify(schnorrSig, message, keyPair.publicKey().xOnly()).get());
+            Assertions.assertFalse(secp.schnorrSigVerify(schnorrSig, hash("Goodbye"), keyPair.publicKey().xOnly()).get());
+
+            byte[] serialized = keyPair.publicKey().serialize();
+            Assertions.assertEquals(keyPair.publicKey().getW(), secp.ecPubKeyParse(serialized).get().getW());
+            Assertions.assertFalse(secp.ecPubKeyParse(new byte[33]).isOk());
+            byte[] xOnly = keyPair.publicKey().xOnly().serialize();
+            Assertions.assertArrayEquals(xOnly, secp.xOnlyPubKeyParse(xOnly).get().serialize());
+
+            Assertions.assertArrayEquals(reference.taggedSha256(hash("tag"), message), secp.taggedSha256(hash("tag"), message));
+        }
+    }
+
+    @Test
+    void contextPerThread() throws Exception {
+        try (Secp256k1Foreign secp = Secp256k1Foreign.builder().contextPerThread(Duration.ofMillis(5)).build()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    byte[] message = hash("Hello context " + i);
+                    results.add(executor.submit(() -> {
+                        SchnorrSignature sig = secp.schnorrSigSign32(message, keyPair);
+                        Thread.sleep(1);    // Give the re-randomizer a chance to publish new contexts
+                        return secp.schnorrSigVerify(sig, message, keyPair.publicKey().xOnly()).get();
+                    }));
+                }
+                for (Future<Boolean> result : results) {
+                    Assertions.assertTrue(result.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void verifier() {
+        try (Secp256k1Foreign secp = new Secp256k1Foreign();
+             Secp256k1ForeignVerifier verifier = Secp256k1Foreign.builder().criticalDowncalls(true).buildVerifier()) {
+            SecpKeyPair keyPair = secp.ecKeyPairCreate();
+            byte[] message = hash("Hello verifier");
+            EcdsaSignature sig = secp.ecdsaSign(message, keyPair.privateKey()).get();
+            Assertions.assertTrue(verifier.ecdsaVerify(sig, message, keyPair.publicKey()).get());
+            Assertions.assertFalse(verifier.ecdsaVerify(sig, hash("Goodbye"), keyPair.publicKey()).get());
+            SchnorrSignature schnorrSig = secp.schnorrSigSign32(message, keyPair);
+            try (PreparedXOnlyPubKey prepared = verifier.xOnlyPubKeyPrepare(keyPair.publicKey().xOnly()).get()) {
+                Assertions.assertTrue(verifier.schnorrSigVerify(schnorrSig, message, prepared).get());
+            }
+            Assertions.assertArrayEquals(secp.taggedSha256("tag", "message"), verifier.taggedSha256("tag", "message"));
+        }
+        Assertions.assertInstanceOf(Secp256k1ForeignVerifier.class, Secp256k1Verifier.get());
+    }
+
+    @Test
+    void customRandom() {
+        // Two instances with identically-seeded (insecure!) sources must generate the same key
+        try (Secp256k1Foreign secp1 = Secp256k1Foreign.builder().random(new Random(42)::nextBytes).build();
+             Secp256k1Foreign secp2 = Secp256k1Foreign.builder().random(new Random(42)::nextBytes).build()) {
+            Assertions.assertEquals(secp1.ecPrivKeyCreate().getS(), secp2.ecPrivKeyCreate().getS());
+        }
+    }
+
+    @Test
+    void memorySegments() {
+        for (boolean critical : new boolean[] {false, true}) {
+            try (Secp256k1Foreign secp = Secp256k1Foreign.builder().criticalDowncalls(critical).build();
+                 Arena arena = Arena.ofConfined()) {
+                SecpKeyPair keyPair = secp.ecKeyPairCreate();
+                MemorySegment msgHash = arena.allocate(32).copyFrom(MemorySegment.ofArray(hash("Hello segments")));
+                MemorySegment pubKey = MemorySegment.ofArray(keyPair.publicKey().serialize(true));   // heap
+                MemorySegment sig = arena.allocate(64);
+                Assertions.assertTrue(secp.ecdsaSign(msgHash, keyPair, sig).isOk());
+                Assertions.assertTrue(secp.ecdsaVerifySerialized(sig, msgHash, pubKey).get());
+                MemorySegment schnorrSig = MemorySegment.ofArray(new byte[64]);                      // heap
+                secp.schnorrSigSign32(msgHash, keyPair, schnorrSig);
+                MemorySegment xOnly = MemorySegment.ofArray(keyPair.publicKey().xOnly().serialize());
+                Assertions.assertTrue(secp.schnorrSigVerify(schnorrSig, msgHash, xOnly).get());
+                msgHash.set(JAVA_BYTE, 0, (byte) (msgHash.get(JAVA_BYTE, 0) ^ 1));
+                Assertions.assertFalse(secp.ecdsaVerifySerialized(sig, msgHash, pubKey).get());
+                Assertions.assertFalse(secp.schnorrSigVerify(schnorrSig, msgHash, xOnly).get());
+            }
+        }
+    }
 }
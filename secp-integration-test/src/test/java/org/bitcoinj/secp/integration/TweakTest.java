@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023-2026 secp256k1-jdk Developers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bitcoinj.secp.integration;
+
+import org.bitcoinj.secp.SchnorrSignature;
+import org.bitcoinj.secp.SecpFieldElement;
+import org.bitcoinj.secp.SecpKeyPair;
+import org.bitcoinj.secp.SecpPrivKey;
+import org.bitcoinj.secp.SecpPubKey;
+import org.bitcoinj.secp.SecpResult;
+import org.bitcoinj.secp.SecpXOnlyPubKey;
+import org.bitcoinj.secp.Secp256k1;
+import org.bitcoinj.secp.internal.ByteArray;
+import org.bitcoinj.secp.internal.SecpXOnlyPubKeyImpl;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+
+import static org.bitcoinj.secp.integration.SecpTestSupport.hash;
+import static org.bitcoinj.secp.integration.SecpTestSupport.parseHex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test public key, x-only (Taproot), key pair and secret key tweaks.
+ */
+public class TweakTest implements SecpTestSupport {
+    private static final byte[] TWEAK = hash("secp256k1-jdk tweak");
+    private static final byte[] MSG_HASH = hash("Hello, world!");
+    private static final String ORDER = "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141";
+    // x-coordinate of no point on the curve (BIP-340 test vector 5)
+    private static final String NOT_ON_CURVE = "EEFDEA4CDB677750A420FEE807EACF21EB9898AE79B9768766E4FAA04A2D4A34";
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test ecPubKeyTweakAdd for {0}")
+    void ecPubKeyTweakAdd(Secp256k1 secp) {
+        SecpPubKey pubKey = secp.ecKeyPairCreate().publicKey();
+        SecpPubKey tweaked = secp.ecPubKeyTweakAdd(pubKey, TWEAK).get();
+        SecpPubKey expected = secp.ecPubKeyCombine(pubKey,
+                secp.ecPubKeyTweakMul(Secp256k1.G, ByteArray.toInteger(TWEAK)).point());
+        assertEquals(expected.getW(), tweaked.getW());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test xOnlyPubKeyTweakAdd for {0}")
+    void xOnlyPubKeyTweakAdd(Secp256k1 secp) {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        SecpXOnlyPubKey internalKey = keyPair.publicKey().xOnly();
+        SecpPubKey Q = secp.xOnlyPubKeyTweakAdd(internalKey, TWEAK).get();
+        SecpPubKey expected = secp.ecPubKeyCombine(secp.ecPubKeyFromXOnly(internalKey),
+                secp.ecPubKeyTweakMul(Secp256k1.G, ByteArray.toInteger(TWEAK)).point());
+        assertEquals(expected.getW(), Q.getW());
+
+        SecpXOnlyPubKey outputKey = Q.xOnly();
+        int parity = Q.y().toBigInteger().testBit(0) ? 1 : 0;
+        assertTrue(secp.xOnlyTweakAddCheck(outputKey, parity, internalKey, TWEAK).get());
+        assertFalse(secp.xOnlyTweakAddCheck(outputKey, 1 - parity, internalKey, TWEAK).get());
+        assertFalse(secp.xOnlyTweakAddCheck(internalKey, parity, internalKey, TWEAK).get());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test tweak out of range for {0}")
+    void tweakOutOfRange(Secp256k1 secp) {
+        SecpPubKey pubKey = secp.ecKeyPairCreate().publicKey();
+        byte[] order = parseHex(ORDER);
+        SecpResult<SecpPubKey> result = secp.ecPubKeyTweakAdd(pubKey, order);
+        assertFalse(result.isOk());
+        assertFalse(secp.xOnlyPubKeyTweakAdd(pubKey.xOnly(), order).isOk());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test x-only tweak of a key not on the curve for {0}")
+    void xOnlyTweakNotOnCurve(Secp256k1 secp) {
+        SecpXOnlyPubKey notOnCurve = new SecpXOnlyPubKeyImpl(SecpFieldElement.of(parseHex(NOT_ON_CURVE)));
+        SecpXOnlyPubKey outputKey = secp.ecKeyPairCreate().publicKey().xOnly();
+        assertFalse(secp.xOnlyPubKeyTweakAdd(notOnCurve, TWEAK).isOk());
+        assertFalse(secp.xOnlyTweakAddCheck(outputKey, 0, notOnCurve, TWEAK).get());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test zero tweak for {0}")
+    void zeroTweak(Secp256k1 secp) {
+        SecpPubKey pubKey = secp.ecKeyPairCreate().publicKey();
+        SecpPubKey tweaked = secp.ecPubKeyTweakAdd(pubKey, new byte[32]).get();
+        assertArrayEquals(pubKey.getEncoded(), tweaked.getEncoded());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test keyPairXOnlyTweakAdd for {0}")
+    void keyPairXOnlyTweakAdd(Secp256k1 secp) {
+        SecpKeyPair keyPair = secp.ecKeyPairCreate();
+        SecpKeyPair tweaked = secp.keyPairXOnlyTweakAdd(keyPair, TWEAK).get();
+        SecpPubKey Q = secp.xOnlyPubKeyTweakAdd(keyPair.publicKey().xOnly(), TWEAK).get();
+        assertArrayEquals(Q.xOnly().serialize(), tweaked.publicKey().xOnly().serialize());
+        assertEquals(secp.ecPubKeyCreate(tweaked.privateKey()).getW(), tweaked.publicKey().getW());
+
+        SchnorrSignature sig = secp.schnorrSigSign32(MSG_HASH, tweaked);
+        assertTrue(secp.schnorrSigVerify(sig, MSG_HASH, Q.xOnly()).get());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test secret key tweaks for {0}")
+    void ecSecKeyTweaks(Secp256k1 secp) {
+        SecpPrivKey privKey = secp.ecPrivKeyCreate();
+        BigInteger d = privKey.getS();
+        BigInteger t = ByteArray.toInteger(TWEAK);
+
+        SecpPrivKey added = secp.ecSecKeyTweakAdd(privKey, TWEAK).get();
+        assertEquals(d.add(t).mod(Secp256k1.N), added.getS());
+        assertEquals(secp.ecPubKeyTweakAdd(secp.ecPubKeyCreate(privKey), TWEAK).get().getW(),
+                secp.ecPubKeyCreate(added).getW());
+
+        SecpPrivKey multiplied = secp.ecSecKeyTweakMul(privKey, TWEAK).get();
+        assertEquals(d.multiply(t).mod(Secp256k1.N), multiplied.getS());
+
+        SecpPrivKey negated = secp.ecSecKeyNegate(privKey);
+        assertEquals(Secp256k1.N.subtract(d), negated.getS());
+        assertEquals(d, secp.ecSecKeyNegate(negated).getS());
+    }
+
+    @MethodSource("secpImplementations")
+    @ParameterizedTest(name = "Test invalid secret key tweaks for {0}")
+    void ecSecKeyTweaksInvalid(Secp256k1 secp) {
+        SecpPrivKey privKey = secp.ecPrivKeyCreate();
+        byte[] negated = secp.ecSecKeyNegate(privKey).getEncoded();
+        assertFalse(secp.ecSecKeyTweakAdd(privKey, negated).isOk());
+        assertFalse(secp.ecSecKeyTweakMul(privKey, new byte[32]).isOk());
+        assertFalse(secp.ecSecKeyTweakAdd(privKey, parseHex(ORDER)).isOk());
+    }
+}